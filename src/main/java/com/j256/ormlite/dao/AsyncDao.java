@@ -0,0 +1,564 @@
+package com.j256.ormlite.dao;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.PreparedDelete;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.PreparedUpdate;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.DatabaseTableConfig;
+
+/**
+ * Proxy to a {@link Dao} which runs the DAO operations in an {@link AsyncDaoExecutor} and returns {@link DaoFuture}s
+ * instead of blocking the caller. This is useful for services that run on event-loop threads which should never block
+ * on the database.
+ * 
+ * <pre>
+ * AsyncDao&lt;Account, String&gt; accountDao = AsyncDao.createDao(connectionSource, Account.class);
+ * accountDao.queryForId(&quot;jim&quot;).addCallback(new AsyncDao.Callback&lt;Account&gt;() {
+ * 	...
+ * });
+ * </pre>
+ * 
+ * <p>
+ * By default the async DAOs of a connection source share one executor so the number of threads, and so connections,
+ * does not grow with the number of DAOs. An executor sized to the connection pool can be passed to
+ * {@link #AsyncDao(Dao, AsyncDaoExecutor)} instead. If more than the maximum number of operations are waiting to be
+ * run then the operation methods throw {@link RejectedExecutionException} so that the callers are pushed back on
+ * instead of queuing unbounded work.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> Transactions depend on a connection saved in a thread-local by the connection source. So that this
+ * still works, {@link #callBatchTasks(Callable)} and {@link #callInTransaction(Callable)} run all of the callable on a
+ * single pool thread. Also, if the calling thread already has a saved connection -- because it is inside of a
+ * transaction -- or is one of the pool threads then the operation is run in the calling thread so it takes part in
+ * the transaction.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class AsyncDao<T, ID> implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncDao.class);
+
+	private final Dao<T, ID> dao;
+	private final ConnectionSource connectionSource;
+	private final String tableName;
+	private final AsyncDaoExecutor executor;
+	private volatile boolean closed;
+	// number of our operations that have been handed to the executor and have not finished
+	private int runningCount;
+
+	/**
+	 * Create an async DAO which uses the executor that is shared by the async DAOs of the connection source.
+	 */
+	public AsyncDao(Dao<T, ID> dao) {
+		this(dao, AsyncDaoExecutor.getShared(dao.getConnectionSource(), findTableName(dao)));
+	}
+
+	/**
+	 * Create an async DAO.
+	 * 
+	 * @param dao
+	 *            DAO that we are wrapping.
+	 * @param executor
+	 *            Executor which runs the operations. It is not closed when this DAO is closed so it can be shared.
+	 */
+	public AsyncDao(Dao<T, ID> dao, AsyncDaoExecutor executor) {
+		this.dao = dao;
+		this.connectionSource = dao.getConnectionSource();
+		this.tableName = findTableName(dao);
+		this.executor = executor;
+	}
+
+	/**
+	 * Call through to {@link DaoManager#createDao(ConnectionSource, Class)} with the returned DAO wrapped in an
+	 * AsyncDao.
+	 */
+	public static <T, ID> AsyncDao<T, ID> createDao(ConnectionSource connectionSource, Class<T> clazz)
+			throws SQLException {
+		@SuppressWarnings("unchecked")
+		Dao<T, ID> castDao = (Dao<T, ID>) DaoManager.createDao(connectionSource, clazz);
+		return new AsyncDao<T, ID>(castDao);
+	}
+
+	/**
+	 * Call through to {@link DaoManager#createDao(ConnectionSource, DatabaseTableConfig)} with the returned DAO wrapped
+	 * in an AsyncDao.
+	 */
+	public static <T, ID> AsyncDao<T, ID> createDao(ConnectionSource connectionSource,
+			DatabaseTableConfig<T> tableConfig) throws SQLException {
+		@SuppressWarnings("unchecked")
+		Dao<T, ID> castDao = (Dao<T, ID>) DaoManager.createDao(connectionSource, tableConfig);
+		return new AsyncDao<T, ID>(castDao);
+	}
+
+	/**
+	 * @see Dao#queryForId(Object)
+	 */
+	public DaoFuture<T> queryForId(final ID id) {
+		return submit(new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.queryForId(id);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForFirst(PreparedQuery)
+	 */
+	public DaoFuture<T> queryForFirst(final PreparedQuery<T> preparedQuery) {
+		return submit(new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.queryForFirst(preparedQuery);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForAll()
+	 */
+	public DaoFuture<List<T>> queryForAll() {
+		return submit(new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.queryForAll();
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForEq(String, Object)
+	 */
+	public DaoFuture<List<T>> queryForEq(final String fieldName, final Object value) {
+		return submit(new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.queryForEq(fieldName, value);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#query(PreparedQuery)
+	 */
+	public DaoFuture<List<T>> query(final PreparedQuery<T> preparedQuery) {
+		return submit(new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.query(preparedQuery);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#countOf()
+	 */
+	public DaoFuture<Long> countOf() {
+		return submit(new Callable<Long>() {
+			@Override
+			public Long call() throws SQLException {
+				return dao.countOf();
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#countOf(PreparedQuery)
+	 */
+	public DaoFuture<Long> countOf(final PreparedQuery<T> preparedQuery) {
+		return submit(new Callable<Long>() {
+			@Override
+			public Long call() throws SQLException {
+				return dao.countOf(preparedQuery);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#create(Object)
+	 */
+	public DaoFuture<Integer> create(final T data) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.create(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#create(Collection)
+	 */
+	public DaoFuture<Integer> create(final Collection<T> datas) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.create(datas);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#createIfNotExists(Object)
+	 */
+	public DaoFuture<T> createIfNotExists(final T data) {
+		return submit(new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.createIfNotExists(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#createOrUpdate(Object)
+	 */
+	public DaoFuture<Dao.CreateOrUpdateStatus> createOrUpdate(final T data) {
+		return submit(new Callable<Dao.CreateOrUpdateStatus>() {
+			@Override
+			public Dao.CreateOrUpdateStatus call() throws SQLException {
+				return dao.createOrUpdate(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#update(Object)
+	 */
+	public DaoFuture<Integer> update(final T data) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.update(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#updateId(Object, Object)
+	 */
+	public DaoFuture<Integer> updateId(final T data, final ID newId) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.updateId(data, newId);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#update(PreparedUpdate)
+	 */
+	public DaoFuture<Integer> update(final PreparedUpdate<T> preparedUpdate) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.update(preparedUpdate);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#refresh(Object)
+	 */
+	public DaoFuture<Integer> refresh(final T data) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.refresh(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#delete(Object)
+	 */
+	public DaoFuture<Integer> delete(final T data) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.delete(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#deleteById(Object)
+	 */
+	public DaoFuture<Integer> deleteById(final ID id) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.deleteById(id);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#delete(Collection)
+	 */
+	public DaoFuture<Integer> delete(final Collection<T> datas) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.delete(datas);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#deleteIds(Collection)
+	 */
+	public DaoFuture<Integer> deleteIds(final Collection<ID> ids) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.deleteIds(ids);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#delete(PreparedDelete)
+	 */
+	public DaoFuture<Integer> delete(final PreparedDelete<T> preparedDelete) {
+		return submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.delete(preparedDelete);
+			}
+		});
+	}
+
+	/**
+	 * Run the callable with {@link Dao#callBatchTasks(Callable)}. All of the callable is run in the same pool thread so
+	 * that the saved connection is used by all of the operations.
+	 */
+	public <CT> DaoFuture<CT> callBatchTasks(final Callable<CT> callable) {
+		return submit(new Callable<CT>() {
+			@Override
+			public CT call() throws Exception {
+				return dao.callBatchTasks(callable);
+			}
+		});
+	}
+
+	/**
+	 * Run the callable inside of a transaction with {@link TransactionManager#callInTransaction(String,
+	 * ConnectionSource, Callable)}. All of the callable is run in the same pool thread so that the saved connection is
+	 * used by all of the operations.
+	 */
+	public <CT> DaoFuture<CT> callInTransaction(final Callable<CT> callable) {
+		return submit(new Callable<CT>() {
+			@Override
+			public CT call() throws SQLException {
+				return TransactionManager.callInTransaction(tableName, connectionSource, callable);
+			}
+		});
+	}
+
+	/**
+	 * Run an arbitrary callable using the pool of threads. If the calling thread has a saved connection or is one of
+	 * our pool threads then the callable is run in the calling thread before this method returns.
+	 * 
+	 * @throws RejectedExecutionException
+	 *             If there are too many operations waiting to be run or if the DAO has been closed.
+	 */
+	public <V> DaoFuture<V> submit(Callable<V> callable) {
+		if (closed) {
+			throw new RejectedExecutionException("Async DAO for " + tableName + " has been closed");
+		}
+		final DaoFuture<V> future = new DaoFuture<V>(callable);
+		if (connectionSource.getSpecialConnection(tableName) != null || executor.isPoolThread()) {
+			/*
+			 * We are inside of a transaction or batch and the saved connection is only visible to this thread. Running it
+			 * here also stops a pool thread from waiting on a task that is queued behind it.
+			 */
+			future.run();
+			return future;
+		}
+		synchronized (this) {
+			runningCount++;
+		}
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						future.run();
+					} finally {
+						operationFinished();
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			operationFinished();
+			throw e;
+		}
+		return future;
+	}
+
+	/**
+	 * Return the number of operations that are waiting for a thread in the executor. If it is shared then this includes
+	 * the operations of the other DAOs.
+	 */
+	public int getQueuedCount() {
+		return executor.getQueuedCount();
+	}
+
+	/**
+	 * Return the executor which runs our operations.
+	 */
+	public AsyncDaoExecutor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Return the underlying DAO that we are wrapping.
+	 */
+	public Dao<T, ID> getDao() {
+		return dao;
+	}
+
+	/**
+	 * Stop accepting operations. Operations that have already been submitted are still run. The executor is not closed
+	 * since it may be shared.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	/**
+	 * Stop accepting operations and wait for our submitted operations to finish.
+	 * 
+	 * @return True if all of the operations finished or false if the timeout expired.
+	 */
+	public synchronized boolean closeAndWait(long timeoutMillis) throws InterruptedException {
+		closed = true;
+		long endMillis = System.currentTimeMillis() + timeoutMillis;
+		while (runningCount > 0) {
+			long waitMillis = endMillis - System.currentTimeMillis();
+			if (waitMillis <= 0) {
+				return false;
+			}
+			wait(waitMillis);
+		}
+		return true;
+	}
+
+	private synchronized void operationFinished() {
+		runningCount--;
+		if (runningCount == 0) {
+			notifyAll();
+		}
+	}
+
+	private static String findTableName(Dao<?, ?> dao) {
+		if (dao instanceof BaseDaoImpl) {
+			return ((BaseDaoImpl<?, ?>) dao).getTableInfo().getTableName();
+		} else {
+			return dao.getTableName();
+		}
+	}
+
+	/**
+	 * Callback which is called when a {@link DaoFuture} has finished.
+	 */
+	public interface Callback<V> {
+
+		/**
+		 * Called with the results of the operation if it succeeded.
+		 */
+		public void onSuccess(V result);
+
+		/**
+		 * Called with the exception that the operation threw or a {@link CancellationException} if it was cancelled.
+		 */
+		public void onFailure(Throwable throwable);
+	}
+
+	/**
+	 * Future returned by the async DAO operations. Callbacks can be added so the calling thread does not have to block
+	 * on {@link #get()}.
+	 */
+	public static class DaoFuture<V> extends FutureTask<V> {
+
+		private List<Callback<? super V>> callbacks;
+
+		public DaoFuture(Callable<V> callable) {
+			super(callable);
+		}
+
+		/**
+		 * Add a callback which is called when the operation finishes. This is called in the thread that ran the
+		 * operation or in the calling thread if the operation has already finished.
+		 */
+		public void addCallback(Callback<? super V> callback) {
+			synchronized (this) {
+				if (!isDone()) {
+					if (callbacks == null) {
+						callbacks = new ArrayList<Callback<? super V>>();
+					}
+					callbacks.add(callback);
+					return;
+				}
+			}
+			runCallback(callback);
+		}
+
+		@Override
+		protected void done() {
+			List<Callback<? super V>> toRun;
+			synchronized (this) {
+				toRun = callbacks;
+				callbacks = null;
+			}
+			if (toRun != null) {
+				for (Callback<? super V> callback : toRun) {
+					runCallback(callback);
+				}
+			}
+		}
+
+		private void runCallback(Callback<? super V> callback) {
+			V result;
+			try {
+				result = get();
+			} catch (ExecutionException e) {
+				callback.onFailure(e.getCause());
+				return;
+			} catch (CancellationException e) {
+				callback.onFailure(e);
+				return;
+			} catch (InterruptedException e) {
+				// should not happen since we are done
+				Thread.currentThread().interrupt();
+				callback.onFailure(e);
+				return;
+			}
+			try {
+				callback.onSuccess(result);
+			} catch (RuntimeException e) {
+				logger.error(e, "callback {} threw an exception", callback);
+			}
+		}
+	}
+}
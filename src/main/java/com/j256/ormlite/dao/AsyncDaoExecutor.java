@@ -0,0 +1,177 @@
+package com.j256.ormlite.dao;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * Bounded pool of threads which runs the operations of one or more {@link AsyncDao}s. Each pool thread holds a database
+ * connection while it runs an operation so the number of threads should not be more than the number of connections
+ * that the connection source can hand out.
+ * 
+ * <p>
+ * By default all of the async DAOs of a connection source share one executor which is returned by
+ * {@link #getShared(ConnectionSource, String)}. It has 1 thread if the connection source only has a single connection
+ * and {@link #DEFAULT_NUM_THREADS} otherwise. To match the size of a connection pool, create an executor with the
+ * number of threads and pass it to the {@link AsyncDao} constructor. Idle threads time out so an executor that is no
+ * longer used does not hold onto them.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class AsyncDaoExecutor implements Closeable {
+
+	/** default number of threads if the connection source has multiple connections */
+	public static final int DEFAULT_NUM_THREADS = 4;
+	/** default maximum number of operations that can be waiting for a thread */
+	public static final int DEFAULT_MAX_QUEUED = 1000;
+
+	private static final long IDLE_TIMEOUT_MILLIS = 60000;
+	private static final Map<ConnectionSource, AsyncDaoExecutor> sharedExecutors =
+			new WeakHashMap<ConnectionSource, AsyncDaoExecutor>();
+
+	private final PoolThreadFactory threadFactory;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * @param numThreads
+	 *            Number of threads to run the operations. This should not be more than the number of connections that
+	 *            the connection source can hand out.
+	 * @param maxQueued
+	 *            Maximum number of operations which can be waiting for a thread before the operation methods throw
+	 *            {@link RejectedExecutionException}.
+	 */
+	public AsyncDaoExecutor(int numThreads, int maxQueued) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("Number of threads must be positive: " + numThreads);
+		}
+		if (maxQueued <= 0) {
+			throw new IllegalArgumentException("Maximum queued operations must be positive: " + maxQueued);
+		}
+		this.threadFactory = new PoolThreadFactory(this);
+		this.executor = new ThreadPoolExecutor(numThreads, numThreads, IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(maxQueued), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Return the executor that is shared by the async DAOs of the connection source, creating it if needed. If it has
+	 * been closed then a new one is created.
+	 * 
+	 * @param tableName
+	 *            Table name passed to {@link ConnectionSource#isSingleConnection(String)} to size the executor.
+	 */
+	public static synchronized AsyncDaoExecutor getShared(ConnectionSource connectionSource, String tableName) {
+		AsyncDaoExecutor executor = sharedExecutors.get(connectionSource);
+		if (executor == null || executor.isClosed()) {
+			int numThreads;
+			if (connectionSource.isSingleConnection(tableName)) {
+				// more threads would just wait on each other for the connection
+				numThreads = 1;
+			} else {
+				numThreads = DEFAULT_NUM_THREADS;
+			}
+			executor = new AsyncDaoExecutor(numThreads, DEFAULT_MAX_QUEUED);
+			sharedExecutors.put(connectionSource, executor);
+		}
+		return executor;
+	}
+
+	/**
+	 * Run the operation in one of our threads.
+	 * 
+	 * @throws RejectedExecutionException
+	 *             If there are too many operations waiting to be run or if the executor has been closed.
+	 */
+	public void execute(Runnable runnable) {
+		executor.execute(runnable);
+	}
+
+	/**
+	 * Return true if the current thread is one of our threads.
+	 */
+	public boolean isPoolThread() {
+		return threadFactory.isPoolThread();
+	}
+
+	/**
+	 * Return the number of operations that are waiting for a thread.
+	 */
+	public int getQueuedCount() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Return true if {@link #close()} has been called.
+	 */
+	public boolean isClosed() {
+		return executor.isShutdown();
+	}
+
+	/**
+	 * Stop accepting operations. Operations that have already been submitted are still run.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Stop accepting operations and wait for the submitted operations to finish.
+	 * 
+	 * @return True if all of the operations finished or false if the timeout expired.
+	 */
+	public boolean closeAndWait(long timeoutMillis) throws InterruptedException {
+		executor.shutdown();
+		return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Makes daemon threads which know which executor they belong to.
+	 */
+	private static class PoolThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger poolCount = new AtomicInteger();
+		private final String prefix;
+		private final AtomicInteger threadCount = new AtomicInteger();
+		private final AsyncDaoExecutor owner;
+
+		public PoolThreadFactory(AsyncDaoExecutor owner) {
+			this.prefix = "ormlite-async-" + poolCount.incrementAndGet() + "-";
+			this.owner = owner;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new PoolThread(owner, runnable, prefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+		public boolean isPoolThread() {
+			Thread thread = Thread.currentThread();
+			return (thread instanceof PoolThread && ((PoolThread) thread).owner == owner);
+		}
+	}
+
+	/**
+	 * Thread which remembers the executor that it belongs to.
+	 */
+	private static class PoolThread extends Thread {
+
+		final AsyncDaoExecutor owner;
+
+		public PoolThread(AsyncDaoExecutor owner, Runnable runnable, String name) {
+			super(runnable, name);
+			this.owner = owner;
+		}
+	}
+}
@@ -17,6 +17,9 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.misc.BaseDaoEnabled;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.misc.WriteBehindBuffer;
+import com.j256.ormlite.stmt.CompiledQueryCache;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.stmt.PreparedDelete;
@@ -77,8 +80,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	protected CloseableIterator<T> lastIterator;
 	protected ObjectFactory<T> objectFactory;
 
-	private boolean initialized;
+	private final boolean lazyInitialization;
+	private volatile boolean tableInfoBuilt;
+	private volatile boolean initialized;
 	ObjectCache objectCache;
+	private CompiledQueryCache compiledQueryCache;
 	private Map<DaoObserver, Object> daoObserverMap;
 
 	/**
@@ -125,16 +131,29 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	private BaseDaoImpl(ConnectionSource connectionSource, Class<T> dataClass, DatabaseTableConfig<T> tableConfig)
 			throws SQLException {
+		this(connectionSource, dataClass, tableConfig, DaoManager.isLazyInitialization());
+	}
+
+	private BaseDaoImpl(ConnectionSource connectionSource, Class<T> dataClass, DatabaseTableConfig<T> tableConfig,
+			boolean lazyInitialization) throws SQLException {
 		this.dataClass = dataClass;
 		this.tableConfig = tableConfig;
+		this.lazyInitialization = lazyInitialization;
 		if (connectionSource != null) {
 			this.connectionSource = connectionSource;
-			initialize();
+			if (!lazyInitialization) {
+				initialize();
+			}
 		}
 	}
 
 	/**
 	 * Initialize the various DAO configurations after the various setters have been called.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> If the DAO was constructed while {@link DaoManager#isLazyInitialization()} was true then this is
+	 * called automatically by the first operation on the DAO.
+	 * </p>
 	 */
 	public void initialize() throws SQLException {
 		if (initialized) {
@@ -146,18 +165,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			throw new IllegalStateException("connectionSource was never set on " + getClass().getSimpleName());
 		}
 
-		databaseType = connectionSource.getDatabaseType();
-		if (databaseType == null) {
-			throw new IllegalStateException("connectionSource is getting a null DatabaseType in "
-					+ getClass().getSimpleName());
-		}
-		if (tableConfig == null) {
-			tableInfo = new TableInfo<T, ID>(connectionSource, this, dataClass);
+		if (lazyInitialization) {
+			buildTableInfoIfNeeded();
 		} else {
-			tableConfig.extractFieldTypes(connectionSource);
-			tableInfo = new TableInfo<T, ID>(databaseType, this, tableConfig);
+			buildTableInfo();
 		}
-		statementExecutor = new StatementExecutor<T, ID>(databaseType, tableInfo, this);
 
 		/*
 		 * This is a bit complex. Initially, when we were configuring the field types, external DAO information would be
@@ -173,6 +185,14 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		 * here, we have to see if it is the top DAO. If not we save it for dao configuration later.
 		 */
 		List<BaseDaoImpl<?, ?>> daoConfigList = daoConfigLevelLocal.get();
+		if (lazyInitialization && !daoConfigList.isEmpty()) {
+			/*
+			 * A lazy DAO that is touched while another DAO is configuring its fields only needs its table information.
+			 * It will configure its own fields when it is first used. This means that the cost of initialization is
+			 * proportional to the classes which are actually used instead of the whole graph of foreign classes.
+			 */
+			return;
+		}
 		daoConfigList.add(this);
 		if (daoConfigList.size() > 1) {
 			// if we have recursed then just save the dao for later configuration
@@ -199,19 +219,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 				 */
 				DaoManager.registerDao(connectionSource, dao);
 
-				try {
-					// config our fields which may go recursive
-					for (FieldType fieldType : dao.getTableInfo().getFieldTypes()) {
-						fieldType.configDaoInformation(connectionSource, dao.getDataClass());
-					}
-				} catch (SQLException e) {
-					// unregister the DAO we just pre-registered
-					DaoManager.unregisterDao(connectionSource, dao);
-					throw e;
-				}
-
-				// it's now been fully initialized
-				dao.initialized = true;
+				dao.configFieldDaoInformation();
 			}
 		} finally {
 			// if we throw we want to clear our class hierarchy here
@@ -220,9 +228,62 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * Build our table information if it has not been built already without configuring our fields. This is the part
+	 * of the initialization that does not depend on other DAOs.
+	 */
+	void buildTableInfoIfNeeded() throws SQLException {
+		if (!tableInfoBuilt) {
+			synchronized (this) {
+				if (!tableInfoBuilt) {
+					buildTableInfo();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Configure the foreign DAO information of our fields which may go recursive. This is synchronized because lazy
+	 * DAOs may be initialized by multiple threads at the same time.
+	 */
+	private synchronized void configFieldDaoInformation() throws SQLException {
+		if (initialized) {
+			// another thread got here first
+			return;
+		}
+		try {
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				fieldType.configDaoInformation(connectionSource, dataClass);
+			}
+		} catch (SQLException e) {
+			// unregister the DAO we just pre-registered
+			DaoManager.unregisterDao(connectionSource, this);
+			throw e;
+		}
+		// it's now been fully initialized
+		initialized = true;
+	}
+
+	private void buildTableInfo() throws SQLException {
+		databaseType = connectionSource.getDatabaseType();
+		if (databaseType == null) {
+			throw new IllegalStateException("connectionSource is getting a null DatabaseType in "
+					+ getClass().getSimpleName());
+		}
+		if (tableConfig == null) {
+			tableInfo = new TableInfo<T, ID>(connectionSource, this, dataClass);
+		} else {
+			tableConfig.extractFieldTypes(connectionSource);
+			tableInfo = new TableInfo<T, ID>(databaseType, this, tableConfig);
+		}
+		statementExecutor = new StatementExecutor<T, ID>(databaseType, tableInfo, this);
+		tableInfoBuilt = true;
+	}
+
 	@Override
 	public T queryForId(ID id) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.queryForId(connection, id, objectCache);
@@ -234,6 +295,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public T queryForFirst(PreparedQuery<T> preparedQuery) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.queryForFirst(connection, preparedQuery, objectCache);
@@ -245,6 +307,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public List<T> queryForAll() throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		return statementExecutor.queryForAll(connectionSource, objectCache);
 	}
 
@@ -274,6 +337,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public List<T> query(PreparedQuery<T> preparedQuery) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		return statementExecutor.query(connectionSource, preparedQuery, objectCache);
 	}
 
@@ -314,6 +378,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int create(T data) throws SQLException {
 		checkForInitialized();
+		checkWritable();
 		// ignore creating a null object
 		if (data == null) {
 			return 0;
@@ -323,6 +388,13 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
 			daoEnabled.setDao(this);
 		}
+		WriteBehindBuffer buffer = WriteBehindBuffer.getThreadBuffer(connectionSource);
+		if (buffer != null) {
+			if (buffer.queueCreate(this, data)) {
+				return 1;
+			}
+			buffer.flush();
+		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.create(connection, data, objectCache);
@@ -334,6 +406,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int create(final Collection<T> datas) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		for (T data : datas) {
 			if (data instanceof BaseDaoEnabled) {
 				@SuppressWarnings("unchecked")
@@ -395,6 +469,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int update(T data) throws SQLException {
 		checkForInitialized();
+		checkWritable();
 		// ignore updating a null object
 		if (data == null) {
 			return 0;
@@ -404,6 +479,13 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
 			daoEnabled.setDao(this);
 		}
+		WriteBehindBuffer buffer = WriteBehindBuffer.getThreadBuffer(connectionSource);
+		if (buffer != null) {
+			if (buffer.queueUpdate(this, data)) {
+				return 1;
+			}
+			buffer.flush();
+		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.update(connection, data, objectCache);
@@ -415,6 +497,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int updateId(T data, ID newId) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		// ignore updating a null object
 		if (data == null) {
 			return 0;
@@ -431,6 +515,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int update(PreparedUpdate<T> preparedUpdate) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.update(connection, preparedUpdate);
@@ -442,6 +528,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int refresh(T data) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		// ignore refreshing a null object
 		if (data == null) {
 			return 0;
@@ -462,22 +549,31 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int delete(T data) throws SQLException {
 		checkForInitialized();
+		checkWritable();
 		// ignore deleting a null object
 		if (data == null) {
 			return 0;
-		} else {
-			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
-			try {
-				return statementExecutor.delete(connection, data, objectCache);
-			} finally {
-				connectionSource.releaseConnection(connection);
+		}
+		WriteBehindBuffer buffer = WriteBehindBuffer.getThreadBuffer(connectionSource);
+		if (buffer != null) {
+			if (buffer.queueDelete(this, data)) {
+				return 1;
 			}
+			buffer.flush();
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			return statementExecutor.delete(connection, data, objectCache);
+		} finally {
+			connectionSource.releaseConnection(connection);
 		}
 	}
 
 	@Override
 	public int deleteById(ID id) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		// ignore deleting a null id
 		if (id == null) {
 			return 0;
@@ -494,6 +590,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int delete(Collection<T> datas) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		// ignore deleting a null object
 		if (datas == null || datas.isEmpty()) {
 			return 0;
@@ -510,6 +608,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int deleteIds(Collection<ID> ids) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		// ignore deleting a null object
 		if (ids == null || ids.isEmpty()) {
 			return 0;
@@ -526,6 +626,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int delete(PreparedDelete<T> preparedDelete) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.delete(connection, preparedDelete);
@@ -612,6 +714,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public GenericRawResults<String[]> queryRaw(String query, String... arguments) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		try {
 			return statementExecutor.queryRaw(connectionSource, query, arguments, objectCache);
 		} catch (SQLException e) {
@@ -623,6 +726,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	public <GR> GenericRawResults<GR> queryRaw(String query, RawRowMapper<GR> mapper, String... arguments)
 			throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		try {
 			return statementExecutor.queryRaw(connectionSource, query, mapper, arguments, objectCache);
 		} catch (SQLException e) {
@@ -634,6 +738,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	public <UO> GenericRawResults<UO> queryRaw(String query, DataType[] columnTypes, RawRowObjectMapper<UO> mapper,
 			String... arguments) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		try {
 			return statementExecutor.queryRaw(connectionSource, query, columnTypes, mapper, arguments, objectCache);
 		} catch (SQLException e) {
@@ -645,6 +750,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	public GenericRawResults<Object[]> queryRaw(String query, DataType[] columnTypes, String... arguments)
 			throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		try {
 			return statementExecutor.queryRaw(connectionSource, query, columnTypes, arguments, objectCache);
 		} catch (SQLException e) {
@@ -656,6 +762,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	public <UO> GenericRawResults<UO> queryRaw(String query, DatabaseResultsMapper<UO> mapper, String... arguments)
 			throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		try {
 			return statementExecutor.queryRaw(connectionSource, query, mapper, arguments, objectCache);
 		} catch (SQLException e) {
@@ -663,9 +770,25 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public ColumnarResults queryRawColumnar(String query, DataType[] columnTypes, String... arguments)
+			throws SQLException {
+		checkForInitialized();
+		flushWriteBehind();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		try {
+			return statementExecutor.queryRawColumnar(connection, query, columnTypes, arguments);
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Could not perform raw columnar query for " + query, e);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	@Override
 	public long queryRawValue(String query, String... arguments) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.queryForLong(connection, query, arguments);
@@ -679,6 +802,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int executeRaw(String statement, String... arguments) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.executeRaw(connection, statement, arguments);
@@ -692,6 +817,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int executeRawNoArgs(String statement) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.executeRawNoArgs(connection, statement);
@@ -705,6 +832,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public int updateRaw(String statement, String... arguments) throws SQLException {
 		checkForInitialized();
+		checkWritable();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.updateRaw(connection, statement, arguments);
@@ -718,6 +847,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public <CT> CT callBatchTasks(Callable<CT> callable) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		return statementExecutor.callBatchTasks(connectionSource, callable);
 	}
 
@@ -771,12 +901,14 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public boolean isUpdatable() {
+		checkForInitialized();
 		return tableInfo.isUpdatable();
 	}
 
 	@Override
 	public boolean isTableExists() throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
 			return connection.isTableExists(tableInfo.getTableName());
@@ -788,6 +920,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public long countOf() throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.queryForCountStar(connection);
@@ -799,6 +932,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public long countOf(PreparedQuery<T> preparedQuery) throws SQLException {
 		checkForInitialized();
+		flushWriteBehind();
 		if (preparedQuery.getType() != StatementType.SELECT_LONG) {
 			throw new IllegalArgumentException("Prepared query is not of type " + StatementType.SELECT_LONG
 					+ ", you need to call QueryBuilder.setCountOf(true)");
@@ -825,6 +959,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	public void setObjectCache(boolean enabled) throws SQLException {
 		if (enabled) {
 			if (objectCache == null) {
+				checkForInitialized();
 				if (tableInfo.getIdField() == null) {
 					throw new SQLException("Class " + dataClass + " must have an id field to enable the object cache");
 				}
@@ -858,6 +993,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 				// help with GC-ing
 				this.objectCache.clear(dataClass);
 			}
+			checkForInitialized();
 			if (tableInfo.getIdField() == null) {
 				throw new SQLException("Class " + dataClass + " must have an id field to enable the object cache");
 			}
@@ -878,6 +1014,16 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public void setCompiledQueryCache(CompiledQueryCache compiledQueryCache) {
+		this.compiledQueryCache = compiledQueryCache;
+	}
+
+	@Override
+	public CompiledQueryCache getCompiledQueryCache() {
+		return compiledQueryCache;
+	}
+
 	/**
 	 * Special call mostly used in testing to clear the internal object caches so we can reset state.
 	 */
@@ -890,9 +1036,29 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public T mapSelectStarRow(DatabaseResults results) throws SQLException {
+		checkForInitialized();
 		return statementExecutor.getSelectStarRowMapper().mapRow(results);
 	}
 
+	@Override
+	public long parallelScan(int numPartitions, ScanConsumer<T> consumer) throws SQLException {
+		checkForInitialized();
+		flushWriteBehind();
+		FieldType idFieldType = tableInfo.getIdField();
+		if (idFieldType == null) {
+			throw new SQLException("Cannot scan " + dataClass + " by id because it doesn't have an id field");
+		}
+		return new ParallelScanner<T, ID>(this, tableInfo.getTableName(), idFieldType).scan(numPartitions, consumer);
+	}
+
+	@Override
+	public long parallelScan(String columnName, int numPartitions, ScanConsumer<T> consumer) throws SQLException {
+		checkForInitialized();
+		flushWriteBehind();
+		FieldType fieldType = tableInfo.getFieldTypeByColumnName(columnName);
+		return new ParallelScanner<T, ID>(this, tableInfo.getTableName(), fieldType).scan(numPartitions, consumer);
+	}
+
 	@Override
 	public void notifyChanges() {
 		if (daoObserverMap != null) {
@@ -931,16 +1097,20 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public GenericRowMapper<T> getSelectStarRowMapper() throws SQLException {
+		checkForInitialized();
 		return statementExecutor.getSelectStarRowMapper();
 	}
 
 	@Override
 	public RawRowMapper<T> getRawRowMapper() {
+		checkForInitialized();
 		return statementExecutor.getRawRowMapper();
 	}
 
 	@Override
 	public boolean idExists(ID id) throws SQLException {
+		checkForInitialized();
+		flushWriteBehind();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
 			return statementExecutor.ifExists(connection, id);
@@ -951,6 +1121,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public DatabaseConnection startThreadConnection() throws SQLException {
+		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		connectionSource.saveSpecialConnection(connection);
 		return connection;
@@ -1003,6 +1174,9 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	 * Used by internal classes to get the table information structure for the Dao's class.
 	 */
 	public TableInfo<T, ID> getTableInfo() {
+		if (lazyInitialization && !initialized && connectionSource != null) {
+			lazyInitializeOrThrow();
+		}
 		return tableInfo;
 	}
 
@@ -1056,9 +1230,31 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		};
 	}
 
+	/**
+	 * Helper method to create a Dao object which defers its initialization until it is first used or until
+	 * {@link #initialize()} is called regardless of {@link DaoManager#isLazyInitialization()}.
+	 */
+	static <T, ID> BaseDaoImpl<T, ID> createLazyDao(ConnectionSource connectionSource,
+			DatabaseTableConfig<T> tableConfig) throws SQLException {
+		return new BaseDaoImpl<T, ID>(connectionSource, tableConfig.getDataClass(), tableConfig, true) {
+		};
+	}
+
 	protected void checkForInitialized() {
 		if (!initialized) {
-			throw new IllegalStateException("you must call initialize() before you can use the dao");
+			if (lazyInitialization && connectionSource != null) {
+				lazyInitializeOrThrow();
+			} else {
+				throw new IllegalStateException("you must call initialize() before you can use the dao");
+			}
+		}
+	}
+
+	private void lazyInitializeOrThrow() {
+		try {
+			initialize();
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not lazily initialize the dao for " + dataClass, e);
 		}
 	}
 
@@ -1085,6 +1281,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	CloseableIterator<T> createIterator(int resultFlags) {
 		try {
+			flushWriteBehind();
 			SelectIterator<T, ID> iterator =
 					statementExecutor.buildIterator(this, connectionSource, resultFlags, objectCache);
 			return iterator;
@@ -1095,6 +1292,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	CloseableIterator<T> createIterator(PreparedQuery<T> preparedQuery, int resultFlags) throws SQLException {
 		try {
+			flushWriteBehind();
 			SelectIterator<T, ID> iterator =
 					statementExecutor.buildIterator(this, connectionSource, preparedQuery, objectCache, resultFlags);
 			return iterator;
@@ -1103,6 +1301,25 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * Refuse the write if this thread is in a read-only transaction so it fails before going to the database.
+	 */
+	private void checkWritable() throws SQLException {
+		if (TransactionManager.isInReadOnlyTransaction(connectionSource)) {
+			throw new SQLException("Cannot write to " + tableInfo.getTableName() + " in a read-only transaction");
+		}
+	}
+
+	/**
+	 * Run any writes queued by a unit-of-work on this thread so the next operation sees them.
+	 */
+	private void flushWriteBehind() throws SQLException {
+		WriteBehindBuffer buffer = WriteBehindBuffer.getThreadBuffer(connectionSource);
+		if (buffer != null) {
+			buffer.flush();
+		}
+	}
+
 	private List<T> queryForMatching(T matchObj, boolean useArgs) throws SQLException {
 		checkForInitialized();
 		QueryBuilder<T, ID> qb = queryBuilder();
@@ -0,0 +1,338 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Results of a raw query stored by column in primitive arrays instead of an Object[] per row. Integer columns are
+ * stored in int[], long columns in long[], floating point columns in double[], and string columns are dictionary
+ * encoded into an int[] of codes with a String[] of the distinct values. This is returned by
+ * {@link Dao#queryRawColumnar(String, DataType[], String...)} and is useful for aggregate and analytic queries which
+ * return a large number of rows.
+ * 
+ * <p>
+ * The column types supported are: {@link DataType#INTEGER}, {@link DataType#SHORT}, {@link DataType#BYTE}, and
+ * {@link DataType#BOOLEAN} (1 or 0) which are stored as int; {@link DataType#LONG} stored as long; {@link DataType#DOUBLE}
+ * and {@link DataType#FLOAT} stored as double; {@link DataType#STRING} and {@link DataType#LONG_STRING} which are
+ * dictionary encoded. The object versions (INTEGER_OBJ, etc.) are also supported. Null values are stored as 0 or as
+ * the {@link #NULL_STRING_CODE} and can be detected with {@link #isNull(int, int)}.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ColumnarResults {
+
+	/** code in the string codes array of a null string value */
+	public static final int NULL_STRING_CODE = -1;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final String[] columnNames;
+	private final ColumnType[] columnTypes;
+	private final Object[] columnArrays;
+	private final BitSet[] nullSets;
+	private final String[][] dictionaries;
+	private final int numRows;
+
+	private ColumnarResults(String[] columnNames, ColumnType[] columnTypes, Object[] columnArrays, BitSet[] nullSets,
+			String[][] dictionaries, int numRows) {
+		this.columnNames = columnNames;
+		this.columnTypes = columnTypes;
+		this.columnArrays = columnArrays;
+		this.nullSets = nullSets;
+		this.dictionaries = dictionaries;
+		this.numRows = numRows;
+	}
+
+	/**
+	 * Read all of the rows from the results into columns. The results are not closed.
+	 * 
+	 * @param columnTypes
+	 *            Type of each of the columns in the results.
+	 */
+	public static ColumnarResults fromResults(DatabaseResults results, DataType[] columnTypes) throws SQLException {
+		String[] columnNames = results.getColumnNames();
+		if (columnNames.length != columnTypes.length) {
+			throw new SQLException("Number of column types (" + columnTypes.length
+					+ ") does not match the number of columns in the results (" + columnNames.length + ")");
+		}
+		int numColumns = columnTypes.length;
+		ColumnType[] types = new ColumnType[numColumns];
+		for (int colC = 0; colC < numColumns; colC++) {
+			types[colC] = ColumnType.fromDataType(columnTypes[colC]);
+			if (types[colC] == null) {
+				throw new SQLException("Data type " + columnTypes[colC] + " of column " + columnNames[colC]
+						+ " is not supported in columnar results");
+			}
+		}
+		ColumnBuilder[] builders = new ColumnBuilder[numColumns];
+		for (int colC = 0; colC < numColumns; colC++) {
+			builders[colC] = new ColumnBuilder(types[colC]);
+		}
+
+		int rowC = 0;
+		boolean more = results.first();
+		while (more) {
+			for (int colC = 0; colC < numColumns; colC++) {
+				builders[colC].read(results, colC, rowC);
+			}
+			rowC++;
+			more = results.next();
+		}
+
+		Object[] columnArrays = new Object[numColumns];
+		BitSet[] nullSets = new BitSet[numColumns];
+		String[][] dictionaries = new String[numColumns][];
+		for (int colC = 0; colC < numColumns; colC++) {
+			columnArrays[colC] = builders[colC].trimmedArray(rowC);
+			nullSets[colC] = builders[colC].nullSet;
+			dictionaries[colC] = builders[colC].dictionary();
+		}
+		return new ColumnarResults(columnNames, types, columnArrays, nullSets, dictionaries, rowC);
+	}
+
+	/**
+	 * Return the number of rows in the results.
+	 */
+	public int getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * Return the number of columns in the results.
+	 */
+	public int getNumColumns() {
+		return columnNames.length;
+	}
+
+	/**
+	 * Return the names of the columns.
+	 */
+	public String[] getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * Return the column index of the column name or -1 if not found.
+	 */
+	public int findColumn(String columnName) {
+		for (int colC = 0; colC < columnNames.length; colC++) {
+			if (columnNames[colC].equalsIgnoreCase(columnName)) {
+				return colC;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the values of an int, short, byte, or boolean column. The array is not copied.
+	 */
+	public int[] getInts(int columnIndex) {
+		checkType(columnIndex, ColumnType.INT);
+		return (int[]) columnArrays[columnIndex];
+	}
+
+	/**
+	 * Return the values of a long column. The array is not copied.
+	 */
+	public long[] getLongs(int columnIndex) {
+		checkType(columnIndex, ColumnType.LONG);
+		return (long[]) columnArrays[columnIndex];
+	}
+
+	/**
+	 * Return the values of a double or float column. The array is not copied.
+	 */
+	public double[] getDoubles(int columnIndex) {
+		checkType(columnIndex, ColumnType.DOUBLE);
+		return (double[]) columnArrays[columnIndex];
+	}
+
+	/**
+	 * Return the dictionary codes of a string column. Each code is an index into {@link #getStringDictionary(int)} or
+	 * {@link #NULL_STRING_CODE}. The array is not copied.
+	 */
+	public int[] getStringCodes(int columnIndex) {
+		checkType(columnIndex, ColumnType.STRING);
+		return (int[]) columnArrays[columnIndex];
+	}
+
+	/**
+	 * Return the distinct values of a string column in the order that they were first seen.
+	 */
+	public String[] getStringDictionary(int columnIndex) {
+		checkType(columnIndex, ColumnType.STRING);
+		return dictionaries[columnIndex];
+	}
+
+	/**
+	 * Return the value of a string column at a row.
+	 */
+	public String getString(int columnIndex, int rowIndex) {
+		int code = getStringCodes(columnIndex)[rowIndex];
+		if (code == NULL_STRING_CODE) {
+			return null;
+		} else {
+			return dictionaries[columnIndex][code];
+		}
+	}
+
+	/**
+	 * Return true if the value of the column at a row was null.
+	 */
+	public boolean isNull(int columnIndex, int rowIndex) {
+		return nullSets[columnIndex].get(rowIndex);
+	}
+
+	private void checkType(int columnIndex, ColumnType type) {
+		if (columnTypes[columnIndex] != type) {
+			throw new IllegalArgumentException("Column " + columnNames[columnIndex] + " is stored as "
+					+ columnTypes[columnIndex] + " not " + type);
+		}
+	}
+
+	/**
+	 * How the column is stored.
+	 */
+	private enum ColumnType {
+		INT,
+		LONG,
+		DOUBLE,
+		STRING,
+		// end
+		;
+
+		public static ColumnType fromDataType(DataType dataType) {
+			switch (dataType) {
+				case INTEGER:
+				case INTEGER_OBJ:
+				case SHORT:
+				case SHORT_OBJ:
+				case BYTE:
+				case BYTE_OBJ:
+				case BOOLEAN:
+				case BOOLEAN_OBJ:
+					return INT;
+				case LONG:
+				case LONG_OBJ:
+					return LONG;
+				case DOUBLE:
+				case DOUBLE_OBJ:
+				case FLOAT:
+				case FLOAT_OBJ:
+					return DOUBLE;
+				case STRING:
+				case LONG_STRING:
+					return STRING;
+				default:
+					return null;
+			}
+		}
+	}
+
+	/**
+	 * Reads the values of one column into a growable primitive array.
+	 */
+	private static class ColumnBuilder {
+
+		private final ColumnType type;
+		private final BitSet nullSet = new BitSet();
+		private int[] ints;
+		private long[] longs;
+		private double[] doubles;
+		private Map<String, Integer> codeMap;
+		private List<String> dictionaryList;
+
+		public ColumnBuilder(ColumnType type) {
+			this.type = type;
+			switch (type) {
+				case INT:
+					ints = new int[INITIAL_CAPACITY];
+					break;
+				case LONG:
+					longs = new long[INITIAL_CAPACITY];
+					break;
+				case DOUBLE:
+					doubles = new double[INITIAL_CAPACITY];
+					break;
+				case STRING:
+					ints = new int[INITIAL_CAPACITY];
+					codeMap = new HashMap<String, Integer>();
+					dictionaryList = new ArrayList<String>();
+					break;
+			}
+		}
+
+		public void read(DatabaseResults results, int columnIndex, int rowIndex) throws SQLException {
+			switch (type) {
+				case INT:
+					if (rowIndex == ints.length) {
+						ints = Arrays.copyOf(ints, ints.length * 2);
+					}
+					ints[rowIndex] = results.getInt(columnIndex);
+					break;
+				case LONG:
+					if (rowIndex == longs.length) {
+						longs = Arrays.copyOf(longs, longs.length * 2);
+					}
+					longs[rowIndex] = results.getLong(columnIndex);
+					break;
+				case DOUBLE:
+					if (rowIndex == doubles.length) {
+						doubles = Arrays.copyOf(doubles, doubles.length * 2);
+					}
+					doubles[rowIndex] = results.getDouble(columnIndex);
+					break;
+				case STRING:
+					if (rowIndex == ints.length) {
+						ints = Arrays.copyOf(ints, ints.length * 2);
+					}
+					ints[rowIndex] = encode(results.getString(columnIndex));
+					break;
+			}
+			if (results.wasNull(columnIndex)) {
+				nullSet.set(rowIndex);
+			}
+		}
+
+		public Object trimmedArray(int numRows) {
+			switch (type) {
+				case LONG:
+					return Arrays.copyOf(longs, numRows);
+				case DOUBLE:
+					return Arrays.copyOf(doubles, numRows);
+				default:
+					return Arrays.copyOf(ints, numRows);
+			}
+		}
+
+		public String[] dictionary() {
+			if (dictionaryList == null) {
+				return null;
+			} else {
+				return dictionaryList.toArray(new String[dictionaryList.size()]);
+			}
+		}
+
+		private int encode(String value) {
+			if (value == null) {
+				return NULL_STRING_CODE;
+			}
+			Integer code = codeMap.get(value);
+			if (code == null) {
+				code = dictionaryList.size();
+				dictionaryList.add(value);
+				codeMap.put(value, code);
+			}
+			return code;
+		}
+	}
+}
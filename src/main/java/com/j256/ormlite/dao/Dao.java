@@ -14,6 +14,7 @@ import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.stmt.CompiledQueryCache;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.stmt.PreparedDelete;
@@ -503,6 +504,15 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	public <UO> GenericRawResults<UO> queryRaw(String query, DatabaseResultsMapper<UO> mapper, String... arguments)
 			throws SQLException;
 
+	/**
+	 * Similar to the {@link #queryRaw(String, DataType[], String...)} but all of the rows are read into primitive arrays,
+	 * one per column, instead of an Object[] per row. This avoids boxing each value and is designed for aggregate and
+	 * analytic queries that return a lot of numbers. See {@link ColumnarResults} for the supported column types. The
+	 * connection is released before this method returns.
+	 */
+	public ColumnarResults queryRawColumnar(String query, DataType[] columnTypes, String... arguments)
+			throws SQLException;
+
 	/**
 	 * Perform a raw query that returns a single value (usually an aggregate function like MAX or COUNT). If the query
 	 * does not return a single long value then it will throw a SQLException.
@@ -693,6 +703,17 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void clearObjectCache();
 
+	/**
+	 * Set the cache of the SQL built by the query-builders of this DAO so queries with the same shape don't have to be
+	 * built again. Call it with null, the default, to disable the cache. The cache can be shared between DAOs.
+	 */
+	public void setCompiledQueryCache(CompiledQueryCache compiledQueryCache);
+
+	/**
+	 * Returns the cache of the query SQL being used by the DAO or null if none.
+	 */
+	public CompiledQueryCache getCompiledQueryCache();
+
 	/**
 	 * Return the latest row from the database results from a query to select * (star).
 	 */
@@ -849,6 +870,28 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void notifyChanges();
 
+	/**
+	 * Scan all of the rows in the table by splitting it into a number of ranges of the id field and iterating across
+	 * each range in its own thread with its own read-only connection. This is useful for exports of large tables where
+	 * a single iterator would be limited to one core. The id field must be an integer type. At most 4 ranges are
+	 * scanned at one time so the scan does not use up the connection pool.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The consumer is called by multiple threads at the same time so must be thread safe. The rows are
+	 * not passed to it in any particular order. If the connection source only has a single connection then the
+	 * partitions are scanned one after another in the calling thread.
+	 * </p>
+	 * 
+	 * @return The number of rows passed to the consumer.
+	 */
+	public long parallelScan(int numPartitions, ScanConsumer<T> consumer) throws SQLException;
+
+	/**
+	 * Same as {@link #parallelScan(int, ScanConsumer)} but splits the table into ranges of the integer column
+	 * argument. Rows with a null value in the column are scanned with the first partition.
+	 */
+	public long parallelScan(String columnName, int numPartitions, ScanConsumer<T> consumer) throws SQLException;
+
 	/**
 	 * Return class for the {@link Dao#createOrUpdate(Object)} method.
 	 */
@@ -886,4 +929,15 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 		 */
 		public void onChange();
 	}
+
+	/**
+	 * Receives the rows from {@link Dao#parallelScan(int, ScanConsumer)}.
+	 */
+	public static interface ScanConsumer<T> {
+		/**
+		 * Called with each row of the table. This is called by multiple threads at the same time. If this throws then
+		 * the scan is stopped and the exception is wrapped and thrown by the scan method.
+		 */
+		public void accept(T data) throws Exception;
+	}
 }
@@ -2,9 +2,16 @@ package com.j256.ormlite.dao;
 
 import java.lang.reflect.Constructor;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.logger.Logger;
@@ -24,96 +31,220 @@ import com.j256.ormlite.table.DatabaseTableConfig;
  * annotation to the top of your class.
  * </p>
  * 
+ * <p>
+ * If lazy initialization is enabled with {@link #setLazyInitialization(boolean)} or by setting the system property
+ * ("com.j256.ormlite.dao.lazyInitialization") contained in {@link #LAZY_INITIALIZATION_SYSTEM_PROPERTY} to "true",
+ * then DAOs created from then on do not build their table information or configure their foreign DAOs until they are
+ * first used. Foreign DAOs are only fully initialized when they are used themselves or through a foreign field.
+ * </p>
+ * 
  * @author graywatson
  */
 public class DaoManager {
 
+	public static final String LAZY_INITIALIZATION_SYSTEM_PROPERTY = "com.j256.ormlite.dao.lazyInitialization";
+
 	private static Map<Class<?>, DatabaseTableConfig<?>> configMap = null;
 	private static Map<ClassConnectionSource, Dao<?, ?>> classMap = null;
 	private static Map<TableConfigConnectionSource, Dao<?, ?>> tableConfigMap = null;
 
+	// lock instead of synchronized so threads waiting on DAO creation do not pin their carrier thread
+	private static final ReentrantLock lock = new ReentrantLock();
+	private static volatile boolean lazyInitialization = Boolean.getBoolean(LAZY_INITIALIZATION_SYSTEM_PROPERTY);
+
 	private static Logger logger = LoggerFactory.getLogger(DaoManager.class);
 
 	/**
 	 * Helper method to create a DAO object without having to define a class. This checks to see if the DAO has already
 	 * been created. If not then it is a call through to {@link BaseDaoImpl#createDao(ConnectionSource, Class)}.
 	 */
-	public synchronized static <D extends Dao<T, ?>, T> D createDao(ConnectionSource connectionSource, Class<T> clazz)
+	public static <D extends Dao<T, ?>, T> D createDao(ConnectionSource connectionSource, Class<T> clazz)
 			throws SQLException {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		ClassConnectionSource key = new ClassConnectionSource(connectionSource, clazz);
-		Dao<?, ?> dao = lookupDao(key);
-		if (dao != null) {
-			@SuppressWarnings("unchecked")
-			D castDao = (D) dao;
-			return castDao;
-		}
+		lock.lock();
+		try {
+			ClassConnectionSource key = new ClassConnectionSource(connectionSource, clazz);
+			Dao<?, ?> dao = lookupDao(key);
+			if (dao != null) {
+				@SuppressWarnings("unchecked")
+				D castDao = (D) dao;
+				return castDao;
+			}
 
-		// see if we can build it from source
-		dao = createDaoFromConfig(connectionSource, clazz);
-		if (dao != null) {
+			// see if we can build it from source
+			dao = createDaoFromConfig(connectionSource, clazz);
+			if (dao != null) {
+				@SuppressWarnings("unchecked")
+				D castDao = (D) dao;
+				return castDao;
+			}
+
+			DatabaseTable databaseTable = clazz.getAnnotation(DatabaseTable.class);
+			if (databaseTable == null || databaseTable.daoClass() == Void.class
+					|| databaseTable.daoClass() == BaseDaoImpl.class) {
+				// see if the database type has some special table config extract method (Android)
+				DatabaseType databaseType = connectionSource.getDatabaseType();
+				DatabaseTableConfig<T> config = databaseType.extractDatabaseTableConfig(connectionSource, clazz);
+				Dao<T, ?> daoTmp;
+				if (config == null) {
+					daoTmp = BaseDaoImpl.createDao(connectionSource, clazz);
+				} else {
+					daoTmp = BaseDaoImpl.createDao(connectionSource, config);
+				}
+				dao = daoTmp;
+				logger.debug("created dao for class {} with reflection", clazz);
+			} else {
+				Class<?> daoClass = databaseTable.daoClass();
+				Object[] arguments = new Object[] { connectionSource, clazz };
+				// look first for the constructor with a class parameter in case it is a generic dao
+				Constructor<?> daoConstructor = findConstructor(daoClass, arguments);
+				if (daoConstructor == null) {
+					// then look for the constructor with just the ConnectionSource
+					arguments = new Object[] { connectionSource };
+					daoConstructor = findConstructor(daoClass, arguments);
+					if (daoConstructor == null) {
+						throw new SQLException(
+								"Could not find public constructor with ConnectionSource and optional Class parameters "
+										+ daoClass + ".  Missing static on class?");
+					}
+				}
+				try {
+					dao = (Dao<?, ?>) daoConstructor.newInstance(arguments);
+					logger.debug("created dao for class {} from constructor", clazz);
+				} catch (Exception e) {
+					throw SqlExceptionUtil.create("Could not call the constructor in class " + daoClass, e);
+				}
+			}
+
+			registerDao(connectionSource, dao);
 			@SuppressWarnings("unchecked")
 			D castDao = (D) dao;
 			return castDao;
+		} finally {
+			lock.unlock();
 		}
+	}
 
-		DatabaseTable databaseTable = clazz.getAnnotation(DatabaseTable.class);
-		if (databaseTable == null || databaseTable.daoClass() == Void.class
-				|| databaseTable.daoClass() == BaseDaoImpl.class) {
-			// see if the database type has some special table config extract method (Android)
-			DatabaseType databaseType = connectionSource.getDatabaseType();
-			DatabaseTableConfig<T> config = databaseType.extractDatabaseTableConfig(connectionSource, clazz);
-			Dao<T, ?> daoTmp;
-			if (config == null) {
-				daoTmp = BaseDaoImpl.createDao(connectionSource, clazz);
-			} else {
-				daoTmp = BaseDaoImpl.createDao(connectionSource, config);
-			}
-			dao = daoTmp;
-			logger.debug("created dao for class {} with reflection", clazz);
-		} else {
-			Class<?> daoClass = databaseTable.daoClass();
-			Object[] arguments = new Object[] { connectionSource, clazz };
-			// look first for the constructor with a class parameter in case it is a generic dao
-			Constructor<?> daoConstructor = findConstructor(daoClass, arguments);
-			if (daoConstructor == null) {
-				// then look for the constructor with just the ConnectionSource
-				arguments = new Object[] { connectionSource };
-				daoConstructor = findConstructor(daoClass, arguments);
-				if (daoConstructor == null) {
-					throw new SQLException(
-							"Could not find public constructor with ConnectionSource and optional Class parameters "
-									+ daoClass + ".  Missing static on class?");
+	/**
+	 * Create the DAOs for a number of classes at once. The table configurations and table information of the classes
+	 * are built in parallel by submitting tasks to the executor. Then the foreign fields of the DAOs are wired together
+	 * in a final pass in the calling thread in the order of the classes collection so the results are deterministic.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> DAOs which have already been created are returned from the cache. Classes which have a custom
+	 * {@link DatabaseTable#daoClass()} are created in the final pass with {@link #createDao(ConnectionSource, Class)}.
+	 * If {@link #isLazyInitialization()} is true then the final pass is skipped and the foreign fields are wired when
+	 * each DAO is first used.
+	 * </p>
+	 * 
+	 * @return The list of DAOs in the same order as the classes collection.
+	 */
+	public static List<Dao<?, ?>> createDaos(ConnectionSource connectionSource, Collection<Class<?>> classes,
+			Executor executor) throws SQLException {
+		if (connectionSource == null) {
+			throw new IllegalArgumentException("connectionSource argument cannot be null");
+		}
+		List<Class<?>> classList = new ArrayList<Class<?>>(classes);
+
+		// first we figure out which of the DAOs we need to build
+		Map<Class<?>, FutureTask<BaseDaoImpl<?, ?>>> taskMap = new HashMap<Class<?>, FutureTask<BaseDaoImpl<?, ?>>>();
+		List<FutureTask<BaseDaoImpl<?, ?>>> tasks = new ArrayList<FutureTask<BaseDaoImpl<?, ?>>>();
+		lock.lock();
+		try {
+			for (Class<?> clazz : classList) {
+				if (taskMap.containsKey(clazz) || lookupDao(new ClassConnectionSource(connectionSource, clazz)) != null
+						|| hasCustomDaoClass(clazz)) {
+					continue;
 				}
+				DatabaseTableConfig<?> config = (configMap == null ? null : configMap.get(clazz));
+				FutureTask<BaseDaoImpl<?, ?>> task =
+						new FutureTask<BaseDaoImpl<?, ?>>(new TableInfoBuilder(connectionSource, clazz, config));
+				taskMap.put(clazz, task);
+				tasks.add(task);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		// build the table information in parallel
+		for (FutureTask<BaseDaoImpl<?, ?>> task : tasks) {
+			executor.execute(task);
+		}
+		Map<Class<?>, BaseDaoImpl<?, ?>> builtMap = new HashMap<Class<?>, BaseDaoImpl<?, ?>>();
+		for (Class<?> clazz : classList) {
+			FutureTask<BaseDaoImpl<?, ?>> task = taskMap.get(clazz);
+			if (task == null || builtMap.containsKey(clazz)) {
+				continue;
 			}
 			try {
-				dao = (Dao<?, ?>) daoConstructor.newInstance(arguments);
-				logger.debug("created dao for class {} from constructor", clazz);
-			} catch (Exception e) {
-				throw SqlExceptionUtil.create("Could not call the constructor in class " + daoClass, e);
+				builtMap.put(clazz, task.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw SqlExceptionUtil.create("Interrupted while building the table information for " + clazz, e);
+			} catch (ExecutionException e) {
+				throw SqlExceptionUtil.create("Could not build the table information for " + clazz, e.getCause());
 			}
 		}
 
-		registerDao(connectionSource, dao);
-		@SuppressWarnings("unchecked")
-		D castDao = (D) dao;
-		return castDao;
+		// register all of the DAOs so they can find each other when their foreign fields are wired
+		lock.lock();
+		try {
+			for (Class<?> clazz : classList) {
+				BaseDaoImpl<?, ?> dao = builtMap.get(clazz);
+				if (dao == null) {
+					continue;
+				}
+				ClassConnectionSource key = new ClassConnectionSource(connectionSource, clazz);
+				Dao<?, ?> existing = lookupDao(key);
+				if (existing == null) {
+					addDaoToClassMap(key, dao);
+				} else {
+					// someone else created it while we were building so we use theirs
+					builtMap.remove(clazz);
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		// now wire the foreign fields in order in this thread
+		boolean lazy = lazyInitialization;
+		List<Dao<?, ?>> daos = new ArrayList<Dao<?, ?>>(classList.size());
+		for (Class<?> clazz : classList) {
+			BaseDaoImpl<?, ?> dao = builtMap.get(clazz);
+			if (dao == null) {
+				Dao<?, ?> cachedDao = createDao(connectionSource, clazz);
+				daos.add(cachedDao);
+			} else {
+				if (!lazy) {
+					dao.initialize();
+				}
+				daos.add(dao);
+			}
+		}
+		logger.debug("created {} daos with {} built in parallel", daos.size(), builtMap.size());
+		return daos;
 	}
 
 	/**
 	 * Helper method to lookup a DAO if it has already been associated with the class. Otherwise this returns null.
 	 */
-	public synchronized static <D extends Dao<T, ?>, T> D lookupDao(ConnectionSource connectionSource, Class<T> clazz) {
+	public static <D extends Dao<T, ?>, T> D lookupDao(ConnectionSource connectionSource, Class<T> clazz) {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		ClassConnectionSource key = new ClassConnectionSource(connectionSource, clazz);
-		Dao<?, ?> dao = lookupDao(key);
-		@SuppressWarnings("unchecked")
-		D castDao = (D) dao;
-		return castDao;
+		lock.lock();
+		try {
+			ClassConnectionSource key = new ClassConnectionSource(connectionSource, clazz);
+			Dao<?, ?> dao = lookupDao(key);
+			@SuppressWarnings("unchecked")
+			D castDao = (D) dao;
+			return castDao;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -121,31 +252,41 @@ public class DaoManager {
 	 * been created. If not then it is a call through to
 	 * {@link BaseDaoImpl#createDao(ConnectionSource, DatabaseTableConfig)}.
 	 */
-	public synchronized static <D extends Dao<T, ?>, T> D createDao(ConnectionSource connectionSource,
+	public static <D extends Dao<T, ?>, T> D createDao(ConnectionSource connectionSource,
 			DatabaseTableConfig<T> tableConfig) throws SQLException {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		return doCreateDao(connectionSource, tableConfig);
+		lock.lock();
+		try {
+			return doCreateDao(connectionSource, tableConfig);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * Helper method to lookup a DAO if it has already been associated with the table-config. Otherwise this returns
 	 * null.
 	 */
-	public synchronized static <D extends Dao<T, ?>, T> D lookupDao(ConnectionSource connectionSource,
+	public static <D extends Dao<T, ?>, T> D lookupDao(ConnectionSource connectionSource,
 			DatabaseTableConfig<T> tableConfig) {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		TableConfigConnectionSource key = new TableConfigConnectionSource(connectionSource, tableConfig);
-		Dao<?, ?> dao = lookupDao(key);
-		if (dao == null) {
-			return null;
-		} else {
-			@SuppressWarnings("unchecked")
-			D castDao = (D) dao;
-			return castDao;
+		lock.lock();
+		try {
+			TableConfigConnectionSource key = new TableConfigConnectionSource(connectionSource, tableConfig);
+			Dao<?, ?> dao = lookupDao(key);
+			if (dao == null) {
+				return null;
+			} else {
+				@SuppressWarnings("unchecked")
+				D castDao = (D) dao;
+				return castDao;
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -164,83 +305,128 @@ public class DaoManager {
 	 * if possible.
 	 * </p>
 	 */
-	public static synchronized void registerDao(ConnectionSource connectionSource, Dao<?, ?> dao) {
+	public static void registerDao(ConnectionSource connectionSource, Dao<?, ?> dao) {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		addDaoToClassMap(new ClassConnectionSource(connectionSource, dao.getDataClass()), dao);
+		lock.lock();
+		try {
+			addDaoToClassMap(new ClassConnectionSource(connectionSource, dao.getDataClass()), dao);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * Remove a DAO from the cache. This is necessary if we've registered it already but it throws an exception during
 	 * configuration.
 	 */
-	public static synchronized void unregisterDao(ConnectionSource connectionSource, Dao<?, ?> dao) {
+	public static void unregisterDao(ConnectionSource connectionSource, Dao<?, ?> dao) {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		removeDaoToClassMap(new ClassConnectionSource(connectionSource, dao.getDataClass()), dao);
+		lock.lock();
+		try {
+			removeDaoToClassMap(new ClassConnectionSource(connectionSource, dao.getDataClass()), dao);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * Same as {@link #registerDao(ConnectionSource, Dao)} but this allows you to register it just with its
 	 * {@link DatabaseTableConfig}. This allows multiple versions of the DAO to be configured if necessary.
 	 */
-	public static synchronized void registerDaoWithTableConfig(ConnectionSource connectionSource, Dao<?, ?> dao) {
+	public static void registerDaoWithTableConfig(ConnectionSource connectionSource, Dao<?, ?> dao) {
 		if (connectionSource == null) {
 			throw new IllegalArgumentException("connectionSource argument cannot be null");
 		}
-		if (dao instanceof BaseDaoImpl) {
-			DatabaseTableConfig<?> tableConfig = ((BaseDaoImpl<?, ?>) dao).getTableConfig();
-			if (tableConfig != null) {
-				addDaoToTableMap(new TableConfigConnectionSource(connectionSource, tableConfig), dao);
-				return;
+		lock.lock();
+		try {
+			if (dao instanceof BaseDaoImpl) {
+				DatabaseTableConfig<?> tableConfig = ((BaseDaoImpl<?, ?>) dao).getTableConfig();
+				if (tableConfig != null) {
+					addDaoToTableMap(new TableConfigConnectionSource(connectionSource, tableConfig), dao);
+					return;
+				}
 			}
+			addDaoToClassMap(new ClassConnectionSource(connectionSource, dao.getDataClass()), dao);
+		} finally {
+			lock.unlock();
 		}
-		addDaoToClassMap(new ClassConnectionSource(connectionSource, dao.getDataClass()), dao);
 	}
 
 	/**
 	 * Clear out all of internal caches.
 	 */
-	public static synchronized void clearCache() {
-		if (configMap != null) {
-			configMap.clear();
-			configMap = null;
+	public static void clearCache() {
+		lock.lock();
+		try {
+			if (configMap != null) {
+				configMap.clear();
+				configMap = null;
+			}
+			clearDaoCache();
+		} finally {
+			lock.unlock();
 		}
-		clearDaoCache();
 	}
 
 	/**
 	 * Clear out our DAO caches.
 	 */
-	public static synchronized void clearDaoCache() {
-		if (classMap != null) {
-			classMap.clear();
-			classMap = null;
-		}
-		if (tableConfigMap != null) {
-			tableConfigMap.clear();
-			tableConfigMap = null;
+	public static void clearDaoCache() {
+		lock.lock();
+		try {
+			if (classMap != null) {
+				classMap.clear();
+				classMap = null;
+			}
+			if (tableConfigMap != null) {
+				tableConfigMap.clear();
+				tableConfigMap = null;
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
+	/**
+	 * Set whether or not DAOs that are created after this call defer their initialization until they are first used.
+	 * This makes startup with a large number of entities proportional to the entities that are actually used.
+	 */
+	public static void setLazyInitialization(boolean lazyInitialization) {
+		DaoManager.lazyInitialization = lazyInitialization;
+	}
+
+	/**
+	 * Return true if DAOs that are created defer their initialization until they are first used.
+	 */
+	public static boolean isLazyInitialization() {
+		return lazyInitialization;
+	}
+
 	/**
 	 * This adds database table configurations to the internal cache which can be used to speed up DAO construction.
 	 * This is especially true of Android and other mobile platforms.
 	 */
-	public static synchronized void addCachedDatabaseConfigs(Collection<DatabaseTableConfig<?>> configs) {
-		Map<Class<?>, DatabaseTableConfig<?>> newMap;
-		if (configMap == null) {
-			newMap = new HashMap<Class<?>, DatabaseTableConfig<?>>();
-		} else {
-			newMap = new HashMap<Class<?>, DatabaseTableConfig<?>>(configMap);
-		}
-		for (DatabaseTableConfig<?> config : configs) {
-			newMap.put(config.getDataClass(), config);
-			logger.info("Loaded configuration for {}", config.getDataClass());
+	public static void addCachedDatabaseConfigs(Collection<DatabaseTableConfig<?>> configs) {
+		lock.lock();
+		try {
+			Map<Class<?>, DatabaseTableConfig<?>> newMap;
+			if (configMap == null) {
+				newMap = new HashMap<Class<?>, DatabaseTableConfig<?>>();
+			} else {
+				newMap = new HashMap<Class<?>, DatabaseTableConfig<?>>(configMap);
+			}
+			for (DatabaseTableConfig<?> config : configs) {
+				newMap.put(config.getDataClass(), config);
+				logger.info("Loaded configuration for {}", config.getDataClass());
+			}
+			configMap = newMap;
+		} finally {
+			lock.unlock();
 		}
-		configMap = newMap;
 	}
 
 	private static void addDaoToClassMap(ClassConnectionSource key, Dao<?, ?> dao) {
@@ -306,6 +492,12 @@ public class DaoManager {
 		return null;
 	}
 
+	private static boolean hasCustomDaoClass(Class<?> clazz) {
+		DatabaseTable databaseTable = clazz.getAnnotation(DatabaseTable.class);
+		return (databaseTable != null && databaseTable.daoClass() != Void.class
+				&& databaseTable.daoClass() != BaseDaoImpl.class);
+	}
+
 	/**
 	 * Creates the DAO if we have config information cached and caches the DAO.
 	 */
@@ -387,6 +579,45 @@ public class DaoManager {
 		return castDao;
 	}
 
+	/**
+	 * Task which builds the table configuration and the table information for a class in a DAO which will wire its
+	 * foreign fields later.
+	 */
+	private static class TableInfoBuilder implements Callable<BaseDaoImpl<?, ?>> {
+
+		private final ConnectionSource connectionSource;
+		private final Class<?> clazz;
+		private final DatabaseTableConfig<?> tableConfig;
+
+		public TableInfoBuilder(ConnectionSource connectionSource, Class<?> clazz, DatabaseTableConfig<?> tableConfig) {
+			this.connectionSource = connectionSource;
+			this.clazz = clazz;
+			this.tableConfig = tableConfig;
+		}
+
+		@Override
+		public BaseDaoImpl<?, ?> call() throws SQLException {
+			@SuppressWarnings("unchecked")
+			Class<Object> castClass = (Class<Object>) clazz;
+			@SuppressWarnings("unchecked")
+			DatabaseTableConfig<Object> castConfig = (DatabaseTableConfig<Object>) tableConfig;
+			return buildDao(castClass, castConfig);
+		}
+
+		private <T> BaseDaoImpl<T, ?> buildDao(Class<T> clazz, DatabaseTableConfig<T> config) throws SQLException {
+			if (config == null) {
+				// see if the database type has some special table config extract method (Android)
+				config = connectionSource.getDatabaseType().extractDatabaseTableConfig(connectionSource, clazz);
+				if (config == null) {
+					config = DatabaseTableConfig.fromClass(connectionSource, clazz);
+				}
+			}
+			BaseDaoImpl<T, ?> dao = BaseDaoImpl.createLazyDao(connectionSource, config);
+			dao.buildTableInfoIfNeeded();
+			return dao;
+		}
+	}
+
 	/**
 	 * Key for our class DAO map.
 	 */
@@ -29,11 +29,11 @@ public class LruObjectCache implements ObjectCache {
 	}
 
 	@Override
-	public synchronized <T> void registerClass(Class<T> clazz) {
-		Map<Object, Object> objectMap = classMaps.get(clazz);
-		if (objectMap == null) {
-			objectMap = Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity));
-			classMaps.put(clazz, objectMap);
+	public <T> void registerClass(Class<T> clazz) {
+		if (classMaps.get(clazz) == null) {
+			// no lock necessary, if we race another thread then only one of the maps is used
+			classMaps.putIfAbsent(clazz,
+					Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity)));
 		}
 	}
 
@@ -0,0 +1,249 @@
+package com.j256.ormlite.dao;
+
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.j256.ormlite.dao.Dao.ScanConsumer;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.Where;
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * Scans a table by splitting it into ranges of an integer column and iterating across each of the ranges in its own
+ * thread. At most {@link #MAX_THREADS} threads are used and the rest of the ranges wait for one of them. Used by
+ * {@link Dao#parallelScan(String, int, ScanConsumer)}.
+ * 
+ * @author graywatson
+ */
+class ParallelScanner<T, ID> {
+
+	/** maximum number of threads, and so connections, that a scan uses at one time */
+	static final int MAX_THREADS = 4;
+
+	private static final AtomicInteger scanCount = new AtomicInteger();
+	private static Logger logger = LoggerFactory.getLogger(ParallelScanner.class);
+
+	private final Dao<T, ID> dao;
+	private final ConnectionSource connectionSource;
+	private final String tableName;
+	private final FieldType fieldType;
+	private volatile boolean failed;
+
+	public ParallelScanner(Dao<T, ID> dao, String tableName, FieldType fieldType) throws SQLException {
+		if (!isIntegerType(fieldType.getType())) {
+			throw new SQLException("Column " + fieldType.getColumnName() + " must be an integer type to partition "
+					+ tableName + " but is " + fieldType.getType());
+		}
+		this.dao = dao;
+		this.connectionSource = dao.getConnectionSource();
+		this.tableName = tableName;
+		this.fieldType = fieldType;
+	}
+
+	/**
+	 * Scan the table with the number of partitions and return the number of rows passed to the consumer.
+	 */
+	public long scan(int numPartitions, ScanConsumer<T> consumer) throws SQLException {
+		if (numPartitions <= 0) {
+			throw new IllegalArgumentException("Number of partitions must be positive: " + numPartitions);
+		}
+		List<Callable<Long>> tasks = buildTasks(numPartitions, consumer);
+		if (tasks.isEmpty()) {
+			return 0;
+		}
+		if (tasks.size() == 1 || connectionSource.isSingleConnection(tableName)) {
+			// no point in using threads if they all have to share one connection
+			long total = 0;
+			for (Callable<Long> task : tasks) {
+				total += runTask(task);
+			}
+			return total;
+		}
+
+		// the partitions past the number of threads are queued until a thread is free
+		ExecutorService executor =
+				Executors.newFixedThreadPool(Math.min(tasks.size(), MAX_THREADS), new ScanThreadFactory());
+		try {
+			List<Future<Long>> futures = new ArrayList<Future<Long>>(tasks.size());
+			for (Callable<Long> task : tasks) {
+				futures.add(executor.submit(task));
+			}
+			long total = 0;
+			SQLException firstException = null;
+			for (Future<Long> future : futures) {
+				try {
+					total += future.get();
+				} catch (InterruptedException e) {
+					failed = true;
+					Thread.currentThread().interrupt();
+					throw SqlExceptionUtil.create("Interrupted while scanning " + tableName, e);
+				} catch (ExecutionException e) {
+					// we wait for the rest of the partitions so none are left running with a connection
+					if (firstException == null) {
+						firstException = SqlExceptionUtil.create("Scanning partition of " + tableName + " failed",
+								e.getCause());
+					}
+				}
+			}
+			if (firstException != null) {
+				throw firstException;
+			}
+			return total;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private List<Callable<Long>> buildTasks(int numPartitions, ScanConsumer<T> consumer) throws SQLException {
+		DatabaseType databaseType = connectionSource.getDatabaseType();
+		StringBuilder sb = new StringBuilder(64);
+		sb.append("SELECT MIN(");
+		databaseType.appendEscapedEntityName(sb, fieldType.getColumnName());
+		sb.append("), MAX(");
+		databaseType.appendEscapedEntityName(sb, fieldType.getColumnName());
+		sb.append(") FROM ");
+		databaseType.appendEscapedEntityName(sb, tableName);
+		String[] minMax = dao.queryRaw(sb.toString()).getFirstResult();
+
+		List<Callable<Long>> tasks = new ArrayList<Callable<Long>>(numPartitions);
+		if (minMax == null || minMax[0] == null || minMax[1] == null) {
+			// no non-null values in the table but there may be nulls
+			tasks.add(new PartitionTask(null, null, true, consumer));
+			return tasks;
+		}
+		long min = Long.parseLong(minMax[0]);
+		long max = Long.parseLong(minMax[1]);
+		// big-integer because max - min may overflow a long
+		BigInteger span = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+		BigInteger step = span.add(BigInteger.valueOf(numPartitions - 1)).divide(BigInteger.valueOf(numPartitions));
+		BigInteger low = BigInteger.valueOf(min);
+		for (int partitionC = 0; partitionC < numPartitions; partitionC++) {
+			if (low.compareTo(BigInteger.valueOf(max)) > 0) {
+				break;
+			}
+			BigInteger high = low.add(step).subtract(BigInteger.ONE).min(BigInteger.valueOf(max));
+			// the first partition also picks up the rows with null values
+			tasks.add(new PartitionTask(low.longValue(), high.longValue(), (partitionC == 0), consumer));
+			low = high.add(BigInteger.ONE);
+		}
+		logger.debug("scanning {} from {} to {} in {} partitions",
+				new Object[] { tableName, min, max, tasks.size() });
+		return tasks;
+	}
+
+	private long runTask(Callable<Long> task) throws SQLException {
+		try {
+			return task.call();
+		} catch (SQLException e) {
+			throw e;
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Scanning partition of " + tableName + " failed", e);
+		}
+	}
+
+	private Object convertValue(long value) {
+		Class<?> type = fieldType.getType();
+		if (type == int.class || type == Integer.class) {
+			return (int) value;
+		} else if (type == short.class || type == Short.class) {
+			return (short) value;
+		} else if (type == byte.class || type == Byte.class) {
+			return (byte) value;
+		} else {
+			return value;
+		}
+	}
+
+	private static boolean isIntegerType(Class<?> type) {
+		return (type == int.class || type == Integer.class || type == long.class || type == Long.class
+				|| type == short.class || type == Short.class || type == byte.class || type == Byte.class);
+	}
+
+	/**
+	 * Iterates across the rows of one range of the column.
+	 */
+	private class PartitionTask implements Callable<Long> {
+
+		private final Long low;
+		private final Long high;
+		private final boolean includeNulls;
+		private final ScanConsumer<T> consumer;
+
+		public PartitionTask(Long low, Long high, boolean includeNulls, ScanConsumer<T> consumer) {
+			this.low = low;
+			this.high = high;
+			this.includeNulls = includeNulls;
+			this.consumer = consumer;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			String columnName = fieldType.getColumnName();
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			Where<T, ID> where = qb.where();
+			if (low == null) {
+				where.isNull(columnName);
+			} else if (includeNulls) {
+				where.between(columnName, convertValue(low), convertValue(high));
+				where.isNull(columnName);
+				// not the varargs or() which makes an unchecked generic array
+				where.or(2);
+			} else {
+				where.between(columnName, convertValue(low), convertValue(high));
+			}
+			PreparedQuery<T> preparedQuery = qb.prepare();
+			// each iterator gets its own read-only connection from the connection source
+			CloseableIterator<T> iterator = dao.iterator(preparedQuery);
+			long count = 0;
+			try {
+				while (!failed) {
+					T data = iterator.nextThrow();
+					if (data == null) {
+						break;
+					}
+					consumer.accept(data);
+					count++;
+				}
+			} catch (Exception e) {
+				// stop the other partitions
+				failed = true;
+				throw e;
+			} finally {
+				IOUtils.closeQuietly(iterator);
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Makes daemon threads for the scan.
+	 */
+	private class ScanThreadFactory implements ThreadFactory {
+
+		private final String prefix = "ormlite-scan-" + tableName + "-" + scanCount.incrementAndGet() + "-";
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -45,11 +45,10 @@ public class ReferenceObjectCache implements ObjectCache {
 	}
 
 	@Override
-	public synchronized <T> void registerClass(Class<T> clazz) {
-		Map<Object, Reference<Object>> objectMap = classMaps.get(clazz);
-		if (objectMap == null) {
-			objectMap = new ConcurrentHashMap<Object, Reference<Object>>();
-			classMaps.put(clazz, objectMap);
+	public <T> void registerClass(Class<T> clazz) {
+		if (classMaps.get(clazz) == null) {
+			// no lock necessary, if we race another thread then only one of the maps is used
+			classMaps.putIfAbsent(clazz, new ConcurrentHashMap<Object, Reference<Object>>());
 		}
 	}
 
@@ -0,0 +1,263 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+
+/**
+ * Publishes the results of a query to subscribers which pull the rows as they are ready for them. Rows are only read
+ * from the database when the subscriber has requested them with {@link Subscription#request(long)} so large result
+ * sets can be streamed with backpressure instead of being loaded into a list. The iterator, with its compiled statement
+ * and connection, is opened on the first request and is closed when the results are exhausted, when an error happens,
+ * or when the subscription is cancelled.
+ * 
+ * <pre>
+ * QueryBuilder&lt;Account, String&gt; qb = accountDao.queryBuilder();
+ * qb.fetchSize(100);
+ * ResultsPublisher&lt;Account&gt; publisher = new ResultsPublisher&lt;Account&gt;(accountDao, qb.prepare());
+ * publisher.subscribe(subscriber);
+ * </pre>
+ * 
+ * <p>
+ * The {@link Subscriber} and {@link Subscription} interfaces have the same methods as the Reactive Streams interfaces
+ * so they can be adapted with a couple of lines of code. To limit the number of rows that the database driver reads
+ * ahead, set the fetch size with {@link QueryBuilder#fetchSize(Integer)}.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> The rows are delivered in the thread that calls {@link Subscription#request(long)}. Calls to request
+ * from inside of {@link Subscriber#onNext(Object)} just add to the demand and do not recurse.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ResultsPublisher<T> {
+
+	private final IteratorSource<T> iteratorSource;
+
+	/**
+	 * Publish the results of the query. Each subscriber runs the query again with {@link Dao#iterator(PreparedQuery)}.
+	 */
+	public ResultsPublisher(final Dao<T, ?> dao, final PreparedQuery<T> preparedQuery) {
+		this.iteratorSource = new IteratorSource<T>() {
+			@Override
+			public CloseableIterator<T> open() throws SQLException {
+				return dao.iterator(preparedQuery);
+			}
+		};
+	}
+
+	private ResultsPublisher(IteratorSource<T> iteratorSource) {
+		this.iteratorSource = iteratorSource;
+	}
+
+	/**
+	 * Publish the results of a raw query such as from {@link Dao#queryRaw(String, String...)}. Since the raw results
+	 * can only be iterated across once, only one subscriber can be subscribed. The raw results are closed when the
+	 * subscription finishes.
+	 */
+	public static <T> ResultsPublisher<T> fromRawResults(final GenericRawResults<T> rawResults) {
+		final AtomicBoolean opened = new AtomicBoolean();
+		return new ResultsPublisher<T>(new IteratorSource<T>() {
+			@Override
+			public CloseableIterator<T> open() throws SQLException {
+				if (!opened.compareAndSet(false, true)) {
+					throw new SQLException("Raw results can only be subscribed to once");
+				}
+				return rawResults.closeableIterator();
+			}
+		});
+	}
+
+	/**
+	 * Subscribe to the results. {@link Subscriber#onSubscribe(Subscription)} is called before this method returns. No
+	 * rows are read until the subscriber requests them.
+	 */
+	public void subscribe(Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber argument cannot be null");
+		}
+		ResultsSubscription<T> subscription = new ResultsSubscription<T>(iteratorSource, subscriber);
+		subscriber.onSubscribe(subscription);
+	}
+
+	/**
+	 * Receives the results from a {@link ResultsPublisher}.
+	 */
+	public interface Subscriber<T> {
+
+		/**
+		 * Called first with the subscription which is used to request the results.
+		 */
+		public void onSubscribe(Subscription subscription);
+
+		/**
+		 * Called with each result that was requested.
+		 */
+		public void onNext(T result);
+
+		/**
+		 * Called if the query threw an exception. No more methods are called afterwards.
+		 */
+		public void onError(Throwable throwable);
+
+		/**
+		 * Called once all of the results have been delivered. No more methods are called afterwards.
+		 */
+		public void onComplete();
+	}
+
+	/**
+	 * Handle that a {@link Subscriber} uses to request results.
+	 */
+	public interface Subscription {
+
+		/**
+		 * Request the next number of results. Calls to {@link Subscriber#onNext(Object)} are made until the number has
+		 * been delivered or the results are finished. Use {@link Long#MAX_VALUE} for all of the results.
+		 */
+		public void request(long num);
+
+		/**
+		 * Stop delivering results and close the underlying iterator which releases the connection.
+		 */
+		public void cancel();
+	}
+
+	/**
+	 * Opens the iterator for a subscription.
+	 */
+	private interface IteratorSource<T> {
+		public CloseableIterator<T> open() throws SQLException;
+	}
+
+	/**
+	 * Subscription which reads rows from the iterator as they are requested. The drain loop is only ever run by one
+	 * thread at a time which is the only one that touches the iterator.
+	 */
+	private static class ResultsSubscription<T> implements Subscription {
+
+		private final IteratorSource<T> iteratorSource;
+		private final Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger workInProgress = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile Throwable badRequest;
+		private CloseableIterator<T> iterator;
+
+		public ResultsSubscription(IteratorSource<T> iteratorSource, Subscriber<? super T> subscriber) {
+			this.iteratorSource = iteratorSource;
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long num) {
+			if (num <= 0) {
+				badRequest = new IllegalArgumentException("Number of results requested must be positive: " + num);
+			} else {
+				while (true) {
+					long current = demand.get();
+					if (current == Long.MAX_VALUE) {
+						break;
+					}
+					long next = current + num;
+					if (next < 0) {
+						// overflow so we go unbounded
+						next = Long.MAX_VALUE;
+					}
+					if (demand.compareAndSet(current, next)) {
+						break;
+					}
+				}
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain();
+		}
+
+		private void drain() {
+			if (workInProgress.getAndIncrement() != 0) {
+				// another thread, or an outer call in this thread, is draining and will see our changes
+				return;
+			}
+			int missed = 1;
+			while (true) {
+				if (checkTerminated()) {
+					return;
+				}
+				long requested = demand.get();
+				long emitted = 0;
+				while (emitted != requested) {
+					if (checkTerminated()) {
+						return;
+					}
+					T result;
+					try {
+						if (iterator == null) {
+							iterator = iteratorSource.open();
+						}
+						result = iterator.nextThrow();
+					} catch (SQLException e) {
+						finish();
+						subscriber.onError(e);
+						return;
+					}
+					if (result == null) {
+						finish();
+						subscriber.onComplete();
+						return;
+					}
+					try {
+						subscriber.onNext(result);
+					} catch (RuntimeException e) {
+						// the subscriber is broken so we stop reading
+						finish();
+						throw e;
+					}
+					emitted++;
+				}
+				if (emitted != 0 && requested != Long.MAX_VALUE) {
+					demand.addAndGet(-emitted);
+				}
+				missed = workInProgress.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Return true if we were cancelled or had a bad request, in which case the iterator will have been closed.
+		 */
+		private boolean checkTerminated() {
+			if (cancelled) {
+				finish();
+				return true;
+			}
+			Throwable throwable = badRequest;
+			if (throwable != null) {
+				finish();
+				subscriber.onError(throwable);
+				return true;
+			}
+			return false;
+		}
+
+		private void finish() {
+			cancelled = true;
+			if (iterator != null) {
+				IOUtils.closeQuietly(iterator);
+				iterator = null;
+			}
+		}
+	}
+}
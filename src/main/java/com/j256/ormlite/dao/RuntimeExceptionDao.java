@@ -12,6 +12,7 @@ import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.CompiledQueryCache;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.stmt.PreparedDelete;
@@ -537,6 +538,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryRawColumnar(String, DataType[], String...)
+	 */
+	@Override
+	public ColumnarResults queryRawColumnar(String query, DataType[] columnTypes, String... arguments) {
+		try {
+			return dao.queryRawColumnar(query, columnTypes, arguments);
+		} catch (SQLException e) {
+			logMessage(e, "queryRawColumnar threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryRaw(String, DatabaseResultsMapper, String...)
 	 */
@@ -767,6 +781,22 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		dao.clearObjectCache();
 	}
 
+	/**
+	 * @see Dao#setCompiledQueryCache(CompiledQueryCache)
+	 */
+	@Override
+	public void setCompiledQueryCache(CompiledQueryCache compiledQueryCache) {
+		dao.setCompiledQueryCache(compiledQueryCache);
+	}
+
+	/**
+	 * @see Dao#getCompiledQueryCache()
+	 */
+	@Override
+	public CompiledQueryCache getCompiledQueryCache() {
+		return dao.getCompiledQueryCache();
+	}
+
 	/**
 	 * @see Dao#mapSelectStarRow(DatabaseResults)
 	 */
@@ -923,6 +953,32 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		dao.notifyChanges();
 	}
 
+	/**
+	 * @see Dao#parallelScan(int, ScanConsumer)
+	 */
+	@Override
+	public long parallelScan(int numPartitions, ScanConsumer<T> consumer) {
+		try {
+			return dao.parallelScan(numPartitions, consumer);
+		} catch (SQLException e) {
+			logMessage(e, "parallelScan threw exception");
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#parallelScan(String, int, ScanConsumer)
+	 */
+	@Override
+	public long parallelScan(String columnName, int numPartitions, ScanConsumer<T> consumer) {
+		try {
+			return dao.parallelScan(columnName, numPartitions, consumer);
+		} catch (SQLException e) {
+			logMessage(e, "parallelScan threw exception on column " + columnName);
+			throw new RuntimeException(e);
+		}
+	}
+
 	@Override
 	public String getTableName() {
 		return dao.getTableName();
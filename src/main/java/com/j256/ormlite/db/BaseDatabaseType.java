@@ -2,6 +2,7 @@ package com.j256.ormlite.db;
 
 import java.sql.Driver;
 import java.sql.SQLException;
+import java.sql.SQLTransientException;
 import java.util.List;
 import java.util.Locale;
 
@@ -10,6 +11,7 @@ import com.j256.ormlite.field.DataPersister;
 import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.BinaryUuidType;
 import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseResults;
@@ -29,6 +31,8 @@ import com.j256.ormlite.table.DatabaseTableConfig;
 public abstract class BaseDatabaseType implements DatabaseType {
 
 	protected static String DEFAULT_SEQUENCE_SUFFIX = "_id_seq";
+	// SQL states in this class mean that the transaction was rolled back because of a deadlock or similar
+	private static final String TRANSACTION_ROLLBACK_SQL_STATE_CLASS = "40";
 	protected Driver driver;
 
 	/**
@@ -95,7 +99,12 @@ public abstract class BaseDatabaseType implements DatabaseType {
 				break;
 
 			case BYTE_ARRAY:
-				appendByteArrayType(sb, fieldType, fieldWidth);
+				if (dataPersister instanceof BinaryUuidType) {
+					// bound as a byte array but stored in a fixed width column
+					appendBinaryType(sb, fieldType, fieldWidth);
+				} else {
+					appendByteArrayType(sb, fieldType, fieldWidth);
+				}
 				break;
 
 			case SHORT:
@@ -122,6 +131,10 @@ public abstract class BaseDatabaseType implements DatabaseType {
 				appendSerializableType(sb, fieldType, fieldWidth);
 				break;
 
+			case BLOB:
+				appendBlobType(sb, fieldType, fieldWidth);
+				break;
+
 			case BIG_DECIMAL:
 				appendBigDecimalNumericType(sb, fieldType, fieldWidth);
 				break;
@@ -278,6 +291,20 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		sb.append("BLOB");
 	}
 
+	/**
+	 * Output the SQL type for a streamed BLOB. By default this is the same as the byte[] type.
+	 */
+	protected void appendBlobType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		appendByteArrayType(sb, fieldType, fieldWidth);
+	}
+
+	/**
+	 * Output the SQL type for fixed width binary data. The width is the number of bytes.
+	 */
+	protected void appendBinaryType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
+		sb.append("BINARY(").append(fieldWidth).append(')');
+	}
+
 	/**
 	 * Output the SQL type for a BigDecimal object.
 	 */
@@ -515,6 +542,30 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isRetryableException(SQLException e) {
+		// the driver's exception is often wrapped by ours so look through the causes
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException && isRetryableSqlException((SQLException) cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return true if this one exception, not counting its causes, is a transient error. By default this is true for the
+	 * {@link SQLTransientException} classes and for the transaction rollback class of SQL states which covers
+	 * serialization failures and deadlocks.
+	 */
+	protected boolean isRetryableSqlException(SQLException e) {
+		if (e instanceof SQLTransientException) {
+			return true;
+		}
+		String sqlState = e.getSQLState();
+		return (sqlState != null && sqlState.startsWith(TRANSACTION_ROLLBACK_SQL_STATE_CLASS));
+	}
+
 	@Override
 	public String getPingStatement() {
 		return "SELECT 1";
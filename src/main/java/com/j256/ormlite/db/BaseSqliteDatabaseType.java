@@ -1,5 +1,6 @@
 package com.j256.ormlite.db;
 
+import java.sql.SQLException;
 import java.util.List;
 
 import com.j256.ormlite.field.DataPersister;
@@ -20,6 +21,8 @@ import com.j256.ormlite.field.types.BigDecimalStringType;
 public abstract class BaseSqliteDatabaseType extends BaseDatabaseType {
 
 	private final static FieldConverter booleanConverter = new BooleanNumberFieldConverter();
+	private final static int SQLITE_BUSY = 5;
+	private final static int SQLITE_LOCKED = 6;
 
 	@Override
 	protected void appendLongType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
@@ -50,6 +53,22 @@ public abstract class BaseSqliteDatabaseType extends BaseDatabaseType {
 		// no additional call to configureId here
 	}
 
+	@Override
+	protected boolean isRetryableSqlException(SQLException e) {
+		// the drivers report busy and locked with the error code or message but no SQL state
+		int primaryCode = (e.getErrorCode() & 0xFF);
+		if (primaryCode == SQLITE_BUSY || primaryCode == SQLITE_LOCKED) {
+			return true;
+		}
+		String message = e.getMessage();
+		if (message != null
+				&& (message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED")
+						|| message.contains("database is locked"))) {
+			return true;
+		}
+		return super.isRetryableSqlException(e);
+	}
+
 	@Override
 	protected boolean generatedIdSqlAtEnd() {
 		return false;
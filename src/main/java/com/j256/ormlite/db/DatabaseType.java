@@ -9,6 +9,7 @@ import com.j256.ormlite.field.DataPersister;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.TransactionRetryPolicy;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTableConfig;
 
@@ -192,6 +193,12 @@ public interface DatabaseType {
 	 */
 	public boolean isNestedSavePointsSupported();
 
+	/**
+	 * Returns true if the exception, or one of its causes, is a transient error such as a deadlock or a busy database
+	 * where the transaction may work if it is tried again. This is used by the {@link TransactionRetryPolicy}.
+	 */
+	public boolean isRetryableException(SQLException e);
+
 	/**
 	 * Return an statement that doesn't do anything but which can be used to ping the database by sending it over a
 	 * database connection.
@@ -2,9 +2,11 @@ package com.j256.ormlite.field;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.j256.ormlite.field.types.EnumStringType;
 
@@ -13,14 +15,25 @@ import com.j256.ormlite.field.types.EnumStringType;
  * {@link DataType} enumerated fields although you can also register your own here using the
  * {@link #registerDataPersisters(DataPersister...)} method.
  * 
+ * <p>
+ * The registered persisters are indexed by their {@link DataPersister#getAssociatedClasses()} so a field of one of
+ * those classes does not have to walk the whole list. {@link DataPersister#isValidForField(Field)} is still called for
+ * each field since it may look at more than the field's class. The built-in and enum lookups only depend on the class
+ * of the field so they are cached by class, including the classes that have no persister.
+ * </p>
+ * 
  * @author graywatson
  */
 public class DataPersisterManager {
 
 	private static final DataPersister DEFAULT_ENUM_PERSISTER = EnumStringType.getSingleton();
 
+	// marks classes in the cache which have no persister since the concurrent map can't hold nulls
+	private static final Object NO_PERSISTER = new Object();
+
 	private static final Map<String, DataPersister> builtInMap;
-	private static List<DataPersister> registeredPersisters = null;
+	private static final ConcurrentHashMap<Class<?>, Object> builtInCache = new ConcurrentHashMap<Class<?>, Object>();
+	private static volatile RegisteredPersisters registeredPersisters = null;
 
 	static {
 		// add our built-in persisters
@@ -49,15 +62,15 @@ public class DataPersisterManager {
 	 * Register a data type with the manager.
 	 */
 	public static void registerDataPersisters(DataPersister... dataPersisters) {
-		// we build the map and replace it to lower the chance of concurrency issues
+		// we build the list and index and replace them to lower the chance of concurrency issues
 		List<DataPersister> newList = new ArrayList<DataPersister>();
 		if (registeredPersisters != null) {
-			newList.addAll(registeredPersisters);
+			newList.addAll(registeredPersisters.persisters);
 		}
 		for (DataPersister persister : dataPersisters) {
 			newList.add(persister);
 		}
-		registeredPersisters = newList;
+		registeredPersisters = new RegisteredPersisters(newList);
 	}
 
 	/**
@@ -67,6 +80,19 @@ public class DataPersisterManager {
 		registeredPersisters = null;
 	}
 
+	/**
+	 * Return the persisters that were registered with {@link #registerDataPersisters(DataPersister...)} in the order
+	 * they are checked.
+	 */
+	public static List<DataPersister> getRegisteredPersisters() {
+		RegisteredPersisters registered = registeredPersisters;
+		if (registered == null) {
+			return Collections.emptyList();
+		} else {
+			return Collections.unmodifiableList(registered.persisters);
+		}
+	}
+
 	/**
 	 * Lookup the data-type associated with the class.
 	 * 
@@ -75,22 +101,31 @@ public class DataPersisterManager {
 	public static DataPersister lookupForField(Field field) {
 
 		// see if the any of the registered persisters are valid first
-		if (registeredPersisters != null) {
-			for (DataPersister persister : registeredPersisters) {
-				if (persister.isValidForField(field)) {
-					return persister;
-				}
-				// check the classes instead
-				for (Class<?> clazz : persister.getAssociatedClasses()) {
-					if (field.getType() == clazz) {
-						return persister;
-					}
-				}
+		RegisteredPersisters registered = registeredPersisters;
+		if (registered != null) {
+			DataPersister dataPersister = registered.findForField(field);
+			if (dataPersister != null) {
+				return dataPersister;
 			}
 		}
 
+		Class<?> fieldClass = field.getType();
+		Object cached = builtInCache.get(fieldClass);
+		if (cached == null) {
+			DataPersister dataPersister = findBuiltInForClass(fieldClass);
+			builtInCache.put(fieldClass, (dataPersister == null ? NO_PERSISTER : dataPersister));
+			return dataPersister;
+		} else if (cached == NO_PERSISTER) {
+			return null;
+		} else {
+			return (DataPersister) cached;
+		}
+	}
+
+	private static DataPersister findBuiltInForClass(Class<?> fieldClass) {
+
 		// look it up in our built-in map by class
-		DataPersister dataPersister = builtInMap.get(field.getType().getName());
+		DataPersister dataPersister = builtInMap.get(fieldClass.getName());
 		if (dataPersister != null) {
 			return dataPersister;
 		}
@@ -99,7 +134,7 @@ public class DataPersisterManager {
 		 * Special case for enum types. We can't put this in the registered persisters because we want people to be able
 		 * to override it.
 		 */
-		if (field.getType().isEnum()) {
+		if (fieldClass.isEnum()) {
 			return DEFAULT_ENUM_PERSISTER;
 		} else {
 			/*
@@ -109,4 +144,44 @@ public class DataPersisterManager {
 			return null;
 		}
 	}
+
+	/**
+	 * List of the registered persisters with the position of the first persister associated with each class.
+	 */
+	private static class RegisteredPersisters {
+
+		final List<DataPersister> persisters;
+		final Map<Class<?>, Integer> classIndexMap = new HashMap<Class<?>, Integer>();
+
+		public RegisteredPersisters(List<DataPersister> persisters) {
+			this.persisters = persisters;
+			for (int i = 0; i < persisters.size(); i++) {
+				for (Class<?> clazz : persisters.get(i).getAssociatedClasses()) {
+					if (!classIndexMap.containsKey(clazz)) {
+						classIndexMap.put(clazz, i);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Return the first persister that is valid for the field or is associated with its class.
+		 */
+		public DataPersister findForField(Field field) {
+			Integer classIndex = classIndexMap.get(field.getType());
+			int end = (classIndex == null ? persisters.size() : classIndex);
+			// persisters before the associated one still get a chance to claim the field
+			for (int i = 0; i < end; i++) {
+				DataPersister persister = persisters.get(i);
+				if (persister.isValidForField(field)) {
+					return persister;
+				}
+			}
+			if (classIndex == null) {
+				return null;
+			} else {
+				return persisters.get(classIndex);
+			}
+		}
+	}
 }
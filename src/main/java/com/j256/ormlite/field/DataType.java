@@ -6,6 +6,7 @@ import java.math.BigInteger;
 import com.j256.ormlite.field.types.BigDecimalNumericType;
 import com.j256.ormlite.field.types.BigDecimalStringType;
 import com.j256.ormlite.field.types.BigIntegerType;
+import com.j256.ormlite.field.types.BinaryUuidType;
 import com.j256.ormlite.field.types.BooleanCharType;
 import com.j256.ormlite.field.types.BooleanIntegerType;
 import com.j256.ormlite.field.types.BooleanObjectType;
@@ -15,6 +16,7 @@ import com.j256.ormlite.field.types.ByteObjectType;
 import com.j256.ormlite.field.types.ByteType;
 import com.j256.ormlite.field.types.CharType;
 import com.j256.ormlite.field.types.CharacterObjectType;
+import com.j256.ormlite.field.types.CodecType;
 import com.j256.ormlite.field.types.DateLongType;
 import com.j256.ormlite.field.types.DateStringType;
 import com.j256.ormlite.field.types.DateTimeType;
@@ -24,20 +26,27 @@ import com.j256.ormlite.field.types.DoubleType;
 import com.j256.ormlite.field.types.EnumIntegerType;
 import com.j256.ormlite.field.types.EnumStringType;
 import com.j256.ormlite.field.types.EnumToStringType;
+import com.j256.ormlite.field.types.FileType;
 import com.j256.ormlite.field.types.FloatObjectType;
 import com.j256.ormlite.field.types.FloatType;
+import com.j256.ormlite.field.types.InputStreamType;
+import com.j256.ormlite.field.types.InstantType;
 import com.j256.ormlite.field.types.IntType;
 import com.j256.ormlite.field.types.IntegerObjectType;
+import com.j256.ormlite.field.types.LocalDateTimeType;
+import com.j256.ormlite.field.types.LocalDateType;
 import com.j256.ormlite.field.types.LongObjectType;
 import com.j256.ormlite.field.types.LongStringType;
 import com.j256.ormlite.field.types.LongType;
 import com.j256.ormlite.field.types.NativeUuidType;
+import com.j256.ormlite.field.types.ReaderType;
 import com.j256.ormlite.field.types.SerializableType;
 import com.j256.ormlite.field.types.ShortObjectType;
 import com.j256.ormlite.field.types.ShortType;
 import com.j256.ormlite.field.types.SqlDateType;
 import com.j256.ormlite.field.types.StringBytesType;
 import com.j256.ormlite.field.types.StringType;
+import com.j256.ormlite.field.types.TimeOrderedUuidType;
 import com.j256.ormlite.field.types.TimeStampType;
 import com.j256.ormlite.field.types.UuidType;
 
@@ -176,6 +185,13 @@ public enum DataType {
 	 * automatically.
 	 */
 	SERIALIZABLE(SerializableType.getSingleton()),
+	/**
+	 * Persists an object using the compact binary codec instead of Java serialization which is faster and smaller.
+	 * Values that were written by {@link #SERIALIZABLE} can still be read so a field can be switched to this type and
+	 * each row is converted when it is next written. You will need to specify this using
+	 * {@link DatabaseField#dataType()}.
+	 */
+	SERIALIZABLE_COMPACT(CodecType.getSingleton()),
 	/**
 	 * Persists an Enum Java class as its string value produced by call @{link {@link Enum#name()}. You can also specify
 	 * the {@link #ENUM_INTEGER} or {@link #ENUM_TO_STRING} as the type.
@@ -200,6 +216,15 @@ public enum DataType {
 	 * database types.
 	 */
 	UUID_NATIVE(NativeUuidType.getSingleton()),
+	/**
+	 * Persists the {@link java.util.UUID} Java class as 16 bytes in a BINARY column. Generated ids are time-ordered.
+	 */
+	UUID_BINARY(BinaryUuidType.getSingleton()),
+	/**
+	 * Persists the {@link java.util.UUID} Java class as a String like {@link #UUID} but generated ids are time-ordered
+	 * instead of random.
+	 */
+	UUID_TIME_ORDERED(TimeOrderedUuidType.getSingleton()),
 	/**
 	 * Persists the {@link BigInteger} Java class.
 	 */
@@ -230,6 +255,35 @@ public enum DataType {
 	 * Persists the {@link java.sql.Timestamp} Java class. The {@link #DATE} type is recommended instead.
 	 */
 	TIME_STAMP(TimeStampType.getSingleton()),
+	/**
+	 * Persists an {@link java.io.InputStream} into a BLOB column by streaming it instead of reading it into a byte[].
+	 */
+	INPUT_STREAM(InputStreamType.getSingleton()),
+	/**
+	 * Persists a {@link java.io.Reader} into a BLOB column as UTF-8 by streaming it instead of reading it into a
+	 * String.
+	 */
+	READER(ReaderType.getSingleton()),
+	/**
+	 * Persists the contents of a {@link java.io.File} into a BLOB column by streaming it. The field is set to a
+	 * temporary file when queried.
+	 */
+	FILE(FileType.getSingleton()),
+	/**
+	 * Persists the java.time.LocalDate type as an ISO-8601 string. This uses reflection since we don't want to require
+	 * Java 8.
+	 */
+	LOCAL_DATE(LocalDateType.getSingleton()),
+	/**
+	 * Persists the java.time.LocalDateTime type as an ISO-8601 string. This uses reflection since we don't want to
+	 * require Java 8.
+	 */
+	LOCAL_DATE_TIME(LocalDateTimeType.getSingleton()),
+	/**
+	 * Persists the java.time.Instant type as a UTC ISO-8601 string. This uses reflection since we don't want to require
+	 * Java 8.
+	 */
+	INSTANT(InstantType.getSingleton()),
 	/**
 	 * Marker for fields that are unknown.
 	 */
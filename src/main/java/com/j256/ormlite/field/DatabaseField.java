@@ -46,6 +46,20 @@ public @interface DatabaseField {
 	 */
 	public static final int DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL = 2;
 
+	/**
+	 * Default for the compressThreshold which turns off compression.
+	 * 
+	 * @see #compressThreshold()
+	 */
+	public static final int NO_COMPRESS_THRESHOLD = -1;
+
+	/**
+	 * Default for the sequenceBlockSize which gets one id per sequence query.
+	 * 
+	 * @see #sequenceBlockSize()
+	 */
+	public static final int DEFAULT_SEQUENCE_BLOCK_SIZE = 1;
+
 	/**
 	 * The name of the column in the database. If not set then the name is taken from the field name.
 	 */
@@ -303,6 +317,32 @@ public @interface DatabaseField {
 	 */
 	boolean readOnly() default false;
 
+	/**
+	 * Set this to a number of bytes (default -1 which is off) to store a String or byte[] field compressed in a byte[]
+	 * column. Values longer than the threshold are deflated before they are written and inflated when they are read.
+	 * Shorter values, and values which don't get smaller, are written as is. Each value starts with a header byte which
+	 * records how it was written. This is worth setting on large text columns, such as JSON payloads, which often
+	 * compress 5 to 10 times. Set it to 0 to compress all values.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The column cannot be used in where clauses since the stored bytes are not the value.
+	 * </p>
+	 */
+	int compressThreshold() default NO_COMPRESS_THRESHOLD;
+
+	/**
+	 * Set this to the number of ids (default 1) to allocate with each query of the sequence of a
+	 * {@link #generatedIdSequence()} field on databases that query the sequence before the insert. This uses the hi/lo
+	 * strategy: sequence value N reserves the block of ids from (N - 1) * size + 1 to N * size and the rest of the
+	 * block is handed out to later inserts without querying the database.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> Ids will have gaps if the application exits before a block is used up and the ids no longer match
+	 * the sequence values so other code that inserts using the sequence directly will collide with them.
+	 * </p>
+	 */
+	int sequenceBlockSize() default DEFAULT_SEQUENCE_BLOCK_SIZE;
+
 	/*
 	 * NOTE to developers: if you add fields here you have to add them to the DatabaseFieldConfig,
 	 * DatabaseFieldConfigLoader, DatabaseFieldConfigLoaderTest, and DatabaseTableConfigUtil.
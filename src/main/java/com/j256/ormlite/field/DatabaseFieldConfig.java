@@ -61,6 +61,8 @@ public class DatabaseFieldConfig {
 	private boolean version;
 	private String foreignColumnName;
 	private boolean readOnly;
+	private int compressThreshold = DatabaseField.NO_COMPRESS_THRESHOLD;
+	private int sequenceBlockSize = DatabaseField.DEFAULT_SEQUENCE_BLOCK_SIZE;
 	// foreign collection field information
 	private boolean foreignCollection;
 	private boolean foreignCollectionEager;
@@ -496,6 +498,22 @@ public class DatabaseFieldConfig {
 		this.readOnly = readOnly;
 	}
 
+	public int getCompressThreshold() {
+		return compressThreshold;
+	}
+
+	public void setCompressThreshold(int compressThreshold) {
+		this.compressThreshold = compressThreshold;
+	}
+
+	public int getSequenceBlockSize() {
+		return sequenceBlockSize;
+	}
+
+	public void setSequenceBlockSize(int sequenceBlockSize) {
+		this.sequenceBlockSize = sequenceBlockSize;
+	}
+
 	/**
 	 * Create and return a config converted from a {@link Field} that may have one of the following annotations:
 	 * {@link DatabaseField}, {@link ForeignCollectionField}, or javax.persistence...
@@ -635,6 +653,8 @@ public class DatabaseFieldConfig {
 		config.version = databaseField.version();
 		config.foreignColumnName = valueIfNotBlank(databaseField.foreignColumnName());
 		config.readOnly = databaseField.readOnly();
+		config.compressThreshold = databaseField.compressThreshold();
+		config.sequenceBlockSize = databaseField.sequenceBlockSize();
 
 		return config;
 	}
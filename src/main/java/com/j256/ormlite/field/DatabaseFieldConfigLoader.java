@@ -104,6 +104,8 @@ public class DatabaseFieldConfigLoader {
 	private static final String FIELD_NAME_VERSION = "version";
 	private static final String FIELD_NAME_FOREIGN_COLUMN_NAME = "foreignColumnName";
 	private static final String FIELD_NAME_READ_ONLY = "readOnly";
+	private static final String FIELD_NAME_COMPRESS_THRESHOLD = "compressThreshold";
+	private static final String FIELD_NAME_SEQUENCE_BLOCK_SIZE = "sequenceBlockSize";
 
 	private static final String FIELD_NAME_FOREIGN_COLLECTION = "foreignCollection";
 	private static final String FIELD_NAME_FOREIGN_COLLECTION_EAGER = "foreignCollectionEager";
@@ -255,6 +257,18 @@ public class DatabaseFieldConfigLoader {
 			writer.append(FIELD_NAME_READ_ONLY).append('=').append("true");
 			writer.newLine();
 		}
+		if (config.getCompressThreshold() != DatabaseField.NO_COMPRESS_THRESHOLD) {
+			writer.append(FIELD_NAME_COMPRESS_THRESHOLD)
+					.append('=')
+					.append(Integer.toString(config.getCompressThreshold()));
+			writer.newLine();
+		}
+		if (config.getSequenceBlockSize() != DatabaseField.DEFAULT_SEQUENCE_BLOCK_SIZE) {
+			writer.append(FIELD_NAME_SEQUENCE_BLOCK_SIZE)
+					.append('=')
+					.append(Integer.toString(config.getSequenceBlockSize()));
+			writer.newLine();
+		}
 
 		/*
 		 * Foreign collection settings:
@@ -398,6 +412,10 @@ public class DatabaseFieldConfigLoader {
 			config.setForeignColumnName(value);
 		} else if (field.equals(FIELD_NAME_READ_ONLY)) {
 			config.setReadOnly(Boolean.parseBoolean(value));
+		} else if (field.equals(FIELD_NAME_COMPRESS_THRESHOLD)) {
+			config.setCompressThreshold(Integer.parseInt(value));
+		} else if (field.equals(FIELD_NAME_SEQUENCE_BLOCK_SIZE)) {
+			config.setSequenceBlockSize(Integer.parseInt(value));
 		}
 		/**
 		 * foreign collection field information
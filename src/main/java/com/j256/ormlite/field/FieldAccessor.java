@@ -0,0 +1,23 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+
+/**
+ * Gets and sets the value of a particular field in a data object. This is used by {@link FieldType} on all of the read
+ * and write paths instead of calling the reflection {@link java.lang.reflect.Field} or get/set methods directly. Use
+ * {@link FieldAccessorFactory#createFieldAccessor} to get the most appropriate implementation for a field.
+ * 
+ * @author graywatson
+ */
+public interface FieldAccessor {
+
+	/**
+	 * Return the value of the field in the data object. Primitive values are returned as their boxed equivalent.
+	 */
+	public Object get(Object data) throws SQLException;
+
+	/**
+	 * Set the field in the data object to the value.
+	 */
+	public void set(Object data, Object val) throws SQLException;
+}
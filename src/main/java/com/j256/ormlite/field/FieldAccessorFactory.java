@@ -0,0 +1,69 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Factory that creates the most appropriate {@link FieldAccessor} for a field. If get/set methods are to be used then
+ * they are called through reflection. Otherwise the field is accessed with {@link ReflectionFieldAccessor}.
+ * 
+ * <p>
+ * To access the fields with the {@link UnsafeFieldAccessor} instead, set the system property
+ * ("com.j256.ormlite.field.unsafeEnabled") contained in {@link #UNSAFE_ENABLED_SYSTEM_PROPERTY} to "true". It uses the
+ * internal sun.misc.Unsafe class which may not be available in all JVMs so it is off by default. If it is not enabled
+ * then the class is never loaded.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class FieldAccessorFactory {
+
+	public static final String UNSAFE_ENABLED_SYSTEM_PROPERTY = "com.j256.ormlite.field.unsafeEnabled";
+
+	private static boolean unsafeAvailable =
+			(Boolean.parseBoolean(System.getProperty(UNSAFE_ENABLED_SYSTEM_PROPERTY)) && findUnsafeAvailable());
+
+	/**
+	 * For static calls only.
+	 */
+	private FieldAccessorFactory() {
+	}
+
+	/**
+	 * Create and return an accessor for the field. If both the get and set methods are not null then they will be
+	 * called to access the field, otherwise the field must already have been made accessible.
+	 */
+	public static FieldAccessor createFieldAccessor(Field field, Method getMethod, Method setMethod) {
+		if (getMethod != null && setMethod != null) {
+			return new GetSetFieldAccessor(getMethod, setMethod);
+		}
+		if (unsafeAvailable) {
+			FieldAccessor accessor = UnsafeFieldAccessor.createAccessor(field);
+			if (accessor != null) {
+				return accessor;
+			}
+		}
+		return new ReflectionFieldAccessor(field);
+	}
+
+	/**
+	 * Set whether or not we should try to use the {@link UnsafeFieldAccessor}. It is off unless the
+	 * {@link #UNSAFE_ENABLED_SYSTEM_PROPERTY} is set. Only accessors created after this call are affected.
+	 */
+	public static void setUnsafeEnabled(boolean enabled) {
+		if (enabled) {
+			unsafeAvailable = findUnsafeAvailable();
+		} else {
+			unsafeAvailable = false;
+		}
+	}
+
+	private static boolean findUnsafeAvailable() {
+		try {
+			return UnsafeFieldAccessor.isAvailable();
+		} catch (Throwable th) {
+			// probably a LinkageError because sun.misc.Unsafe does not exist
+			return false;
+		}
+	}
+}
@@ -20,6 +20,7 @@ import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.dao.LazyForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.types.CompressedType;
 import com.j256.ormlite.field.types.VoidType;
 import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.logger.Logger;
@@ -65,8 +66,7 @@ public class FieldType {
 	private final boolean isId;
 	private final boolean isGeneratedId;
 	private final String generatedIdSequence;
-	private final Method fieldGetMethod;
-	private final Method fieldSetMethod;
+	private final FieldAccessor fieldAccessor;
 	private final Class<?> parentClass;
 
 	private DataPersister dataPersister;
@@ -152,6 +152,19 @@ public class FieldType {
 				throw new IllegalArgumentException(sb.toString());
 			}
 		}
+		if (fieldConfig.getCompressThreshold() != DatabaseField.NO_COMPRESS_THRESHOLD) {
+			Class<? extends DataPersister> persisterClass = fieldConfig.getPersisterClass();
+			if (fieldConfig.getDataPersister() != null
+					|| (persisterClass != null && persisterClass != VoidType.class)) {
+				throw new IllegalArgumentException(
+						"Field " + this + " sets compressThreshold so it cannot also set dataType or persisterClass");
+			}
+			dataPersister = CompressedType.getSingleton();
+			if (!dataPersister.isValidForField(field)) {
+				throw new IllegalArgumentException("Field " + this + " is a " + clazz
+						+ " but only String and byte[] fields can set compressThreshold");
+			}
+		}
 		String foreignColumnName = fieldConfig.getForeignColumnName();
 		String defaultFieldName = field.getName();
 		if (fieldConfig.isForeign() || fieldConfig.isForeignAutoRefresh() || foreignColumnName != null) {
@@ -235,12 +248,17 @@ public class FieldType {
 			this.isGeneratedId = false;
 			this.generatedIdSequence = null;
 		}
+		if (fieldConfig.getSequenceBlockSize() < 1) {
+			throw new IllegalArgumentException("Field " + field.getName() + " has a sequenceBlockSize of "
+					+ fieldConfig.getSequenceBlockSize() + " but it must be at least 1");
+		}
 		if (this.isId && (fieldConfig.isForeign() || fieldConfig.isForeignAutoRefresh())) {
 			throw new IllegalArgumentException("Id field " + field.getName() + " cannot also be a foreign object");
 		}
 		if (fieldConfig.isUseGetSet()) {
-			this.fieldGetMethod = DatabaseFieldConfig.findGetMethod(field, true);
-			this.fieldSetMethod = DatabaseFieldConfig.findSetMethod(field, true);
+			Method fieldGetMethod = DatabaseFieldConfig.findGetMethod(field, true);
+			Method fieldSetMethod = DatabaseFieldConfig.findSetMethod(field, true);
+			this.fieldAccessor = FieldAccessorFactory.createFieldAccessor(field, fieldGetMethod, fieldSetMethod);
 		} else {
 			if (!field.isAccessible()) {
 				try {
@@ -250,8 +268,7 @@ public class FieldType {
 							+ ".  You may have to set useGetSet=true to fix.");
 				}
 			}
-			this.fieldGetMethod = null;
-			this.fieldSetMethod = null;
+			this.fieldAccessor = FieldAccessorFactory.createFieldAccessor(field, null, null);
 		}
 		if (fieldConfig.isAllowGeneratedIdInsert() && !fieldConfig.isGeneratedId()) {
 			throw new IllegalArgumentException(
@@ -520,6 +537,13 @@ public class FieldType {
 		return fieldConfig.isForeign();
 	}
 
+	/**
+	 * Return the accessor that is used to get and set the field's value in the data objects.
+	 */
+	public FieldAccessor getFieldAccessor() {
+		return fieldAccessor;
+	}
+
 	/**
 	 * Assign to the data object the val corresponding to the fieldType.
 	 */
@@ -557,24 +581,8 @@ public class FieldType {
 			}
 		}
 
-		if (fieldSetMethod == null) {
-			try {
-				field.set(data, val);
-			} catch (IllegalArgumentException e) {
-				throw SqlExceptionUtil.create(
-						"Could not assign object '" + val + "' of type " + val.getClass() + " to field " + this, e);
-			} catch (IllegalAccessException e) {
-				throw SqlExceptionUtil.create(
-						"Could not assign object '" + val + "' of type " + val.getClass() + "' to field " + this, e);
-			}
-		} else {
-			try {
-				fieldSetMethod.invoke(data, val);
-			} catch (Exception e) {
-				throw SqlExceptionUtil
-						.create("Could not call " + fieldSetMethod + " on object with '" + val + "' for " + this, e);
-			}
-		}
+		// the accessor's exception already names the field and the value
+		fieldAccessor.set(data, val);
 	}
 
 	/**
@@ -594,24 +602,8 @@ public class FieldType {
 	 * Return the value from the field in the object that is defined by this FieldType.
 	 */
 	public <FV> FV extractRawJavaFieldValue(Object object) throws SQLException {
-		Object val;
-		if (fieldGetMethod == null) {
-			try {
-				// field object may not be a T yet
-				val = field.get(object);
-			} catch (Exception e) {
-				throw SqlExceptionUtil.create("Could not get field value for " + this, e);
-			}
-		} else {
-			try {
-				val = fieldGetMethod.invoke(object);
-			} catch (Exception e) {
-				throw SqlExceptionUtil.create("Could not call " + fieldGetMethod + " for " + this, e);
-			}
-		}
-
 		@SuppressWarnings("unchecked")
-		FV converted = (FV) val;
+		FV converted = (FV) fieldAccessor.get(object);
 		return converted;
 	}
 
@@ -909,6 +901,20 @@ public class FieldType {
 		return fieldConfig.isReadOnly();
 	}
 
+	/**
+	 * Call through to {@link DatabaseFieldConfig#getCompressThreshold()}
+	 */
+	public int getCompressThreshold() {
+		return fieldConfig.getCompressThreshold();
+	}
+
+	/**
+	 * Call through to {@link DatabaseFieldConfig#getSequenceBlockSize()}
+	 */
+	public int getSequenceBlockSize() {
+		return fieldConfig.getSequenceBlockSize();
+	}
+
 	/**
 	 * Return the value of field in the data argument if it is not the default value for the class. If it is the default
 	 * then null is returned.
@@ -1027,6 +1033,9 @@ public class FieldType {
 			return createForeignShell(val, objectCache);
 		}
 
+		// if the foreign DAO was lazily initialized then it may not have configured its own fields yet
+		foreignDao.initialize();
+
 		/*
 		 * We may not have a mapped query for id because we aren't auto-refreshing ourselves. But a parent class may be
 		 * auto-refreshing us with a level > 1 so we may need to build our query-for-id optimization on the fly here.
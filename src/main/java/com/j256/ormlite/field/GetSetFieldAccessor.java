@@ -0,0 +1,41 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+
+import com.j256.ormlite.misc.SqlExceptionUtil;
+
+/**
+ * Field accessor which calls the get and set methods of the field. Used when {@link DatabaseField#useGetSet()} is
+ * enabled.
+ * 
+ * @author graywatson
+ */
+public class GetSetFieldAccessor implements FieldAccessor {
+
+	private final Method getMethod;
+	private final Method setMethod;
+
+	public GetSetFieldAccessor(Method getMethod, Method setMethod) {
+		this.getMethod = getMethod;
+		this.setMethod = setMethod;
+	}
+
+	@Override
+	public Object get(Object data) throws SQLException {
+		try {
+			return getMethod.invoke(data);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not call " + getMethod + " on object " + data, e);
+		}
+	}
+
+	@Override
+	public void set(Object data, Object val) throws SQLException {
+		try {
+			setMethod.invoke(data, val);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not call " + setMethod + " on object with '" + val + "'", e);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+
+import com.j256.ormlite.misc.SqlExceptionUtil;
+
+/**
+ * Field accessor which uses the reflection {@link Field} get and set methods. This is the fall back if nothing faster is
+ * available. The field must already have been made accessible.
+ * 
+ * @author graywatson
+ */
+public class ReflectionFieldAccessor implements FieldAccessor {
+
+	private final Field field;
+
+	public ReflectionFieldAccessor(Field field) {
+		this.field = field;
+	}
+
+	@Override
+	public Object get(Object data) throws SQLException {
+		try {
+			return field.get(data);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not get field value for " + field, e);
+		}
+	}
+
+	@Override
+	public void set(Object data, Object val) throws SQLException {
+		try {
+			field.set(data, val);
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not assign object '" + val + "' of type "
+					+ (val == null ? "null" : val.getClass()) + " to field " + field, e);
+		}
+	}
+}
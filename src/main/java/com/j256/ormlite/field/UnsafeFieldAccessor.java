@@ -0,0 +1,199 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.SQLException;
+
+import sun.misc.Unsafe;
+
+/**
+ * Field accessor which reads and writes the field directly at its memory offset using {@link Unsafe}. This avoids the
+ * access checks of {@link Field#get(Object)} and {@link Field#set(Object, Object)}. It is only used if it is
+ * enabled with {@link FieldAccessorFactory#UNSAFE_ENABLED_SYSTEM_PROPERTY} and the JVM provides {@link Unsafe} --
+ * otherwise {@link FieldAccessorFactory} uses {@link ReflectionFieldAccessor}. This is the only class which references
+ * the internal API and the build passes -XDignore.symbol.file to javac so it does not warn about it.
+ * 
+ * <p>
+ * <b>NOTE:</b> Because nothing is checked by the JVM, this class does its own type checking on the data object and the
+ * value. Any value that does not exactly match a primitive field's wrapper type is passed to the reflection accessor
+ * so that widening conversions and error handling match {@link Field#set(Object, Object)}.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class UnsafeFieldAccessor implements FieldAccessor {
+
+	private static final Unsafe unsafe = findUnsafe();
+
+	private final Field field;
+	private final Class<?> declaringClass;
+	private final Class<?> fieldClass;
+	private final PrimitiveKind kind;
+	private final long offset;
+	private final ReflectionFieldAccessor fallback;
+
+	private UnsafeFieldAccessor(Field field, long offset) {
+		this.field = field;
+		this.declaringClass = field.getDeclaringClass();
+		this.fieldClass = field.getType();
+		this.kind = PrimitiveKind.fromClass(fieldClass);
+		this.offset = offset;
+		this.fallback = new ReflectionFieldAccessor(field);
+	}
+
+	/**
+	 * Return whether or not we found the {@link Unsafe} instance in this JVM.
+	 */
+	public static boolean isAvailable() {
+		return (unsafe != null);
+	}
+
+	/**
+	 * Create and return an accessor for the field or null if the field cannot be accessed with {@link Unsafe}. Static
+	 * and volatile fields are not supported.
+	 */
+	public static UnsafeFieldAccessor createAccessor(Field field) {
+		if (unsafe == null) {
+			return null;
+		}
+		int modifiers = field.getModifiers();
+		if (Modifier.isStatic(modifiers) || Modifier.isVolatile(modifiers)) {
+			return null;
+		}
+		long offset;
+		try {
+			offset = unsafe.objectFieldOffset(field);
+		} catch (Exception e) {
+			// some JVMs refuse to give out offsets for certain classes
+			return null;
+		}
+		return new UnsafeFieldAccessor(field, offset);
+	}
+
+	@Override
+	public Object get(Object data) throws SQLException {
+		checkData(data);
+		switch (kind) {
+			case BOOLEAN:
+				return unsafe.getBoolean(data, offset);
+			case BYTE:
+				return unsafe.getByte(data, offset);
+			case CHAR:
+				return unsafe.getChar(data, offset);
+			case SHORT:
+				return unsafe.getShort(data, offset);
+			case INT:
+				return unsafe.getInt(data, offset);
+			case LONG:
+				return unsafe.getLong(data, offset);
+			case FLOAT:
+				return unsafe.getFloat(data, offset);
+			case DOUBLE:
+				return unsafe.getDouble(data, offset);
+			case OBJECT:
+			default:
+				return unsafe.getObject(data, offset);
+		}
+	}
+
+	@Override
+	public void set(Object data, Object val) throws SQLException {
+		checkData(data);
+		if (kind == PrimitiveKind.OBJECT) {
+			if (val != null && !fieldClass.isInstance(val)) {
+				// let reflection generate the exception
+				fallback.set(data, val);
+				return;
+			}
+			unsafe.putObject(data, offset, val);
+			return;
+		}
+		if (val == null || val.getClass() != kind.wrapperClass) {
+			// null or needs a widening conversion
+			fallback.set(data, val);
+			return;
+		}
+		switch (kind) {
+			case BOOLEAN:
+				unsafe.putBoolean(data, offset, (Boolean) val);
+				break;
+			case BYTE:
+				unsafe.putByte(data, offset, (Byte) val);
+				break;
+			case CHAR:
+				unsafe.putChar(data, offset, (Character) val);
+				break;
+			case SHORT:
+				unsafe.putShort(data, offset, (Short) val);
+				break;
+			case INT:
+				unsafe.putInt(data, offset, (Integer) val);
+				break;
+			case LONG:
+				unsafe.putLong(data, offset, (Long) val);
+				break;
+			case FLOAT:
+				unsafe.putFloat(data, offset, (Float) val);
+				break;
+			case DOUBLE:
+				unsafe.putDouble(data, offset, (Double) val);
+				break;
+			default:
+				fallback.set(data, val);
+				break;
+		}
+	}
+
+	private void checkData(Object data) throws SQLException {
+		// this is critical since Unsafe would happily write into any object
+		if (!declaringClass.isInstance(data)) {
+			throw new SQLException("Object " + data + " is not an instance of " + declaringClass + " for field "
+					+ field.getName());
+		}
+	}
+
+	private static Unsafe findUnsafe() {
+		try {
+			Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+			unsafeField.setAccessible(true);
+			return (Unsafe) unsafeField.get(null);
+		} catch (Throwable th) {
+			// not available or not allowed
+			return null;
+		}
+	}
+
+	/**
+	 * Type of field we are accessing.
+	 */
+	private enum PrimitiveKind {
+		BOOLEAN(boolean.class, Boolean.class),
+		BYTE(byte.class, Byte.class),
+		CHAR(char.class, Character.class),
+		SHORT(short.class, Short.class),
+		INT(int.class, Integer.class),
+		LONG(long.class, Long.class),
+		FLOAT(float.class, Float.class),
+		DOUBLE(double.class, Double.class),
+		OBJECT(null, null),
+		// end
+		;
+
+		final Class<?> primitiveClass;
+		final Class<?> wrapperClass;
+
+		private PrimitiveKind(Class<?> primitiveClass, Class<?> wrapperClass) {
+			this.primitiveClass = primitiveClass;
+			this.wrapperClass = wrapperClass;
+		}
+
+		static PrimitiveKind fromClass(Class<?> clazz) {
+			for (PrimitiveKind kind : values()) {
+				if (kind.primitiveClass == clazz) {
+					return kind;
+				}
+			}
+			return OBJECT;
+		}
+	}
+}
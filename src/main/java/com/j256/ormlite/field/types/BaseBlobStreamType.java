@@ -0,0 +1,332 @@
+package com.j256.ormlite.field.types;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Base class for the types that stream a BLOB column in and out of the database instead of holding the whole value in
+ * a byte[]. On insert and update the value is bound to the statement as an {@link InputStream} which the database
+ * driver reads as it sends it. Since the results are closed before the object is returned, on query the BLOB stream is
+ * copied in fixed sized chunks to a temporary file and the field is set from that file.
+ * 
+ * <p>
+ * <b>NOTE:</b> The stream types return a stream on the temporary file which deletes it when the stream is closed or has
+ * been read to the end. A {@link FileType} field is set to the temporary file itself which the caller should move or
+ * delete. Values are often never touched, for example in objects that are loaded by foreign auto-refresh, dropped
+ * from a query result, or evicted from an object cache, so the temporary file is also deleted once its field value has
+ * been garbage collected, and any that are left are deleted when the JVM exits. A caller that wants to keep a
+ * {@link FileType} file must hold on to the {@link File} object or move the file somewhere else.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public abstract class BaseBlobStreamType extends BaseDataType {
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final String TEMP_FILE_PREFIX = "ormlite-blob-";
+
+	// values which have been handed to the database and so have been read already
+	private static final Map<Object, Boolean> writtenValues =
+			Collections.synchronizedMap(new WeakHashMap<Object, Boolean>());
+	// temporary files of the values that have been returned from queries
+	private static final ReferenceQueue<Object> spooledQueue = new ReferenceQueue<Object>();
+	// the paths are kept and not the files since a FileType value is the file itself
+	private static final Map<Reference<?>, String> spooledPaths = new ConcurrentHashMap<Reference<?>, String>();
+	private static final AtomicBoolean shutdownHookAdded = new AtomicBoolean();
+
+	protected BaseBlobStreamType(Class<?>[] classes) {
+		super(SqlType.BLOB, classes);
+	}
+
+	/**
+	 * Convert the field value into the stream that is bound to the statement.
+	 */
+	protected abstract InputStream javaToStream(FieldType fieldType, Object javaObject) throws SQLException;
+
+	/**
+	 * Convert the temporary file holding the BLOB into the field value.
+	 */
+	protected abstract Object fileToJava(FieldType fieldType, File file) throws SQLException;
+
+	@Override
+	public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+		throw new SQLException("Default values for stream types are not supported");
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object javaObject) throws SQLException {
+		return javaToStream(fieldType, javaObject);
+	}
+
+	@Override
+	public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		InputStream blobStream = results.getBlobStream(columnPos);
+		if (blobStream == null) {
+			return null;
+		}
+		try {
+			return spoolToFile(blobStream);
+		} finally {
+			IOUtils.closeQuietly(blobStream);
+		}
+	}
+
+	@Override
+	public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+		File file = (File) sqlArg;
+		boolean converted = false;
+		try {
+			Object result = fileToJava(fieldType, file);
+			trackSpooledFile(result, file);
+			converted = true;
+			return result;
+		} finally {
+			if (!converted) {
+				file.delete();
+			}
+		}
+	}
+
+	@Override
+	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+		throw new SQLException("Stream type cannot be converted from string to Java");
+	}
+
+	@Override
+	public boolean isStreamType() {
+		// the blob stream is null if the value is null
+		return true;
+	}
+
+	@Override
+	public boolean isComparable() {
+		return false;
+	}
+
+	@Override
+	public boolean isAppropriateId() {
+		return false;
+	}
+
+	@Override
+	public boolean isArgumentHolderRequired() {
+		return true;
+	}
+
+	/**
+	 * Mark the value as handed to the database. Streams and readers can only be read once so this throws if the same
+	 * value is written again, for example by a second update of the same object.
+	 */
+	protected static void markWritten(FieldType fieldType, Object value) throws SQLException {
+		if (writtenValues.put(value, Boolean.TRUE) != null) {
+			throw new SQLException("Value of field " + fieldType
+					+ " has already been written to the database and cannot be read again: " + value);
+		}
+	}
+
+	/**
+	 * Open an input stream on the file which closes itself once it has been read to the end so the file handle is not
+	 * left open after the driver has consumed it.
+	 */
+	protected static InputStream openSelfClosingStream(File file) throws SQLException {
+		try {
+			return new SelfClosingInputStream(new FileInputStream(file));
+		} catch (FileNotFoundException e) {
+			throw SqlExceptionUtil.create("Could not open file " + file + " to stream into the database", e);
+		}
+	}
+
+	/**
+	 * Open an input stream on the temporary file which deletes the file when the stream is closed or has been read to
+	 * the end. If the stream cannot be opened then the file is deleted.
+	 */
+	protected static InputStream openDeleteOnCloseStream(File file) throws SQLException {
+		try {
+			return new DeleteOnCloseInputStream(file);
+		} catch (FileNotFoundException e) {
+			file.delete();
+			throw SqlExceptionUtil.create("Could not open temporary file " + file, e);
+		}
+	}
+
+	/**
+	 * Delete the temporary files of the values that have been garbage collected. This is also done each time a value is
+	 * read from the database.
+	 * 
+	 * @return The number of files that were deleted.
+	 */
+	public static int deleteUnreachableFiles() {
+		int count = 0;
+		Reference<?> ref;
+		while ((ref = spooledQueue.poll()) != null) {
+			String path = spooledPaths.remove(ref);
+			// the stream types may have deleted it already
+			if (path != null && new File(path).delete()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static void trackSpooledFile(Object value, File file) {
+		deleteUnreachableFiles();
+		spooledPaths.put(new PhantomReference<Object>(value, spooledQueue), file.getPath());
+		if (shutdownHookAdded.compareAndSet(false, true)) {
+			Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (String path : spooledPaths.values()) {
+						new File(path).delete();
+					}
+				}
+			}, "ormlite-blob-cleanup"));
+		}
+	}
+
+	private static File spoolToFile(InputStream inputStream) throws SQLException {
+		File file;
+		try {
+			file = File.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not create temporary file to copy the blob into", e);
+		}
+		OutputStream outputStream = null;
+		boolean copied = false;
+		try {
+			outputStream = new FileOutputStream(file);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			while (true) {
+				int num = inputStream.read(buffer);
+				if (num < 0) {
+					break;
+				}
+				outputStream.write(buffer, 0, num);
+			}
+			outputStream.close();
+			outputStream = null;
+			copied = true;
+			return file;
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not copy the blob to temporary file " + file, e);
+		} finally {
+			IOUtils.closeQuietly(outputStream);
+			if (!copied) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Stream that closes itself when the end has been reached.
+	 */
+	private static class SelfClosingInputStream extends FilterInputStream {
+
+		public SelfClosingInputStream(InputStream inputStream) {
+			super(inputStream);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int val = super.read();
+			if (val < 0) {
+				close();
+			}
+			return val;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int num = super.read(buffer, offset, length);
+			if (num < 0) {
+				close();
+			}
+			return num;
+		}
+	}
+
+	/**
+	 * File stream that deletes the file when it is closed or the end has been reached.
+	 */
+	private static class DeleteOnCloseInputStream extends FileInputStream {
+
+		private final File file;
+		private boolean closed;
+
+		public DeleteOnCloseInputStream(File file) throws FileNotFoundException {
+			super(file);
+			this.file = file;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (closed) {
+				return -1;
+			}
+			int val = super.read();
+			if (val < 0) {
+				close();
+			}
+			return val;
+		}
+
+		@Override
+		public int read(byte[] buffer) throws IOException {
+			// FileInputStream does not call the other method
+			return read(buffer, 0, buffer.length);
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (closed) {
+				return -1;
+			}
+			int num = super.read(buffer, offset, length);
+			if (num < 0) {
+				close();
+			}
+			return num;
+		}
+
+		@Override
+		public int available() throws IOException {
+			if (closed) {
+				return 0;
+			}
+			return super.available();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				super.close();
+			} finally {
+				file.delete();
+			}
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.j256.ormlite.field.types;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.text.ParseException;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Base class for the persisters of the java.time classes which store them as ISO-8601 strings using the
+ * {@link IsoDateTimeFormatter}. Since we still support Java versions without java.time, the classes are reached with
+ * reflection like the {@link DateTimeType}. The methods are looked up once, the first time they are needed, and only
+ * the epoch numbers are passed to and from them.
+ * 
+ * @author graywatson
+ */
+public abstract class BaseJavaTimeType extends BaseDataType {
+
+	private final String className;
+	private final String[] associatedClassNames;
+	private volatile boolean methodsResolved;
+
+	protected BaseJavaTimeType(String className) {
+		super(SqlType.STRING);
+		this.className = className;
+		this.associatedClassNames = new String[] { className };
+	}
+
+	/**
+	 * Look up the methods that are used by {@link #javaToString(Object)} and {@link #stringToJava(String)} on the
+	 * java.time class.
+	 */
+	protected abstract void resolveMethods(Class<?> timeClass) throws Exception;
+
+	/**
+	 * Convert the java.time object to an ISO string.
+	 */
+	protected abstract String javaToString(Object javaObject) throws Exception;
+
+	/**
+	 * Convert an ISO string to the java.time object.
+	 */
+	protected abstract Object stringToJava(String str) throws Exception;
+
+	@Override
+	public String[] getAssociatedClassNames() {
+		return associatedClassNames;
+	}
+
+	@Override
+	public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+		// normalize the string to the format that we write
+		return javaToSqlArg(fieldType, sqlArgToJava(fieldType, defaultStr, 0));
+	}
+
+	@Override
+	public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getString(columnPos);
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object javaObject) throws SQLException {
+		resolveMethods();
+		try {
+			return javaToString(javaObject);
+		} catch (InvocationTargetException e) {
+			throw SqlExceptionUtil.create("Could not get the value of " + className + ": " + javaObject,
+					e.getTargetException());
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not convert " + className + " to a string: " + javaObject, e);
+		}
+	}
+
+	@Override
+	public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+		resolveMethods();
+		try {
+			return stringToJava((String) sqlArg);
+		} catch (ParseException e) {
+			throw SqlExceptionUtil.create("Problems with field " + fieldType + " parsing " + className + " string '"
+					+ sqlArg + "'", e);
+		} catch (InvocationTargetException e) {
+			throw SqlExceptionUtil.create("Could not create " + className + " from '" + sqlArg + "'",
+					e.getTargetException());
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not create " + className + " from '" + sqlArg + "'", e);
+		}
+	}
+
+	@Override
+	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+		return sqlArgToJava(fieldType, stringValue, columnPos);
+	}
+
+	@Override
+	public boolean isValidForField(Field field) {
+		return field.getType().getName().equals(className);
+	}
+
+	@Override
+	public boolean isAppropriateId() {
+		return false;
+	}
+
+	@Override
+	public Class<?> getPrimaryClass() {
+		try {
+			return Class.forName(className);
+		} catch (ClassNotFoundException e) {
+			// ignore the exception, we must be running before Java 8
+			return null;
+		}
+	}
+
+	private void resolveMethods() throws SQLException {
+		if (methodsResolved) {
+			return;
+		}
+		try {
+			resolveMethods(Class.forName(className));
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not use reflection to find the methods of " + className, e);
+		}
+		methodsResolved = true;
+	}
+}
@@ -0,0 +1,24 @@
+package com.j256.ormlite.field.types;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts objects to and from bytes for the {@link CodecType} persister. Implementations must be thread-safe since one
+ * codec is shared by all of the fields that use the persister.
+ * 
+ * @author graywatson
+ */
+public interface BinaryCodec {
+
+	/**
+	 * Write the object, which is not null, to the output.
+	 */
+	public void encode(Object obj, DataOutput output) throws IOException;
+
+	/**
+	 * Read an object that was written by {@link #encode(Object, DataOutput)} from the input.
+	 */
+	public Object decode(DataInput input) throws IOException;
+}
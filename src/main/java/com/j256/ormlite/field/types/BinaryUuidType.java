@@ -0,0 +1,151 @@
+package com.j256.ormlite.field.types;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Type that persists a {@link UUID} object as 16 big-endian bytes in a BINARY(16) column which is less than half the
+ * size of the {@link UuidType} string in the table and its indexes. Generated ids are time-ordered UUIDs from the
+ * {@link TimeOrderedUuidGenerator} so new rows are appended to the end of the index.
+ * 
+ * <p>
+ * The values are passed to and from the database as {@link SqlType#BYTE_ARRAY} so they work with every
+ * {@link com.j256.ormlite.support.CompiledStatement} implementation. Only the column definition is different.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class BinaryUuidType extends BaseDataType {
+
+	public static final int BINARY_WIDTH = 16;
+
+	private static final BinaryUuidType singleTon = new BinaryUuidType();
+
+	public static BinaryUuidType getSingleton() {
+		return singleTon;
+	}
+
+	private BinaryUuidType() {
+		super(SqlType.BYTE_ARRAY);
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected BinaryUuidType(SqlType sqlType, Class<?>[] classes) {
+		super(sqlType, classes);
+	}
+
+	@Override
+	public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+		throw new SQLException("Default values for binary UUIDs are not supported");
+	}
+
+	@Override
+	public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getBytes(columnPos);
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object javaObject) {
+		UUID uuid = (UUID) javaObject;
+		byte[] bytes = new byte[BINARY_WIDTH];
+		writeLong(bytes, 0, uuid.getMostSignificantBits());
+		writeLong(bytes, 8, uuid.getLeastSignificantBits());
+		return bytes;
+	}
+
+	@Override
+	public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+		byte[] bytes = (byte[]) sqlArg;
+		if (bytes.length != BINARY_WIDTH) {
+			throw new SQLException("Binary UUID in column " + columnPos + " has " + bytes.length + " bytes, not "
+					+ BINARY_WIDTH);
+		}
+		return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+	}
+
+	@Override
+	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+		try {
+			if (stringValue.length() == BINARY_WIDTH * 2) {
+				// databases return binary columns as hex strings
+				return new UUID(parseHexLong(stringValue, 0), parseHexLong(stringValue, BINARY_WIDTH));
+			} else {
+				return UUID.fromString(stringValue);
+			}
+		} catch (IllegalArgumentException e) {
+			throw SqlExceptionUtil
+					.create("Problems with column " + columnPos + " parsing UUID-string '" + stringValue + "'", e);
+		}
+	}
+
+	@Override
+	public boolean isArgumentHolderRequired() {
+		return true;
+	}
+
+	@Override
+	public boolean isValidGeneratedType() {
+		return true;
+	}
+
+	@Override
+	public boolean isSelfGeneratedId() {
+		return true;
+	}
+
+	@Override
+	public Object generateId() {
+		return TimeOrderedUuidGenerator.getSingleton().generate();
+	}
+
+	@Override
+	public int getDefaultWidth() {
+		return BINARY_WIDTH;
+	}
+
+	@Override
+	public boolean isValidForField(Field field) {
+		// we don't associate the UUID class here since the string UuidType is the default for it
+		return (field.getType() == UUID.class);
+	}
+
+	@Override
+	public Class<?> getPrimaryClass() {
+		return UUID.class;
+	}
+
+	private static void writeLong(byte[] bytes, int offset, long value) {
+		for (int i = 7; i >= 0; i--) {
+			bytes[offset + i] = (byte) value;
+			value >>>= 8;
+		}
+	}
+
+	private static long readLong(byte[] bytes, int offset) {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (bytes[offset + i] & 0xFF);
+		}
+		return value;
+	}
+
+	private static long parseHexLong(String str, int offset) {
+		long value = 0;
+		for (int i = offset; i < offset + 16; i++) {
+			int digit = Character.digit(str.charAt(i), 16);
+			if (digit < 0) {
+				throw new IllegalArgumentException("Invalid hex character in binary UUID: " + str);
+			}
+			value = (value << 4) | digit;
+		}
+		return value;
+	}
+}
@@ -0,0 +1,192 @@
+package com.j256.ormlite.field.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Persists an object into a byte[] column using a {@link BinaryCodec} instead of Java serialization. The default
+ * singleton, used by {@link com.j256.ormlite.field.DataType#SERIALIZABLE_COMPACT}, uses the {@link CompactCodec}. To
+ * use your own codec for the fields of some classes, register an instance with
+ * {@link DataPersisterManager#registerDataPersisters(com.j256.ormlite.field.DataPersister...)}:
+ * 
+ * <pre>
+ * DataPersisterManager.registerDataPersisters(new CodecType(new PointCodec(), 1024, Point.class));
+ * </pre>
+ * 
+ * <p>
+ * Each value starts with a 4 byte header: 2 magic bytes, the format version, and flags. If the encoded value is larger
+ * than the compression threshold then it is deflated and the compressed flag is set, as long as that makes it smaller.
+ * Values written with Java serialization by {@link SerializableType} are recognized and still read so an existing
+ * SERIALIZABLE field can be switched to this type and each row is migrated to the new format when it is next written.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class CodecType extends BaseDataType {
+
+	/** encoded values larger than this many bytes are compressed by default */
+	public static final int DEFAULT_COMPRESS_THRESHOLD = 1024;
+	/** version of the format that is written in the header */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final byte MAGIC_1 = (byte) 0xC0;
+	private static final byte MAGIC_2 = (byte) 0xDE;
+	private static final int FLAG_COMPRESSED = 0x1;
+	private static final int HEADER_LENGTH = 4;
+	// first bytes of a Java serialization stream
+	private static final byte SERIALIZATION_MAGIC_1 = (byte) 0xAC;
+	private static final byte SERIALIZATION_MAGIC_2 = (byte) 0xED;
+
+	private static final CodecType singleTon = new CodecType(CompactCodec.getSingleton(), DEFAULT_COMPRESS_THRESHOLD);
+
+	private final BinaryCodec codec;
+	private final int compressThreshold;
+
+	public static CodecType getSingleton() {
+		return singleTon;
+	}
+
+	/**
+	 * Create a persister which uses the codec.
+	 * 
+	 * @param codec
+	 *            Codec used to convert the objects to and from bytes.
+	 * @param compressThreshold
+	 *            Encoded values larger than this number of bytes are compressed. Set to -1 to never compress.
+	 * @param classes
+	 *            Classes of the fields that this persister handles when it is registered with the
+	 *            {@link DataPersisterManager}.
+	 */
+	public CodecType(BinaryCodec codec, int compressThreshold, Class<?>... classes) {
+		super(SqlType.SERIALIZABLE, classes);
+		this.codec = codec;
+		this.compressThreshold = compressThreshold;
+	}
+
+	@Override
+	public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+		throw new SQLException("Default values for codec types are not supported");
+	}
+
+	@Override
+	public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getBytes(columnPos);
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object obj) throws SQLException {
+		try {
+			ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+			writeHeader(outStream, 0);
+			DataOutputStream dataOutStream = new DataOutputStream(outStream);
+			codec.encode(obj, dataOutStream);
+			dataOutStream.flush();
+			byte[] bytes = outStream.toByteArray();
+			if (compressThreshold >= 0 && bytes.length - HEADER_LENGTH > compressThreshold) {
+				byte[] compressed = compress(bytes);
+				if (compressed.length < bytes.length) {
+					return compressed;
+				}
+			}
+			return bytes;
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not encode object with codec: " + obj, e);
+		}
+	}
+
+	@Override
+	public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+		byte[] bytes = (byte[]) sqlArg;
+		if (bytes.length >= 2 && bytes[0] == SERIALIZATION_MAGIC_1 && bytes[1] == SERIALIZATION_MAGIC_2) {
+			// written by the serializable type, this will be rewritten in our format when the object is next updated
+			return SerializableType.getSingleton().sqlArgToJava(fieldType, sqlArg, columnPos);
+		}
+		if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC_1 || bytes[1] != MAGIC_2) {
+			throw new SQLException("Value of " + bytes.length + " bytes does not start with the codec header");
+		}
+		int version = bytes[2] & 0xFF;
+		if (version > FORMAT_VERSION) {
+			throw new SQLException("Codec format version " + version + " is newer than supported version "
+					+ FORMAT_VERSION);
+		}
+		int flags = bytes[3] & 0xFF;
+		InputStream inStream = new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+		Inflater inflater = null;
+		try {
+			if ((flags & FLAG_COMPRESSED) != 0) {
+				inflater = new Inflater();
+				inStream = new InflaterInputStream(inStream, inflater);
+			}
+			return codec.decode(new DataInputStream(inStream));
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not decode object from " + bytes.length + " bytes with codec", e);
+		} finally {
+			if (inflater != null) {
+				// release the native memory
+				inflater.end();
+			}
+		}
+	}
+
+	@Override
+	public boolean isStreamType() {
+		// can't do a getObject call beforehand so we have to check for nulls
+		return true;
+	}
+
+	@Override
+	public boolean isComparable() {
+		return false;
+	}
+
+	@Override
+	public boolean isAppropriateId() {
+		return false;
+	}
+
+	@Override
+	public boolean isArgumentHolderRequired() {
+		return true;
+	}
+
+	@Override
+	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+		throw new SQLException("Codec type cannot be converted from string to Java");
+	}
+
+	private byte[] compress(byte[] bytes) throws IOException {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			ByteArrayOutputStream outStream = new ByteArrayOutputStream(bytes.length / 2);
+			writeHeader(outStream, FLAG_COMPRESSED);
+			DeflaterOutputStream deflaterStream = new DeflaterOutputStream(outStream, deflater);
+			deflaterStream.write(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+			deflaterStream.finish();
+			return outStream.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private void writeHeader(ByteArrayOutputStream outStream, int flags) {
+		outStream.write(MAGIC_1);
+		outStream.write(MAGIC_2);
+		outStream.write(FORMAT_VERSION);
+		outStream.write(flags);
+	}
+}
@@ -0,0 +1,280 @@
+package com.j256.ormlite.field.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary codec for the common shapes of data: null, the primitive wrappers, strings, byte arrays, dates, and
+ * lists, sets, and maps of those. Each value is written as a one byte tag followed by the value. Integers and lengths
+ * are written as variable length numbers so small values take a single byte and strings are written as UTF-8. Any other
+ * {@link Serializable} object is written with Java serialization as a fallback.
+ * 
+ * <p>
+ * Only {@link ArrayList}, {@link HashSet}, {@link LinkedHashSet}, {@link HashMap}, and {@link LinkedHashMap} are
+ * written in the compact form and they are read back as the same class. Other collections, such as a
+ * {@link java.util.TreeMap} with its comparator, are written with Java serialization so they keep their class.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class CompactCodec implements BinaryCodec {
+
+	private static final CompactCodec singleTon = new CompactCodec();
+
+	private static final int TAG_NULL = 0;
+	private static final int TAG_TRUE = 1;
+	private static final int TAG_FALSE = 2;
+	private static final int TAG_BYTE = 3;
+	private static final int TAG_SHORT = 4;
+	private static final int TAG_INT = 5;
+	private static final int TAG_LONG = 6;
+	private static final int TAG_FLOAT = 7;
+	private static final int TAG_DOUBLE = 8;
+	private static final int TAG_CHAR = 9;
+	private static final int TAG_STRING = 10;
+	private static final int TAG_BYTE_ARRAY = 11;
+	private static final int TAG_DATE = 12;
+	private static final int TAG_LIST = 13;
+	private static final int TAG_SET = 14;
+	private static final int TAG_MAP = 15;
+	private static final int TAG_SERIALIZABLE = 16;
+	private static final int TAG_HASH_SET = 17;
+	private static final int TAG_HASH_MAP = 18;
+
+	public static CompactCodec getSingleton() {
+		return singleTon;
+	}
+
+	@Override
+	public void encode(Object obj, DataOutput output) throws IOException {
+		if (obj == null) {
+			output.writeByte(TAG_NULL);
+		} else if (obj instanceof Boolean) {
+			output.writeByte(((Boolean) obj) ? TAG_TRUE : TAG_FALSE);
+		} else if (obj instanceof Byte) {
+			output.writeByte(TAG_BYTE);
+			output.writeByte((Byte) obj);
+		} else if (obj instanceof Short) {
+			output.writeByte(TAG_SHORT);
+			writeVarLong(output, zigZag((Short) obj));
+		} else if (obj instanceof Integer) {
+			output.writeByte(TAG_INT);
+			writeVarLong(output, zigZag((Integer) obj));
+		} else if (obj instanceof Long) {
+			output.writeByte(TAG_LONG);
+			writeVarLong(output, zigZag((Long) obj));
+		} else if (obj instanceof Float) {
+			output.writeByte(TAG_FLOAT);
+			output.writeFloat((Float) obj);
+		} else if (obj instanceof Double) {
+			output.writeByte(TAG_DOUBLE);
+			output.writeDouble((Double) obj);
+		} else if (obj instanceof Character) {
+			output.writeByte(TAG_CHAR);
+			output.writeChar((Character) obj);
+		} else if (obj instanceof String) {
+			output.writeByte(TAG_STRING);
+			writeBytes(output, ((String) obj).getBytes("UTF-8"));
+		} else if (obj instanceof byte[]) {
+			output.writeByte(TAG_BYTE_ARRAY);
+			writeBytes(output, (byte[]) obj);
+		} else if (obj.getClass() == Date.class) {
+			// subclasses such as java.sql.Timestamp fall through to serialization so they aren't truncated
+			output.writeByte(TAG_DATE);
+			writeVarLong(output, zigZag(((Date) obj).getTime()));
+		} else if (obj.getClass() == ArrayList.class) {
+			// only the exact classes so other collections are serialized and keep their class
+			output.writeByte(TAG_LIST);
+			writeCollection(output, (List<?>) obj);
+		} else if (obj.getClass() == LinkedHashSet.class) {
+			output.writeByte(TAG_SET);
+			writeCollection(output, (Set<?>) obj);
+		} else if (obj.getClass() == HashSet.class) {
+			output.writeByte(TAG_HASH_SET);
+			writeCollection(output, (Set<?>) obj);
+		} else if (obj.getClass() == LinkedHashMap.class) {
+			output.writeByte(TAG_MAP);
+			writeMap(output, (Map<?, ?>) obj);
+		} else if (obj.getClass() == HashMap.class) {
+			output.writeByte(TAG_HASH_MAP);
+			writeMap(output, (Map<?, ?>) obj);
+		} else if (obj instanceof Serializable) {
+			output.writeByte(TAG_SERIALIZABLE);
+			ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+			ObjectOutputStream objOutStream = new ObjectOutputStream(outStream);
+			objOutStream.writeObject(obj);
+			objOutStream.close();
+			writeBytes(output, outStream.toByteArray());
+		} else {
+			throw new IOException("Cannot encode object of " + obj.getClass() + " which is not serializable");
+		}
+	}
+
+	@Override
+	public Object decode(DataInput input) throws IOException {
+		int tag = input.readUnsignedByte();
+		switch (tag) {
+			case TAG_NULL:
+				return null;
+			case TAG_TRUE:
+				return Boolean.TRUE;
+			case TAG_FALSE:
+				return Boolean.FALSE;
+			case TAG_BYTE:
+				return input.readByte();
+			case TAG_SHORT:
+				return (short) unZigZag(readVarLong(input));
+			case TAG_INT:
+				return (int) unZigZag(readVarLong(input));
+			case TAG_LONG:
+				return unZigZag(readVarLong(input));
+			case TAG_FLOAT:
+				return input.readFloat();
+			case TAG_DOUBLE:
+				return input.readDouble();
+			case TAG_CHAR:
+				return input.readChar();
+			case TAG_STRING:
+				return new String(readBytes(input), "UTF-8");
+			case TAG_BYTE_ARRAY:
+				return readBytes(input);
+			case TAG_DATE:
+				return new Date(unZigZag(readVarLong(input)));
+			case TAG_LIST:
+				return readList(input);
+			case TAG_SET:
+				return readCollection(input, new LinkedHashSet<Object>());
+			case TAG_HASH_SET:
+				return readCollection(input, new HashSet<Object>());
+			case TAG_MAP:
+				return readMap(input, new LinkedHashMap<Object, Object>());
+			case TAG_HASH_MAP:
+				return readMap(input, new HashMap<Object, Object>());
+			case TAG_SERIALIZABLE:
+				return readSerializable(input);
+			default:
+				throw new IOException("Unknown compact codec tag: " + tag);
+		}
+	}
+
+	private List<Object> readList(DataInput input) throws IOException {
+		int size = readSize(input);
+		List<Object> list = new ArrayList<Object>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(decode(input));
+		}
+		return list;
+	}
+
+	private Set<Object> readCollection(DataInput input, Set<Object> set) throws IOException {
+		int size = readSize(input);
+		for (int i = 0; i < size; i++) {
+			set.add(decode(input));
+		}
+		return set;
+	}
+
+	private Map<Object, Object> readMap(DataInput input, Map<Object, Object> map) throws IOException {
+		int size = readSize(input);
+		for (int i = 0; i < size; i++) {
+			Object key = decode(input);
+			map.put(key, decode(input));
+		}
+		return map;
+	}
+
+	private Object readSerializable(DataInput input) throws IOException {
+		ObjectInputStream objInStream = new ObjectInputStream(new ByteArrayInputStream(readBytes(input)));
+		try {
+			return objInStream.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Could not find class of serialized object", e);
+		} finally {
+			objInStream.close();
+		}
+	}
+
+	private void writeCollection(DataOutput output, Collection<?> collection) throws IOException {
+		writeVarLong(output, collection.size());
+		for (Object obj : collection) {
+			encode(obj, output);
+		}
+	}
+
+	private void writeMap(DataOutput output, Map<?, ?> map) throws IOException {
+		writeVarLong(output, map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			encode(entry.getKey(), output);
+			encode(entry.getValue(), output);
+		}
+	}
+
+	private static void writeBytes(DataOutput output, byte[] bytes) throws IOException {
+		writeVarLong(output, bytes.length);
+		output.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInput input) throws IOException {
+		byte[] bytes = new byte[readSize(input)];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	private static int readSize(DataInput input) throws IOException {
+		long size = readVarLong(input);
+		if (size < 0 || size > Integer.MAX_VALUE) {
+			throw new IOException("Invalid size in compact codec data: " + size);
+		}
+		return (int) size;
+	}
+
+	/**
+	 * Write 7 bits at a time with the high bit set if there are more bytes.
+	 */
+	private static void writeVarLong(DataOutput output, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			output.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		output.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInput input) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = input.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Variable length number in compact codec data is too long");
+	}
+
+	/**
+	 * Map signed numbers to unsigned so that small negative numbers also take few bytes.
+	 */
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
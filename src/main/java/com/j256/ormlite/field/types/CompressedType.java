@@ -0,0 +1,230 @@
+package com.j256.ormlite.field.types;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Persists a String or byte[] field into a byte[] column, compressing values which are longer than the
+ * {@link DatabaseField#compressThreshold()} of the field. This is used automatically for fields which set the
+ * threshold. Strings are converted to UTF-8 bytes first. Each value starts with a header byte which records the codec
+ * so rows written raw and rows written compressed can be mixed and more codecs can be added later.
+ * 
+ * <p>
+ * The deflater, inflater, and copy buffer are kept per thread and reset between values so they aren't allocated, and
+ * their native memory isn't created and freed, for every value. The native memory of a thread's codec is freed when
+ * the thread is garbage collected. Long-lived pool threads which are done with compressed fields can free it right
+ * away with {@link #releaseThreadCodec()}.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class CompressedType extends BaseDataType {
+
+	/** header byte of values that are stored as is */
+	public static final byte CODEC_RAW = 0;
+	/** header byte of values that are compressed with deflate */
+	public static final byte CODEC_DEFLATE = 1;
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final String STRING_ENCODING = "UTF-8";
+
+	private static final CompressedType singleTon = new CompressedType();
+	private static final ThreadLocal<Codec> threadCodec = new ThreadLocal<Codec>();
+
+	public static CompressedType getSingleton() {
+		return singleTon;
+	}
+
+	/**
+	 * End the deflater and inflater of the current thread, if any, to free their native memory. A new pair is created
+	 * if the thread converts another compressed value.
+	 */
+	public static void releaseThreadCodec() {
+		Codec codec = threadCodec.get();
+		if (codec != null) {
+			threadCodec.remove();
+			codec.end();
+		}
+	}
+
+	private CompressedType() {
+		super(SqlType.BYTE_ARRAY, new Class<?>[] { String.class, byte[].class });
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected CompressedType(SqlType sqlType, Class<?>[] classes) {
+		super(sqlType, classes);
+	}
+
+	@Override
+	public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+		throw new SQLException("Default values for compressed fields are not supported");
+	}
+
+	@Override
+	public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getBytes(columnPos);
+	}
+
+	@Override
+	public Object javaToSqlArg(FieldType fieldType, Object javaObject) throws SQLException {
+		byte[] bytes;
+		if (javaObject instanceof String) {
+			try {
+				bytes = ((String) javaObject).getBytes(STRING_ENCODING);
+			} catch (UnsupportedEncodingException e) {
+				throw SqlExceptionUtil.create("Could not convert string with encoding " + STRING_ENCODING, e);
+			}
+		} else {
+			bytes = (byte[]) javaObject;
+		}
+		if (bytes.length > fieldType.getCompressThreshold()) {
+			byte[] compressed = getThreadCodec().compress(bytes);
+			if (compressed != null) {
+				return compressed;
+			}
+		}
+		byte[] result = new byte[bytes.length + 1];
+		result[0] = CODEC_RAW;
+		System.arraycopy(bytes, 0, result, 1, bytes.length);
+		return result;
+	}
+
+	@Override
+	public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+		byte[] stored = (byte[]) sqlArg;
+		if (stored.length == 0) {
+			throw new SQLException("Compressed value in column " + columnPos + " is missing its header byte");
+		}
+		byte[] bytes;
+		switch (stored[0]) {
+			case CODEC_RAW:
+				bytes = Arrays.copyOfRange(stored, 1, stored.length);
+				break;
+			case CODEC_DEFLATE:
+				bytes = getThreadCodec().decompress(stored);
+				break;
+			default:
+				throw new SQLException("Unknown compression codec " + stored[0] + " in column " + columnPos);
+		}
+		if (fieldType.getType() == String.class) {
+			try {
+				return new String(bytes, STRING_ENCODING);
+			} catch (UnsupportedEncodingException e) {
+				throw SqlExceptionUtil.create("Could not convert bytes with encoding " + STRING_ENCODING, e);
+			}
+		} else {
+			return bytes;
+		}
+	}
+
+	@Override
+	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+		throw new SQLException("Compressed type cannot be converted from string to Java");
+	}
+
+	@Override
+	public boolean isComparable() {
+		return false;
+	}
+
+	@Override
+	public boolean isAppropriateId() {
+		return false;
+	}
+
+	@Override
+	public boolean isArgumentHolderRequired() {
+		return true;
+	}
+
+	@Override
+	public boolean dataIsEqual(Object fieldObj1, Object fieldObj2) {
+		if (fieldObj1 instanceof byte[] && fieldObj2 instanceof byte[]) {
+			return Arrays.equals((byte[]) fieldObj1, (byte[]) fieldObj2);
+		} else {
+			return super.dataIsEqual(fieldObj1, fieldObj2);
+		}
+	}
+
+	private static Codec getThreadCodec() {
+		Codec codec = threadCodec.get();
+		if (codec == null) {
+			codec = new Codec();
+			threadCodec.set(codec);
+		}
+		return codec;
+	}
+
+	/**
+	 * Deflater, inflater, and buffer that are reused by one thread.
+	 */
+	private static class Codec {
+
+		private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		private final Inflater inflater = new Inflater();
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+
+		/**
+		 * Free the native memory of the deflater and inflater.
+		 */
+		public void end() {
+			deflater.end();
+			inflater.end();
+		}
+
+		/**
+		 * Return the header byte followed by the deflated bytes or null if compressing doesn't make the value smaller.
+		 */
+		public byte[] compress(byte[] bytes) {
+			deflater.reset();
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream outStream = new ByteArrayOutputStream(bytes.length / 4 + 16);
+			outStream.write(CODEC_DEFLATE);
+			while (!deflater.finished()) {
+				int num = deflater.deflate(buffer);
+				outStream.write(buffer, 0, num);
+				if (outStream.size() > bytes.length) {
+					// no better than writing it raw so stop early
+					return null;
+				}
+			}
+			return outStream.toByteArray();
+		}
+
+		/**
+		 * Return the inflated bytes that follow the header byte.
+		 */
+		public byte[] decompress(byte[] stored) throws SQLException {
+			inflater.reset();
+			inflater.setInput(stored, 1, stored.length - 1);
+			ByteArrayOutputStream outStream = new ByteArrayOutputStream(stored.length * 4);
+			try {
+				while (!inflater.finished()) {
+					int num = inflater.inflate(buffer);
+					if (num == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						throw new SQLException("Compressed value of " + stored.length + " bytes is truncated");
+					}
+					outStream.write(buffer, 0, num);
+				}
+			} catch (DataFormatException e) {
+				throw SqlExceptionUtil.create("Could not inflate compressed value of " + stored.length + " bytes", e);
+			}
+			return outStream.toByteArray();
+		}
+	}
+}
@@ -24,9 +24,7 @@ import com.j256.ormlite.support.DatabaseResults;
 public class DateTimeType extends BaseDataType {
 
 	private static final DateTimeType singleTon = new DateTimeType();
-	private static Class<?> dateTimeClass = null;
-	private static Method getMillisMethod = null;
-	private static Constructor<?> millisConstructor = null;
+	private static volatile JodaMethods jodaMethods = null;
 	private static final String[] associatedClassNames = new String[] { "org.joda.time.DateTime" };
 
 	private DateTimeType() {
@@ -84,8 +82,8 @@ public class DateTimeType extends BaseDataType {
 	@Override
 	public Class<?> getPrimaryClass() {
 		try {
-			return getDateTimeClass();
-		} catch (ClassNotFoundException e) {
+			return getJodaMethods().dateTimeClass;
+		} catch (Exception e) {
 			// ignore the exception
 			return null;
 		}
@@ -112,11 +110,7 @@ public class DateTimeType extends BaseDataType {
 
 	private Object createInstance(Long sqlArg) throws SQLException {
 		try {
-			if (millisConstructor == null) {
-				Class<?> clazz = getDateTimeClass();
-				millisConstructor = clazz.getConstructor(long.class);
-			}
-			return millisConstructor.newInstance(sqlArg);
+			return getJodaMethods().millisConstructor.newInstance(sqlArg);
 		} catch (Exception e) {
 			throw SqlExceptionUtil.create("Could not use reflection to construct a Joda DateTime", e);
 		}
@@ -124,10 +118,7 @@ public class DateTimeType extends BaseDataType {
 
 	private Long extractMillis(Object javaObject) throws SQLException {
 		try {
-			if (getMillisMethod == null) {
-				Class<?> clazz = getDateTimeClass();
-				getMillisMethod = clazz.getMethod("getMillis");
-			}
+			Method getMillisMethod = getJodaMethods().getMillisMethod;
 			if (javaObject == null) {
 				return null;
 			} else {
@@ -138,10 +129,30 @@ public class DateTimeType extends BaseDataType {
 		}
 	}
 
-	private Class<?> getDateTimeClass() throws ClassNotFoundException {
-		if (dateTimeClass == null) {
-			dateTimeClass = Class.forName("org.joda.time.DateTime");
+	/**
+	 * Return the Joda class and methods which are looked up together the first time they are needed.
+	 */
+	private static JodaMethods getJodaMethods() throws Exception {
+		JodaMethods methods = jodaMethods;
+		if (methods == null) {
+			// more than one thread may do this but they all get the same methods
+			methods = new JodaMethods(Class.forName("org.joda.time.DateTime"));
+			jodaMethods = methods;
+		}
+		return methods;
+	}
+
+	/**
+	 * Reflection information about the Joda DateTime class that is resolved once.
+	 */
+	private static class JodaMethods {
+		final Class<?> dateTimeClass;
+		final Method getMillisMethod;
+		final Constructor<?> millisConstructor;
+		public JodaMethods(Class<?> dateTimeClass) throws Exception {
+			this.dateTimeClass = dateTimeClass;
+			this.getMillisMethod = dateTimeClass.getMethod("getMillis");
+			this.millisConstructor = dateTimeClass.getConstructor(long.class);
 		}
-		return dateTimeClass;
 	}
 }
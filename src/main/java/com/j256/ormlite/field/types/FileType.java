@@ -0,0 +1,51 @@
+package com.j256.ormlite.field.types;
+
+import java.io.File;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldType;
+
+/**
+ * Type that persists the contents of a {@link File} into a BLOB column. The file is streamed to the database driver
+ * when the object is created or updated. When the object is queried, the field is set to a temporary file holding the
+ * contents of the BLOB. It is up to the caller to move or delete that file. If the {@link File} object is garbage
+ * collected first, for example because the object was never looked at, then the file is deleted for it. See
+ * {@link BaseBlobStreamType}.
+ * 
+ * @author graywatson
+ */
+public class FileType extends BaseBlobStreamType {
+
+	private static final FileType singleTon = new FileType();
+
+	public static FileType getSingleton() {
+		return singleTon;
+	}
+
+	private FileType() {
+		super(new Class<?>[] { File.class });
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected FileType(Class<?>[] classes) {
+		super(classes);
+	}
+
+	@Override
+	protected InputStream javaToStream(FieldType fieldType, Object javaObject) throws SQLException {
+		return openSelfClosingStream((File) javaObject);
+	}
+
+	@Override
+	protected Object fileToJava(FieldType fieldType, File file) {
+		return file;
+	}
+
+	@Override
+	public Class<?> getPrimaryClass() {
+		return File.class;
+	}
+}
@@ -0,0 +1,51 @@
+package com.j256.ormlite.field.types;
+
+import java.io.File;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldType;
+
+/**
+ * Type that persists an {@link InputStream} into a BLOB column without reading it into memory. The stream is handed to
+ * the database driver when the object is created or updated so it can only be written once -- writing the same stream
+ * again throws an exception. When the object is queried, the field is set to a stream on a temporary copy of the BLOB.
+ * The caller owns that stream and the copy is deleted when it is closed or read to the end.
+ * 
+ * @author graywatson
+ */
+public class InputStreamType extends BaseBlobStreamType {
+
+	private static final InputStreamType singleTon = new InputStreamType();
+
+	public static InputStreamType getSingleton() {
+		return singleTon;
+	}
+
+	private InputStreamType() {
+		super(new Class<?>[] { InputStream.class });
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected InputStreamType(Class<?>[] classes) {
+		super(classes);
+	}
+
+	@Override
+	protected InputStream javaToStream(FieldType fieldType, Object javaObject) throws SQLException {
+		markWritten(fieldType, javaObject);
+		return (InputStream) javaObject;
+	}
+
+	@Override
+	protected Object fileToJava(FieldType fieldType, File file) throws SQLException {
+		return openDeleteOnCloseStream(file);
+	}
+
+	@Override
+	public Class<?> getPrimaryClass() {
+		return InputStream.class;
+	}
+}
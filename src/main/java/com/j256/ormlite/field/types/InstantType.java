@@ -0,0 +1,54 @@
+package com.j256.ormlite.field.types;
+
+import java.lang.reflect.Method;
+
+/**
+ * Persists the java.time.Instant class as a UTC ISO-8601 string such as 2017-01-31T13:45:10.123456789Z. This uses
+ * reflection since we don't want to require Java 8.
+ * 
+ * @author graywatson
+ */
+public class InstantType extends BaseJavaTimeType {
+
+	private static final InstantType singleTon = new InstantType();
+
+	private Method getEpochSecondMethod;
+	private Method getNanoMethod;
+	private Method ofEpochSecondMethod;
+
+	public static InstantType getSingleton() {
+		return singleTon;
+	}
+
+	private InstantType() {
+		super("java.time.Instant");
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected InstantType(String className) {
+		super(className);
+	}
+
+	@Override
+	protected void resolveMethods(Class<?> timeClass) throws Exception {
+		getEpochSecondMethod = timeClass.getMethod("getEpochSecond");
+		getNanoMethod = timeClass.getMethod("getNano");
+		ofEpochSecondMethod = timeClass.getMethod("ofEpochSecond", long.class, long.class);
+	}
+
+	@Override
+	protected String javaToString(Object javaObject) throws Exception {
+		long epochSecond = (Long) getEpochSecondMethod.invoke(javaObject);
+		int nano = (Integer) getNanoMethod.invoke(javaObject);
+		return IsoDateTimeFormatter.formatEpochSecond(epochSecond, nano, true);
+	}
+
+	@Override
+	protected Object stringToJava(String str) throws Exception {
+		long epochSecond = IsoDateTimeFormatter.parseEpochSecond(str, true);
+		long nano = IsoDateTimeFormatter.parseNanoOfSecond(str);
+		return ofEpochSecondMethod.invoke(null, epochSecond, nano);
+	}
+}
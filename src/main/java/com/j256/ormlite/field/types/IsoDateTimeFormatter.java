@@ -0,0 +1,270 @@
+package com.j256.ormlite.field.types;
+
+import java.text.ParseException;
+
+/**
+ * Hand written parser and formatter for the ISO-8601 date and date-time strings that are used by the java.time
+ * persisters. It works directly on the characters with day arithmetic instead of going through
+ * {@link java.text.SimpleDateFormat} and {@link java.util.Calendar} so it doesn't create any objects other than the
+ * resulting string.
+ * 
+ * <p>
+ * Dates are formatted as yyyy-MM-dd and date-times as yyyy-MM-ddTHH:mm:ss.nnnnnnnnn, optionally followed by Z for
+ * instants. The output is always the same width so the strings sort in time order in the database. Parsing is more
+ * lenient: a space may be used instead of the T, the seconds and fraction are optional, the fraction can have 1 to 9
+ * digits, and instants can have a +HH:mm or -HH:mm offset instead of the Z. Only years 0000 to 9999 are supported.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class IsoDateTimeFormatter {
+
+	private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+	private static final int DAYS_PER_400_YEARS = 146097;
+	// days from 0000-03-01 to 1970-01-01
+	private static final int DAYS_0000_TO_1970 = 719468;
+	private static final int DATE_LENGTH = 10;
+	private static final int FRACTION_START = 20;
+	private static final int MAX_FRACTION_DIGITS = 9;
+	private static final int MIN_EPOCH_DAY = -719528;
+	private static final int MAX_EPOCH_DAY = 2932896;
+
+	private IsoDateTimeFormatter() {
+		// only for static methods
+	}
+
+	/**
+	 * Parse a yyyy-MM-dd string into the number of days since 1970-01-01.
+	 */
+	public static long parseEpochDay(String str) throws ParseException {
+		if (str.length() != DATE_LENGTH) {
+			throw new ParseException("Date is not in yyyy-MM-dd format: " + str, 0);
+		}
+		return parseDate(str);
+	}
+
+	/**
+	 * Parse an ISO date-time string into the number of seconds since 1970-01-01T00:00:00. If zoned is true then the
+	 * string must end with Z or an offset which is subtracted to get UTC. If it is false then it must not have a zone.
+	 * Use {@link #parseNanoOfSecond(String)} to get the fraction of the second.
+	 */
+	public static long parseEpochSecond(String str, boolean zoned) throws ParseException {
+		int length = str.length();
+		if (length < 16 || (str.charAt(DATE_LENGTH) != 'T' && str.charAt(DATE_LENGTH) != ' ')) {
+			throw new ParseException("Date-time is not in yyyy-MM-ddTHH:mm format: " + str, 0);
+		}
+		long epochDay = parseDate(str);
+		int hour = parseDigits(str, 11, 2, 0, 23);
+		expectChar(str, 13, ':');
+		int minute = parseDigits(str, 14, 2, 0, 59);
+		int second = 0;
+		int pos = 16;
+		if (pos < length && str.charAt(pos) == ':') {
+			second = parseDigits(str, 17, 2, 0, 59);
+			pos = 19;
+			if (pos < length && str.charAt(pos) == '.') {
+				pos++;
+				int start = pos;
+				while (pos < length && isDigit(str.charAt(pos))) {
+					pos++;
+				}
+				if (pos == start || pos - start > MAX_FRACTION_DIGITS) {
+					throw new ParseException("Date-time has an invalid fraction of a second: " + str, start);
+				}
+			}
+		}
+		long epochSecond = epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+		if (!zoned) {
+			if (pos != length) {
+				throw new ParseException("Unexpected characters at the end of date-time: " + str, pos);
+			}
+			return epochSecond;
+		}
+		if (pos >= length) {
+			throw new ParseException("Date-time is missing the Z or offset: " + str, pos);
+		}
+		char zone = str.charAt(pos);
+		if (zone == 'Z' && pos + 1 == length) {
+			return epochSecond;
+		} else if ((zone == '+' || zone == '-') && pos + 6 == length) {
+			int offsetHours = parseDigits(str, pos + 1, 2, 0, 18);
+			expectChar(str, pos + 3, ':');
+			int offsetMinutes = parseDigits(str, pos + 4, 2, 0, 59);
+			int offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+			return (zone == '+' ? epochSecond - offsetSeconds : epochSecond + offsetSeconds);
+		} else {
+			throw new ParseException("Date-time has an invalid zone: " + str, pos);
+		}
+	}
+
+	/**
+	 * Return the nanoseconds from the fraction of the second of a date-time string which has already been validated by
+	 * {@link #parseEpochSecond(String, boolean)}.
+	 */
+	public static int parseNanoOfSecond(String str) {
+		int length = str.length();
+		if (length <= FRACTION_START || str.charAt(FRACTION_START - 1) != '.') {
+			return 0;
+		}
+		int nanos = 0;
+		int digits = 0;
+		for (int pos = FRACTION_START; pos < length; pos++) {
+			char ch = str.charAt(pos);
+			if (!isDigit(ch)) {
+				break;
+			}
+			nanos = nanos * 10 + (ch - '0');
+			digits++;
+		}
+		for (; digits < MAX_FRACTION_DIGITS; digits++) {
+			nanos *= 10;
+		}
+		return nanos;
+	}
+
+	/**
+	 * Format the number of days since 1970-01-01 as yyyy-MM-dd.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the year is outside of 0000 to 9999.
+	 */
+	public static String formatEpochDay(long epochDay) {
+		char[] chars = new char[DATE_LENGTH];
+		writeDate(chars, epochDay);
+		return new String(chars);
+	}
+
+	/**
+	 * Format the seconds since 1970-01-01T00:00:00 and nanoseconds as yyyy-MM-ddTHH:mm:ss.nnnnnnnnn with a Z at the
+	 * end if zoned is true.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the year is outside of 0000 to 9999.
+	 */
+	public static String formatEpochSecond(long epochSecond, int nano, boolean zoned) {
+		long epochDay = floorDiv(epochSecond, SECONDS_PER_DAY);
+		int secondOfDay = (int) (epochSecond - epochDay * SECONDS_PER_DAY);
+		char[] chars = new char[zoned ? 30 : 29];
+		writeDate(chars, epochDay);
+		chars[DATE_LENGTH] = 'T';
+		writeDigits(chars, 11, 2, secondOfDay / 3600);
+		chars[13] = ':';
+		writeDigits(chars, 14, 2, (secondOfDay / 60) % 60);
+		chars[16] = ':';
+		writeDigits(chars, 17, 2, secondOfDay % 60);
+		chars[19] = '.';
+		writeDigits(chars, FRACTION_START, MAX_FRACTION_DIGITS, nano);
+		if (zoned) {
+			chars[29] = 'Z';
+		}
+		return new String(chars);
+	}
+
+	private static long parseDate(String str) throws ParseException {
+		int year = parseDigits(str, 0, 4, 0, 9999);
+		expectChar(str, 4, '-');
+		int month = parseDigits(str, 5, 2, 1, 12);
+		expectChar(str, 7, '-');
+		int day = parseDigits(str, 8, 2, 1, 31);
+		if (day > daysInMonth(year, month)) {
+			throw new ParseException("Invalid day of month in date: " + str, 8);
+		}
+		return epochDayFromDate(year, month, day);
+	}
+
+	/**
+	 * Days from the civil date, shifting the year to start in March so the leap day is at the end of it.
+	 */
+	private static long epochDayFromDate(int year, int month, int day) {
+		if (month <= 2) {
+			year--;
+		}
+		int era = (year >= 0 ? year : year - 399) / 400;
+		int yearOfEra = year - era * 400;
+		int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return (long) era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * Inverse of {@link #epochDayFromDate(int, int, int)} which writes yyyy-MM-dd into the start of the chars.
+	 */
+	private static void writeDate(char[] chars, long epochDay) {
+		if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+			throw new IllegalArgumentException("Only years 0000 to 9999 can be formatted, not epoch-day " + epochDay);
+		}
+		int shifted = (int) epochDay + DAYS_0000_TO_1970;
+		int era = (shifted >= 0 ? shifted : shifted - DAYS_PER_400_YEARS + 1) / DAYS_PER_400_YEARS;
+		int dayOfEra = shifted - era * DAYS_PER_400_YEARS;
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int shiftedMonth = (5 * dayOfYear + 2) / 153;
+		int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+		int month = (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+		int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+		writeDigits(chars, 0, 4, year);
+		chars[4] = '-';
+		writeDigits(chars, 5, 2, month);
+		chars[7] = '-';
+		writeDigits(chars, 8, 2, day);
+	}
+
+	private static int parseDigits(String str, int start, int num, int min, int max) throws ParseException {
+		if (start + num > str.length()) {
+			throw new ParseException("Date string is too short: " + str, start);
+		}
+		int value = 0;
+		for (int pos = start; pos < start + num; pos++) {
+			char ch = str.charAt(pos);
+			if (!isDigit(ch)) {
+				throw new ParseException("Expected a digit at position " + pos + " of date string: " + str, pos);
+			}
+			value = value * 10 + (ch - '0');
+		}
+		if (value < min || value > max) {
+			throw new ParseException("Value " + value + " at position " + start + " of date string is out of range: "
+					+ str, start);
+		}
+		return value;
+	}
+
+	private static void writeDigits(char[] chars, int start, int num, int value) {
+		for (int pos = start + num - 1; pos >= start; pos--) {
+			chars[pos] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+
+	private static void expectChar(String str, int pos, char expected) throws ParseException {
+		if (pos >= str.length() || str.charAt(pos) != expected) {
+			throw new ParseException("Expected '" + expected + "' at position " + pos + " of date string: " + str, pos);
+		}
+	}
+
+	private static boolean isDigit(char ch) {
+		return (ch >= '0' && ch <= '9');
+	}
+
+	private static int daysInMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				boolean leap = (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0));
+				return (leap ? 29 : 28);
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	private static long floorDiv(long value, long divisor) {
+		long result = value / divisor;
+		if ((value % divisor) != 0 && ((value ^ divisor) < 0)) {
+			result--;
+		}
+		return result;
+	}
+}
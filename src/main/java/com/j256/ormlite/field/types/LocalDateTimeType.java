@@ -0,0 +1,58 @@
+package com.j256.ormlite.field.types;
+
+import java.lang.reflect.Method;
+
+/**
+ * Persists the java.time.LocalDateTime class as an ISO-8601 string such as 2017-01-31T13:45:10.123456789. This uses
+ * reflection since we don't want to require Java 8.
+ * 
+ * @author graywatson
+ */
+public class LocalDateTimeType extends BaseJavaTimeType {
+
+	private static final LocalDateTimeType singleTon = new LocalDateTimeType();
+
+	private Object utcOffset;
+	private Method toEpochSecondMethod;
+	private Method getNanoMethod;
+	private Method ofEpochSecondMethod;
+
+	public static LocalDateTimeType getSingleton() {
+		return singleTon;
+	}
+
+	private LocalDateTimeType() {
+		super("java.time.LocalDateTime");
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected LocalDateTimeType(String className) {
+		super(className);
+	}
+
+	@Override
+	protected void resolveMethods(Class<?> timeClass) throws Exception {
+		Class<?> offsetClass = Class.forName("java.time.ZoneOffset");
+		// we use UTC to get plain seconds from the local date-time, there is no time-zone conversion
+		utcOffset = offsetClass.getField("UTC").get(null);
+		toEpochSecondMethod = timeClass.getMethod("toEpochSecond", offsetClass);
+		getNanoMethod = timeClass.getMethod("getNano");
+		ofEpochSecondMethod = timeClass.getMethod("ofEpochSecond", long.class, int.class, offsetClass);
+	}
+
+	@Override
+	protected String javaToString(Object javaObject) throws Exception {
+		long epochSecond = (Long) toEpochSecondMethod.invoke(javaObject, utcOffset);
+		int nano = (Integer) getNanoMethod.invoke(javaObject);
+		return IsoDateTimeFormatter.formatEpochSecond(epochSecond, nano, false);
+	}
+
+	@Override
+	protected Object stringToJava(String str) throws Exception {
+		long epochSecond = IsoDateTimeFormatter.parseEpochSecond(str, false);
+		int nano = IsoDateTimeFormatter.parseNanoOfSecond(str);
+		return ofEpochSecondMethod.invoke(null, epochSecond, nano, utcOffset);
+	}
+}
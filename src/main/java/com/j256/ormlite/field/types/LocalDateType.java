@@ -0,0 +1,48 @@
+package com.j256.ormlite.field.types;
+
+import java.lang.reflect.Method;
+
+/**
+ * Persists the java.time.LocalDate class as an ISO-8601 string such as 2017-01-31. This uses reflection since we don't
+ * want to require Java 8.
+ * 
+ * @author graywatson
+ */
+public class LocalDateType extends BaseJavaTimeType {
+
+	private static final LocalDateType singleTon = new LocalDateType();
+
+	private Method toEpochDayMethod;
+	private Method ofEpochDayMethod;
+
+	public static LocalDateType getSingleton() {
+		return singleTon;
+	}
+
+	private LocalDateType() {
+		super("java.time.LocalDate");
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected LocalDateType(String className) {
+		super(className);
+	}
+
+	@Override
+	protected void resolveMethods(Class<?> timeClass) throws Exception {
+		toEpochDayMethod = timeClass.getMethod("toEpochDay");
+		ofEpochDayMethod = timeClass.getMethod("ofEpochDay", long.class);
+	}
+
+	@Override
+	protected String javaToString(Object javaObject) throws Exception {
+		return IsoDateTimeFormatter.formatEpochDay((Long) toEpochDayMethod.invoke(javaObject));
+	}
+
+	@Override
+	protected Object stringToJava(String str) throws Exception {
+		return ofEpochDayMethod.invoke(null, IsoDateTimeFormatter.parseEpochDay(str));
+	}
+}
@@ -0,0 +1,139 @@
+package com.j256.ormlite.field.types;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldType;
+
+/**
+ * Type that persists a {@link Reader} into a BLOB column as UTF-8 bytes without reading it into memory. The characters
+ * are encoded as the database driver reads them when the object is created or updated so the reader can only be written
+ * once -- writing the same reader again throws an exception. When the object is queried, the field is set to a reader
+ * on a temporary copy of the BLOB. The caller owns that reader and the copy is deleted when it is closed or read to
+ * the end.
+ * 
+ * @author graywatson
+ */
+public class ReaderType extends BaseBlobStreamType {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final int CHAR_BUFFER_SIZE = 4096;
+	private static final ReaderType singleTon = new ReaderType();
+
+	public static ReaderType getSingleton() {
+		return singleTon;
+	}
+
+	private ReaderType() {
+		super(new Class<?>[] { Reader.class });
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected ReaderType(Class<?>[] classes) {
+		super(classes);
+	}
+
+	@Override
+	protected InputStream javaToStream(FieldType fieldType, Object javaObject) throws SQLException {
+		markWritten(fieldType, javaObject);
+		return new EncodingInputStream((Reader) javaObject);
+	}
+
+	@Override
+	protected Object fileToJava(FieldType fieldType, File file) throws SQLException {
+		return new InputStreamReader(openDeleteOnCloseStream(file), UTF_8);
+	}
+
+	@Override
+	public Class<?> getPrimaryClass() {
+		return Reader.class;
+	}
+
+	/**
+	 * Input stream that encodes the characters from a reader into UTF-8 a buffer at a time.
+	 */
+	private static class EncodingInputStream extends InputStream {
+
+		private final Reader reader;
+		private final CharsetEncoder encoder;
+		private final CharBuffer charBuffer;
+		private final ByteBuffer byteBuffer;
+		private boolean endOfInput;
+		private boolean finished;
+
+		public EncodingInputStream(Reader reader) {
+			this.reader = reader;
+			this.encoder = UTF_8.newEncoder();
+			encoder.onMalformedInput(CodingErrorAction.REPLACE);
+			encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			this.charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+			// big enough that a full char buffer never overflows it
+			this.byteBuffer = ByteBuffer.allocate((int) (CHAR_BUFFER_SIZE * encoder.maxBytesPerChar()) + 4);
+			// the Buffer casts keep the Java 6 methods when compiled on Java 9+ where they return the subclass
+			((Buffer) byteBuffer).limit(0);
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!fillIfEmpty()) {
+				return -1;
+			}
+			return byteBuffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (!fillIfEmpty()) {
+				return -1;
+			}
+			int num = Math.min(length, byteBuffer.remaining());
+			byteBuffer.get(buffer, offset, num);
+			return num;
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+
+		/**
+		 * Return true if there are bytes available or false if we are at the end.
+		 */
+		private boolean fillIfEmpty() throws IOException {
+			while (!byteBuffer.hasRemaining()) {
+				if (finished) {
+					return false;
+				}
+				((Buffer) byteBuffer).clear();
+				if (!endOfInput && reader.read(charBuffer) < 0) {
+					endOfInput = true;
+				}
+				((Buffer) charBuffer).flip();
+				CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+				if (endOfInput && result.isUnderflow()) {
+					encoder.flush(byteBuffer);
+					finished = true;
+				}
+				charBuffer.compact();
+				((Buffer) byteBuffer).flip();
+			}
+			return true;
+		}
+	}
+}
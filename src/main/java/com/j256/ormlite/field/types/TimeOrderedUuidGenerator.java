@@ -0,0 +1,77 @@
+package com.j256.ormlite.field.types;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDs in the version 7 layout: 48 bits of epoch milliseconds, the version, a 12 bit
+ * counter, the variant, and 62 random bits. Ids that are generated later sort after earlier ones, both as 16
+ * big-endian bytes and as strings, so they are inserted at the end of B-tree indexes instead of at random places.
+ * 
+ * <p>
+ * The milliseconds and counter are kept together in an {@link AtomicLong} which is advanced with compare-and-set so
+ * there are no locks. If more than 4096 ids are generated in one millisecond, or the clock goes backwards, the
+ * timestamp is moved ahead by the counter overflow so the ids stay in order. The random bits come from a per-thread
+ * {@link Random} which is seeded from {@link SecureRandom}.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class TimeOrderedUuidGenerator {
+
+	private static final int COUNTER_BITS = 12;
+	private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+	private static final long VERSION_BITS = 0x7000L;
+	private static final long VARIANT_BITS = 0x8000000000000000L;
+	private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+	private static final TimeOrderedUuidGenerator singleTon = new TimeOrderedUuidGenerator();
+	private static final SecureRandom seedRandom = new SecureRandom();
+
+	private final AtomicLong lastMillisAndCounter = new AtomicLong();
+	private final ThreadLocal<Random> threadRandom = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			long seed;
+			synchronized (seedRandom) {
+				seed = seedRandom.nextLong();
+			}
+			return new Random(seed);
+		}
+	};
+
+	public static TimeOrderedUuidGenerator getSingleton() {
+		return singleTon;
+	}
+
+	/**
+	 * Return a new UUID that sorts after all of the previous ones returned by this generator.
+	 */
+	public UUID generate() {
+		long millisAndCounter = nextMillisAndCounter(System.currentTimeMillis());
+		long mostSigBits =
+				((millisAndCounter >>> COUNTER_BITS) << 16) | VERSION_BITS | (millisAndCounter & COUNTER_MASK);
+		long leastSigBits = (threadRandom.get().nextLong() & RANDOM_MASK) | VARIANT_BITS;
+		return new UUID(mostSigBits, leastSigBits);
+	}
+
+	/**
+	 * Return the epoch milliseconds from a UUID made by this generator.
+	 */
+	public static long extractMillis(UUID uuid) {
+		return uuid.getMostSignificantBits() >>> 16;
+	}
+
+	private long nextMillisAndCounter(long millis) {
+		long now = millis << COUNTER_BITS;
+		while (true) {
+			long last = lastMillisAndCounter.get();
+			long next = (now > last ? now : last + 1);
+			if (lastMillisAndCounter.compareAndSet(last, next)) {
+				return next;
+			}
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.j256.ormlite.field.types;
+
+import java.util.UUID;
+
+import com.j256.ormlite.field.SqlType;
+
+/**
+ * Type that persists a {@link UUID} object as a String like {@link UuidType} but which generates time-ordered ids with
+ * the {@link TimeOrderedUuidGenerator} instead of random ones. The strings of these ids also sort in time order.
+ * 
+ * @author graywatson
+ */
+public class TimeOrderedUuidType extends UuidType {
+
+	private static final TimeOrderedUuidType singleTon = new TimeOrderedUuidType();
+
+	public static TimeOrderedUuidType getSingleton() {
+		return singleTon;
+	}
+
+	private TimeOrderedUuidType() {
+		super(SqlType.STRING);
+	}
+
+	/**
+	 * Here for others to subclass.
+	 */
+	protected TimeOrderedUuidType(SqlType sqlType, Class<?>[] classes) {
+		super(sqlType, classes);
+	}
+
+	@Override
+	public Object generateId() {
+		return TimeOrderedUuidGenerator.getSingleton().generate();
+	}
+}
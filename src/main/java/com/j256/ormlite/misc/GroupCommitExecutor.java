@@ -0,0 +1,325 @@
+package com.j256.ormlite.misc;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * <p>
+ * Merges small transactions from many threads into one database transaction so they share the cost of the commit. This
+ * helps when lots of threads each write a row or two in a transaction and the database has to flush to disk on every
+ * commit.
+ * </p>
+ * 
+ * <pre>
+ * GroupCommitExecutor executor = new GroupCommitExecutor(connectionSource, 5, 100);
+ * ...
+ * executor.callInTransaction(new Callable&lt;Void&gt;() {
+ * 	public Void call() throws Exception {
+ * 		auditDao.create(auditEntry);
+ * 		return null;
+ * 	}
+ * });
+ * </pre>
+ * 
+ * <p>
+ * The first thread to call {@link #callInTransaction(Callable)} when no group is running becomes the leader. It waits
+ * up to the max-delay for other callers to add their units, or until the group is full, and then runs all of the units
+ * on one connection in one transaction. Each unit runs inside of its own save-point so a unit that throws is rolled
+ * back without affecting the others in the group. Each caller blocks until the transaction with its unit has been
+ * committed and then gets its own result or exception. If the commit itself fails then all of the units in the group
+ * throw. Callers that arrive while a group is running are collected into the next group.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> The callables are run by the leader thread and not by the thread that called this class so they should
+ * not depend on thread-local state or call back into this executor. If the database does not support save-points then a
+ * unit that fails rolls back the whole group and the other units in it throw as well. A caller that is already inside
+ * of a transaction on the connection source runs its callable right away in that transaction, with
+ * {@link TransactionManager#callInTransaction(ConnectionSource, Callable)}, since the group can't commit it.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class GroupCommitExecutor {
+
+	/** default number of milliseconds that the leader waits for other units to arrive */
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 5;
+	/** default maximum number of units in one transaction */
+	public static final int DEFAULT_MAX_GROUP_SIZE = 100;
+
+	private static final Logger logger = LoggerFactory.getLogger(GroupCommitExecutor.class);
+	private static final String SAVE_POINT_PREFIX = "ORMLITE_GROUP";
+
+	private static AtomicInteger savePointCounter = new AtomicInteger();
+
+	private final ConnectionSource connectionSource;
+	private final long maxDelayNanos;
+	private final int maxGroupSize;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition unitAdded = lock.newCondition();
+	private final Condition groupFinished = lock.newCondition();
+	private List<Unit<?>> pending = new ArrayList<Unit<?>>();
+	private boolean leaderActive;
+	private final AtomicLong commitCount = new AtomicLong();
+	private final AtomicLong unitCount = new AtomicLong();
+
+	public GroupCommitExecutor(ConnectionSource connectionSource) {
+		this(connectionSource, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_GROUP_SIZE);
+	}
+
+	/**
+	 * @param connectionSource
+	 *            Where the transactions are run.
+	 * @param maxDelayMillis
+	 *            Maximum number of milliseconds that the first unit in a group waits for others to arrive before the
+	 *            group is run.
+	 * @param maxGroupSize
+	 *            Maximum number of units in one transaction. A full group is run right away.
+	 */
+	public GroupCommitExecutor(ConnectionSource connectionSource, long maxDelayMillis, int maxGroupSize) {
+		if (maxDelayMillis < 0) {
+			throw new IllegalArgumentException("Max delay must not be negative: " + maxDelayMillis);
+		}
+		if (maxGroupSize < 1) {
+			throw new IllegalArgumentException("Max group size must be at least 1: " + maxGroupSize);
+		}
+		this.connectionSource = connectionSource;
+		this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+		this.maxGroupSize = maxGroupSize;
+	}
+
+	/**
+	 * Run the callable in a transaction that may be shared with units from other threads. This blocks until the
+	 * transaction has been committed or rolled back.
+	 * 
+	 * @return The object returned by the callable.
+	 * @throws SQLException
+	 *             If the callable threw an exception, in which case its changes were rolled back, or if the shared
+	 *             transaction could not be committed.
+	 */
+	public <T> T callInTransaction(Callable<T> callable) throws SQLException {
+		if (connectionSource.getSpecialConnection(null) != null) {
+			// the leader would be handed our saved connection and would commit our outer transaction early
+			return TransactionManager.callInTransaction(connectionSource, callable);
+		}
+		Unit<T> unit = new Unit<T>(callable);
+		lock.lock();
+		try {
+			pending.add(unit);
+			if (pending.size() >= maxGroupSize) {
+				unitAdded.signal();
+			}
+			if (!leaderActive) {
+				leaderActive = true;
+				unit.leader = true;
+			}
+			while (!unit.done) {
+				if (unit.leader) {
+					lock.unlock();
+					try {
+						lead();
+					} finally {
+						lock.lock();
+					}
+				} else {
+					groupFinished.awaitUninterruptibly();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+		return unit.getResult();
+	}
+
+	/**
+	 * Return the number of transactions that have been committed or rolled back.
+	 */
+	public long getCommitCount() {
+		return commitCount.get();
+	}
+
+	/**
+	 * Return the number of units that have been run in those transactions.
+	 */
+	public long getUnitCount() {
+		return unitCount.get();
+	}
+
+	/**
+	 * Wait for the group to fill up or for the delay, run it, and then pass the leadership to the next group.
+	 */
+	private void lead() {
+		List<Unit<?>> group = takeGroup();
+		try {
+			runGroup(group);
+		} finally {
+			lock.lock();
+			try {
+				for (Unit<?> unit : group) {
+					unit.done = true;
+					unit.leader = false;
+				}
+				if (pending.isEmpty()) {
+					leaderActive = false;
+				} else {
+					// the first waiting unit leads the next group
+					pending.get(0).leader = true;
+				}
+				groupFinished.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private List<Unit<?>> takeGroup() {
+		lock.lock();
+		try {
+			long remainingNanos = maxDelayNanos;
+			while (pending.size() < maxGroupSize && remainingNanos > 0) {
+				try {
+					remainingNanos = unitAdded.awaitNanos(remainingNanos);
+				} catch (InterruptedException e) {
+					// run what we have now
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			List<Unit<?>> group;
+			if (pending.size() <= maxGroupSize) {
+				group = pending;
+				pending = new ArrayList<Unit<?>>();
+			} else {
+				group = new ArrayList<Unit<?>>(pending.subList(0, maxGroupSize));
+				pending = new ArrayList<Unit<?>>(pending.subList(maxGroupSize, pending.size()));
+			}
+			return group;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void runGroup(List<Unit<?>> group) {
+		DatabaseConnection connection = null;
+		boolean saved = false;
+		boolean restoreAutoCommit = false;
+		boolean committed = false;
+		try {
+			connection = connectionSource.getReadWriteConnection(null);
+			// the units' DAOs need to use this connection
+			saved = connectionSource.saveSpecialConnection(connection);
+			if (connection.isAutoCommitSupported() && connection.isAutoCommit()) {
+				connection.setAutoCommit(false);
+				restoreAutoCommit = true;
+			}
+			int failedCount = 0;
+			for (Unit<?> unit : group) {
+				Savepoint savePoint = connection.setSavePoint(SAVE_POINT_PREFIX + savePointCounter.incrementAndGet());
+				try {
+					unit.call();
+				} catch (Exception e) {
+					unit.exception = e;
+					failedCount++;
+					if (savePoint == null) {
+						throw new SQLException("Database has no save-points so a failed unit rolls back its group", e);
+					}
+					connection.rollback(savePoint);
+				}
+			}
+			connection.commit(null);
+			committed = true;
+			for (Unit<?> unit : group) {
+				unit.committed = (unit.exception == null);
+			}
+			logger.debug("committed group of {} transactions with {} failed", group.size(), failedCount);
+		} catch (SQLException e) {
+			failGroup(group, e);
+		} finally {
+			commitCount.incrementAndGet();
+			unitCount.addAndGet(group.size());
+			if (connection != null) {
+				if (!committed) {
+					// also for errors from the callables so restoring auto-commit doesn't commit a partial group
+					try {
+						connection.rollback(null);
+					} catch (SQLException e) {
+						logger.error(e, "after group commit failure, rolling back also threw exception");
+					}
+				}
+				if (restoreAutoCommit) {
+					try {
+						connection.setAutoCommit(true);
+					} catch (SQLException e) {
+						logger.error(e, "could not restore auto-commit after group commit");
+					}
+				}
+				if (saved) {
+					connectionSource.clearSpecialConnection(connection);
+				}
+				try {
+					connectionSource.releaseConnection(connection);
+				} catch (SQLException e) {
+					logger.error(e, "could not release connection after group commit");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Make all of the units that haven't already failed throw the exception since their changes were not committed.
+	 */
+	private void failGroup(List<Unit<?>> group, Exception e) {
+		for (Unit<?> unit : group) {
+			if (unit.exception == null) {
+				unit.exception = e;
+			}
+		}
+	}
+
+	/**
+	 * One caller's transaction and its result. The fields are set by the leader thread and read by the caller after it
+	 * sees done under the executor's lock.
+	 */
+	private static class Unit<T> {
+
+		private final Callable<T> callable;
+		boolean done;
+		boolean leader;
+		private T result;
+		Exception exception;
+		boolean committed;
+
+		public Unit(Callable<T> callable) {
+			this.callable = callable;
+		}
+
+		public void call() throws Exception {
+			result = callable.call();
+		}
+
+		public T getResult() throws SQLException {
+			if (committed) {
+				return result;
+			} else if (exception == null) {
+				throw new SQLException("Group transaction was not committed");
+			} else if (exception instanceof SQLException) {
+				throw (SQLException) exception;
+			} else {
+				throw SqlExceptionUtil.create("Transaction callable threw non-SQL exception", exception);
+			}
+		}
+	}
+}
@@ -2,14 +2,18 @@ package com.j256.ormlite.misc;
 
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.BaseConnectionSource;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.ReadOnlyCapableConnection;
 
 /**
  * <p>
@@ -53,6 +57,13 @@ import com.j256.ormlite.support.DatabaseConnection;
  * </pre>
  * 
  * <p>
+ * <b>NOTE:</b> With a connection-source that extends {@link BaseConnectionSource}, a transaction that is started inside
+ * of another one on the same thread joins the outer transaction instead of setting its own save-point. If the inner
+ * transaction throws then the outer one is rolled back when it finishes. Use {@link #callInNestedTransaction(Callable)}
+ * if the inner transaction should be rolled back on its own.
+ * </p>
+ * 
+ * <p>
  * WARNING: For most of the methods in this class, it is up to you to properly synchronize them if multiple threads are
  * using a single database connection -- this includes a connection-source which works gives out a single-connection.
  * The reason why this is necessary is that multiple operations are performed on the connection and race-conditions will
@@ -67,7 +78,12 @@ public class TransactionManager {
 	private static final String SAVE_POINT_PREFIX = "ORMLITE";
 
 	private ConnectionSource connectionSource;
+	private TransactionRetryPolicy retryPolicy;
 	private static AtomicInteger savePointCounter = new AtomicInteger();
+	private static final ThreadLocal<List<ConnectionSource>> readOnlySources =
+			new ThreadLocal<List<ConnectionSource>>();
+	// number of read-only transactions in all threads so the DAOs can skip the thread-local lookup
+	private static final AtomicInteger readOnlyCount = new AtomicInteger();
 
 	/**
 	 * Constructor for Spring type wiring if you are using the set methods.
@@ -118,7 +134,7 @@ public class TransactionManager {
 	 *             callable exception and is thrown by this method.
 	 */
 	public <T> T callInTransaction(final Callable<T> callable) throws SQLException {
-		return callInTransaction(connectionSource, callable);
+		return callInTransaction(null, connectionSource, retryPolicy, callable);
 	}
 
 	/**
@@ -132,7 +148,7 @@ public class TransactionManager {
 	 * </p>
 	 */
 	public <T> T callInTransaction(String tableName, final Callable<T> callable) throws SQLException {
-		return callInTransaction(tableName, connectionSource, callable);
+		return callInTransaction(tableName, connectionSource, retryPolicy, callable);
 	}
 
 	/**
@@ -150,6 +166,56 @@ public class TransactionManager {
 		return callInTransaction(null, connectionSource, callable);
 	}
 
+	/**
+	 * Same as {@link #callInTransaction(String, ConnectionSource, Callable)} except that if the transaction fails with
+	 * an exception that the retry-policy says is transient, such as a deadlock or a busy database, it is rolled back
+	 * and the callable is called again after a backoff. The callable must be safe to call more than once. Nested
+	 * transactions are not retried on their own. If the retry-policy is null then this does not retry.
+	 * 
+	 * <p>
+	 * WARNING: it is up to you to properly synchronize around this method if multiple threads are using a
+	 * connection-source which works gives out a single-connection. The reason why this is necessary is that multiple
+	 * operations are performed on the connection and race-conditions will exist with multiple threads working on the
+	 * same connection.
+	 * </p>
+	 */
+	public static <T> T callInTransaction(String tableName, final ConnectionSource connectionSource,
+			final TransactionRetryPolicy retryPolicy, final Callable<T> callable) throws SQLException {
+
+		if (retryPolicy == null || connectionSource.getSpecialConnection(tableName) != null
+				|| WriteBehindBuffer.getThreadBuffer(connectionSource) != null) {
+			// a nested transaction can't be retried on its own, the outer one has to be
+			return callInTransaction(tableName, connectionSource, callable);
+		}
+		for (int attempt = 1;; attempt++) {
+			try {
+				T result = callInTransaction(tableName, connectionSource, callable);
+				if (attempt > 1) {
+					retryPolicy.recordRecovered();
+				}
+				return result;
+			} catch (SQLException e) {
+				if (!retryPolicy.isRetryable(connectionSource.getDatabaseType(), e)) {
+					throw e;
+				}
+				if (attempt >= retryPolicy.getMaxAttempts()) {
+					retryPolicy.recordExhausted();
+					throw e;
+				}
+				long backoffMillis = retryPolicy.getBackoffMillis(attempt);
+				retryPolicy.recordRetry();
+				logger.debug("transaction attempt {} failed with retryable error, retrying in {}ms: {}", attempt,
+						backoffMillis, e.getMessage());
+				try {
+					Thread.sleep(backoffMillis);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
+		}
+	}
+
 	/**
 	 * Same as {@link #callInTransaction(ConnectionSource, Callable)} except this has a table-name.
 	 * 
@@ -162,12 +228,165 @@ public class TransactionManager {
 	 */
 	public static <T> T callInTransaction(String tableName, final ConnectionSource connectionSource,
 			final Callable<T> callable) throws SQLException {
+		return callInTransaction(tableName, connectionSource, false, callable);
+	}
+
+	/**
+	 * Same as {@link #callInTransaction(Callable)} except that if this is called inside of another transaction, it
+	 * always gets its own save-point so that if the callable throws, only its changes are rolled back and the outer
+	 * transaction can continue. By default, with a {@link BaseConnectionSource}, an inner transaction joins the outer
+	 * one without a save-point and if it fails then the outer transaction is rolled back when it finishes.
+	 * 
+	 * <p>
+	 * WARNING: it is up to you to properly synchronize around this method if multiple threads are using a
+	 * connection-source which works gives out a single-connection. The reason why this is necessary is that multiple
+	 * operations are performed on the connection and race-conditions will exist with multiple threads working on the
+	 * same connection.
+	 * </p>
+	 */
+	public <T> T callInNestedTransaction(final Callable<T> callable) throws SQLException {
+		return callInNestedTransaction(null, connectionSource, callable);
+	}
+
+	/**
+	 * Same as {@link #callInNestedTransaction(Callable)} except as a static method with a connection source.
+	 */
+	public static <T> T callInNestedTransaction(final ConnectionSource connectionSource, final Callable<T> callable)
+			throws SQLException {
+		return callInNestedTransaction(null, connectionSource, callable);
+	}
+
+	/**
+	 * Same as {@link #callInNestedTransaction(ConnectionSource, Callable)} except this has a table-name.
+	 */
+	public static <T> T callInNestedTransaction(String tableName, final ConnectionSource connectionSource,
+			final Callable<T> callable) throws SQLException {
+		return callInTransaction(tableName, connectionSource, true, callable);
+	}
+
+	/**
+	 * Execute the {@link Callable} class inside of a read-only transaction. The connection comes from
+	 * {@link ConnectionSource#getReadOnlyConnection(String)}, so it may go to a replica, and is set to be read-only so
+	 * the database does not need to take write locks. All of the queries in the callable use the same connection and
+	 * transaction so they see a consistent view of the database. Since nothing was written, the transaction is rolled
+	 * back at the end instead of being committed. The DAOs of the connection-source throw an exception if they are
+	 * asked to write in the callable.
+	 * 
+	 * <p>
+	 * If this is called inside of another transaction then the queries just run as part of that transaction.
+	 * </p>
+	 * 
+	 * <p>
+	 * WARNING: it is up to you to properly synchronize around this method if multiple threads are using a
+	 * connection-source which works gives out a single-connection. The reason why this is necessary is that multiple
+	 * operations are performed on the connection and race-conditions will exist with multiple threads working on the
+	 * same connection.
+	 * </p>
+	 */
+	public <T> T callInReadOnlyTransaction(final Callable<T> callable) throws SQLException {
+		return callInReadOnlyTransaction(null, connectionSource, callable);
+	}
+
+	/**
+	 * Same as {@link #callInReadOnlyTransaction(Callable)} except as a static method with a connection source.
+	 */
+	public static <T> T callInReadOnlyTransaction(final ConnectionSource connectionSource, final Callable<T> callable)
+			throws SQLException {
+		return callInReadOnlyTransaction(null, connectionSource, callable);
+	}
+
+	/**
+	 * Same as {@link #callInReadOnlyTransaction(ConnectionSource, Callable)} except this has a table-name.
+	 */
+	public static <T> T callInReadOnlyTransaction(String tableName, final ConnectionSource connectionSource,
+			final Callable<T> callable) throws SQLException {
+
+		if (connectionSource.getSpecialConnection(tableName) != null) {
+			// already in a transaction so the queries just join it
+			return callInTransaction(tableName, connectionSource, callable);
+		}
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableName);
+		List<ConnectionSource> sources = readOnlySources.get();
+		if (sources == null) {
+			sources = new ArrayList<ConnectionSource>();
+			readOnlySources.set(sources);
+		}
+		sources.add(connectionSource);
+		readOnlyCount.incrementAndGet();
+		try {
+			connectionSource.saveSpecialConnection(connection);
+			return callInReadOnlyTransaction(connection, toBaseConnectionSource(connectionSource), callable);
+		} finally {
+			readOnlyCount.decrementAndGet();
+			sources.remove(sources.size() - 1);
+			if (sources.isEmpty()) {
+				readOnlySources.remove();
+			}
+			// we should clear aggressively
+			connectionSource.clearSpecialConnection(connection);
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Return true if the current thread is in a read-only transaction on the connection-source. This is used by the
+	 * DAOs to refuse writes.
+	 */
+	public static boolean isInReadOnlyTransaction(ConnectionSource connectionSource) {
+		if (readOnlyCount.get() == 0) {
+			// no thread has a read-only transaction running
+			return false;
+		}
+		List<ConnectionSource> sources = readOnlySources.get();
+		return (sources != null && sources.contains(connectionSource));
+	}
+
+	/**
+	 * Same as {@link #callInTransaction(Callable)} except that the create, update, and delete calls on the DAOs are
+	 * queued in a {@link WriteBehindBuffer} and written right before the transaction is committed. Repeated writes to
+	 * the same object are coalesced and the writes are ordered so the tables referenced by foreign fields are written
+	 * first. See the {@link WriteBehindBuffer} for details.
+	 * 
+	 * <p>
+	 * WARNING: it is up to you to properly synchronize around this method if multiple threads are using a
+	 * connection-source which works gives out a single-connection. The reason why this is necessary is that multiple
+	 * operations are performed on the connection and race-conditions will exist with multiple threads working on the
+	 * same connection.
+	 * </p>
+	 */
+	public <T> T callInUnitOfWork(final Callable<T> callable) throws SQLException {
+		return callInUnitOfWork(null, connectionSource, callable);
+	}
+
+	/**
+	 * Same as {@link #callInUnitOfWork(Callable)} except as a static method with a connection source.
+	 */
+	public static <T> T callInUnitOfWork(final ConnectionSource connectionSource, final Callable<T> callable)
+			throws SQLException {
+		return callInUnitOfWork(null, connectionSource, callable);
+	}
+
+	/**
+	 * Same as {@link #callInUnitOfWork(ConnectionSource, Callable)} except this has a table-name.
+	 */
+	public static <T> T callInUnitOfWork(String tableName, final ConnectionSource connectionSource,
+			final Callable<T> callable) throws SQLException {
 
+		if (WriteBehindBuffer.getThreadBuffer(connectionSource) != null) {
+			// already buffering so this is just a nested transaction
+			return callInTransaction(tableName, connectionSource, callable);
+		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableName);
+		WriteBehindBuffer buffer = null;
 		try {
 			boolean saved = connectionSource.saveSpecialConnection(connection);
-			return callInTransaction(connection, saved, connectionSource.getDatabaseType(), callable);
+			buffer = WriteBehindBuffer.start(connectionSource, connection);
+			return callInTransaction(connection, saved, connectionSource.getDatabaseType(),
+					toBaseConnectionSource(connectionSource), false, buffer, callable);
 		} finally {
+			if (buffer != null) {
+				buffer.end();
+			}
 			// we should clear aggressively
 			connectionSource.clearSpecialConnection(connection);
 			connectionSource.releaseConnection(connection);
@@ -201,35 +420,97 @@ public class TransactionManager {
 	 */
 	public static <T> T callInTransaction(final DatabaseConnection connection, boolean saved,
 			final DatabaseType databaseType, final Callable<T> callable) throws SQLException {
+		return callInTransaction(connection, saved, databaseType, null, false,
+				WriteBehindBuffer.getThreadBuffer(connection), callable);
+	}
+
+	public void setConnectionSource(ConnectionSource connectionSource) {
+		this.connectionSource = connectionSource;
+	}
+
+	/**
+	 * Set the policy used to retry the transactions of this manager that fail with a transient error such as a
+	 * deadlock. By default transactions are not retried.
+	 */
+	public void setRetryPolicy(TransactionRetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+
+	private static <T> T callInTransaction(String tableName, ConnectionSource connectionSource,
+			boolean nestedSavePoint, Callable<T> callable) throws SQLException {
+
+		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableName);
+		try {
+			boolean saved = connectionSource.saveSpecialConnection(connection);
+			return callInTransaction(connection, saved, connectionSource.getDatabaseType(),
+					toBaseConnectionSource(connectionSource), nestedSavePoint,
+					WriteBehindBuffer.getThreadBuffer(connectionSource), callable);
+		} finally {
+			// we should clear aggressively
+			connectionSource.clearSpecialConnection(connection);
+			connectionSource.releaseConnection(connection);
+		}
+	}
 
+	/**
+	 * Run the callable in a transaction. If the base connection-source is not null, it tracks the transactions on the
+	 * saved connection so an inner transaction can join the outer one and the auto-commit state is only asked for
+	 * once.
+	 */
+	private static <T> T callInTransaction(DatabaseConnection connection, boolean saved, DatabaseType databaseType,
+			BaseConnectionSource baseSource, boolean nestedSavePoint, WriteBehindBuffer buffer, Callable<T> callable)
+			throws SQLException {
+
+		if (buffer != null) {
+			// writes queued before the transaction started should not be rolled back with it
+			buffer.flush();
+		}
+		int outerCount = (baseSource == null ? -1 : baseSource.startTransaction(connection));
+		if (outerCount > 0 && !nestedSavePoint) {
+			return callInJoinedTransaction(connection, baseSource, buffer, callable);
+		}
 		boolean restoreAutoCommit = false;
 		try {
 			boolean hasSavePoint = false;
 			Savepoint savePoint = null;
 			if (saved || databaseType.isNestedSavePointsSupported()) {
 				if (connection.isAutoCommitSupported()) {
-					if (connection.isAutoCommit()) {
+					if (isAutoCommit(connection, baseSource)) {
 						// disable auto-commit mode if supported and enabled at start
-						connection.setAutoCommit(false);
+						setAutoCommit(connection, baseSource, false);
 						restoreAutoCommit = true;
 						logger.debug("had to set auto-commit to false");
 					}
 				}
-				savePoint = connection.setSavePoint(SAVE_POINT_PREFIX + savePointCounter.incrementAndGet());
-				if (savePoint == null) {
-					logger.debug("started savePoint transaction");
+				if (outerCount == 0 && restoreAutoCommit) {
+					// we started the database transaction so committing or rolling back all of it is enough
+					logger.debug("started transaction");
 				} else {
-					logger.debug("started savePoint transaction {}", savePoint.getSavepointName());
+					savePoint = connection.setSavePoint(SAVE_POINT_PREFIX + savePointCounter.incrementAndGet());
+					if (savePoint == null) {
+						logger.debug("started savePoint transaction");
+					} else {
+						logger.debug("started savePoint transaction {}", savePoint.getSavepointName());
+					}
 				}
 				hasSavePoint = true;
 			}
 			try {
 				T result = callable.call();
+				if (buffer != null) {
+					buffer.flush();
+				}
 				if (hasSavePoint) {
+					if (outerCount == 0 && baseSource.isRollbackOnly(connection)) {
+						throw new SQLException("Transaction rolled back because a transaction that joined it failed");
+					}
 					commit(connection, savePoint);
 				}
 				return result;
 			} catch (SQLException e) {
+				if (buffer != null) {
+					buffer.clear();
+				}
 				if (hasSavePoint) {
 					try {
 						rollBack(connection, savePoint);
@@ -240,6 +521,9 @@ public class TransactionManager {
 				}
 				throw e;
 			} catch (Exception e) {
+				if (buffer != null) {
+					buffer.clear();
+				}
 				if (hasSavePoint) {
 					try {
 						rollBack(connection, savePoint);
@@ -253,14 +537,153 @@ public class TransactionManager {
 		} finally {
 			if (restoreAutoCommit) {
 				// try to restore if we are in auto-commit mode
-				connection.setAutoCommit(true);
+				setAutoCommit(connection, baseSource, true);
 				logger.debug("restored auto-commit to true");
 			}
+			if (outerCount >= 0) {
+				baseSource.endTransaction(connection);
+			}
 		}
 	}
 
-	public void setConnectionSource(ConnectionSource connectionSource) {
-		this.connectionSource = connectionSource;
+	private static <T> T callInReadOnlyTransaction(DatabaseConnection connection, BaseConnectionSource baseSource,
+			Callable<T> callable) throws SQLException {
+
+		int outerCount = (baseSource == null ? -1 : baseSource.startTransaction(connection));
+		ReadOnlyCapableConnection readOnlyConnection = null;
+		boolean restoreAutoCommit = false;
+		boolean called = false;
+		try {
+			if (connection instanceof ReadOnlyCapableConnection) {
+				ReadOnlyCapableConnection capable = (ReadOnlyCapableConnection) connection;
+				if (capable.isReadOnlySupported() && !capable.isReadOnly()) {
+					// this has to be done before the transaction is started
+					capable.setReadOnly(true);
+					readOnlyConnection = capable;
+				}
+			}
+			if (connection.isAutoCommitSupported() && isAutoCommit(connection, baseSource)) {
+				// the queries all have to be in one transaction to see the same data
+				setAutoCommit(connection, baseSource, false);
+				restoreAutoCommit = true;
+			}
+			logger.debug("started read-only transaction");
+			T result;
+			try {
+				result = callable.call();
+			} catch (SQLException e) {
+				throw e;
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Transaction callable threw non-SQL exception", e);
+			}
+			called = true;
+			return result;
+		} finally {
+			SQLException restoreException =
+					endReadOnlyTransaction(connection, baseSource, restoreAutoCommit, readOnlyConnection);
+			if (outerCount >= 0) {
+				baseSource.endTransaction(connection);
+			}
+			// if the callable threw then its exception is the one thrown and the restore problems are only logged
+			if (called && restoreException != null) {
+				throw restoreException;
+			}
+		}
+	}
+
+	/**
+	 * Restore the connection after a read-only transaction. Each step is tried even if an earlier one fails.
+	 * 
+	 * @return The first exception thrown while restoring or null if none.
+	 */
+	private static SQLException endReadOnlyTransaction(DatabaseConnection connection, BaseConnectionSource baseSource,
+			boolean restoreAutoCommit, ReadOnlyCapableConnection readOnlyConnection) {
+		SQLException restoreException = null;
+		if (restoreAutoCommit) {
+			try {
+				// nothing was written so there is nothing to commit
+				connection.rollback(null);
+			} catch (SQLException e) {
+				logger.error(e, "rolling back read-only transaction threw exception");
+				restoreException = e;
+			}
+			try {
+				setAutoCommit(connection, baseSource, true);
+			} catch (SQLException e) {
+				logger.error(e, "restoring auto-commit after read-only transaction threw exception");
+				if (restoreException == null) {
+					restoreException = e;
+				}
+			}
+		}
+		if (readOnlyConnection != null) {
+			try {
+				readOnlyConnection.setReadOnly(false);
+			} catch (SQLException e) {
+				logger.error(e, "restoring read-write mode after read-only transaction threw exception");
+				if (restoreException == null) {
+					restoreException = e;
+				}
+			}
+		}
+		logger.debug("ended read-only transaction");
+		return restoreException;
+	}
+
+	/**
+	 * Run the callable as part of the transaction that is already running on the connection. If it fails then the
+	 * outer transaction is marked so it is rolled back.
+	 */
+	private static <T> T callInJoinedTransaction(DatabaseConnection connection, BaseConnectionSource baseSource,
+			WriteBehindBuffer buffer, Callable<T> callable) throws SQLException {
+		try {
+			T result = callable.call();
+			if (buffer != null) {
+				buffer.flush();
+			}
+			logger.debug("joined outer transaction");
+			return result;
+		} catch (SQLException e) {
+			if (buffer != null) {
+				buffer.clear();
+			}
+			baseSource.setRollbackOnly(connection);
+			throw e;
+		} catch (Exception e) {
+			if (buffer != null) {
+				buffer.clear();
+			}
+			baseSource.setRollbackOnly(connection);
+			throw SqlExceptionUtil.create("Transaction callable threw non-SQL exception", e);
+		} finally {
+			baseSource.endTransaction(connection);
+		}
+	}
+
+	private static BaseConnectionSource toBaseConnectionSource(ConnectionSource connectionSource) {
+		if (connectionSource instanceof BaseConnectionSource) {
+			return (BaseConnectionSource) connectionSource;
+		} else {
+			return null;
+		}
+	}
+
+	private static boolean isAutoCommit(DatabaseConnection connection, BaseConnectionSource baseSource)
+			throws SQLException {
+		if (baseSource == null) {
+			return connection.isAutoCommit();
+		} else {
+			return baseSource.isAutoCommit(connection);
+		}
+	}
+
+	private static void setAutoCommit(DatabaseConnection connection, BaseConnectionSource baseSource,
+			boolean autoCommit) throws SQLException {
+		if (baseSource == null) {
+			connection.setAutoCommit(autoCommit);
+		} else {
+			baseSource.setAutoCommit(connection, autoCommit);
+		}
 	}
 
 	private static void commit(DatabaseConnection connection, Savepoint savePoint) throws SQLException {
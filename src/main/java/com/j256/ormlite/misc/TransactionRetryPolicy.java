@@ -0,0 +1,123 @@
+package com.j256.ormlite.misc;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.db.DatabaseType;
+
+/**
+ * How {@link TransactionManager} retries transactions that fail because of a transient database error such as a
+ * deadlock or a busy database. Whether an exception is transient is decided by
+ * {@link DatabaseType#isRetryableException(SQLException)}. Between attempts the thread sleeps for an exponentially
+ * increasing backoff with random jitter so that the transactions that collided don't collide again.
+ * 
+ * <p>
+ * The policy also counts the retries so it can be monitored. One policy can be shared by many transaction managers and
+ * threads.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class TransactionRetryPolicy {
+
+	/** default number of times the transaction is tried, including the first attempt */
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+	/** default number of milliseconds to wait before the first retry */
+	public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 10;
+	/** default maximum number of milliseconds to wait before a retry */
+	public static final long DEFAULT_MAX_BACKOFF_MILLIS = 1000;
+
+	private static final Random random = new Random();
+
+	private final int maxAttempts;
+	private final long initialBackoffMillis;
+	private final long maxBackoffMillis;
+	private final AtomicLong retryCount = new AtomicLong();
+	private final AtomicLong recoveredCount = new AtomicLong();
+	private final AtomicLong exhaustedCount = new AtomicLong();
+
+	public TransactionRetryPolicy() {
+		this(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS);
+	}
+
+	/**
+	 * @param maxAttempts
+	 *            Number of times the transaction is tried, including the first attempt.
+	 * @param initialBackoffMillis
+	 *            Milliseconds to wait before the first retry. This doubles for each following retry.
+	 * @param maxBackoffMillis
+	 *            Maximum number of milliseconds to wait before a retry.
+	 */
+	public TransactionRetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("Max attempts must be at least 1: " + maxAttempts);
+		}
+		if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+			throw new IllegalArgumentException("Invalid backoff range " + initialBackoffMillis + " to "
+					+ maxBackoffMillis);
+		}
+		this.maxAttempts = maxAttempts;
+		this.initialBackoffMillis = initialBackoffMillis;
+		this.maxBackoffMillis = maxBackoffMillis;
+	}
+
+	/**
+	 * Return true if the transaction should be tried again after the exception. By default this asks the database
+	 * type. This can be overridden to retry other errors.
+	 */
+	public boolean isRetryable(DatabaseType databaseType, SQLException e) {
+		return databaseType.isRetryableException(e);
+	}
+
+	/**
+	 * Return the number of milliseconds to wait before the retry that follows the attempt number, starting at 1. This
+	 * is between half of and the full exponential backoff for the attempt.
+	 */
+	public long getBackoffMillis(int attempt) {
+		long backoff = initialBackoffMillis;
+		for (int i = 1; i < attempt && backoff < maxBackoffMillis; i++) {
+			backoff *= 2;
+		}
+		backoff = Math.min(backoff, maxBackoffMillis);
+		long half = backoff / 2;
+		return half + (long) (random.nextDouble() * (backoff - half + 1));
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Return the number of times that a transaction was retried.
+	 */
+	public long getRetryCount() {
+		return retryCount.get();
+	}
+
+	/**
+	 * Return the number of transactions that succeeded after one or more retries.
+	 */
+	public long getRecoveredCount() {
+		return recoveredCount.get();
+	}
+
+	/**
+	 * Return the number of transactions that still failed with a retryable exception after the max attempts.
+	 */
+	public long getExhaustedCount() {
+		return exhaustedCount.get();
+	}
+
+	void recordRetry() {
+		retryCount.incrementAndGet();
+	}
+
+	void recordRecovered() {
+		recoveredCount.incrementAndGet();
+	}
+
+	void recordExhausted() {
+		exhaustedCount.incrementAndGet();
+	}
+}
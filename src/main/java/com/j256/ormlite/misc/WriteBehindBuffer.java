@@ -0,0 +1,345 @@
+package com.j256.ormlite.misc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Unit-of-work buffer which queues the create, update, and delete calls on the DAOs while a
+ * {@link TransactionManager#callInUnitOfWork(java.util.concurrent.Callable)} block is running and writes them when the
+ * transaction commits. Repeated writes to the same id are coalesced: updates after a create or update are merged into
+ * it, since the object is written with its state at flush time, and a delete replaces a pending update or cancels a
+ * pending create.
+ * 
+ * <p>
+ * When flushed, the writes are grouped by table. Creates and then updates are run with the tables ordered so that
+ * tables which are referenced by the foreign fields of other tables come first and deletes are run afterwards in the
+ * reverse order, one delete statement per table. Tables with circular foreign references stay in the order they were
+ * first written.
+ * </p>
+ * 
+ * <p>
+ * Only writes of single objects by id are queued. Creates are only queued if the id is set by the caller and isn't
+ * generated by the database. Tables with a version field are never queued so their optimistic locking still reports
+ * stale updates to the caller. Within a table, a write is only queued if running the creates, updates, and deletes in
+ * that order keeps the order the caller used, so a create after a pending delete flushes the buffer first. Any other
+ * operation on a DAO of the same connection-source, including queries, flushes the buffer first so it sees the queued
+ * writes. Because of the queuing, the create, update, and delete methods return 1 and any errors from the database,
+ * including a queued update or delete that changed no rows, are thrown when the buffer is flushed.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class WriteBehindBuffer {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+	private static final ThreadLocal<WriteBehindBuffer> threadBuffer = new ThreadLocal<WriteBehindBuffer>();
+
+	private final ConnectionSource connectionSource;
+	private final DatabaseConnection connection;
+	private final WriteBehindBuffer previous;
+	private Map<Class<?>, TableWrites<?, ?>> tableWritesMap = new LinkedHashMap<Class<?>, TableWrites<?, ?>>();
+	private boolean flushing;
+
+	WriteBehindBuffer(ConnectionSource connectionSource, DatabaseConnection connection, WriteBehindBuffer previous) {
+		this.connectionSource = connectionSource;
+		this.connection = connection;
+		this.previous = previous;
+	}
+
+	/**
+	 * Return the buffer of the current thread for the connection-source or null if none.
+	 */
+	public static WriteBehindBuffer getThreadBuffer(ConnectionSource connectionSource) {
+		for (WriteBehindBuffer buffer = threadBuffer.get(); buffer != null; buffer = buffer.previous) {
+			if (buffer.connectionSource == connectionSource) {
+				return buffer;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the buffer of the current thread for the connection or null if none.
+	 */
+	static WriteBehindBuffer getThreadBuffer(DatabaseConnection connection) {
+		for (WriteBehindBuffer buffer = threadBuffer.get(); buffer != null; buffer = buffer.previous) {
+			if (buffer.connection == connection) {
+				return buffer;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Start buffering the writes for the connection-source in the current thread.
+	 */
+	static WriteBehindBuffer start(ConnectionSource connectionSource, DatabaseConnection connection) {
+		WriteBehindBuffer buffer = new WriteBehindBuffer(connectionSource, connection, threadBuffer.get());
+		threadBuffer.set(buffer);
+		return buffer;
+	}
+
+	/**
+	 * Stop buffering in the current thread, restoring the buffer that was active before.
+	 */
+	void end() {
+		if (previous == null) {
+			threadBuffer.remove();
+		} else {
+			threadBuffer.set(previous);
+		}
+	}
+
+	/**
+	 * Queue the create of the data. Returns false if it could not be queued and should be run directly after a flush.
+	 */
+	public <T, ID> boolean queueCreate(BaseDaoImpl<T, ID> dao, T data) throws SQLException {
+		FieldType idField = dao.getTableInfo().getIdField();
+		if (idField == null || idField.isGeneratedId()) {
+			return false;
+		}
+		return queue(dao, data, WriteType.CREATE);
+	}
+
+	/**
+	 * Queue the update of the data. Returns false if it could not be queued and should be run directly after a flush.
+	 */
+	public <T, ID> boolean queueUpdate(BaseDaoImpl<T, ID> dao, T data) throws SQLException {
+		return queue(dao, data, WriteType.UPDATE);
+	}
+
+	/**
+	 * Queue the delete of the data. Returns false if it could not be queued and should be run directly after a flush.
+	 */
+	public <T, ID> boolean queueDelete(BaseDaoImpl<T, ID> dao, T data) throws SQLException {
+		return queue(dao, data, WriteType.DELETE);
+	}
+
+	/**
+	 * Run all of the queued writes. This does nothing if it is called while the buffer is already being flushed.
+	 */
+	public void flush() throws SQLException {
+		if (flushing || tableWritesMap.isEmpty()) {
+			return;
+		}
+		Map<Class<?>, TableWrites<?, ?>> writesMap = tableWritesMap;
+		tableWritesMap = new LinkedHashMap<Class<?>, TableWrites<?, ?>>();
+		List<TableWrites<?, ?>> ordered = orderByForeignDependencies(writesMap);
+		flushing = true;
+		try {
+			int writeCount = 0;
+			for (TableWrites<?, ?> tableWrites : ordered) {
+				writeCount += tableWrites.run(WriteType.CREATE);
+			}
+			for (TableWrites<?, ?> tableWrites : ordered) {
+				writeCount += tableWrites.run(WriteType.UPDATE);
+			}
+			for (int i = ordered.size() - 1; i >= 0; i--) {
+				writeCount += ordered.get(i).runDeletes();
+			}
+			logger.debug("flushed {} buffered writes to {} tables", writeCount, ordered.size());
+		} finally {
+			flushing = false;
+		}
+	}
+
+	/**
+	 * Drop all of the queued writes. Used when the transaction is rolled back.
+	 */
+	public void clear() {
+		if (!tableWritesMap.isEmpty()) {
+			logger.debug("discarding buffered writes to {} tables", tableWritesMap.size());
+			tableWritesMap.clear();
+		}
+	}
+
+	private <T, ID> boolean queue(BaseDaoImpl<T, ID> dao, T data, WriteType writeType) throws SQLException {
+		if (flushing || dao.getTableInfo().getIdField() == null || hasVersionField(dao)) {
+			return false;
+		}
+		ID id = dao.extractId(data);
+		if (id == null) {
+			return false;
+		}
+		@SuppressWarnings("unchecked")
+		TableWrites<T, ID> tableWrites = (TableWrites<T, ID>) tableWritesMap.get(dao.getDataClass());
+		if (tableWrites == null) {
+			tableWrites = new TableWrites<T, ID>(dao);
+			tableWritesMap.put(dao.getDataClass(), tableWrites);
+		} else if (tableWrites.dao != dao) {
+			// two DAOs for the same class, don't try to merge their writes
+			return false;
+		}
+		return tableWrites.add(id, data, writeType);
+	}
+
+	private static boolean hasVersionField(BaseDaoImpl<?, ?> dao) {
+		for (FieldType fieldType : dao.getTableInfo().getFieldTypes()) {
+			if (fieldType.isVersion()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Order the tables so that the tables referenced by foreign fields come before the tables that reference them.
+	 */
+	private static List<TableWrites<?, ?>> orderByForeignDependencies(Map<Class<?>, TableWrites<?, ?>> writesMap) {
+		List<TableWrites<?, ?>> ordered = new ArrayList<TableWrites<?, ?>>(writesMap.size());
+		Set<Class<?>> visited = new HashSet<Class<?>>();
+		for (Class<?> dataClass : writesMap.keySet()) {
+			addWithDependencies(dataClass, writesMap, visited, ordered);
+		}
+		return ordered;
+	}
+
+	private static void addWithDependencies(Class<?> dataClass, Map<Class<?>, TableWrites<?, ?>> writesMap,
+			Set<Class<?>> visited, List<TableWrites<?, ?>> ordered) {
+		TableWrites<?, ?> tableWrites = writesMap.get(dataClass);
+		// visiting before the dependencies stops cycles
+		if (tableWrites == null || !visited.add(dataClass)) {
+			return;
+		}
+		for (FieldType fieldType : tableWrites.dao.getTableInfo().getFieldTypes()) {
+			if (fieldType.isForeign()) {
+				addWithDependencies(fieldType.getType(), writesMap, visited, ordered);
+			}
+		}
+		ordered.add(tableWrites);
+	}
+
+	/**
+	 * Type of a queued write in the order that they are run for a table.
+	 */
+	private enum WriteType {
+		CREATE,
+		UPDATE,
+		DELETE,
+		// end
+		;
+	}
+
+	/**
+	 * Queued write of one object.
+	 */
+	private static class Write<T> {
+		WriteType writeType;
+		T data;
+		public Write(WriteType writeType, T data) {
+			this.writeType = writeType;
+			this.data = data;
+		}
+	}
+
+	/**
+	 * The queued writes for one table in the order the ids were first written.
+	 */
+	private static class TableWrites<T, ID> {
+
+		final BaseDaoImpl<T, ID> dao;
+		private final Map<ID, Write<T>> writes = new LinkedHashMap<ID, Write<T>>();
+		// number of queued writes of each type
+		private final int[] typeCounts = new int[WriteType.values().length];
+
+		public TableWrites(BaseDaoImpl<T, ID> dao) {
+			this.dao = dao;
+		}
+
+		/**
+		 * Add the write, coalescing it with the one already queued for the id. Returns false if the two can't be
+		 * combined or if the write would run before a write of another type that was queued earlier.
+		 */
+		public boolean add(ID id, T data, WriteType writeType) {
+			Write<T> existing = writes.get(id);
+			if (existing == null) {
+				if (isLaterTypeQueued(writeType)) {
+					return false;
+				}
+				writes.put(id, new Write<T>(writeType, data));
+				typeCounts[writeType.ordinal()]++;
+				return true;
+			}
+			switch (writeType) {
+				case UPDATE:
+					// merging moves the latest object to where the existing write runs
+					if (existing.writeType == WriteType.DELETE || isLaterTypeQueued(existing.writeType)) {
+						return false;
+					}
+					// a create or update writes the latest object
+					existing.data = data;
+					return true;
+				case DELETE:
+					typeCounts[existing.writeType.ordinal()]--;
+					if (existing.writeType == WriteType.CREATE) {
+						// never written so nothing to delete
+						writes.remove(id);
+					} else {
+						existing.writeType = WriteType.DELETE;
+						existing.data = data;
+						typeCounts[WriteType.DELETE.ordinal()]++;
+					}
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		/**
+		 * Return true if a write that is run after the type is queued, such as a delete when adding a create.
+		 */
+		private boolean isLaterTypeQueued(WriteType writeType) {
+			for (int i = writeType.ordinal() + 1; i < typeCounts.length; i++) {
+				if (typeCounts[i] > 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public int run(WriteType writeType) throws SQLException {
+			int count = 0;
+			for (Write<T> write : writes.values()) {
+				if (write.writeType == writeType) {
+					if (writeType == WriteType.CREATE) {
+						dao.create(write.data);
+					} else if (dao.update(write.data) == 0) {
+						throw new SQLException("Buffered update of " + dao.getTableInfo().getTableName()
+								+ " did not change any rows: " + write.data);
+					}
+					count++;
+				}
+			}
+			return count;
+		}
+
+		public int runDeletes() throws SQLException {
+			List<T> datas = new ArrayList<T>();
+			for (Write<T> write : writes.values()) {
+				if (write.writeType == WriteType.DELETE) {
+					datas.add(write.data);
+				}
+			}
+			if (!datas.isEmpty()) {
+				int rowCount = dao.delete(datas);
+				if (rowCount != datas.size()) {
+					throw new SQLException("Buffered delete of " + datas.size() + " rows from "
+							+ dao.getTableInfo().getTableName() + " only deleted " + rowCount);
+				}
+			}
+			return datas.size();
+		}
+	}
+}
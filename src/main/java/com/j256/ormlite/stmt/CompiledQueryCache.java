@@ -0,0 +1,131 @@
+package com.j256.ormlite.stmt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+/**
+ * Cache of the SQL built by {@link QueryBuilder#prepare()} which can be injected into a DAO with
+ * {@link Dao#setCompiledQueryCache(CompiledQueryCache)}. When a query is prepared, the builder first walks its
+ * settings and where clauses to make a key that describes the shape of the query: the selected columns, the clauses
+ * and their columns, the joins, the ordering, the limit, and any values that are written into the SQL. If the cache
+ * has SQL for the key then it is used with the arguments of the new query and the SQL does not have to be built
+ * again. Values passed with a {@link SelectArg} are not part of the key so queries which only differ in those
+ * arguments share one entry.
+ * 
+ * <p>
+ * The cache holds a limited number of entries and the least-recently-used entry is removed when it is full. Queries
+ * with where clauses that can't be described by a key, such as update-builder SET expressions or values of other
+ * types, are built each time and are not cached.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class CompiledQueryCache {
+
+	/** default number of queries that are cached */
+	public static final int DEFAULT_CAPACITY = 100;
+
+	private final Map<List<Object>, CompiledQuery> queryMap;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public CompiledQueryCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            Maximum number of queries that are cached.
+	 */
+	public CompiledQueryCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+		}
+		this.queryMap = Collections.synchronizedMap(new LimitedLinkedHashMap<List<Object>, CompiledQuery>(capacity));
+	}
+
+	/**
+	 * Return the number of times that cached SQL was used.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Return the number of times that the SQL had to be built because it was not in the cache.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Return the number of queries in the cache.
+	 */
+	public int size() {
+		return queryMap.size();
+	}
+
+	/**
+	 * Remove all of the queries from the cache.
+	 */
+	public void clear() {
+		queryMap.clear();
+	}
+
+	CompiledQuery get(List<Object> key) {
+		CompiledQuery compiledQuery = queryMap.get(key);
+		if (compiledQuery == null) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return compiledQuery;
+	}
+
+	void put(List<Object> key, CompiledQuery compiledQuery) {
+		queryMap.put(key, compiledQuery);
+	}
+
+	/**
+	 * The built SQL of a query and the information about its results.
+	 */
+	static class CompiledQuery {
+
+		final String statement;
+		final FieldType[] resultFieldTypes;
+		final StatementType type;
+
+		public CompiledQuery(String statement, FieldType[] resultFieldTypes, StatementType type) {
+			this.statement = statement;
+			this.resultFieldTypes = resultFieldTypes;
+			this.type = type;
+		}
+	}
+
+	/**
+	 * Linked hash-map in access order which removes the least-recently-used entry when it is over capacity.
+	 */
+	private static class LimitedLinkedHashMap<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = -2811357093815743102L;
+		private final int capacity;
+
+		public LimitedLinkedHashMap(int capacity) {
+			super(capacity, 0.75F, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Entry<K, V> eldest) {
+			return size() > capacity;
+		}
+	}
+}
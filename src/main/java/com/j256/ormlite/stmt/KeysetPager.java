@@ -0,0 +1,332 @@
+package com.j256.ormlite.stmt;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Pages through the results of a query using keyset (or seek) pagination. Instead of using LIMIT and OFFSET, which
+ * gets slower the deeper you page, each page is fetched with a query in the form of {@code WHERE (k) > (?)} ordered by
+ * the key columns with a LIMIT of the page size. The key columns must be unique and not-null so that the order of the
+ * results is total. This is built with {@link QueryBuilder#keysetPager(long)}.
+ * 
+ * <p>
+ * After each page, {@link #getCursor()} returns a token which holds the key values of the last row returned. The token
+ * can be handed to a client and passed back to {@link #setCursor(String)} or {@link #pageAfter(String)} later to
+ * continue from the same point. The key values are stored using their string representation so they must be of types
+ * which can be converted back from a string such as numbers, strings, and UUIDs.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> This class is not thread safe since it keeps the position of the last page.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class KeysetPager<T, ID> {
+
+	private final Dao<T, ID> dao;
+	private final FieldType[] keyFieldTypes;
+	private final PreparedQuery<T> firstQuery;
+	private final PreparedQuery<T> nextQuery;
+	private final SelectArg[][] keyArgs;
+	private final long pageSize;
+
+	private Object[] lastKeys;
+	private boolean done;
+
+	KeysetPager(Dao<T, ID> dao, FieldType[] keyFieldTypes, PreparedQuery<T> firstQuery, PreparedQuery<T> nextQuery,
+			SelectArg[][] keyArgs, long pageSize) {
+		this.dao = dao;
+		this.keyFieldTypes = keyFieldTypes;
+		this.firstQuery = firstQuery;
+		this.nextQuery = nextQuery;
+		this.keyArgs = keyArgs;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Return the next page of results or an empty list if there are no more.
+	 */
+	public List<T> nextPage() throws SQLException {
+		if (done) {
+			return Collections.emptyList();
+		}
+		List<T> results = dao.query(preparePageQuery());
+		if (!results.isEmpty()) {
+			lastKeys = extractKeys(results.get(results.size() - 1));
+		}
+		if (results.size() < pageSize) {
+			done = true;
+		}
+		return results;
+	}
+
+	/**
+	 * Set the cursor to the token argument and return the page of results after it. A null cursor returns the first
+	 * page.
+	 */
+	public List<T> pageAfter(String cursor) throws SQLException {
+		setCursor(cursor);
+		return nextPage();
+	}
+
+	/**
+	 * Return true if there may be more pages. Once a page is returned which has fewer results than the page size, this
+	 * returns false.
+	 */
+	public boolean hasMorePages() {
+		return !done;
+	}
+
+	/**
+	 * Return the cursor token for the last row returned or null if no rows have been returned.
+	 */
+	public String getCursor() throws SQLException {
+		if (lastKeys == null) {
+			return null;
+		}
+		StringBuilder sb = new StringBuilder();
+		for (int keyC = 0; keyC < keyFieldTypes.length; keyC++) {
+			Object sqlArg = keyFieldTypes[keyC].convertJavaFieldToSqlArgValue(lastKeys[keyC]);
+			String value = String.valueOf(sqlArg);
+			// length prefixed so we don't have to worry about escaping
+			sb.append(value.length()).append(':').append(value);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Set the position of the pager to the cursor token which was returned by {@link #getCursor()}. The next page will
+	 * start after the row associated with the cursor. A null cursor starts the pager over from the start.
+	 */
+	public void setCursor(String cursor) throws SQLException {
+		done = false;
+		if (cursor == null) {
+			lastKeys = null;
+			return;
+		}
+		Object[] keys = new Object[keyFieldTypes.length];
+		int pos = 0;
+		for (int keyC = 0; keyC < keyFieldTypes.length; keyC++) {
+			int colon = cursor.indexOf(':', pos);
+			if (colon < 0) {
+				throw new SQLException("Invalid cursor, not enough key values: " + cursor);
+			}
+			int length;
+			try {
+				length = Integer.parseInt(cursor.substring(pos, colon));
+			} catch (NumberFormatException e) {
+				throw new SQLException("Invalid cursor, bad key length: " + cursor);
+			}
+			int end = colon + 1 + length;
+			if (length < 0 || end > cursor.length()) {
+				throw new SQLException("Invalid cursor, key value is too short: " + cursor);
+			}
+			keys[keyC] = keyFieldTypes[keyC].convertStringToJavaField(cursor.substring(colon + 1, end), keyC);
+			pos = end;
+		}
+		if (pos != cursor.length()) {
+			throw new SQLException("Invalid cursor, too many key values: " + cursor);
+		}
+		lastKeys = keys;
+	}
+
+	/**
+	 * Return an iterator which goes through all of the results starting after the current cursor, fetching a page at a
+	 * time. Only one page of results is open at a time so iterating through a large table takes constant time per page.
+	 * The cursor is updated as each result is returned.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> You must call {@link CloseableIterator#close()} if you stop before the end of the results.
+	 * </p>
+	 */
+	public CloseableIterator<T> iterator() {
+		return new PagingIterator();
+	}
+
+	private PreparedQuery<T> preparePageQuery() {
+		if (lastKeys == null) {
+			return firstQuery;
+		}
+		for (int keyC = 0; keyC < keyArgs.length; keyC++) {
+			for (SelectArg arg : keyArgs[keyC]) {
+				arg.setValue(lastKeys[keyC]);
+			}
+		}
+		return nextQuery;
+	}
+
+	private Object[] extractKeys(T data) throws SQLException {
+		Object[] keys = new Object[keyFieldTypes.length];
+		for (int keyC = 0; keyC < keyFieldTypes.length; keyC++) {
+			Object key = keyFieldTypes[keyC].extractJavaFieldValue(data);
+			if (key == null) {
+				throw new SQLException("Keyset column " + keyFieldTypes[keyC].getColumnName() + " cannot be null in "
+						+ data);
+			}
+			keys[keyC] = key;
+		}
+		return keys;
+	}
+
+	/**
+	 * Iterator which goes through the results a page at a time.
+	 */
+	private class PagingIterator implements CloseableIterator<T> {
+
+		private CloseableIterator<T> pageIterator;
+		private long pageRowC;
+		private T last;
+		private boolean closed;
+
+		@Override
+		public boolean hasNext() {
+			try {
+				return hasNextThrow();
+			} catch (SQLException e) {
+				last = null;
+				closeQuietly();
+				// unfortunately, can't propagate back the SQLException
+				throw new IllegalStateException("Errors getting more results of " + dao.getDataClass(), e);
+			}
+		}
+
+		@Override
+		public T next() {
+			SQLException sqlException = null;
+			try {
+				T result = nextThrow();
+				if (result != null) {
+					return result;
+				}
+			} catch (SQLException e) {
+				sqlException = e;
+			}
+			// we have to throw if there is no next or on a SQLException
+			last = null;
+			closeQuietly();
+			throw new IllegalStateException("Could not get next result for " + dao.getDataClass(), sqlException);
+		}
+
+		@Override
+		public T nextThrow() throws SQLException {
+			if (!hasNextThrow()) {
+				return null;
+			}
+			last = pageIterator.nextThrow();
+			if (last != null) {
+				pageRowC++;
+				lastKeys = extractKeys(last);
+			}
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException("No last " + dao.getDataClass()
+						+ " object to remove. Must be called after a call to next.");
+			}
+			try {
+				dao.delete(last);
+			} catch (SQLException e) {
+				closeQuietly();
+				// unfortunately, can't propagate back the SQLException
+				throw new IllegalStateException("Could not delete " + dao.getDataClass() + " object " + last, e);
+			} finally {
+				last = null;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				last = null;
+				if (pageIterator != null) {
+					pageIterator.close();
+					pageIterator = null;
+				}
+			}
+		}
+
+		@Override
+		public void closeQuietly() {
+			IOUtils.closeQuietly(this);
+		}
+
+		@Override
+		public DatabaseResults getRawResults() {
+			if (pageIterator == null) {
+				return null;
+			} else {
+				return pageIterator.getRawResults();
+			}
+		}
+
+		@Override
+		public void moveToNext() {
+			if (pageIterator != null) {
+				pageIterator.moveToNext();
+			}
+		}
+
+		@Override
+		public T first() throws SQLException {
+			throw new SQLException("Moving to the first result is not supported by a keyset iterator");
+		}
+
+		@Override
+		public T previous() throws SQLException {
+			throw new SQLException("Moving to the previous result is not supported by a keyset iterator");
+		}
+
+		@Override
+		public T current() {
+			return last;
+		}
+
+		@Override
+		public T moveRelative(int offset) throws SQLException {
+			if (offset == 1) {
+				return nextThrow();
+			}
+			throw new SQLException("Moving relative " + offset + " is not supported by a keyset iterator");
+		}
+
+		private boolean hasNextThrow() throws SQLException {
+			while (!closed) {
+				if (pageIterator == null) {
+					if (done) {
+						return false;
+					}
+					pageIterator = dao.iterator(preparePageQuery());
+					pageRowC = 0;
+				}
+				try {
+					if (pageIterator.hasNext()) {
+						return true;
+					}
+				} catch (IllegalStateException e) {
+					throw SqlExceptionUtil.create("Problems getting the next page of " + dao.getDataClass(), e);
+				}
+				IOUtils.closeThrowSqlException(pageIterator, "page iterator");
+				pageIterator = null;
+				if (pageRowC < pageSize) {
+					// we got a short page so we are done
+					done = true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.j256.ormlite.stmt;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.j256.ormlite.dao.DatabaseResultsMapper;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Maps the columns of a projection query into a lightweight class, such as a DTO, through one of its constructors.
+ * The constructor is looked up once when the mapper is built and must take one argument per column in the same order
+ * as the columns. Each value is converted with the column's field persister just like an entity field but no entity
+ * is created, foreign and foreign-collection fields are not set up, and the object cache is not used. Foreign columns
+ * map to the id value of the foreign object. See {@link QueryBuilder#queryProjection(Class, String...)}.
+ * 
+ * @author graywatson
+ */
+public class ProjectionMapper<P> implements DatabaseResultsMapper<P> {
+
+	private final Class<P> projectionClass;
+	private final FieldType[] fieldTypes;
+	private final Constructor<P> constructor;
+	private final Map<String, Integer> columnPositions;
+
+	/**
+	 * Create a mapper for the class and look up its constructor.
+	 * 
+	 * @param projectionClass
+	 *            Class of the results which must have a constructor that matches the field types.
+	 * @param fieldTypes
+	 *            Field types of the columns in the order that they are in the results.
+	 */
+	public ProjectionMapper(Class<P> projectionClass, FieldType[] fieldTypes) throws SQLException {
+		this.projectionClass = projectionClass;
+		this.fieldTypes = fieldTypes;
+		this.constructor = findConstructor(projectionClass, fieldTypes);
+		this.columnPositions = new HashMap<String, Integer>();
+		for (int i = 0; i < fieldTypes.length; i++) {
+			columnPositions.put(fieldTypes[i].getColumnName(), i);
+		}
+	}
+
+	@Override
+	public P mapRow(DatabaseResults results) throws SQLException {
+		Object[] args = new Object[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			args[i] = fieldTypes[i].resultToJava(results, columnPositions);
+		}
+		try {
+			return constructor.newInstance(args);
+		} catch (InvocationTargetException e) {
+			throw SqlExceptionUtil.create("Constructor of " + projectionClass + " threw an exception", e.getCause());
+		} catch (Exception e) {
+			// null values for primitive arguments end up here
+			throw SqlExceptionUtil.create("Could not construct " + projectionClass + " from the results", e);
+		}
+	}
+
+	public Class<P> getProjectionClass() {
+		return projectionClass;
+	}
+
+	private static <P> Constructor<P> findConstructor(Class<P> projectionClass, FieldType[] fieldTypes)
+			throws SQLException {
+		@SuppressWarnings("unchecked")
+		Constructor<P>[] constructors = (Constructor<P>[]) projectionClass.getDeclaredConstructors();
+		for (Constructor<P> con : constructors) {
+			if (matchesFieldTypes(con.getParameterTypes(), fieldTypes)) {
+				if (!con.isAccessible()) {
+					try {
+						con.setAccessible(true);
+					} catch (SecurityException e) {
+						throw SqlExceptionUtil.create("Could not open access to constructor for " + projectionClass, e);
+					}
+				}
+				return con;
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (FieldType fieldType : fieldTypes) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+			sb.append(valueType(fieldType).getSimpleName());
+		}
+		throw new SQLException("Can't find a constructor for " + projectionClass + " that takes (" + sb + ")"
+				+ (projectionClass.getEnclosingClass() == null ? "" : ".  Missing static on inner class?"));
+	}
+
+	private static boolean matchesFieldTypes(Class<?>[] paramTypes, FieldType[] fieldTypes) {
+		if (paramTypes.length != fieldTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < paramTypes.length; i++) {
+			if (!boxedType(paramTypes[i]).isAssignableFrom(boxedType(valueType(fieldTypes[i])))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the type of the value that is returned from the results for the field.
+	 */
+	private static Class<?> valueType(FieldType fieldType) {
+		if (fieldType.isForeign() && fieldType.getForeignIdField() != null) {
+			return fieldType.getForeignIdField().getType();
+		} else {
+			return fieldType.getType();
+		}
+	}
+
+	private static Class<?> boxedType(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		} else if (type == int.class) {
+			return Integer.class;
+		} else if (type == long.class) {
+			return Long.class;
+		} else if (type == boolean.class) {
+			return Boolean.class;
+		} else if (type == double.class) {
+			return Double.class;
+		} else if (type == float.class) {
+			return Float.class;
+		} else if (type == short.class) {
+			return Short.class;
+		} else if (type == byte.class) {
+			return Byte.class;
+		} else if (type == char.class) {
+			return Character.class;
+		} else {
+			return type;
+		}
+	}
+}
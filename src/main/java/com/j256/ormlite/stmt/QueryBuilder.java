@@ -11,8 +11,14 @@ import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.CompiledQueryCache.CompiledQuery;
 import com.j256.ormlite.stmt.query.ColumnNameOrRawSql;
 import com.j256.ormlite.stmt.query.OrderBy;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -44,8 +50,10 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 	private String countOfQuery;
 	private String having;
 	private Long limit;
+	private Integer fetchSize;
 	private Long offset;
 	private List<JoinInfo> joinList;
+	private Where<T, ID> keysetWhere;
 
 	// NOTE: anything added here should be added to the clear() method below
 
@@ -99,7 +107,7 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 	public PreparedQuery<T> prepare() throws SQLException {
 		// we only store things in the cache if there was not selects specified
 		boolean cacheStore = (selectList == null);
-		return super.prepareStatement(limit, cacheStore);
+		return super.prepareStatement(limit, fetchSize, cacheStore);
 	}
 
 	/**
@@ -228,6 +236,18 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return this;
 	}
 
+	/**
+	 * Set the number of rows that are fetched from the database at a time as the results are iterated across. This is
+	 * a hint to the database driver which helps to limit memory when streaming a large number of rows with
+	 * {@link Dao#iterator(PreparedQuery)} or a {@link com.j256.ormlite.dao.ResultsPublisher}. Set to null to use the
+	 * driver default (the default). It is ignored if the database's statements don't implement
+	 * {@link com.j256.ormlite.support.FetchSizeCapableStatement}.
+	 */
+	public QueryBuilder<T, ID> fetchSize(Integer fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
 	/**
 	 * Start the output at this row number. Set to null for no offset (the default). If you are paging through a table,
 	 * you should consider using the {@link Dao#iterator()} method instead which handles paging with a database cursor.
@@ -394,6 +414,71 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return dao.iterator(prepare());
 	}
 
+	/**
+	 * Query for just the columns and map each row into an instance of the projection class through its constructor
+	 * instead of building the full entity. The class must have a constructor with one argument for each column, in the
+	 * same order, whose types match the fields. This skips the foreign and foreign-collection setup and the object
+	 * cache so it is much cheaper than {@link #selectColumns(String...)} for list screens and reports of wide entities.
+	 * Foreign columns are passed as the id of the foreign object.
+	 * 
+	 * <pre>
+	 * List&lt;AccountSummary&gt; summaries = accountDao.queryBuilder().orderBy(&quot;name&quot;, true).queryProjection(
+	 * 		AccountSummary.class, &quot;id&quot;, &quot;name&quot;);
+	 * </pre>
+	 * 
+	 * <p>
+	 * The where, join, order-by, and limit settings of this builder are used. The select settings are ignored and are
+	 * left unchanged.
+	 * </p>
+	 */
+	public <P> List<P> queryProjection(Class<P> projectionClass, String... columnNames) throws SQLException {
+		if (columnNames.length == 0) {
+			throw new IllegalArgumentException("Must specify at least one projection column");
+		}
+		for (String columnName : columnNames) {
+			if (verifyColumnName(columnName).isForeignCollection()) {
+				throw new IllegalArgumentException("Can't project foreign collection field: " + columnName);
+			}
+		}
+
+		List<ColumnNameOrRawSql> selectListSave = selectList;
+		boolean selectIdColumnSave = selectIdColumn;
+		PreparedQuery<T> preparedQuery;
+		ProjectionMapper<P> mapper;
+		try {
+			selectList = null;
+			selectIdColumn = false;
+			for (String columnName : columnNames) {
+				addSelectColumnToList(columnName);
+			}
+			preparedQuery = prepare();
+			mapper = new ProjectionMapper<P>(projectionClass, resultFieldTypes);
+		} finally {
+			selectList = selectListSave;
+			selectIdColumn = selectIdColumnSave;
+		}
+
+		ConnectionSource connectionSource = dao.getConnectionSource();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			compiledStatement = preparedQuery.compile(connection, StatementType.SELECT);
+			results = compiledStatement.runQuery(null);
+			List<P> projections = new ArrayList<P>();
+			if (results.first()) {
+				do {
+					projections.add(mapper.mapRow(results));
+				} while (results.next());
+			}
+			return projections;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	/**
 	 * Returns the count of the number of rows in the table. This uses {@link #setCountOf(boolean)} to true and then
 	 * calls {@link Dao#countOf(PreparedQuery)}. It restores the previous count-of value before returning.
@@ -423,6 +508,104 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		}
 	}
 
+	/**
+	 * Build and return a pager which goes through the results of this query a page at a time using keyset (or seek)
+	 * pagination on the id field. See {@link #keysetPager(long, String...)}.
+	 */
+	public KeysetPager<T, ID> keysetPager(long pageSize) throws SQLException {
+		if (idField == null) {
+			throw new SQLException("Cannot page through " + tableInfo.getDataClass()
+					+ " without specifying keyset columns because it has no id field");
+		}
+		return keysetPager(pageSize, idField.getColumnName());
+	}
+
+	/**
+	 * Build and return a pager which goes through the results of this query a page at a time using keyset (or seek)
+	 * pagination. Each page is returned by a prepared query in the form of {@code WHERE (k1, k2) > (?, ?)} ordered by the
+	 * key columns with a limit of the page size. Unlike {@link #offset(Long)}, getting a page takes the same amount of
+	 * time no matter how deep into the results it is.
+	 * 
+	 * <p>
+	 * The where, join, and select settings of this builder are used when the pager is built. Any order-by, limit, and
+	 * offset settings are ignored since the pages must be ordered by the keyset columns. Changes to this builder after
+	 * this call do not affect the pager.
+	 * </p>
+	 * 
+	 * @param pageSize
+	 *            Maximum number of results in each page.
+	 * @param columnNames
+	 *            Columns which together are unique and not-null in the order that the results should be sorted.
+	 */
+	public KeysetPager<T, ID> keysetPager(long pageSize, String... columnNames) throws SQLException {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Keyset page size must be positive: " + pageSize);
+		}
+		if (columnNames.length == 0) {
+			throw new IllegalArgumentException("Must specify at least one keyset column");
+		}
+		FieldType[] keyFieldTypes = new FieldType[columnNames.length];
+		for (int i = 0; i < columnNames.length; i++) {
+			keyFieldTypes[i] = verifyColumnName(columnNames[i]);
+		}
+
+		List<OrderBy> orderByListSave = orderByList;
+		List<ColumnNameOrRawSql> selectListSave = selectList;
+		Long limitSave = limit;
+		Long offsetSave = offset;
+		try {
+			orderByList = null;
+			for (String columnName : columnNames) {
+				addOrderBy(new OrderBy(columnName, true));
+			}
+			if (selectList != null) {
+				// we need the key columns in the results to build the next page
+				selectList = new ArrayList<ColumnNameOrRawSql>(selectList);
+				for (String columnName : columnNames) {
+					addSelectColumnToList(columnName);
+				}
+			}
+			limit = pageSize;
+			offset = null;
+			PreparedQuery<T> firstQuery = prepare();
+
+			/*
+			 * Not all databases support row-value comparisons so (k1, k2) > (?, ?) is expanded into the equivalent:
+			 * (k1 > ?) OR (k1 = ? AND k2 > ?)
+			 */
+			SelectArg[][] keyArgs = new SelectArg[columnNames.length][];
+			for (int i = 0; i < columnNames.length; i++) {
+				keyArgs[i] = new SelectArg[columnNames.length - i];
+			}
+			Where<T, ID> seekWhere = new Where<T, ID>(tableInfo, this, databaseType);
+			for (int i = 0; i < columnNames.length; i++) {
+				for (int j = 0; j < i; j++) {
+					SelectArg arg = new SelectArg();
+					keyArgs[j][i - j] = arg;
+					seekWhere.eq(columnNames[j], arg);
+				}
+				SelectArg arg = new SelectArg();
+				keyArgs[i][0] = arg;
+				seekWhere.gt(columnNames[i], arg);
+				if (i > 0) {
+					seekWhere.and(i + 1);
+				}
+			}
+			if (columnNames.length > 1) {
+				seekWhere.or(columnNames.length);
+			}
+			keysetWhere = seekWhere;
+			PreparedQuery<T> nextQuery = prepare();
+			return new KeysetPager<T, ID>(dao, keyFieldTypes, firstQuery, nextQuery, keyArgs, pageSize);
+		} finally {
+			orderByList = orderByListSave;
+			selectList = selectListSave;
+			limit = limitSave;
+			offset = offsetSave;
+			keysetWhere = null;
+		}
+	}
+
 	/**
 	 * Add an alias for this table. In FROM clause, the table will use AS to define the alias, and qualified fields will
 	 * be qualified using the alias instead of table name.
@@ -453,12 +636,14 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		countOfQuery = null;
 		having = null;
 		limit = null;
+		fetchSize = null;
 		offset = null;
 		if (joinList != null) {
 			// help gc
 			joinList.clear();
 			joinList = null;
 		}
+		keysetWhere = null;
 		addTableName = false;
 		alias = null;
 	}
@@ -500,6 +685,28 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return resultFieldTypes;
 	}
 
+	@Override
+	protected boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		// the arguments have to be added in the same order as appendStatementString() adds them
+		appendStructureFingerprint(key);
+		if (!appendWhereFingerprint(key, argList)) {
+			return false;
+		}
+		appendOrderByArgs(argList);
+		if (joinList != null) {
+			for (JoinInfo joinInfo : joinList) {
+				joinInfo.queryBuilder.appendOrderByArgs(argList);
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected void restoreCompiledQuery(CompiledQuery compiledQuery) {
+		super.restoreCompiledQuery(compiledQuery);
+		resultFieldTypes = compiledQuery.resultFieldTypes;
+	}
+
 	@Override
 	protected boolean appendWhereStatement(StringBuilder sb, List<ArgumentHolder> argList, WhereOperation operation)
 			throws SQLException {
@@ -517,6 +724,13 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 				first = joinInfo.queryBuilder.appendWhereStatement(sb, argList, operation);
 			}
 		}
+		if (keysetWhere != null) {
+			operation = (first ? WhereOperation.FIRST : WhereOperation.AND);
+			operation.appendBefore(sb);
+			keysetWhere.appendSql((addTableName ? getTableName() : null), sb, argList);
+			operation.appendAfter(sb);
+			first = false;
+		}
 		return first;
 	}
 
@@ -859,6 +1073,93 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		sb.append(' ');
 	}
 
+	/**
+	 * Add the settings of the builder and its joined builders that are written into the SQL to the key.
+	 */
+	private void appendStructureFingerprint(List<Object> key) {
+		key.add(tableName);
+		key.add(alias);
+		key.add(distinct);
+		key.add(selectIdColumn);
+		key.add(isInnerQuery);
+		key.add(countOfQuery);
+		key.add(having);
+		key.add(limit);
+		key.add(offset);
+		appendColumnsFingerprint(key, selectList);
+		appendColumnsFingerprint(key, groupByList);
+		if (orderByList == null) {
+			key.add(null);
+		} else {
+			key.add(orderByList.size());
+			for (OrderBy orderBy : orderByList) {
+				key.add(orderBy.getColumnName());
+				key.add(orderBy.isAscending());
+				key.add(orderBy.getRawSql());
+				key.add(orderBy.getOrderByArgs() == null ? 0 : orderBy.getOrderByArgs().length);
+			}
+		}
+		if (joinList == null) {
+			key.add(null);
+		} else {
+			key.add(joinList.size());
+			for (JoinInfo joinInfo : joinList) {
+				key.add(joinInfo.type);
+				key.add(joinInfo.operation);
+				key.add(joinInfo.localField.getColumnName());
+				key.add(joinInfo.remoteField.getColumnName());
+				joinInfo.queryBuilder.appendStructureFingerprint(key);
+			}
+		}
+	}
+
+	private void appendColumnsFingerprint(List<Object> key, List<ColumnNameOrRawSql> columnList) {
+		if (columnList == null) {
+			key.add(null);
+			return;
+		}
+		key.add(columnList.size());
+		for (ColumnNameOrRawSql column : columnList) {
+			key.add(column.getColumnName());
+			key.add(column.getRawSql());
+		}
+	}
+
+	/**
+	 * Add the where clauses to the key in the same order as {@link #appendWhereStatement}.
+	 */
+	private boolean appendWhereFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(where != null);
+		if (where != null && !where.appendFingerprint(key, argList)) {
+			return false;
+		}
+		if (joinList != null) {
+			for (JoinInfo joinInfo : joinList) {
+				if (!joinInfo.queryBuilder.appendWhereFingerprint(key, argList)) {
+					return false;
+				}
+			}
+		}
+		key.add(keysetWhere != null);
+		if (keysetWhere != null && !keysetWhere.appendFingerprint(key, argList)) {
+			return false;
+		}
+		return true;
+	}
+
+	private void appendOrderByArgs(List<ArgumentHolder> argList) {
+		if (orderByList == null) {
+			return;
+		}
+		for (OrderBy orderBy : orderByList) {
+			if (orderBy.getRawSql() != null && orderBy.getOrderByArgs() != null) {
+				for (ArgumentHolder arg : orderBy.getOrderByArgs()) {
+					argList.add(arg);
+				}
+			}
+		}
+	}
+
 	private void appendColumnName(StringBuilder sb, String columnName) {
 		if (addTableName) {
 			appendTableQualifier(sb);
@@ -910,6 +1211,10 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 			queryBuilder.appendStatementString(sb, argList);
 		}
 
+		public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+			return queryBuilder.appendFingerprint(key, argList);
+		}
+
 		public FieldType[] getResultFieldTypes() {
 			return queryBuilder.getResultFieldTypes();
 		}
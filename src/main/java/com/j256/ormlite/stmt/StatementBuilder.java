@@ -9,6 +9,7 @@ import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.CompiledQueryCache.CompiledQuery;
 import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.table.TableInfo;
 
@@ -71,10 +72,48 @@ public abstract class StatementBuilder<T, ID> {
 	 *            Limit for queries. Can be null if none.
 	 */
 	protected MappedPreparedStmt<T, ID> prepareStatement(Long limit, boolean cacheStore) throws SQLException {
+		return prepareStatement(limit, null, cacheStore);
+	}
+
+	/**
+	 * Prepare our statement for the subclasses.
+	 * 
+	 * @param limit
+	 *            Limit for queries. Can be null if none.
+	 * @param fetchSize
+	 *            Number of rows to fetch from the database at a time. Can be null to use the database default.
+	 */
+	protected MappedPreparedStmt<T, ID> prepareStatement(Long limit, Integer fetchSize, boolean cacheStore)
+			throws SQLException {
 		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
-		String statement = buildStatementString(argList);
+		CompiledQueryCache compiledQueryCache = (dao == null ? null : dao.getCompiledQueryCache());
+		List<Object> key = null;
+		CompiledQuery compiledQuery = null;
+		if (compiledQueryCache != null) {
+			key = new ArrayList<Object>();
+			if (appendFingerprint(key, argList)) {
+				compiledQuery = compiledQueryCache.get(key);
+			} else {
+				key = null;
+			}
+		}
+		String statement;
+		FieldType[] resultFieldTypes;
+		if (compiledQuery == null) {
+			argList.clear();
+			statement = buildStatementString(argList);
+			resultFieldTypes = getResultFieldTypes();
+			if (key != null) {
+				compiledQueryCache.put(key, new CompiledQuery(statement, resultFieldTypes, type));
+			}
+		} else {
+			// the arguments were collected in the same order as building the statement would have
+			statement = compiledQuery.statement;
+			resultFieldTypes = compiledQuery.resultFieldTypes;
+			restoreCompiledQuery(compiledQuery);
+			logger.debug("using cached statement {}", statement);
+		}
 		ArgumentHolder[] selectArgs = argList.toArray(new ArgumentHolder[argList.size()]);
-		FieldType[] resultFieldTypes = getResultFieldTypes();
 		FieldType[] argFieldTypes = new FieldType[argList.size()];
 		for (int selectC = 0; selectC < selectArgs.length; selectC++) {
 			argFieldTypes[selectC] = selectArgs[selectC].getFieldType();
@@ -83,7 +122,7 @@ public abstract class StatementBuilder<T, ID> {
 			throw new IllegalStateException("Building a statement from a " + type + " statement is not allowed");
 		}
 		return new MappedPreparedStmt<T, ID>(tableInfo, statement, argFieldTypes, resultFieldTypes, selectArgs,
-				(databaseType.isLimitSqlSupported() ? null : limit), type, cacheStore);
+				(databaseType.isLimitSqlSupported() ? null : limit), fetchSize, type, cacheStore);
 	}
 
 	/**
@@ -134,6 +173,25 @@ public abstract class StatementBuilder<T, ID> {
 		appendStatementEnd(sb, argList);
 	}
 
+	/**
+	 * Add to the key everything that determines the SQL of the statement and add the arguments to the list in the order
+	 * that {@link #appendStatementString(StringBuilder, List)} would add them. This is used to look up the statement in
+	 * the {@link CompiledQueryCache}.
+	 * 
+	 * @return False if the statement can't be cached. By default statements are not.
+	 */
+	protected boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		return false;
+	}
+
+	/**
+	 * Called instead of building the statement when the SQL was found in the {@link CompiledQueryCache} so the builder
+	 * can set what building it would have.
+	 */
+	protected void restoreCompiledQuery(CompiledQuery compiledQuery) {
+		type = compiledQuery.type;
+	}
+
 	/**
 	 * Append the start of our statement string to the StringBuilder.
 	 */
@@ -5,8 +5,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.ColumnarResults;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DatabaseResultsMapper;
 import com.j256.ormlite.dao.GenericRawResults;
@@ -66,6 +68,8 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	private String ifExistsQuery;
 	private FieldType[] ifExistsFieldTypes;
 	private RawRowMapper<T> rawRowMapper;
+	// lock instead of synchronized so threads waiting on a single connection do not pin their carrier thread
+	private final ReentrantLock batchLock = new ReentrantLock();
 
 	private final ThreadLocal<Boolean> localIsInBatchMode = new ThreadLocal<Boolean>() {
 		@Override
@@ -188,6 +192,32 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Return the results of a raw query read into primitive columns.
+	 */
+	public ColumnarResults queryRawColumnar(DatabaseConnection databaseConnection, String query,
+			DataType[] columnTypes, String[] arguments) throws SQLException {
+		logger.debug("executing raw columnar query for: {}", query);
+		if (arguments.length > 0) {
+			// need to do the (Object) cast to force args to be a single object
+			logger.trace("query arguments: {}", (Object) arguments);
+		}
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			compiledStatement = databaseConnection.compileStatement(query, StatementType.SELECT, noFieldTypes,
+					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+			assignStatementArguments(compiledStatement, arguments);
+			results = compiledStatement.runQuery(null);
+			ColumnarResults columnarResults = ColumnarResults.fromResults(results, columnTypes);
+			logger.debug("columnar query of '{}' returned {} results", query, columnarResults.getNumRows());
+			return columnarResults;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
 	/**
 	 * Return a list of all of the data in the table that matches the {@link PreparedStmt}. Should be used carefully if
 	 * the table is large. Consider using the {@link Dao#iterator} if this is the case.
@@ -594,8 +624,11 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public <CT> CT callBatchTasks(ConnectionSource connectionSource, Callable<CT> callable) throws SQLException {
 		if (connectionSource.isSingleConnection(tableInfo.getTableName())) {
-			synchronized (this) {
+			batchLock.lock();
+			try {
 				return doCallBatchTasks(connectionSource, callable);
+			} finally {
+				batchLock.unlock();
 			}
 		} else {
 			return doCallBatchTasks(connectionSource, callable);
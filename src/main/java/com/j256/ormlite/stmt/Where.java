@@ -13,6 +13,7 @@ import com.j256.ormlite.stmt.QueryBuilder.InternalQueryBuilderWrapper;
 import com.j256.ormlite.stmt.query.Between;
 import com.j256.ormlite.stmt.query.Clause;
 import com.j256.ormlite.stmt.query.Exists;
+import com.j256.ormlite.stmt.query.FingerprintClause;
 import com.j256.ormlite.stmt.query.In;
 import com.j256.ormlite.stmt.query.InSubQuery;
 import com.j256.ormlite.stmt.query.IsNotNull;
@@ -228,6 +229,26 @@ public class Where<T, ID> {
 		return this;
 	}
 
+	/**
+	 * Same as {@link #in(String, Iterable)} except all of the values are passed as arguments and the list is padded up
+	 * to a power of two so lists of different sizes share the same few statements. This helps the statement caches of
+	 * the database and the {@link CompiledQueryCache} when the size of the list changes a lot. Lists with more than
+	 * {@link In#MAX_BUCKET_SIZE} values are split into multiple IN clauses which are OR-ed together.
+	 */
+	public Where<T, ID> inBucketed(String columnName, Iterable<?> objects) throws SQLException {
+		addClause(new In(columnName, findColumnFieldType(columnName), objects, true, true));
+		return this;
+	}
+
+	/**
+	 * Same as {@link #inBucketed(String, Iterable)} except with a NOT IN clause. Large lists are split into multiple
+	 * NOT IN clauses which are AND-ed together.
+	 */
+	public Where<T, ID> notInBucketed(String columnName, Iterable<?> objects) throws SQLException {
+		addClause(new In(columnName, findColumnFieldType(columnName), objects, false, true));
+		return this;
+	}
+
 	/**
 	 * Add a IN clause so the column must be equal-to one of the objects passed in.
 	 */
@@ -536,6 +557,21 @@ public class Where<T, ID> {
 		return sb.toString();
 	}
 
+	/**
+	 * Used by the internal classes to add the shape of the where clauses to the key of the {@link CompiledQueryCache}.
+	 * 
+	 * @return False if the where can't be cached or is not finished in which case building the SQL reports the
+	 *         problem.
+	 */
+	boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		if (clauseStackLevel != 1 || needsFuture != null) {
+			return false;
+		}
+		Clause clause = peek();
+		// clauses from outside of the library may not know how to describe themselves
+		return (clause instanceof FingerprintClause && ((FingerprintClause) clause).appendFingerprint(key, argList));
+	}
+
 	/**
 	 * Used by the internal classes to add the where SQL to the {@link StringBuilder}.
 	 * 
@@ -19,6 +19,7 @@ import com.j256.ormlite.table.TableInfo;
 public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
 	private final String queryNextSequenceStmt;
+	private final SequenceIdBlock sequenceIdBlock;
 	private String dataClassName;
 	private int versionFieldTypeIndex;
 
@@ -28,6 +29,11 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		this.dataClassName = tableInfo.getDataClass().getSimpleName();
 		this.queryNextSequenceStmt = queryNextSequenceStmt;
 		this.versionFieldTypeIndex = versionFieldTypeIndex;
+		if (queryNextSequenceStmt != null && idField.getSequenceBlockSize() > 1) {
+			this.sequenceIdBlock = new SequenceIdBlock(queryNextSequenceStmt, idField.getSequenceBlockSize());
+		} else {
+			this.sequenceIdBlock = null;
+		}
 	}
 
 	/**
@@ -235,6 +241,11 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
 	private void assignSequenceId(DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
+		if (sequenceIdBlock != null) {
+			long id = sequenceIdBlock.nextId(databaseConnection);
+			assignIdValue(data, id, "sequence block", objectCache);
+			return;
+		}
 		// call the query-next-sequence stmt to increment the sequence
 		long seqVal = databaseConnection.queryForLong(queryNextSequenceStmt);
 		logger.debug("queried for sequence {} using stmt: {}", seqVal, queryNextSequenceStmt);
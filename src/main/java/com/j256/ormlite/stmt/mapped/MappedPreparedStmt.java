@@ -14,6 +14,7 @@ import com.j256.ormlite.stmt.StatementBuilder;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.FetchSizeCapableStatement;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -26,16 +27,24 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 
 	private final ArgumentHolder[] argHolders;
 	private final Long limit;
+	private final Integer fetchSize;
 	private final StatementType type;
 	private final boolean cacheStore;
 
 	public MappedPreparedStmt(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
 			FieldType[] resultFieldTypes, ArgumentHolder[] argHolders, Long limit, StatementType type,
 			boolean cacheStore) {
+		this(tableInfo, statement, argFieldTypes, resultFieldTypes, argHolders, limit, null, type, cacheStore);
+	}
+
+	public MappedPreparedStmt(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
+			FieldType[] resultFieldTypes, ArgumentHolder[] argHolders, Long limit, Integer fetchSize,
+			StatementType type, boolean cacheStore) {
 		super(tableInfo, statement, argFieldTypes, resultFieldTypes);
 		this.argHolders = argHolders;
 		// this is an Integer because it may be null
 		this.limit = limit;
+		this.fetchSize = fetchSize;
 		this.type = type;
 		this.cacheStore = cacheStore;
 	}
@@ -92,6 +101,9 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 				// we use this if SQL statement LIMITs are not supported by this database type
 				stmt.setMaxRows(limit.intValue());
 			}
+			if (fetchSize != null && stmt instanceof FetchSizeCapableStatement) {
+				((FetchSizeCapableStatement) stmt).setFetchSize(fetchSize);
+			}
 			// set any arguments if we are logging our object
 			Object[] argValues = null;
 			if (logger.isLevelEnabled(Level.TRACE) && argHolders.length > 0) {
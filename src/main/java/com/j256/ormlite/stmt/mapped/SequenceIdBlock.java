@@ -0,0 +1,75 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Hands out blocks of ids for a sequence using the hi/lo strategy so the sequence only has to be queried once per
+ * block. Sequence value N reserves the ids from (N - 1) * blockSize + 1 to N * blockSize. The ids in the current block
+ * are taken from an {@link AtomicLong} without locking. Only the thread which finds the block used up queries for the
+ * next sequence value while any others wait for it. That waiting is done with a lock and not synchronized so virtual
+ * threads are not pinned during the query.
+ * 
+ * @author graywatson
+ */
+public class SequenceIdBlock {
+
+	private final String queryNextSequenceStmt;
+	private final int blockSize;
+	private final ReentrantLock refillLock = new ReentrantLock();
+	private volatile Block block;
+
+	public SequenceIdBlock(String queryNextSequenceStmt, int blockSize) {
+		this.queryNextSequenceStmt = queryNextSequenceStmt;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Return the next id, querying the sequence with the connection if the current block is used up.
+	 */
+	public long nextId(DatabaseConnection databaseConnection) throws SQLException {
+		while (true) {
+			Block current = block;
+			if (current != null) {
+				long id = current.nextId.getAndIncrement();
+				if (id <= current.lastId) {
+					return id;
+				}
+			}
+			refillLock.lock();
+			try {
+				// another thread may have already replaced the block while we waited
+				if (block == current) {
+					long seqVal = databaseConnection.queryForLong(queryNextSequenceStmt);
+					if (seqVal <= 0) {
+						// sanity check that it is working
+						throw new SQLException("Should not have returned " + seqVal + " for stmt: "
+								+ queryNextSequenceStmt);
+					}
+					block = new Block((seqVal - 1) * blockSize + 1, seqVal * blockSize);
+				}
+			} finally {
+				refillLock.unlock();
+			}
+		}
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * Range of ids from one sequence value.
+	 */
+	private static class Block {
+		final AtomicLong nextId;
+		final long lastId;
+		public Block(long firstId, long lastId) {
+			this.nextId = new AtomicLong(firstId);
+			this.lastId = lastId;
+		}
+	}
+}
@@ -14,9 +14,12 @@ import com.j256.ormlite.stmt.SelectArg;
  * 
  * @author graywatson
  */
-abstract class BaseComparison implements Comparison {
+abstract class BaseComparison implements Comparison, FingerprintClause {
 
 	private static final String NUMBER_CHARACTERS = "0123456789.-+";
+	// markers in the fingerprint keys so they can't be confused with values
+	private static final Object ARGUMENT_KEY = new Object();
+	private static final Object COLUMN_ARG_KEY = new Object();
 	protected final String columnName;
 	protected final FieldType fieldType;
 	private final Object value;
@@ -38,17 +41,19 @@ abstract class BaseComparison implements Comparison {
 	@Override
 	public void appendSql(DatabaseType databaseType, String tableName, StringBuilder sb, List<ArgumentHolder> argList)
 			throws SQLException {
-		if (tableName != null) {
-			databaseType.appendEscapedEntityName(sb, tableName);
-			sb.append('.');
-		}
-		databaseType.appendEscapedEntityName(sb, columnName);
-		sb.append(' ');
+		appendColumnName(databaseType, tableName, sb);
 		appendOperation(sb);
 		// this needs to call appendValue (not appendArgOrValue) because it may be overridden
 		appendValue(databaseType, sb, argList);
 	}
 
+	@Override
+	public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(getClass());
+		key.add(columnName);
+		return appendValueFingerprint(key, argList);
+	}
+
 	@Override
 	public String getColumnName() {
 		return columnName;
@@ -60,6 +65,64 @@ abstract class BaseComparison implements Comparison {
 		appendArgOrValue(databaseType, fieldType, sb, argList, value);
 	}
 
+	/**
+	 * Add the operation and value of the comparison to the fingerprint key. The operation is determined by the class
+	 * unless this is overridden.
+	 */
+	protected boolean appendValueFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		return appendArgOrValueFingerprint(fieldType, key, argList, value);
+	}
+
+	/**
+	 * Add to the key what {@link #appendArgOrValue(DatabaseType, FieldType, StringBuilder, List, Object)} would append
+	 * to the SQL. Arguments are only marked in the key since their values are not part of the SQL.
+	 */
+	protected boolean appendArgOrValueFingerprint(FieldType fieldType, List<Object> key, List<ArgumentHolder> argList,
+			Object argOrValue) throws SQLException {
+		if (argOrValue == null) {
+			throw new SQLException("argument for '" + fieldType.getFieldName() + "' is null");
+		} else if (argOrValue instanceof ArgumentHolder) {
+			key.add(ARGUMENT_KEY);
+			ArgumentHolder argHolder = (ArgumentHolder) argOrValue;
+			argHolder.setMetaInfo(columnName, fieldType);
+			argList.add(argHolder);
+		} else if (argOrValue instanceof ColumnArg) {
+			ColumnArg columnArg = (ColumnArg) argOrValue;
+			key.add(COLUMN_ARG_KEY);
+			key.add(columnArg.getTableName());
+			key.add(columnArg.getColumnName());
+		} else if (fieldType.isArgumentHolderRequired()) {
+			key.add(ARGUMENT_KEY);
+			ArgumentHolder argHolder = new SelectArg();
+			argHolder.setMetaInfo(columnName, fieldType);
+			argHolder.setValue(argOrValue);
+			argList.add(argHolder);
+		} else if (fieldType.isForeign() && fieldType.getType().isAssignableFrom(argOrValue.getClass())) {
+			FieldType idFieldType = fieldType.getForeignIdField();
+			return appendArgOrValueFingerprint(idFieldType, key, argList,
+					idFieldType.extractJavaFieldValue(argOrValue));
+		} else if (argOrValue instanceof Number || argOrValue instanceof String || argOrValue instanceof Boolean
+				|| argOrValue instanceof Character || argOrValue instanceof Enum) {
+			// the value is written into the SQL so it is part of the key, these have an equals that matches the SQL
+			key.add(argOrValue);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Append the column-name, with the table-name if it isn't null, and a space to the string builder.
+	 */
+	protected void appendColumnName(DatabaseType databaseType, String tableName, StringBuilder sb) {
+		if (tableName != null) {
+			databaseType.appendEscapedEntityName(sb, tableName);
+			sb.append('.');
+		}
+		databaseType.appendEscapedEntityName(sb, columnName);
+		sb.append(' ');
+	}
+
 	/**
 	 * Append to the string builder either a {@link ArgumentHolder} argument or a value object.
 	 */
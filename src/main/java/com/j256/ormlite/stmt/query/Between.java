@@ -42,4 +42,14 @@ public class Between extends BaseComparison {
 		sb.append("AND ");
 		appendArgOrValue(databaseType, fieldType, sb, argList, high);
 	}
+
+	@Override
+	protected boolean appendValueFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		if (low == null || high == null) {
+			// building the SQL reports the problem
+			return false;
+		}
+		return (appendArgOrValueFingerprint(fieldType, key, argList, low)
+				&& appendArgOrValueFingerprint(fieldType, key, argList, high));
+	}
 }
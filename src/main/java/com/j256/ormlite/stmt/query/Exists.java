@@ -13,7 +13,7 @@ import com.j256.ormlite.stmt.Where;
  * 
  * @author graywatson
  */
-public class Exists implements Clause {
+public class Exists implements FingerprintClause {
 
 	private final InternalQueryBuilderWrapper subQueryBuilder;
 
@@ -28,4 +28,10 @@ public class Exists implements Clause {
 		subQueryBuilder.appendStatementString(sb, argList);
 		sb.append(") ");
 	}
+
+	@Override
+	public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(Exists.class);
+		return subQueryBuilder.appendFingerprint(key, argList);
+	}
 }
@@ -0,0 +1,26 @@
+package com.j256.ormlite.stmt.query;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.stmt.ArgumentHolder;
+import com.j256.ormlite.stmt.CompiledQueryCache;
+
+/**
+ * Internal interface for clauses whose SQL can be described by a key so it can be stored in the
+ * {@link CompiledQueryCache}. Clauses that don't implement this are not cached.
+ * 
+ * @author graywatson
+ */
+public interface FingerprintClause extends Clause {
+
+	/**
+	 * Add to the key the parts of this clause that determine its SQL and add its arguments to the list in the same
+	 * order as {@link #appendSql(DatabaseType, String, StringBuilder, List)}. Two clauses that add equal keys must
+	 * generate the same SQL.
+	 * 
+	 * @return False if the clause can't be described by a key in which case its SQL has to be built.
+	 */
+	public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException;
+}
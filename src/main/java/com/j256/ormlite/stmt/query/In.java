@@ -1,28 +1,47 @@
 package com.j256.ormlite.stmt.query;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.stmt.ArgumentHolder;
+import com.j256.ormlite.stmt.ColumnArg;
+import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.stmt.Where;
 
 /**
- * Internal class handling the SQL 'in' query part. Used by {@link Where#in}.
+ * Internal class handling the SQL 'in' query part. Used by {@link Where#in} and {@link Where#inBucketed}.
+ * 
+ * <p>
+ * If bucketed, all of the values are passed as arguments and the list is padded up to the next power of two by
+ * repeating the last argument so that lists of different sizes generate only a few different statements. Lists with
+ * more than {@link #MAX_BUCKET_SIZE} values are split into chunks which are OR-ed together, or AND-ed for NOT IN.
+ * </p>
  * 
  * @author graywatson
  */
 public class In extends BaseComparison {
 
+	/** maximum number of arguments in one bucketed IN list, some databases limit the number of values */
+	public static final int MAX_BUCKET_SIZE = 512;
+
 	private Iterable<?> objects;
 	private final boolean in;
+	private final boolean bucketed;
 
 	public In(String columnName, FieldType fieldType, Iterable<?> objects, boolean in) throws SQLException {
+		this(columnName, fieldType, objects, in, false);
+	}
+
+	public In(String columnName, FieldType fieldType, Iterable<?> objects, boolean in, boolean bucketed)
+			throws SQLException {
 		super(columnName, fieldType, null, true);
 		this.objects = objects;
 		this.in = in;
+		this.bucketed = bucketed;
 	}
 
 	public In(String columnName, FieldType fieldType, Object[] objects, boolean in) throws SQLException {
@@ -30,6 +49,7 @@ public class In extends BaseComparison {
 		// grrrr, Object[] should be Iterable
 		this.objects = Arrays.asList(objects);
 		this.in = in;
+		this.bucketed = false;
 	}
 
 	@Override
@@ -41,9 +61,35 @@ public class In extends BaseComparison {
 		}
 	}
 
+	@Override
+	public void appendSql(DatabaseType databaseType, String tableName, StringBuilder sb, List<ArgumentHolder> argList)
+			throws SQLException {
+		List<ArgumentHolder> args = makeBucketArgs();
+		if (args == null || args.size() <= MAX_BUCKET_SIZE) {
+			super.appendSql(databaseType, tableName, sb, argList);
+			return;
+		}
+		// this generates: (column IN (?,...) OR column IN (?,...) )
+		sb.append('(');
+		for (int start = 0; start < args.size(); start += MAX_BUCKET_SIZE) {
+			if (start > 0) {
+				sb.append(in ? "OR " : "AND ");
+			}
+			appendColumnName(databaseType, tableName, sb);
+			appendOperation(sb);
+			appendBucket(sb, argList, args.subList(start, Math.min(start + MAX_BUCKET_SIZE, args.size())));
+		}
+		sb.append(") ");
+	}
+
 	@Override
 	public void appendValue(DatabaseType databaseType, StringBuilder sb, List<ArgumentHolder> columnArgList)
 			throws SQLException {
+		List<ArgumentHolder> args = makeBucketArgs();
+		if (args != null) {
+			appendBucket(sb, columnArgList, args);
+			return;
+		}
 		sb.append('(');
 		boolean first = true;
 		for (Object value : objects) {
@@ -60,4 +106,111 @@ public class In extends BaseComparison {
 		}
 		sb.append(") ");
 	}
+
+	@Override
+	protected boolean appendValueFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(in);
+		key.add(bucketed);
+		List<ArgumentHolder> args = makeBucketArgs();
+		if (args != null) {
+			// only the sizes of the padded chunks are in the key so lists in the same bucket share the statement
+			key.add(args.size() / MAX_BUCKET_SIZE);
+			key.add(bucketSize(args.size() % MAX_BUCKET_SIZE));
+			for (int start = 0; start < args.size(); start += MAX_BUCKET_SIZE) {
+				addBucketArgs(argList, args.subList(start, Math.min(start + MAX_BUCKET_SIZE, args.size())));
+			}
+			return true;
+		}
+		int countIndex = key.size();
+		key.add(null);
+		int count = 0;
+		for (Object value : objects) {
+			if (value == null || !appendArgOrValueFingerprint(fieldType, key, argList, value)) {
+				return false;
+			}
+			count++;
+		}
+		// the number of values is needed so the key can't match a different list of values
+		key.set(countIndex, count);
+		return true;
+	}
+
+	/**
+	 * Return the values as arguments if the IN is bucketed or null if not. This also returns null if any of the values
+	 * can't be passed as an argument in which case the values are appended normally.
+	 */
+	private List<ArgumentHolder> makeBucketArgs() throws SQLException {
+		if (!bucketed) {
+			return null;
+		}
+		List<ArgumentHolder> args = new ArrayList<ArgumentHolder>();
+		for (Object value : objects) {
+			if (value == null) {
+				throw new IllegalArgumentException("one of the IN values for '" + columnName + "' is null");
+			}
+			ArgumentHolder arg = makeBucketArg(fieldType, value);
+			if (arg == null) {
+				return null;
+			}
+			args.add(arg);
+		}
+		return args;
+	}
+
+	private ArgumentHolder makeBucketArg(FieldType fieldType, Object value) throws SQLException {
+		ArgumentHolder argHolder;
+		if (value instanceof ArgumentHolder) {
+			argHolder = (ArgumentHolder) value;
+		} else if (value instanceof ColumnArg) {
+			return null;
+		} else if (fieldType.isForeign() && fieldType.getType().isAssignableFrom(value.getClass())) {
+			// same as appendArgOrValue, we pass the id of the foreign object
+			FieldType idFieldType = fieldType.getForeignIdField();
+			return makeBucketArg(idFieldType, idFieldType.extractJavaFieldValue(value));
+		} else {
+			// conversion is done when the getValue() is called
+			argHolder = new SelectArg();
+			argHolder.setValue(value);
+		}
+		argHolder.setMetaInfo(columnName, fieldType);
+		return argHolder;
+	}
+
+	/**
+	 * Append the arguments in parens, padded up to the bucket size.
+	 */
+	private void appendBucket(StringBuilder sb, List<ArgumentHolder> argList, List<ArgumentHolder> args) {
+		sb.append('(');
+		int size = bucketSize(args.size());
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+		sb.append(") ");
+		addBucketArgs(argList, args);
+	}
+
+	private void addBucketArgs(List<ArgumentHolder> argList, List<ArgumentHolder> args) {
+		argList.addAll(args);
+		// repeating the last value doesn't change which rows match
+		for (int i = args.size(); i < bucketSize(args.size()); i++) {
+			argList.add(args.get(args.size() - 1));
+		}
+	}
+
+	/**
+	 * Return the smallest power of two that can hold the number of values or 0 if none.
+	 */
+	private static int bucketSize(int size) {
+		if (size == 0) {
+			return 0;
+		}
+		int bucketSize = 1;
+		while (bucketSize < size) {
+			bucketSize <<= 1;
+		}
+		return bucketSize;
+	}
 }
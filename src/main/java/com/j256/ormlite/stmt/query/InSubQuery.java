@@ -52,4 +52,10 @@ public class InSubQuery extends BaseComparison {
 		}
 		sb.append(") ");
 	}
+
+	@Override
+	protected boolean appendValueFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(in);
+		return subQueryBuilder.appendFingerprint(key, argList);
+	}
 }
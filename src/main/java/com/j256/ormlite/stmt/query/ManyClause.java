@@ -11,7 +11,7 @@ import com.j256.ormlite.stmt.ArgumentHolder;
  * 
  * @author graywatson
  */
-public class ManyClause implements Clause, NeedsFutureClause {
+public class ManyClause implements NeedsFutureClause, FingerprintClause {
 
 	public static final String AND_OPERATION = "AND";
 	public static final String OR_OPERATION = "OR";
@@ -72,8 +72,41 @@ public class ManyClause implements Clause, NeedsFutureClause {
 		sb.append(") ");
 	}
 
+	@Override
+	public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(ManyClause.class);
+		key.add(operation);
+		int countIndex = key.size();
+		key.add(null);
+		int count = 1;
+		if (!appendFingerprint(first, key, argList)) {
+			return false;
+		}
+		if (second != null) {
+			if (!appendFingerprint(second, key, argList)) {
+				return false;
+			}
+			count++;
+		}
+		if (others != null) {
+			for (int i = startOthersAt; i < others.length; i++) {
+				if (!appendFingerprint(others[i], key, argList)) {
+					return false;
+				}
+				count++;
+			}
+		}
+		key.set(countIndex, count);
+		return true;
+	}
+
 	@Override
 	public void setMissingClause(Clause right) {
 		second = right;
 	}
+
+	private static boolean appendFingerprint(Clause clause, List<Object> key, List<ArgumentHolder> argList)
+			throws SQLException {
+		return (clause instanceof FingerprintClause && ((FingerprintClause) clause).appendFingerprint(key, argList));
+	}
 }
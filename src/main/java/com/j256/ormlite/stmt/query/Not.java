@@ -12,7 +12,7 @@ import com.j256.ormlite.stmt.Where;
  * 
  * @author graywatson
  */
-public class Not implements Clause, NeedsFutureClause {
+public class Not implements NeedsFutureClause, FingerprintClause {
 
 	private Comparison comparison = null;
 	private Exists exists = null;
@@ -58,18 +58,25 @@ public class Not implements Clause, NeedsFutureClause {
 			exists.appendSql(databaseType, tableName, sb, selectArgList);
 		} else {
 			sb.append("(NOT ");
-			if (tableName != null) {
-				databaseType.appendEscapedEntityName(sb, tableName);
-				sb.append('.');
-			}
-			databaseType.appendEscapedEntityName(sb, comparison.getColumnName());
-			sb.append(' ');
-			comparison.appendOperation(sb);
-			comparison.appendValue(databaseType, sb, selectArgList);
+			// the comparison may write more than one column test, such as a chunked IN, which it wraps in parens
+			comparison.appendSql(databaseType, tableName, sb, selectArgList);
 		}
 		sb.append(") ");
 	}
 
+	@Override
+	public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) throws SQLException {
+		key.add(Not.class);
+		if (comparison instanceof FingerprintClause) {
+			return ((FingerprintClause) comparison).appendFingerprint(key, argList);
+		} else if (comparison == null && exists != null) {
+			return exists.appendFingerprint(key, argList);
+		} else {
+			// not cacheable or not set, building the SQL reports the problem
+			return false;
+		}
+	}
+
 	@Override
 	public String toString() {
 		if (comparison == null) {
@@ -10,7 +10,7 @@ import com.j256.ormlite.stmt.ArgumentHolder;
  * 
  * @author graywatson
  */
-public class Raw implements Clause {
+public class Raw implements FingerprintClause {
 
 	private final String statement;
 	private final ArgumentHolder[] args;
@@ -28,4 +28,15 @@ public class Raw implements Clause {
 			argList.add(arg);
 		}
 	}
+
+	@Override
+	public boolean appendFingerprint(List<Object> key, List<ArgumentHolder> argList) {
+		key.add(Raw.class);
+		key.add(statement);
+		key.add(args.length);
+		for (ArgumentHolder arg : args) {
+			argList.add(arg);
+		}
+		return true;
+	}
 }
@@ -35,4 +35,10 @@ public class SetExpression extends BaseComparison {
 		// we know it is a string so just append it
 		sb.append(argOrValue).append(' ');
 	}
+
+	@Override
+	protected boolean appendValueFingerprint(List<Object> key, List<ArgumentHolder> argList) {
+		// only used by the update-builder which does not cache its statements
+		return false;
+	}
 }
@@ -1,21 +1,68 @@
 package com.j256.ormlite.support;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
 
 /**
  * Connection source base class which provides the save/clear mechanism using a thread local.
  * 
+ * <p>
+ * If the system property ("com.j256.ormlite.support.threadMapBinding") contained in
+ * {@link #THREAD_MAP_BINDING_SYSTEM_PROPERTY} is set to "true" then the saved connections are instead bound to their
+ * threads in a map so applications which run very large numbers of short-lived (or virtual) threads do not leave saved
+ * connection state in each thread. The entry is removed as soon as the connection is cleared. The map is concurrent so
+ * looking up the saved connection does not take a lock. Threads that died without clearing their connection are
+ * found every so often, or when {@link #removeDeadThreadConnections()} is called, and their connections are rolled
+ * back if needed and released.
+ * </p>
+ * 
+ * <p>
+ * The saved connection also tracks the transactions that are running on it so that a transaction which is started
+ * inside of another one can join it instead of setting a save-point, and so the auto-commit state does not have to be
+ * asked of the database each time. See the {@link #startTransaction(DatabaseConnection)} method.
+ * </p>
+ * 
  * @author graywatson
  */
 public abstract class BaseConnectionSource implements ConnectionSource {
 
-	private ThreadLocal<NestedConnection> specialConnection = new ThreadLocal<NestedConnection>();
+	public static final String THREAD_MAP_BINDING_SYSTEM_PROPERTY = "com.j256.ormlite.support.threadMapBinding";
+	// number of saves between the checks for dead threads in the thread map
+	private static final int DEAD_THREAD_CHECK_INTERVAL = 1024;
+
+	private static final Logger logger = LoggerFactory.getLogger(BaseConnectionSource.class);
+
+	private final ThreadLocal<NestedConnection> specialConnection;
+	private final Map<Thread, NestedConnection> threadConnectionMap;
+	private final AtomicInteger savesSinceDeadThreadCheck = new AtomicInteger();
+
+	protected BaseConnectionSource() {
+		this(Boolean.getBoolean(THREAD_MAP_BINDING_SYSTEM_PROPERTY));
+	}
+
+	/**
+	 * @param threadMapBinding
+	 *            Set to true to bind the saved connections to their threads with a map instead of a
+	 *            {@link ThreadLocal}.
+	 */
+	protected BaseConnectionSource(boolean threadMapBinding) {
+		if (threadMapBinding) {
+			this.specialConnection = null;
+			this.threadConnectionMap = new ConcurrentHashMap<Thread, NestedConnection>();
+		} else {
+			this.specialConnection = new ThreadLocal<NestedConnection>();
+			this.threadConnectionMap = null;
+		}
+	}
 
 	@Override
 	public DatabaseConnection getSpecialConnection(String tableName) {
-		NestedConnection currentSaved = specialConnection.get();
+		NestedConnection currentSaved = getNestedConnection();
 		if (currentSaved == null) {
 			return null;
 		} else {
@@ -27,7 +74,7 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 	 * Returns the connection that has been saved or null if none.
 	 */
 	protected DatabaseConnection getSavedConnection() {
-		NestedConnection nested = specialConnection.get();
+		NestedConnection nested = getNestedConnection();
 		if (nested == null) {
 			return null;
 		} else {
@@ -39,7 +86,7 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 	 * Return true if the connection being released is the one that has been saved.
 	 */
 	protected boolean isSavedConnection(DatabaseConnection connection) {
-		NestedConnection currentSaved = specialConnection.get();
+		NestedConnection currentSaved = getNestedConnection();
 		if (currentSaved == null) {
 			return false;
 		} else if (currentSaved.connection == connection) {
@@ -57,9 +104,9 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 	 */
 	protected boolean saveSpecial(DatabaseConnection connection) throws SQLException {
 		// check for a connection already saved
-		NestedConnection currentSaved = specialConnection.get();
+		NestedConnection currentSaved = getNestedConnection();
 		if (currentSaved == null) {
-			specialConnection.set(new NestedConnection(connection));
+			setNestedConnection(new NestedConnection(connection));
 			return true;
 		} else {
 			if (currentSaved.connection != connection) {
@@ -78,7 +125,7 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 	 * @return True if the connection argument had been saved.
 	 */
 	protected boolean clearSpecial(DatabaseConnection connection, Logger logger) {
-		NestedConnection currentSaved = specialConnection.get();
+		NestedConnection currentSaved = getNestedConnection();
 		boolean cleared = false;
 		if (connection == null) {
 			// ignored
@@ -87,7 +134,7 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 		} else if (currentSaved.connection == connection) {
 			if (currentSaved.decrementAndGet() == 0) {
 				// we only clear the connection if nested counter is 0
-				specialConnection.set(null);
+				setNestedConnection(null);
 			}
 			cleared = true;
 		} else {
@@ -97,6 +144,108 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 		return cleared;
 	}
 
+	/**
+	 * Record that a transaction is starting on the connection which should be the saved one. This must be matched by a
+	 * call to {@link #endTransaction(DatabaseConnection)}.
+	 * 
+	 * @return The number of transactions that were already running on the connection or -1 if it is not the saved
+	 *         connection in which case nothing is tracked.
+	 */
+	public int startTransaction(DatabaseConnection connection) {
+		NestedConnection currentSaved = getNestedConnection();
+		if (currentSaved == null || currentSaved.connection != connection) {
+			return -1;
+		}
+		return currentSaved.transactionDepth++;
+	}
+
+	/**
+	 * Record that a transaction that was started with {@link #startTransaction(DatabaseConnection)} has finished.
+	 */
+	public void endTransaction(DatabaseConnection connection) {
+		NestedConnection currentSaved = getNestedConnection();
+		if (currentSaved != null && currentSaved.connection == connection && currentSaved.transactionDepth > 0) {
+			currentSaved.transactionDepth--;
+			if (currentSaved.transactionDepth == 0) {
+				currentSaved.rollbackOnly = false;
+			}
+		}
+	}
+
+	/**
+	 * Mark the outer transaction on the saved connection so that it is rolled back instead of committed. This is used
+	 * when a transaction that joined it fails.
+	 */
+	public void setRollbackOnly(DatabaseConnection connection) {
+		NestedConnection currentSaved = getNestedConnection();
+		if (currentSaved != null && currentSaved.connection == connection) {
+			currentSaved.rollbackOnly = true;
+		}
+	}
+
+	/**
+	 * Return true if a transaction that joined the outer transaction on the saved connection failed.
+	 */
+	public boolean isRollbackOnly(DatabaseConnection connection) {
+		NestedConnection currentSaved = getNestedConnection();
+		return (currentSaved != null && currentSaved.connection == connection && currentSaved.rollbackOnly);
+	}
+
+	/**
+	 * Return the auto-commit state of the connection. If it is the saved connection then the state is remembered so
+	 * the database is only asked once while the connection is saved.
+	 */
+	public boolean isAutoCommit(DatabaseConnection connection) throws SQLException {
+		NestedConnection currentSaved = getNestedConnection();
+		if (currentSaved == null || currentSaved.connection != connection) {
+			return connection.isAutoCommit();
+		}
+		if (currentSaved.autoCommit == null) {
+			currentSaved.autoCommit = connection.isAutoCommit();
+		}
+		return currentSaved.autoCommit;
+	}
+
+	/**
+	 * Set the auto-commit state of the connection. If it is the saved connection and its state is already known to be
+	 * the same then this does nothing.
+	 */
+	public void setAutoCommit(DatabaseConnection connection, boolean autoCommit) throws SQLException {
+		NestedConnection currentSaved = getNestedConnection();
+		if (currentSaved == null || currentSaved.connection != connection) {
+			connection.setAutoCommit(autoCommit);
+		} else if (currentSaved.autoCommit == null || currentSaved.autoCommit != autoCommit) {
+			connection.setAutoCommit(autoCommit);
+			currentSaved.autoCommit = autoCommit;
+		}
+	}
+
+	/**
+	 * Remove and release the saved connections of threads that have died without clearing them. A transaction that
+	 * was left running on one of the connections is rolled back first. This is done automatically every so often when
+	 * the connections are bound with a thread map and does nothing if they are bound with a {@link ThreadLocal}.
+	 * 
+	 * @return The number of saved connections that were removed.
+	 */
+	public int removeDeadThreadConnections() {
+		if (threadConnectionMap == null) {
+			return 0;
+		}
+		savesSinceDeadThreadCheck.set(0);
+		int count = 0;
+		for (Map.Entry<Thread, NestedConnection> entry : threadConnectionMap.entrySet()) {
+			Thread thread = entry.getKey();
+			NestedConnection nested = entry.getValue();
+			// remove with the value so only one caller releases the connection
+			if (!thread.isAlive() && threadConnectionMap.remove(thread, nested)) {
+				logger.warn("thread {} died without clearing its saved connection {}", thread, nested.connection);
+				releaseOrphanedConnection(nested);
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Return true if the two connections seem to one one connection under the covers.
 	 */
@@ -120,9 +269,59 @@ public abstract class BaseConnectionSource implements ConnectionSource {
 		}
 	}
 
+	private NestedConnection getNestedConnection() {
+		if (threadConnectionMap == null) {
+			return specialConnection.get();
+		}
+		return threadConnectionMap.get(Thread.currentThread());
+	}
+
+	private void setNestedConnection(NestedConnection nested) {
+		if (threadConnectionMap == null) {
+			if (nested == null) {
+				// remove instead of setting to null so the thread does not hold onto the entry
+				specialConnection.remove();
+			} else {
+				specialConnection.set(nested);
+			}
+			return;
+		}
+		if (nested == null) {
+			threadConnectionMap.remove(Thread.currentThread());
+		} else {
+			threadConnectionMap.put(Thread.currentThread(), nested);
+			if (savesSinceDeadThreadCheck.incrementAndGet() >= DEAD_THREAD_CHECK_INTERVAL) {
+				removeDeadThreadConnections();
+			}
+		}
+	}
+
+	private void releaseOrphanedConnection(NestedConnection nested) {
+		DatabaseConnection connection = nested.connection;
+		if (nested.transactionDepth > 0 || Boolean.FALSE.equals(nested.autoCommit)) {
+			// don't let the work of the dead thread be committed by the next user of the connection
+			try {
+				connection.rollback(null);
+				connection.setAutoCommit(true);
+			} catch (SQLException e) {
+				logger.warn(e, "could not roll back the saved connection {} of a dead thread", connection);
+			}
+		}
+		try {
+			releaseConnection(connection);
+		} catch (SQLException e) {
+			logger.warn(e, "could not release the saved connection {} of a dead thread", connection);
+		}
+	}
+
 	private static class NestedConnection {
 		public final DatabaseConnection connection;
 		private int nestedC;
+		// number of transactions running on the connection
+		int transactionDepth;
+		boolean rollbackOnly;
+		// null if the auto-commit state has not been asked for or set
+		Boolean autoCommit;
 
 		public NestedConnection(DatabaseConnection connection) {
 			this.connection = connection;
@@ -20,7 +20,7 @@ import com.j256.ormlite.stmt.StatementBuilder.StatementType;
  * 
  * @author graywatson
  */
-public class DatabaseConnectionProxy implements DatabaseConnection {
+public class DatabaseConnectionProxy implements ReadOnlyCapableConnection {
 
 	private final DatabaseConnection proxy;
 
@@ -53,6 +53,31 @@ public class DatabaseConnectionProxy implements DatabaseConnection {
 		}
 	}
 
+	@Override
+	public boolean isReadOnlySupported() throws SQLException {
+		if (proxy instanceof ReadOnlyCapableConnection) {
+			return ((ReadOnlyCapableConnection) proxy).isReadOnlySupported();
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean isReadOnly() throws SQLException {
+		if (proxy instanceof ReadOnlyCapableConnection) {
+			return ((ReadOnlyCapableConnection) proxy).isReadOnly();
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public void setReadOnly(boolean readOnly) throws SQLException {
+		if (proxy instanceof ReadOnlyCapableConnection) {
+			((ReadOnlyCapableConnection) proxy).setReadOnly(readOnly);
+		}
+	}
+
 	@Override
 	public Savepoint setSavePoint(String name) throws SQLException {
 		if (proxy == null) {
@@ -0,0 +1,19 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+
+/**
+ * Optional interface for a {@link CompiledStatement} which can be told how many rows to fetch at a time. This is kept
+ * out of {@link CompiledStatement} so existing implementations do not have to change. The fetch size is not set on
+ * statements which do not implement it.
+ * 
+ * @author graywatson
+ */
+public interface FetchSizeCapableStatement extends CompiledStatement {
+
+	/**
+	 * Set the number of rows that should be fetched from the database at a time when more rows are needed. This is a
+	 * hint which may be ignored by some database types.
+	 */
+	public void setFetchSize(int fetchSize) throws SQLException;
+}
@@ -0,0 +1,30 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+
+/**
+ * Optional interface for a {@link DatabaseConnection} which can be put into read-only mode. This is kept out of
+ * {@link DatabaseConnection} so existing implementations do not have to change. Connections which do not implement it
+ * are used by read-only transactions as they are.
+ * 
+ * @author graywatson
+ */
+public interface ReadOnlyCapableConnection extends DatabaseConnection {
+
+	/**
+	 * Return if the connection can be put into read-only mode.
+	 */
+	public boolean isReadOnlySupported() throws SQLException;
+
+	/**
+	 * Return if the connection is currently in read-only mode.
+	 */
+	public boolean isReadOnly() throws SQLException;
+
+	/**
+	 * Set the connection to be read-only (true) or not (false). This is a hint to the database that it can optimize
+	 * for reads, for example by not taking write locks or by sending the queries to a replica. It should not be called
+	 * in the middle of a transaction.
+	 */
+	public void setReadOnly(boolean readOnly) throws SQLException;
+}
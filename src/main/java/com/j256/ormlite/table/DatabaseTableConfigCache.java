@@ -0,0 +1,621 @@
+package com.j256.ormlite.table;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DataPersister;
+import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.ConnectionSource;
+
+/**
+ * Opt-in startup cache which stores the resolved {@link DatabaseTableConfig}s for a set of classes in a compact binary
+ * file. On later starts, if the fingerprint of the classes matches the one in the file, the configurations are loaded
+ * from the file and the annotation processing and {@link DataPersister} lookups are skipped. This is mostly of use on
+ * Android and other environments where start-up time matters.
+ * 
+ * <p>
+ * The fingerprint is built from the class names and, if available, the bytes of the class files. If the class files
+ * are not available as resources (on Android for example) then the field names, types, and annotations are used
+ * instead. The {@link DataType} persisters, the persisters registered with
+ * {@link DataPersisterManager#registerDataPersisters(DataPersister...)}, and the ORMLite version are also part of it.
+ * Any change in the fingerprint causes the configs to be rebuilt with reflection and the file to be rewritten.
+ * </p>
+ * 
+ * <p>
+ * When the file is loaded, the data classes are taken from the collection that is passed in so they come from the
+ * caller's class-loader. Persister and enum classes are loaded with the thread's context class-loader.
+ * </p>
+ * 
+ * <p>
+ * Typical usage is to call {@link #initialize(ConnectionSource, File, Collection)} at start-up before any DAOs are
+ * created. The configs are then registered with {@link DaoManager#addCachedDatabaseConfigs(Collection)}.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class DatabaseTableConfigCache {
+
+	private static final int FILE_MAGIC = 0x4f524d43;
+	private static final int FILE_VERSION = 4;
+
+	private static final byte PERSISTER_NONE = 0;
+	private static final byte PERSISTER_DATA_TYPE = 1;
+	private static final byte PERSISTER_SINGLETON_CLASS = 2;
+
+	// bits in the boolean flags of each field
+	private static final int FLAG_CAN_BE_NULL = 1 << 0;
+	private static final int FLAG_ID = 1 << 1;
+	private static final int FLAG_GENERATED_ID = 1 << 2;
+	private static final int FLAG_FOREIGN = 1 << 3;
+	private static final int FLAG_USE_GET_SET = 1 << 4;
+	private static final int FLAG_THROW_IF_NULL = 1 << 5;
+	private static final int FLAG_UNIQUE = 1 << 6;
+	private static final int FLAG_UNIQUE_COMBO = 1 << 7;
+	private static final int FLAG_INDEX = 1 << 8;
+	private static final int FLAG_UNIQUE_INDEX = 1 << 9;
+	private static final int FLAG_FOREIGN_AUTO_REFRESH = 1 << 10;
+	private static final int FLAG_ALLOW_GENERATED_ID_INSERT = 1 << 11;
+	private static final int FLAG_FOREIGN_AUTO_CREATE = 1 << 12;
+	private static final int FLAG_VERSION = 1 << 13;
+	private static final int FLAG_READ_ONLY = 1 << 14;
+	private static final int FLAG_FOREIGN_COLLECTION = 1 << 15;
+	private static final int FLAG_FOREIGN_COLLECTION_EAGER = 1 << 16;
+	private static final int FLAG_FOREIGN_COLLECTION_ORDER_ASCENDING = 1 << 17;
+
+	private static final Logger logger = LoggerFactory.getLogger(DatabaseTableConfigCache.class);
+
+	/**
+	 * For static calls only.
+	 */
+	private DatabaseTableConfigCache() {
+	}
+
+	/**
+	 * Load the configurations for the classes from the cache file if its fingerprint matches. Otherwise build them with
+	 * reflection and write the cache file. The configurations are then added to the {@link DaoManager} so they will be
+	 * used when the DAOs are created.
+	 * 
+	 * @return The list of configurations that were loaded or built.
+	 */
+	public static List<DatabaseTableConfig<?>> initialize(ConnectionSource connectionSource, File cacheFile,
+			Collection<Class<?>> classes) throws SQLException {
+		List<DatabaseTableConfig<?>> configs = loadOrBuild(connectionSource, cacheFile, classes);
+		DaoManager.addCachedDatabaseConfigs(configs);
+		return configs;
+	}
+
+	/**
+	 * Same as {@link #initialize(ConnectionSource, File, Collection)} but does not add the configurations to the
+	 * {@link DaoManager}.
+	 */
+	public static List<DatabaseTableConfig<?>> loadOrBuild(ConnectionSource connectionSource, File cacheFile,
+			Collection<Class<?>> classes) throws SQLException {
+		DatabaseType databaseType = connectionSource.getDatabaseType();
+		byte[] fingerprint = buildFingerprint(databaseType, classes);
+		if (cacheFile.exists()) {
+			DataInputStream input = null;
+			try {
+				input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+				List<DatabaseTableConfig<?>> configs = read(input, fingerprint, classes);
+				if (configs != null) {
+					logger.debug("loaded {} table configs from cache file {}", configs.size(), cacheFile);
+					return configs;
+				}
+				logger.info("cache file {} is out of date, rebuilding table configs", cacheFile);
+			} catch (Exception e) {
+				// any problems reading the file and we just rebuild it
+				logger.warn(e, "could not read table configs from cache file {}, rebuilding", cacheFile);
+			} finally {
+				IOUtils.closeQuietly(input);
+			}
+		}
+
+		List<DatabaseTableConfig<?>> configs = buildConfigs(connectionSource, classes);
+		writeFile(cacheFile, fingerprint, configs);
+		return configs;
+	}
+
+	/**
+	 * Build the configurations for the classes using reflection. The data persister for each field is resolved so it
+	 * does not have to be looked up again when the configuration is loaded.
+	 */
+	public static List<DatabaseTableConfig<?>> buildConfigs(ConnectionSource connectionSource,
+			Collection<Class<?>> classes) throws SQLException {
+		DatabaseType databaseType = connectionSource.getDatabaseType();
+		List<DatabaseTableConfig<?>> configs = new ArrayList<DatabaseTableConfig<?>>(classes.size());
+		for (Class<?> clazz : classes) {
+			configs.add(buildConfig(databaseType, clazz));
+		}
+		return configs;
+	}
+
+	/**
+	 * Write the fingerprint and configurations to the output stream.
+	 */
+	public static void write(DataOutputStream output, byte[] fingerprint, List<DatabaseTableConfig<?>> configs)
+			throws SQLException {
+		try {
+			output.writeInt(FILE_MAGIC);
+			output.writeShort(FILE_VERSION);
+			output.writeShort(fingerprint.length);
+			output.write(fingerprint);
+			output.writeInt(configs.size());
+			for (DatabaseTableConfig<?> config : configs) {
+				writeTableConfig(output, config);
+			}
+			output.flush();
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not write table configs to cache", e);
+		}
+	}
+
+	/**
+	 * Read the configurations from the input stream.
+	 * 
+	 * @param classes
+	 *            The data classes that the configurations were built for. The class names in the stream are mapped back
+	 *            to these.
+	 * @return The configurations or null if the fingerprint in the stream does not match the expected one.
+	 */
+	public static List<DatabaseTableConfig<?>> read(DataInputStream input, byte[] expectedFingerprint,
+			Collection<Class<?>> classes) throws SQLException {
+		try {
+			if (input.readInt() != FILE_MAGIC) {
+				throw new SQLException("Table config cache has an invalid header");
+			}
+			if (input.readShort() != FILE_VERSION) {
+				return null;
+			}
+			byte[] fingerprint = new byte[input.readUnsignedShort()];
+			input.readFully(fingerprint);
+			if (!Arrays.equals(fingerprint, expectedFingerprint)) {
+				return null;
+			}
+			Map<String, Class<?>> classMap = new HashMap<String, Class<?>>();
+			for (Class<?> clazz : classes) {
+				classMap.put(clazz.getName(), clazz);
+			}
+			int numConfigs = input.readInt();
+			List<DatabaseTableConfig<?>> configs = new ArrayList<DatabaseTableConfig<?>>(numConfigs);
+			for (int i = 0; i < numConfigs; i++) {
+				configs.add(readTableConfig(input, classMap));
+			}
+			return configs;
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not read table configs from cache", e);
+		}
+	}
+
+	/**
+	 * Build the fingerprint for the classes with the particular database type.
+	 */
+	public static byte[] buildFingerprint(DatabaseType databaseType, Collection<Class<?>> classes) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 digest should always be available", e);
+		}
+		updateDigest(digest, Integer.toString(FILE_VERSION));
+		Package ormlitePackage = DataType.class.getPackage();
+		if (ormlitePackage != null && ormlitePackage.getImplementationVersion() != null) {
+			updateDigest(digest, ormlitePackage.getImplementationVersion());
+		}
+		// the persisters are stored by data-type name so a change to the data-types invalidates the file
+		for (DataType dataType : DataType.values()) {
+			updateDigest(digest, dataType.name());
+			DataPersister persister = dataType.getDataPersister();
+			updateDigest(digest, (persister == null ? "null" : persister.getClass().getName()));
+		}
+		for (DataPersister persister : DataPersisterManager.getRegisteredPersisters()) {
+			updateDigest(digest, persister.getClass().getName());
+		}
+		updateDigest(digest, databaseType.getClass().getName());
+		for (Class<?> clazz : classes) {
+			updateDigest(digest, clazz.getName());
+			if (!digestClassFile(digest, clazz)) {
+				for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+					for (Field field : classWalk.getDeclaredFields()) {
+						updateDigest(digest, field.getName());
+						updateDigest(digest, field.getGenericType().toString());
+						updateDigest(digest, Arrays.toString(field.getDeclaredAnnotations()));
+					}
+				}
+			}
+		}
+		return digest.digest();
+	}
+
+	private static <T> DatabaseTableConfig<T> buildConfig(DatabaseType databaseType, Class<T> clazz)
+			throws SQLException {
+		String tableName = DatabaseTableConfig.extractTableName(clazz);
+		if (databaseType.isEntityNamesMustBeUpCase()) {
+			tableName = databaseType.upCaseEntityName(tableName);
+		}
+		List<DatabaseFieldConfig> fieldConfigs = new ArrayList<DatabaseFieldConfig>();
+		for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+			for (Field field : classWalk.getDeclaredFields()) {
+				DatabaseFieldConfig fieldConfig = DatabaseFieldConfig.fromField(databaseType, tableName, field);
+				if (fieldConfig == null) {
+					continue;
+				}
+				// the config needs the real field name to find the field again
+				fieldConfig.setFieldName(field.getName());
+				// compressed fields get their persister from the field type so it must not look explicitly set
+				if (fieldConfig.getDataPersister() == null
+						&& fieldConfig.getPersisterClass() == DatabaseFieldConfig.DEFAULT_PERSISTER_CLASS
+						&& fieldConfig.getCompressThreshold() == DatabaseField.NO_COMPRESS_THRESHOLD) {
+					// this may be null for foreign fields and collections
+					fieldConfig.setDataPersister(DataPersisterManager.lookupForField(field));
+				}
+				fieldConfigs.add(fieldConfig);
+			}
+		}
+		if (fieldConfigs.isEmpty()) {
+			throw new IllegalArgumentException("No fields have a DatabaseField annotation in " + clazz);
+		}
+		return new DatabaseTableConfig<T>(clazz, tableName, fieldConfigs);
+	}
+
+	private static void writeFile(File cacheFile, byte[] fingerprint, List<DatabaseTableConfig<?>> configs)
+			throws SQLException {
+		// write to a temporary file first so a partial write does not leave a broken cache around
+		File tempFile = new File(cacheFile.getPath() + ".tmp");
+		DataOutputStream output = null;
+		try {
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			write(output, fingerprint, configs);
+		} catch (IOException e) {
+			throw SqlExceptionUtil.create("Could not write table config cache file " + cacheFile, e);
+		} finally {
+			IOUtils.closeQuietly(output);
+		}
+		// on POSIX systems the rename replaces the old file atomically so readers see the old or the new file
+		if (!tempFile.renameTo(cacheFile)) {
+			// some platforms (Windows) won't rename over an existing file
+			if (cacheFile.exists() && !cacheFile.delete()) {
+				logger.warn("could not delete old table config cache file {}", cacheFile);
+			}
+			if (!tempFile.renameTo(cacheFile)) {
+				tempFile.delete();
+				throw new SQLException("Could not rename " + tempFile + " to table config cache file " + cacheFile);
+			}
+		}
+		logger.debug("wrote {} table configs to cache file {}", configs.size(), cacheFile);
+	}
+
+	private static void writeTableConfig(DataOutputStream output, DatabaseTableConfig<?> config)
+			throws IOException {
+		output.writeUTF(config.getDataClass().getName());
+		output.writeUTF(config.getTableName());
+		List<DatabaseFieldConfig> fieldConfigs = config.getFieldConfigs();
+		if (fieldConfigs == null) {
+			throw new IllegalArgumentException("Table config for " + config.getDataClass()
+					+ " has no field configs and cannot be cached");
+		}
+		output.writeShort(fieldConfigs.size());
+		for (DatabaseFieldConfig fieldConfig : fieldConfigs) {
+			writeFieldConfig(output, fieldConfig, config.getTableName());
+		}
+	}
+
+	private static DatabaseTableConfig<?> readTableConfig(DataInputStream input, Map<String, Class<?>> classMap)
+			throws IOException {
+		String className = input.readUTF();
+		Class<?> dataClass = classMap.get(className);
+		if (dataClass == null) {
+			throw new IOException("Unknown class in table config cache: " + className);
+		}
+		String tableName = input.readUTF();
+		int numFields = input.readUnsignedShort();
+		List<DatabaseFieldConfig> fieldConfigs = new ArrayList<DatabaseFieldConfig>(numFields);
+		for (int i = 0; i < numFields; i++) {
+			fieldConfigs.add(readFieldConfig(input, dataClass));
+		}
+		return createTableConfig(dataClass, tableName, fieldConfigs);
+	}
+
+	private static <T> DatabaseTableConfig<T> createTableConfig(Class<T> dataClass, String tableName,
+			List<DatabaseFieldConfig> fieldConfigs) {
+		return new DatabaseTableConfig<T>(dataClass, tableName, fieldConfigs);
+	}
+
+	private static void writeFieldConfig(DataOutputStream output, DatabaseFieldConfig config, String tableName)
+			throws IOException {
+		output.writeUTF(config.getFieldName());
+		int flags = 0;
+		flags |= (config.isCanBeNull() ? FLAG_CAN_BE_NULL : 0);
+		flags |= (config.isId() ? FLAG_ID : 0);
+		flags |= (config.isGeneratedId() ? FLAG_GENERATED_ID : 0);
+		flags |= (config.isForeign() ? FLAG_FOREIGN : 0);
+		flags |= (config.isUseGetSet() ? FLAG_USE_GET_SET : 0);
+		flags |= (config.isThrowIfNull() ? FLAG_THROW_IF_NULL : 0);
+		flags |= (config.isUnique() ? FLAG_UNIQUE : 0);
+		flags |= (config.isUniqueCombo() ? FLAG_UNIQUE_COMBO : 0);
+		flags |= (config.isIndex() ? FLAG_INDEX : 0);
+		flags |= (config.isUniqueIndex() ? FLAG_UNIQUE_INDEX : 0);
+		flags |= (config.isForeignAutoRefresh() ? FLAG_FOREIGN_AUTO_REFRESH : 0);
+		flags |= (config.isAllowGeneratedIdInsert() ? FLAG_ALLOW_GENERATED_ID_INSERT : 0);
+		flags |= (config.isForeignAutoCreate() ? FLAG_FOREIGN_AUTO_CREATE : 0);
+		flags |= (config.isVersion() ? FLAG_VERSION : 0);
+		flags |= (config.isReadOnly() ? FLAG_READ_ONLY : 0);
+		flags |= (config.isForeignCollection() ? FLAG_FOREIGN_COLLECTION : 0);
+		flags |= (config.isForeignCollectionEager() ? FLAG_FOREIGN_COLLECTION_EAGER : 0);
+		flags |= (config.isForeignCollectionOrderAscending() ? FLAG_FOREIGN_COLLECTION_ORDER_ASCENDING : 0);
+		output.writeInt(flags);
+		output.writeInt(config.getWidth());
+		output.writeInt(config.getMaxForeignAutoRefreshLevel());
+		output.writeInt(config.getForeignCollectionMaxEagerLevel());
+		output.writeInt(config.getCompressThreshold());
+		output.writeInt(config.getSequenceBlockSize());
+		writeNullableString(output, config.getColumnName());
+		writeNullableString(output, config.getDefaultValue());
+		writeNullableString(output, config.getGeneratedIdSequence());
+		writeNullableString(output, config.getFormat());
+		writeNullableString(output, config.getIndexName(tableName));
+		writeNullableString(output, config.getUniqueIndexName(tableName));
+		writeNullableString(output, config.getColumnDefinition());
+		writeNullableString(output, config.getForeignColumnName());
+		writeNullableString(output, config.getForeignCollectionColumnName());
+		writeNullableString(output, config.getForeignCollectionOrderColumnName());
+		writeNullableString(output, config.getForeignCollectionForeignFieldName());
+		Enum<?> unknownEnumValue = config.getUnknownEnumValue();
+		if (unknownEnumValue == null) {
+			writeNullableString(output, null);
+		} else {
+			// see DatabaseFieldConfigLoader about getDeclaringClass()
+			writeNullableString(output, unknownEnumValue.getDeclaringClass().getName());
+			output.writeUTF(unknownEnumValue.name());
+		}
+		if (config.getPersisterClass() == DatabaseFieldConfig.DEFAULT_PERSISTER_CLASS) {
+			writeNullableString(output, null);
+		} else {
+			writeNullableString(output, config.getPersisterClass().getName());
+		}
+		writeDataPersister(output, config.getDataPersister());
+	}
+
+	private static DatabaseFieldConfig readFieldConfig(DataInputStream input, Class<?> dataClass) throws IOException {
+		DatabaseFieldConfig config = new DatabaseFieldConfig(input.readUTF());
+		int flags = input.readInt();
+		config.setCanBeNull((flags & FLAG_CAN_BE_NULL) != 0);
+		config.setId((flags & FLAG_ID) != 0);
+		config.setGeneratedId((flags & FLAG_GENERATED_ID) != 0);
+		config.setForeign((flags & FLAG_FOREIGN) != 0);
+		config.setUseGetSet((flags & FLAG_USE_GET_SET) != 0);
+		config.setThrowIfNull((flags & FLAG_THROW_IF_NULL) != 0);
+		config.setUnique((flags & FLAG_UNIQUE) != 0);
+		config.setUniqueCombo((flags & FLAG_UNIQUE_COMBO) != 0);
+		config.setIndex((flags & FLAG_INDEX) != 0);
+		config.setUniqueIndex((flags & FLAG_UNIQUE_INDEX) != 0);
+		config.setForeignAutoRefresh((flags & FLAG_FOREIGN_AUTO_REFRESH) != 0);
+		config.setAllowGeneratedIdInsert((flags & FLAG_ALLOW_GENERATED_ID_INSERT) != 0);
+		config.setForeignAutoCreate((flags & FLAG_FOREIGN_AUTO_CREATE) != 0);
+		config.setVersion((flags & FLAG_VERSION) != 0);
+		config.setReadOnly((flags & FLAG_READ_ONLY) != 0);
+		config.setForeignCollection((flags & FLAG_FOREIGN_COLLECTION) != 0);
+		config.setForeignCollectionEager((flags & FLAG_FOREIGN_COLLECTION_EAGER) != 0);
+		config.setForeignCollectionOrderAscending((flags & FLAG_FOREIGN_COLLECTION_ORDER_ASCENDING) != 0);
+		config.setWidth(input.readInt());
+		config.setMaxForeignAutoRefreshLevel(input.readInt());
+		config.setForeignCollectionMaxEagerLevel(input.readInt());
+		config.setCompressThreshold(input.readInt());
+		config.setSequenceBlockSize(input.readInt());
+		config.setColumnName(readNullableString(input));
+		config.setDefaultValue(readNullableString(input));
+		config.setGeneratedIdSequence(readNullableString(input));
+		config.setFormat(readNullableString(input));
+		config.setIndexName(readNullableString(input));
+		config.setUniqueIndexName(readNullableString(input));
+		config.setColumnDefinition(readNullableString(input));
+		config.setForeignColumnName(readNullableString(input));
+		config.setForeignCollectionColumnName(readNullableString(input));
+		config.setForeignCollectionOrderColumnName(readNullableString(input));
+		config.setForeignCollectionForeignFieldName(readNullableString(input));
+		String enumClassName = readNullableString(input);
+		if (enumClassName != null) {
+			config.setUnknownEnumValue(findEnumValue(enumClassName, input.readUTF(), dataClass));
+		}
+		String persisterClassName = readNullableString(input);
+		if (persisterClassName != null) {
+			try {
+				@SuppressWarnings("unchecked")
+				Class<? extends DataPersister> clazz =
+						(Class<? extends DataPersister>) loadClass(persisterClassName, dataClass);
+				config.setPersisterClass(clazz);
+			} catch (ClassNotFoundException e) {
+				throw new IOException("Could not find persisterClass in table config cache: " + persisterClassName);
+			}
+		}
+		DataPersister dataPersister = readDataPersister(input, dataClass);
+		if (config.getCompressThreshold() == DatabaseField.NO_COMPRESS_THRESHOLD) {
+			config.setDataPersister(dataPersister);
+		}
+		return config;
+	}
+
+	private static void writeDataPersister(DataOutputStream output, DataPersister persister) throws IOException {
+		if (persister == null) {
+			output.writeByte(PERSISTER_NONE);
+			return;
+		}
+		for (DataType dataType : DataType.values()) {
+			if (dataType.getDataPersister() == persister) {
+				output.writeByte(PERSISTER_DATA_TYPE);
+				output.writeUTF(dataType.name());
+				return;
+			}
+		}
+		if (findSingletonMethod(persister.getClass()) != null) {
+			output.writeByte(PERSISTER_SINGLETON_CLASS);
+			output.writeUTF(persister.getClass().getName());
+		} else {
+			// we can't reconstruct it so it will be looked up again when the field type is built
+			output.writeByte(PERSISTER_NONE);
+		}
+	}
+
+	private static DataPersister readDataPersister(DataInputStream input, Class<?> dataClass) throws IOException {
+		byte type = input.readByte();
+		if (type == PERSISTER_NONE) {
+			return null;
+		} else if (type == PERSISTER_DATA_TYPE) {
+			String name = input.readUTF();
+			try {
+				return DataType.valueOf(name).getDataPersister();
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Unknown data-type in table config cache: " + name);
+			}
+		} else if (type == PERSISTER_SINGLETON_CLASS) {
+			String className = input.readUTF();
+			try {
+				Method method = findSingletonMethod(loadClass(className, dataClass));
+				if (method == null) {
+					throw new IOException("No getSingleton method in persister class " + className);
+				}
+				return (DataPersister) method.invoke(null);
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IOException("Could not get persister singleton from class " + className + ": " + e);
+			}
+		} else {
+			throw new IOException("Unknown persister type in table config cache: " + type);
+		}
+	}
+
+	private static Method findSingletonMethod(Class<?> persisterClass) {
+		try {
+			Method method = persisterClass.getDeclaredMethod("getSingleton");
+			if (Modifier.isStatic(method.getModifiers())
+					&& DataPersister.class.isAssignableFrom(method.getReturnType())) {
+				return method;
+			}
+		} catch (NoSuchMethodException e) {
+			// fall through
+		}
+		return null;
+	}
+
+	private static Enum<?> findEnumValue(String className, String name, Class<?> dataClass) throws IOException {
+		Class<?> enumClass;
+		try {
+			enumClass = loadClass(className, dataClass);
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Unknown enum class in table config cache: " + className);
+		}
+		Object[] consts = enumClass.getEnumConstants();
+		if (consts != null) {
+			for (Object enumConst : consts) {
+				Enum<?> enumVal = (Enum<?>) enumConst;
+				if (enumVal.name().equals(name)) {
+					return enumVal;
+				}
+			}
+		}
+		throw new IOException("Unknown enum value " + name + " for " + className + " in table config cache");
+	}
+
+	/**
+	 * Load a class used by a field of the data class with the thread's context class-loader and then with the
+	 * class-loader of the data class if it isn't found.
+	 */
+	private static Class<?> loadClass(String className, Class<?> dataClass) throws ClassNotFoundException {
+		ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+		if (contextLoader != null) {
+			try {
+				return Class.forName(className, false, contextLoader);
+			} catch (ClassNotFoundException e) {
+				// try the data class' loader next
+			}
+		}
+		return Class.forName(className, false, dataClass.getClassLoader());
+	}
+
+	private static void writeNullableString(DataOutputStream output, String str) throws IOException {
+		if (str == null) {
+			output.writeBoolean(false);
+		} else {
+			output.writeBoolean(true);
+			output.writeUTF(str);
+		}
+	}
+
+	private static String readNullableString(DataInputStream input) throws IOException {
+		if (input.readBoolean()) {
+			return input.readUTF();
+		} else {
+			return null;
+		}
+	}
+
+	private static void updateDigest(MessageDigest digest, String str) {
+		try {
+			digest.update(str.getBytes("UTF-8"));
+		} catch (IOException e) {
+			// UTF-8 should always be there
+			digest.update(str.getBytes());
+		}
+		// separator so "ab"+"c" does not match "a"+"bc"
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Add the bytes of the class file to the digest if it can be found.
+	 */
+	private static boolean digestClassFile(MessageDigest digest, Class<?> clazz) {
+		boolean found = false;
+		for (Class<?> classWalk = clazz; classWalk != null && classWalk != Object.class; classWalk =
+				classWalk.getSuperclass()) {
+			String resourceName = '/' + classWalk.getName().replace('.', '/') + ".class";
+			InputStream stream = classWalk.getResourceAsStream(resourceName);
+			if (stream == null) {
+				return false;
+			}
+			try {
+				byte[] buffer = new byte[4096];
+				while (true) {
+					int numRead = stream.read(buffer);
+					if (numRead < 0) {
+						break;
+					}
+					digest.update(buffer, 0, numRead);
+				}
+				found = true;
+			} catch (IOException e) {
+				return false;
+			} finally {
+				IOUtils.closeQuietly(stream);
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,274 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.WrappedConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+public class AsyncDaoTest extends BaseCoreTest {
+
+	@Test
+	public void testBasic() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		try {
+			Foo foo = new Foo();
+			foo.val = 12;
+			assertEquals(1, (int) asyncDao.create(foo).get());
+			Foo result = asyncDao.queryForId(foo.id).get();
+			assertNotNull(result);
+			assertEquals(foo.val, result.val);
+			assertEquals(1L, (long) asyncDao.countOf().get());
+
+			foo.val = 13;
+			assertEquals(1, (int) asyncDao.update(foo).get());
+			List<Foo> results = asyncDao.queryForEq(Foo.VAL_COLUMN_NAME, 13).get();
+			assertEquals(1, results.size());
+			assertEquals(1, asyncDao.query(dao.queryBuilder().prepare()).get().size());
+
+			assertEquals(1, (int) asyncDao.deleteById(foo.id).get());
+			assertNull(asyncDao.queryForId(foo.id).get());
+			assertSame(dao, asyncDao.getDao());
+		} finally {
+			assertTrue(asyncDao.closeAndWait(10000));
+		}
+	}
+
+	@Test
+	public void testCallback() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		try {
+			final CountDownLatch latch = new CountDownLatch(1);
+			final AtomicReference<Integer> resultRef = new AtomicReference<Integer>();
+			asyncDao.create(new Foo()).addCallback(new AsyncDao.Callback<Integer>() {
+				@Override
+				public void onSuccess(Integer result) {
+					resultRef.set(result);
+					latch.countDown();
+				}
+				@Override
+				public void onFailure(Throwable throwable) {
+					latch.countDown();
+				}
+			});
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertEquals(1, (int) resultRef.get());
+
+			// callback added after the future is done is called right away
+			AsyncDao.DaoFuture<Long> future = asyncDao.countOf();
+			future.get();
+			final AtomicReference<Long> countRef = new AtomicReference<Long>();
+			future.addCallback(new AsyncDao.Callback<Long>() {
+				@Override
+				public void onSuccess(Long result) {
+					countRef.set(result);
+				}
+				@Override
+				public void onFailure(Throwable throwable) {
+				}
+			});
+			assertEquals(1L, (long) countRef.get());
+		} finally {
+			asyncDao.close();
+		}
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		try {
+			final SQLException expected = new SQLException("expected");
+			AsyncDao.DaoFuture<Void> future = asyncDao.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws SQLException {
+					throw expected;
+				}
+			});
+			try {
+				future.get();
+				fail("Should have thrown");
+			} catch (ExecutionException e) {
+				assertSame(expected, e.getCause());
+			}
+			final AtomicReference<Throwable> throwableRef = new AtomicReference<Throwable>();
+			future.addCallback(new AsyncDao.Callback<Void>() {
+				@Override
+				public void onSuccess(Void result) {
+				}
+				@Override
+				public void onFailure(Throwable throwable) {
+					throwableRef.set(throwable);
+				}
+			});
+			assertSame(expected, throwableRef.get());
+		} finally {
+			asyncDao.close();
+		}
+	}
+
+	@Test
+	public void testBackpressure() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDaoExecutor executor = new AsyncDaoExecutor(1, 1);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao, executor);
+		final CountDownLatch blockLatch = new CountDownLatch(1);
+		final CountDownLatch startedLatch = new CountDownLatch(1);
+		try {
+			asyncDao.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws InterruptedException {
+					startedLatch.countDown();
+					blockLatch.await();
+					return null;
+				}
+			});
+			assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+			// fills the queue
+			asyncDao.countOf();
+			assertEquals(1, asyncDao.getQueuedCount());
+			try {
+				asyncDao.countOf();
+				fail("Should have thrown");
+			} catch (RejectedExecutionException e) {
+				// expected
+			}
+		} finally {
+			blockLatch.countDown();
+			assertTrue(asyncDao.closeAndWait(10000));
+			assertTrue(executor.closeAndWait(10000));
+		}
+	}
+
+	@Test
+	public void testSharedExecutor() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDao<Foo, Integer> asyncDao1 = new AsyncDao<Foo, Integer>(dao);
+		AsyncDao<Foo, Integer> asyncDao2 = new AsyncDao<Foo, Integer>(dao);
+		// one pool of threads per connection source no matter how many DAOs
+		assertSame(asyncDao1.getExecutor(), asyncDao2.getExecutor());
+		assertTrue(asyncDao1.closeAndWait(10000));
+		// closing one DAO leaves the shared executor running for the other
+		assertFalse(asyncDao2.getExecutor().isClosed());
+		assertEquals(0L, (long) asyncDao2.countOf().get());
+		asyncDao2.close();
+	}
+
+	@Test
+	public void testCloseAndWait() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		final CountDownLatch blockLatch = new CountDownLatch(1);
+		final CountDownLatch startedLatch = new CountDownLatch(1);
+		AsyncDao.DaoFuture<Void> future = asyncDao.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws InterruptedException {
+				startedLatch.countDown();
+				blockLatch.await();
+				return null;
+			}
+		});
+		assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+		assertFalse(asyncDao.closeAndWait(10));
+		blockLatch.countDown();
+		assertTrue(asyncDao.closeAndWait(10000));
+		assertTrue(future.isDone());
+	}
+
+	@Test
+	public void testCallInTransaction() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		try {
+			AsyncDao.DaoFuture<Void> future = asyncDao.callInTransaction(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					// run inline in the transaction thread since it has the saved connection
+					assertEquals(1, (int) asyncDao.create(new Foo()).get());
+					throw new SQLException("rollback");
+				}
+			});
+			try {
+				future.get();
+				fail("Should have thrown");
+			} catch (ExecutionException e) {
+				// expected
+			}
+			assertEquals(0L, (long) asyncDao.countOf().get());
+		} finally {
+			asyncDao.close();
+		}
+	}
+
+	@Test
+	public void testInlineWithSavedConnection() throws Exception {
+		SavedConnectionSource cs = new SavedConnectionSource(connectionSource);
+		Dao<Foo, Integer> dao = DaoManager.createDao(cs, Foo.class);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		try {
+			Callable<Thread> callable = new Callable<Thread>() {
+				@Override
+				public Thread call() {
+					return Thread.currentThread();
+				}
+			};
+			assertNotSame(Thread.currentThread(), asyncDao.submit(callable).get());
+			cs.saved = connectionSource.getReadWriteConnection(FOO_TABLE_NAME);
+			try {
+				AsyncDao.DaoFuture<Thread> future = asyncDao.submit(callable);
+				assertTrue(future.isDone());
+				assertSame(Thread.currentThread(), future.get());
+			} finally {
+				connectionSource.releaseConnection(cs.saved);
+			}
+		} finally {
+			asyncDao.close();
+		}
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void testClosed() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);
+		asyncDao.close();
+		asyncDao.countOf();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadThreads() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		new AsyncDao<Foo, Integer>(dao, new AsyncDaoExecutor(0, 10));
+	}
+
+	private static class SavedConnectionSource extends WrappedConnectionSource {
+		DatabaseConnection saved;
+		public SavedConnectionSource(ConnectionSource cs) {
+			super(cs);
+		}
+		@Override
+		public DatabaseConnection getSpecialConnection(String tableName) {
+			return saved;
+		}
+	}
+}
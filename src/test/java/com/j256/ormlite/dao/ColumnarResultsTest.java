@@ -0,0 +1,147 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+
+public class ColumnarResultsTest extends BaseCoreTest {
+
+	@Test
+	public void testColumns() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		int num = 200;
+		for (int i = 0; i < num; i++) {
+			Numbers numbers = new Numbers();
+			numbers.intField = i;
+			numbers.longField = Long.MAX_VALUE - i;
+			numbers.doubleField = i / 2.0;
+			numbers.stringField = "s" + (i % 3);
+			numbers.boolField = (i % 2 == 0);
+			assertEquals(1, dao.create(numbers));
+		}
+
+		ColumnarResults results = dao.queryRawColumnar(
+				"SELECT intfield, longfield, doublefield, stringfield, boolfield FROM numbers ORDER BY intfield",
+				new DataType[] { DataType.INTEGER, DataType.LONG, DataType.DOUBLE, DataType.STRING, DataType.BOOLEAN });
+		assertEquals(num, results.getNumRows());
+		assertEquals(5, results.getNumColumns());
+		assertEquals(1, results.findColumn("LONGFIELD"));
+		assertEquals(-1, results.findColumn("unknown"));
+
+		int[] ints = results.getInts(0);
+		long[] longs = results.getLongs(1);
+		double[] doubles = results.getDoubles(2);
+		int[] codes = results.getStringCodes(3);
+		int[] bools = results.getInts(4);
+		assertEquals(num, ints.length);
+		assertEquals(num, longs.length);
+		assertEquals(num, doubles.length);
+		assertEquals(num, codes.length);
+		assertArrayEquals(new String[] { "s0", "s1", "s2" }, results.getStringDictionary(3));
+		for (int i = 0; i < num; i++) {
+			assertEquals(i, ints[i]);
+			assertEquals(Long.MAX_VALUE - i, longs[i]);
+			assertEquals(i / 2.0, doubles[i], 0.0);
+			assertEquals(i % 3, codes[i]);
+			assertEquals("s" + (i % 3), results.getString(3, i));
+			assertEquals((i % 2 == 0 ? 1 : 0), bools[i]);
+			assertFalse(results.isNull(0, i));
+		}
+	}
+
+	@Test
+	public void testNulls() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		Numbers numbers = new Numbers();
+		numbers.intField = 1;
+		assertEquals(1, dao.create(numbers));
+
+		ColumnarResults results = dao.queryRawColumnar("SELECT intfield, longobj, stringfield FROM numbers",
+				new DataType[] { DataType.INTEGER_OBJ, DataType.LONG_OBJ, DataType.STRING });
+		assertEquals(1, results.getNumRows());
+		assertFalse(results.isNull(0, 0));
+		assertTrue(results.isNull(1, 0));
+		assertEquals(0, results.getLongs(1)[0]);
+		assertTrue(results.isNull(2, 0));
+		assertEquals(ColumnarResults.NULL_STRING_CODE, results.getStringCodes(2)[0]);
+		assertNull(results.getString(2, 0));
+		assertEquals(0, results.getStringDictionary(2).length);
+	}
+
+	@Test
+	public void testAggregate() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		for (int i = 0; i < 10; i++) {
+			Numbers numbers = new Numbers();
+			numbers.intField = i;
+			numbers.stringField = (i < 4 ? "a" : "b");
+			assertEquals(1, dao.create(numbers));
+		}
+		ColumnarResults results = dao.queryRawColumnar(
+				"SELECT stringfield, COUNT(*), SUM(intfield) FROM numbers WHERE intfield >= ? "
+						+ "GROUP BY stringfield ORDER BY stringfield",
+				new DataType[] { DataType.STRING, DataType.LONG, DataType.LONG }, "2");
+		assertEquals(2, results.getNumRows());
+		assertEquals("a", results.getString(0, 0));
+		assertArrayEquals(new long[] { 2, 6 }, results.getLongs(1));
+		assertArrayEquals(new long[] { 5, 39 }, results.getLongs(2));
+	}
+
+	@Test
+	public void testNoRows() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		ColumnarResults results =
+				dao.queryRawColumnar("SELECT intfield FROM numbers", new DataType[] { DataType.INTEGER });
+		assertEquals(0, results.getNumRows());
+		assertEquals(0, results.getInts(0).length);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongType() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		ColumnarResults results =
+				dao.queryRawColumnar("SELECT intfield FROM numbers", new DataType[] { DataType.INTEGER });
+		results.getLongs(0);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testUnsupportedType() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		dao.queryRawColumnar("SELECT intfield FROM numbers", new DataType[] { DataType.DATE });
+	}
+
+	@Test(expected = SQLException.class)
+	public void testWrongNumberOfTypes() throws Exception {
+		Dao<Numbers, Integer> dao = createDao(Numbers.class, true);
+		dao.queryRawColumnar("SELECT intfield, longfield FROM numbers", new DataType[] { DataType.INTEGER });
+	}
+
+	protected static class Numbers {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = "intfield")
+		int intField;
+		@DatabaseField(columnName = "longfield")
+		long longField;
+		@DatabaseField(columnName = "longobj")
+		Long longObj;
+		@DatabaseField(columnName = "doublefield")
+		double doubleField;
+		@DatabaseField(columnName = "stringfield")
+		String stringField;
+		@DatabaseField(columnName = "boolfield")
+		boolean boolField;
+		public Numbers() {
+		}
+	}
+}
@@ -3,16 +3,21 @@ package com.j256.ormlite.dao;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
@@ -24,6 +29,7 @@ import com.j256.ormlite.field.ForeignCollectionField;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTable;
 import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.TableUtils;
 
 public class DaoManagerTest extends BaseCoreTest {
 
@@ -240,6 +246,132 @@ public class DaoManagerTest extends BaseCoreTest {
 		assertNotNull(DaoManager.createDao(connectionSource, MoreComplexLoopFour.class));
 	}
 
+	@Test
+	public void testLazyInitialization() throws Exception {
+		DaoManager.setLazyInitialization(true);
+		try {
+			Dao<LazyOrder, Integer> orderDao = DaoManager.createDao(connectionSource, LazyOrder.class);
+			// nothing else should be created until the DAO is used
+			assertNull(DaoManager.lookupDao(connectionSource, LazyAccount.class));
+
+			TableUtils.createTable(connectionSource, LazyOrder.class);
+			Dao<LazyAccount, Integer> accountDao = DaoManager.lookupDao(connectionSource, LazyAccount.class);
+			assertNotNull(accountDao);
+			// the account DAO has not configured its fields so the company DAO has not been created
+			assertNull(DaoManager.lookupDao(connectionSource, LazyCompany.class));
+
+			TableUtils.createTable(connectionSource, LazyAccount.class);
+			TableUtils.createTable(connectionSource, LazyCompany.class);
+			Dao<LazyCompany, Integer> companyDao = DaoManager.lookupDao(connectionSource, LazyCompany.class);
+			assertNotNull(companyDao);
+
+			LazyCompany company = new LazyCompany();
+			company.name = "wpoejfwef";
+			assertEquals(1, companyDao.create(company));
+			LazyAccount account = new LazyAccount();
+			account.company = company;
+			account.name = "ewpofjwepf";
+			assertEquals(1, accountDao.create(account));
+			LazyOrder order = new LazyOrder();
+			order.account = account;
+			assertEquals(1, orderDao.create(order));
+
+			LazyOrder result = orderDao.queryForId(order.id);
+			assertNotNull(result.account);
+			assertEquals(account.name, result.account.name);
+			assertEquals(company.id, result.account.company.id);
+			// auto-refresh goes 2 levels deep so the company is refreshed as well
+			assertEquals(company.name, result.account.company.name);
+
+			LazyAccount accountResult = accountDao.queryForId(account.id);
+			assertEquals(1, accountResult.orders.size());
+			assertEquals(order.id, accountResult.orders.iterator().next().id);
+		} finally {
+			DaoManager.setLazyInitialization(false);
+		}
+	}
+
+	@Test
+	public void testLazyInitializationLoops() throws Exception {
+		DaoManager.setLazyInitialization(true);
+		try {
+			Dao<MoreComplexLoopOne, Integer> oneDao = DaoManager.createDao(connectionSource, MoreComplexLoopOne.class);
+			Dao<MoreComplexLoopThree, Integer> threeDao =
+					DaoManager.createDao(connectionSource, MoreComplexLoopThree.class);
+			TableUtils.createTable(connectionSource, MoreComplexLoopOne.class);
+			TableUtils.createTable(connectionSource, MoreComplexLoopThree.class);
+			MoreComplexLoopOne one = new MoreComplexLoopOne();
+			assertEquals(1, oneDao.create(one));
+			one.foreign = one;
+			assertEquals(1, oneDao.update(one));
+			assertEquals(one.id, oneDao.queryForId(one.id).foreign.id);
+			MoreComplexLoopThree three = new MoreComplexLoopThree();
+			assertEquals(1, threeDao.create(three));
+			assertEquals(1, threeDao.queryForAll().size());
+		} finally {
+			DaoManager.setLazyInitialization(false);
+		}
+	}
+
+	@Test
+	public void testCreateDaos() throws Exception {
+		Dao<Foo, Integer> fooDao = DaoManager.createDao(connectionSource, Foo.class);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Collection<Class<?>> classes = new ArrayList<Class<?>>();
+			classes.add(LazyOrder.class);
+			classes.add(Foo.class);
+			classes.add(LazyAccount.class);
+			classes.add(Baz.class);
+			classes.add(LazyOrder.class);
+			classes.add(MoreComplexLoopOne.class);
+			List<Dao<?, ?>> daos = DaoManager.createDaos(connectionSource, classes, executor);
+			assertEquals(classes.size(), daos.size());
+			int classC = 0;
+			for (Class<?> clazz : classes) {
+				Dao<?, ?> dao = daos.get(classC++);
+				assertSame(clazz, dao.getDataClass());
+				assertSame(dao, DaoManager.lookupDao(connectionSource, clazz));
+			}
+			assertSame(fooDao, daos.get(1));
+			assertTrue(daos.get(3) instanceof BazDao);
+			assertSame(daos.get(0), daos.get(4));
+			// a foreign class that was not passed in was created during the wiring
+			assertNotNull(DaoManager.lookupDao(connectionSource, LazyCompany.class));
+
+			TableUtils.createTable(connectionSource, LazyOrder.class);
+			TableUtils.createTable(connectionSource, LazyAccount.class);
+			TableUtils.createTable(connectionSource, LazyCompany.class);
+			@SuppressWarnings("unchecked")
+			Dao<LazyOrder, Integer> orderDao = (Dao<LazyOrder, Integer>) daos.get(0);
+			@SuppressWarnings("unchecked")
+			Dao<LazyAccount, Integer> accountDao = (Dao<LazyAccount, Integer>) daos.get(2);
+			LazyAccount account = new LazyAccount();
+			account.name = "pwoejfwpeojf";
+			assertEquals(1, accountDao.create(account));
+			LazyOrder order = new LazyOrder();
+			order.account = account;
+			assertEquals(1, orderDao.create(order));
+			assertEquals(account.name, orderDao.queryForId(order.id).account.name);
+			assertEquals(1, accountDao.queryForId(account.id).orders.size());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testCreateDaosThrows() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Collection<Class<?>> classes = new ArrayList<Class<?>>();
+			classes.add(Foo.class);
+			classes.add(NoFields.class);
+			DaoManager.createDaos(connectionSource, classes, executor);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/* ================================================================== */
 
 	private <T> void testClass(Class<T> clazz) throws Exception {
@@ -363,6 +495,43 @@ public class DaoManagerTest extends BaseCoreTest {
 		}
 	}
 
+	protected static class NoFields {
+		String notPersisted;
+		public NoFields() {
+		}
+	}
+
+	protected static class LazyOrder {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true)
+		LazyAccount account;
+		public LazyOrder() {
+		}
+	}
+
+	protected static class LazyAccount {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField(foreign = true)
+		LazyCompany company;
+		@ForeignCollectionField(eager = true)
+		ForeignCollection<LazyOrder> orders;
+		public LazyAccount() {
+		}
+	}
+
+	protected static class LazyCompany {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		public LazyCompany() {
+		}
+	}
+
 	public static class MoreComplexLoopOne {
 		@DatabaseField(generatedId = true)
 		int id;
@@ -0,0 +1,177 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao.ScanConsumer;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+
+public class ParallelScannerTest extends BaseCoreTest {
+
+	private MultiConnectionSource multiConnectionSource;
+
+	@After
+	public void closeMulti() throws Exception {
+		if (multiConnectionSource != null) {
+			multiConnectionSource.close();
+			multiConnectionSource = null;
+		}
+	}
+
+	@Test
+	public void testScanById() throws Exception {
+		Dao<Foo, Integer> dao = createMultiConnectionDao(Foo.class);
+		Set<Integer> ids = createFoos(dao, 101);
+
+		IdCollector<Foo> collector = new IdCollector<Foo>();
+		assertEquals(ids.size(), dao.parallelScan(4, collector));
+		assertEquals(ids, collector.ids.keySet());
+		// more threads than just the caller were used
+		assertTrue(collector.threads.size() > 1);
+
+		// more partitions than rows
+		collector = new IdCollector<Foo>();
+		assertEquals(ids.size(), dao.parallelScan(1000, collector));
+		assertEquals(ids, collector.ids.keySet());
+		// the partitions wait for a limited number of threads
+		assertTrue(collector.threads.size() <= ParallelScanner.MAX_THREADS);
+	}
+
+	@Test
+	public void testSingleConnection() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Set<Integer> ids = createFoos(dao, 20);
+		IdCollector<Foo> collector = new IdCollector<Foo>();
+		assertEquals(ids.size(), dao.parallelScan(3, collector));
+		assertEquals(ids, collector.ids.keySet());
+		assertEquals(Collections.singleton(Thread.currentThread()), collector.threads.keySet());
+	}
+
+	@Test
+	public void testScanByColumnWithNulls() throws Exception {
+		Dao<Nullable, Integer> dao = createMultiConnectionDao(Nullable.class);
+		Set<Integer> ids = new HashSet<Integer>();
+		for (int i = 0; i < 30; i++) {
+			Nullable nullable = new Nullable();
+			if (i % 5 != 0) {
+				nullable.num = (long) i * 1000;
+			}
+			assertEquals(1, dao.create(nullable));
+			ids.add(nullable.id);
+		}
+		final IdCollector<Nullable> collector = new IdCollector<Nullable>();
+		assertEquals(ids.size(), dao.parallelScan(Nullable.NUM_COLUMN, 3, new ScanConsumer<Nullable>() {
+			@Override
+			public void accept(Nullable data) {
+				collector.add(data.id);
+			}
+		}));
+		assertEquals(ids, collector.ids.keySet());
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		Dao<Foo, Integer> dao = createMultiConnectionDao(Foo.class);
+		assertEquals(0, dao.parallelScan(4, new IdCollector<Foo>()));
+	}
+
+	@Test
+	public void testConsumerThrows() throws Exception {
+		Dao<Foo, Integer> dao = createMultiConnectionDao(Foo.class);
+		createFoos(dao, 50);
+		try {
+			dao.parallelScan(4, new ScanConsumer<Foo>() {
+				@Override
+				public void accept(Foo data) throws Exception {
+					throw new Exception("expected");
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testNotIntegerColumn() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.parallelScan(Foo.STRING_COLUMN_NAME, 4, new IdCollector<Foo>());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadPartitions() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.parallelScan(0, new IdCollector<Foo>());
+	}
+
+	private <T> Dao<T, Integer> createMultiConnectionDao(Class<T> clazz) throws Exception {
+		multiConnectionSource = new MultiConnectionSource();
+		TableUtils.dropTable(multiConnectionSource, clazz, true);
+		TableUtils.createTable(multiConnectionSource, clazz);
+		return DaoManager.createDao(multiConnectionSource, clazz);
+	}
+
+	private Set<Integer> createFoos(Dao<Foo, Integer> dao, int num) throws SQLException {
+		Set<Integer> ids = new HashSet<Integer>();
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			ids.add(foo.id);
+		}
+		return ids;
+	}
+
+	private static class IdCollector<T> implements ScanConsumer<T> {
+		final ConcurrentHashMap<Integer, Boolean> ids = new ConcurrentHashMap<Integer, Boolean>();
+		final ConcurrentHashMap<Thread, Boolean> threads = new ConcurrentHashMap<Thread, Boolean>();
+		@Override
+		public void accept(T data) throws InterruptedException {
+			add(((Foo) data).id);
+			// give the other partitions a chance to run
+			Thread.sleep(1);
+		}
+		void add(int id) {
+			if (ids.put(id, true) != null) {
+				throw new IllegalStateException("id " + id + " was scanned twice");
+			}
+			threads.put(Thread.currentThread(), true);
+		}
+	}
+
+	/**
+	 * The H2 connection can be used by multiple threads but says it is a single connection.
+	 */
+	private static class MultiConnectionSource extends H2ConnectionSource {
+		public MultiConnectionSource() throws SQLException {
+			super();
+		}
+		@Override
+		public boolean isSingleConnection(String tableName) {
+			return false;
+		}
+	}
+
+	protected static class Nullable {
+		public static final String NUM_COLUMN = "num";
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = NUM_COLUMN)
+		Long num;
+		public Nullable() {
+		}
+	}
+}
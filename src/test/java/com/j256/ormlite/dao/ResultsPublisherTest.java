@@ -0,0 +1,209 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.ResultsPublisher.Subscription;
+import com.j256.ormlite.stmt.QueryBuilder;
+
+public class ResultsPublisherTest extends BaseCoreTest {
+
+	@Test
+	public void testDemand() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 5);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.fetchSize(2);
+		ResultsPublisher<Foo> publisher = new ResultsPublisher<Foo>(dao, qb.prepare());
+		OurSubscriber<Foo> subscriber = new OurSubscriber<Foo>();
+		publisher.subscribe(subscriber);
+		// nothing is read until requested
+		assertEquals(0, subscriber.results.size());
+		assertTrue(connectionSource.isOkay());
+
+		subscriber.subscription.request(2);
+		assertEquals(2, subscriber.results.size());
+		assertFalse(subscriber.completed);
+		// the iterator is open while we wait for more demand
+		assertFalse(connectionSource.isOkay());
+
+		subscriber.subscription.request(10);
+		assertEquals(foos, subscriber.results);
+		assertTrue(subscriber.completed);
+		assertNull(subscriber.throwable);
+		assertTrue(connectionSource.isOkay());
+
+		// the query is run again for each subscriber
+		OurSubscriber<Foo> subscriber2 = new OurSubscriber<Foo>();
+		publisher.subscribe(subscriber2);
+		subscriber2.subscription.request(Long.MAX_VALUE);
+		assertEquals(foos, subscriber2.results);
+		assertTrue(subscriber2.completed);
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 5);
+
+		ResultsPublisher<Foo> publisher = new ResultsPublisher<Foo>(dao, dao.queryBuilder().prepare());
+		OurSubscriber<Foo> subscriber = new OurSubscriber<Foo>();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertFalse(connectionSource.isOkay());
+		subscriber.subscription.cancel();
+		assertTrue(connectionSource.isOkay());
+		subscriber.subscription.request(1);
+		assertEquals(1, subscriber.results.size());
+		assertFalse(subscriber.completed);
+	}
+
+	@Test
+	public void testCancelInOnNext() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 5);
+
+		ResultsPublisher<Foo> publisher = new ResultsPublisher<Foo>(dao, dao.queryBuilder().prepare());
+		OurSubscriber<Foo> subscriber = new OurSubscriber<Foo>();
+		subscriber.cancelAfter = 3;
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertEquals(3, subscriber.results.size());
+		assertTrue(connectionSource.isOkay());
+	}
+
+	@Test
+	public void testRequestInOnNext() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 50);
+
+		ResultsPublisher<Foo> publisher = new ResultsPublisher<Foo>(dao, dao.queryBuilder().prepare());
+		OurSubscriber<Foo> subscriber = new OurSubscriber<Foo>();
+		subscriber.requestInOnNext = true;
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertEquals(foos, subscriber.results);
+		assertTrue(subscriber.completed);
+		// we never went more than one level deep
+		assertEquals(1, subscriber.maxDepth);
+	}
+
+	@Test
+	public void testBadRequest() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 2);
+
+		ResultsPublisher<Foo> publisher = new ResultsPublisher<Foo>(dao, dao.queryBuilder().prepare());
+		OurSubscriber<Foo> subscriber = new OurSubscriber<Foo>();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+		subscriber.subscription.request(0);
+		assertTrue(subscriber.throwable instanceof IllegalArgumentException);
+		assertTrue(connectionSource.isOkay());
+	}
+
+	@Test
+	public void testRawResults() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 3);
+
+		GenericRawResults<String[]> rawResults =
+				dao.queryRaw("select " + Foo.ID_COLUMN_NAME + " from foo order by " + Foo.ID_COLUMN_NAME);
+		ResultsPublisher<String[]> publisher = ResultsPublisher.fromRawResults(rawResults);
+		OurSubscriber<String[]> subscriber = new OurSubscriber<String[]>();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(5);
+		assertEquals(foos.size(), subscriber.results.size());
+		for (int i = 0; i < foos.size(); i++) {
+			assertEquals(Integer.toString(foos.get(i).id), subscriber.results.get(i)[0]);
+		}
+		assertTrue(subscriber.completed);
+		assertTrue(connectionSource.isOkay());
+
+		// can only subscribe once
+		OurSubscriber<String[]> subscriber2 = new OurSubscriber<String[]>();
+		publisher.subscribe(subscriber2);
+		subscriber2.subscription.request(1);
+		assertTrue(subscriber2.throwable instanceof SQLException);
+	}
+
+	@Test
+	public void testQueryThrows() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		ResultsPublisher<Foo> publisher = new ResultsPublisher<Foo>(dao, dao.queryBuilder().prepare());
+		OurSubscriber<Foo> subscriber = new OurSubscriber<Foo>();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertTrue(subscriber.throwable instanceof SQLException);
+		assertFalse(subscriber.completed);
+		assertTrue(connectionSource.isOkay());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullSubscriber() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		new ResultsPublisher<Foo>(dao, dao.queryBuilder().prepare()).subscribe(null);
+	}
+
+	private List<Foo> createFoos(Dao<Foo, Integer> dao, int num) throws SQLException {
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		return foos;
+	}
+
+	private static class OurSubscriber<T> implements ResultsPublisher.Subscriber<T> {
+
+		Subscription subscription;
+		final List<T> results = new ArrayList<T>();
+		boolean completed;
+		Throwable throwable;
+		int cancelAfter = -1;
+		boolean requestInOnNext;
+		int depth;
+		int maxDepth;
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(T result) {
+			depth++;
+			maxDepth = Math.max(depth, maxDepth);
+			results.add(result);
+			if (results.size() == cancelAfter) {
+				subscription.cancel();
+			}
+			if (requestInOnNext) {
+				subscription.request(1);
+			}
+			depth--;
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.throwable = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+}
@@ -25,6 +25,7 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.BinaryUuidType;
 import com.j256.ormlite.field.types.DateStringType;
 import com.j256.ormlite.field.types.EnumStringType;
 import com.j256.ormlite.field.types.StringType;
@@ -137,6 +138,13 @@ public class BaseCoreDatabaseTypeTest extends BaseCoreTest {
 		testFooColumn(databaseType, "uuid", "VARCHAR(" + UuidType.DEFAULT_WIDTH + ")");
 	}
 
+	@Test
+	public void testAppendColumnUuidBinary() throws Exception {
+		// bound as a byte array but defined as a fixed width column
+		assertEquals(SqlType.BYTE_ARRAY, DataType.UUID_BINARY.getDataPersister().getSqlType());
+		testFooColumn(databaseType, "binaryUuid", "BINARY(" + BinaryUuidType.BINARY_WIDTH + ")");
+	}
+
 	@Test
 	public void testAppendColumnId() throws Exception {
 		testFooColumn(databaseType, "id", "BIGINT");
@@ -376,6 +384,8 @@ public class BaseCoreDatabaseTypeTest extends BaseCoreTest {
 		OurEnum enumString;
 		@DatabaseField
 		UUID uuid;
+		@DatabaseField(dataType = DataType.UUID_BINARY)
+		UUID binaryUuid;
 
 		@DatabaseField(id = true)
 		long id;
@@ -1,11 +1,13 @@
 package com.j256.ormlite.db;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.sql.SQLTransientException;
 import java.util.ArrayList;
 import java.util.Locale;
 
@@ -34,6 +36,18 @@ public class BaseDatabaseTypeTest extends BaseCoreTest {
 		assertEquals("SELECT 1", databaseType.getPingStatement());
 	}
 
+	@Test
+	public void testIsRetryableException() {
+		DatabaseType databaseType = new TestDatabaseType();
+		assertTrue(databaseType.isRetryableException(new SQLException("deadlock", "40001")));
+		assertTrue(databaseType.isRetryableException(new SQLException("rolled back", "40P01")));
+		assertTrue(databaseType.isRetryableException(new SQLTransientException("timeout")));
+		assertTrue(databaseType.isRetryableException(new SQLException("wrapped", new SQLException("deadlock",
+				"40001"))));
+		assertFalse(databaseType.isRetryableException(new SQLException("constraint", "23505")));
+		assertFalse(databaseType.isRetryableException(new SQLException("no state")));
+	}
+
 	@Test
 	public void testUnknownClass() throws Exception {
 		assertNull(DataPersisterManager.lookupForField(SomeFields.class.getDeclaredField("someFields")));
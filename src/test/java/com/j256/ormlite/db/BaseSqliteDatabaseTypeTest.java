@@ -6,6 +6,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Field;
+import java.sql.SQLException;
 import java.util.ArrayList;
 
 import org.junit.Test;
@@ -37,6 +38,17 @@ public class BaseSqliteDatabaseTypeTest extends BaseCoreTest {
 		assertTrue(sb.toString().contains("PRIMARY KEY AUTOINCREMENT"));
 	}
 
+	@Test
+	public void testIsRetryableException() {
+		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
+		assertTrue(dbType.isRetryableException(new SQLException("[SQLITE_BUSY] The database file is locked")));
+		assertTrue(dbType.isRetryableException(new SQLException("database is locked")));
+		assertTrue(dbType.isRetryableException(new SQLException("busy", null, 5)));
+		// extended result code for SQLITE_LOCKED_SHAREDCACHE
+		assertTrue(dbType.isRetryableException(new SQLException("locked", null, 262)));
+		assertFalse(dbType.isRetryableException(new SQLException("[SQLITE_CONSTRAINT] unique failed", null, 19)));
+	}
+
 	@Test
 	public void testIsVarcharFieldWidthSupported() {
 		assertFalse(new OurSqliteDatabaseType().isVarcharFieldWidthSupported());
@@ -2,10 +2,13 @@ package com.j256.ormlite.field;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Field;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -76,6 +79,83 @@ public class DataPersisterManagerTest extends BaseCoreTest {
 		}
 	}
 
+	@Test
+	public void testAssociatedClassIndexed() throws Exception {
+		final AtomicInteger validCount = new AtomicInteger();
+		DataPersister persister = new StoredClassPersister() {
+			@Override
+			public boolean isValidForField(Field field) {
+				validCount.incrementAndGet();
+				return super.isValidForField(field);
+			}
+		};
+		DataPersisterManager.registerDataPersisters(persister);
+		try {
+			Field field = PersistedStored.class.getDeclaredField("storedClass");
+			assertSame(persister, DataPersisterManager.lookupForField(field));
+			Field otherField = PersistedStoredPersister.class.getDeclaredField("storedClass");
+			assertSame(persister, DataPersisterManager.lookupForField(otherField));
+			// found by its associated class without asking it
+			assertEquals(0, validCount.get());
+		} finally {
+			DataPersisterManager.clear();
+		}
+	}
+
+	@Test
+	public void testValidForFieldEachField() throws Exception {
+		DataPersister persister = new StoredClassPersister() {
+			@Override
+			public Class<?>[] getAssociatedClasses() {
+				return new Class<?>[0];
+			}
+			@Override
+			public boolean isValidForField(Field field) {
+				// depends on more than the class of the field
+				return field.getDeclaringClass() == PersistedStoredPersister.class;
+			}
+		};
+		DataPersisterManager.registerDataPersisters(persister);
+		try {
+			assertNull(DataPersisterManager.lookupForField(PersistedStored.class.getDeclaredField("storedClass")));
+			assertSame(persister,
+					DataPersisterManager.lookupForField(PersistedStoredPersister.class.getDeclaredField("storedClass")));
+		} finally {
+			DataPersisterManager.clear();
+		}
+	}
+
+	@Test
+	public void testNoPersisterCached() throws Exception {
+		Field field = PersistedStored.class.getDeclaredField("storedClass");
+		assertNull(DataPersisterManager.lookupForField(field));
+		assertNull(DataPersisterManager.lookupForField(field));
+		DataPersister persister = new StoredClassPersister();
+		DataPersisterManager.registerDataPersisters(persister);
+		try {
+			// registering has to reset the cached miss
+			assertSame(persister, DataPersisterManager.lookupForField(field));
+		} finally {
+			DataPersisterManager.clear();
+		}
+		assertNull(DataPersisterManager.lookupForField(field));
+	}
+
+	@Test
+	public void testRegisterResetsCache() throws Exception {
+		Field field = PersistedDataType.class.getDeclaredField("someEnum");
+		DataPersister defaultPersister = DataPersisterManager.lookupForField(field);
+		assertNotNull(defaultPersister);
+		DataPersister persister = new EnumConstantPersister();
+		DataPersisterManager.registerDataPersisters(persister);
+		try {
+			assertSame(persister, DataPersisterManager.lookupForField(field));
+		} finally {
+			DataPersisterManager.clear();
+		}
+		assertSame(defaultPersister, DataPersisterManager.lookupForField(field));
+	}
+
 	protected static class PersistedStored {
 		@DatabaseField(generatedId = true)
 		int id;
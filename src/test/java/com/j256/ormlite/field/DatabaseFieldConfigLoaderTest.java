@@ -187,6 +187,18 @@ public class DatabaseFieldConfigLoaderTest extends BaseCoreTest {
 		body.append("readOnly=true").append(LINE_SEP);
 		checkConfigOutput(config, body, writer, buffer);
 
+		config.setCompressThreshold(DatabaseField.NO_COMPRESS_THRESHOLD);
+		checkConfigOutput(config, body, writer, buffer);
+		config.setCompressThreshold(256);
+		body.append("compressThreshold=256").append(LINE_SEP);
+		checkConfigOutput(config, body, writer, buffer);
+
+		config.setSequenceBlockSize(DatabaseField.DEFAULT_SEQUENCE_BLOCK_SIZE);
+		checkConfigOutput(config, body, writer, buffer);
+		config.setSequenceBlockSize(50);
+		body.append("sequenceBlockSize=50").append(LINE_SEP);
+		checkConfigOutput(config, body, writer, buffer);
+
 		/*
 		 * Test foreign collection
 		 */
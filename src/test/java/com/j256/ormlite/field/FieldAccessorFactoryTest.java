@@ -0,0 +1,99 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+
+public class FieldAccessorFactoryTest extends BaseCoreTest {
+
+	@Test
+	public void testGetSet() throws Exception {
+		Field field = GetSet.class.getDeclaredField("id");
+		Method getMethod = DatabaseFieldConfig.findGetMethod(field, true);
+		Method setMethod = DatabaseFieldConfig.findSetMethod(field, true);
+		FieldAccessor accessor = FieldAccessorFactory.createFieldAccessor(field, getMethod, setMethod);
+		assertTrue(accessor instanceof GetSetFieldAccessor);
+		GetSet getSet = new GetSet();
+		accessor.set(getSet, 10);
+		assertEquals(10, getSet.id);
+		assertEquals(10, accessor.get(getSet));
+		assertEquals(1, getSet.setCount);
+	}
+
+	@Test
+	public void testReflectionDefault() throws Exception {
+		Field field = GetSet.class.getDeclaredField("id");
+		field.setAccessible(true);
+		FieldAccessor accessor = FieldAccessorFactory.createFieldAccessor(field, null, null);
+		assertTrue(accessor instanceof ReflectionFieldAccessor);
+		GetSet getSet = new GetSet();
+		accessor.set(getSet, 123);
+		assertEquals(123, accessor.get(getSet));
+	}
+
+	@Test
+	public void testAssignWrapsOnce() throws Exception {
+		FieldType fieldType = FieldType.createFieldType(connectionSource, "foo",
+				Foo.class.getDeclaredField(Foo.VAL_COLUMN_NAME), Foo.class);
+		try {
+			fieldType.assignField(new Foo(), "not a number", false, null);
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// the reflection exception is wrapped once by the accessor
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void testUnsafeEnabled() throws Exception {
+		assumeTrue(UnsafeFieldAccessor.isAvailable());
+		FieldAccessorFactory.setUnsafeEnabled(true);
+		try {
+			Field field = GetSet.class.getDeclaredField("id");
+			field.setAccessible(true);
+			assertTrue(FieldAccessorFactory.createFieldAccessor(field, null, null) instanceof UnsafeFieldAccessor);
+		} finally {
+			FieldAccessorFactory.setUnsafeEnabled(false);
+		}
+	}
+
+	@Test
+	public void testDaoWithUnsafe() throws Exception {
+		FieldAccessorFactory.setUnsafeEnabled(true);
+		try {
+			Dao<Foo, Integer> dao = createDao(Foo.class, true);
+			Foo foo = new Foo();
+			foo.val = 1312;
+			foo.stringField = "wopefjwef";
+			assertEquals(1, dao.create(foo));
+			Foo result = dao.queryForId(foo.id);
+			assertEquals(foo.val, result.val);
+			assertEquals(foo.stringField, result.stringField);
+		} finally {
+			FieldAccessorFactory.setUnsafeEnabled(false);
+		}
+	}
+
+	protected static class GetSet {
+		@DatabaseField(id = true, useGetSet = true)
+		private int id;
+		int setCount;
+		public int getId() {
+			return id;
+		}
+		public void setId(int id) {
+			this.setCount++;
+			this.id = id;
+		}
+	}
+}
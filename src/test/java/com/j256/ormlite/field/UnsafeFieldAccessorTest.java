@@ -0,0 +1,124 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.SQLException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnsafeFieldAccessorTest {
+
+	@Before
+	public void before() {
+		assumeTrue(UnsafeFieldAccessor.isAvailable());
+	}
+
+	@Test
+	public void testPrimitives() throws Exception {
+		Primitives data = new Primitives();
+		accessor("intField").set(data, 12312);
+		assertEquals(12312, data.intField);
+		assertEquals(12312, accessor("intField").get(data));
+		accessor("longField").set(data, 1231231231231L);
+		assertEquals(1231231231231L, data.longField);
+		assertEquals(1231231231231L, accessor("longField").get(data));
+		accessor("booleanField").set(data, true);
+		assertTrue(data.booleanField);
+		assertEquals(true, accessor("booleanField").get(data));
+		accessor("byteField").set(data, (byte) 12);
+		assertEquals(12, data.byteField);
+		accessor("charField").set(data, 'x');
+		assertEquals('x', data.charField);
+		accessor("shortField").set(data, (short) 1234);
+		assertEquals(1234, data.shortField);
+		accessor("floatField").set(data, 1.5F);
+		assertEquals(1.5F, data.floatField, 0.0F);
+		accessor("doubleField").set(data, 2.5D);
+		assertEquals(2.5D, data.doubleField, 0.0D);
+		assertEquals(2.5D, accessor("doubleField").get(data));
+	}
+
+	@Test
+	public void testWidening() throws Exception {
+		Primitives data = new Primitives();
+		// handled by the reflection fall back
+		accessor("longField").set(data, 10);
+		assertEquals(10, data.longField);
+		accessor("doubleField").set(data, 10);
+		assertEquals(10.0D, data.doubleField, 0.0D);
+	}
+
+	@Test
+	public void testObject() throws Exception {
+		Primitives data = new Primitives();
+		String str = "pwojefwef";
+		accessor("stringField").set(data, str);
+		assertSame(str, data.stringField);
+		assertSame(str, accessor("stringField").get(data));
+		accessor("stringField").set(data, null);
+		assertNull(data.stringField);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testObjectWrongType() throws Exception {
+		accessor("stringField").set(new Primitives(), 10);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPrimitiveNull() throws Exception {
+		accessor("intField").set(new Primitives(), null);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPrimitiveWrongType() throws Exception {
+		accessor("intField").set(new Primitives(), "wrong");
+	}
+
+	@Test(expected = SQLException.class)
+	public void testGetWrongObject() throws Exception {
+		accessor("intField").get(new Object());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testSetWrongObject() throws Exception {
+		accessor("intField").set(new Object(), 1);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testSetNullObject() throws Exception {
+		accessor("stringField").set(null, "foo");
+	}
+
+	@Test
+	public void testNotSupported() throws Exception {
+		assertNull(UnsafeFieldAccessor.createAccessor(Primitives.class.getDeclaredField("volatileField")));
+		assertNull(UnsafeFieldAccessor.createAccessor(Primitives.class.getDeclaredField("staticField")));
+	}
+
+	private UnsafeFieldAccessor accessor(String fieldName) throws Exception {
+		UnsafeFieldAccessor accessor =
+				UnsafeFieldAccessor.createAccessor(Primitives.class.getDeclaredField(fieldName));
+		assertNotNull(accessor);
+		return accessor;
+	}
+
+	protected static class Primitives {
+		static int staticField;
+		boolean booleanField;
+		byte byteField;
+		char charField;
+		short shortField;
+		int intField;
+		long longField;
+		float floatField;
+		double doubleField;
+		String stringField;
+		volatile int volatileField;
+	}
+}
@@ -0,0 +1,103 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class BinaryUuidTypeTest extends BaseTypeTest {
+
+	private static final String UUID_COLUMN = "uuid";
+
+	@Test
+	public void testBinaryUuid() throws Exception {
+		Class<LocalBinaryUuid> clazz = LocalBinaryUuid.class;
+		Dao<LocalBinaryUuid, Object> dao = createDao(clazz, true);
+		LocalBinaryUuid foo = new LocalBinaryUuid();
+		UUID val = UUID.fromString("01234567-89ab-cdef-0011-2233445566ff");
+		foo.uuid = val;
+		assertEquals(1, dao.create(foo));
+		byte[] bytes = new byte[] { 0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef, 0x00,
+				0x11, 0x22, 0x33, 0x44, 0x55, 0x66, (byte) 0xff };
+		testType(dao, foo, clazz, val, bytes, bytes, null, DataType.UUID_BINARY, UUID_COLUMN, true, true, true,
+				false, true, false, true, false);
+	}
+
+	@Test
+	public void testGeneratedId() throws Exception {
+		Dao<GeneratedBinaryUuid, UUID> dao = createDao(GeneratedBinaryUuid.class, true);
+		GeneratedBinaryUuid foo1 = new GeneratedBinaryUuid();
+		foo1.stuff = "first";
+		assertEquals(1, dao.create(foo1));
+		assertNotNull(foo1.id);
+		assertEquals(7, foo1.id.version());
+		GeneratedBinaryUuid foo2 = new GeneratedBinaryUuid();
+		foo2.stuff = "second";
+		assertEquals(1, dao.create(foo2));
+
+		assertEquals(foo1.stuff, dao.queryForId(foo1.id).stuff);
+		assertEquals(foo2.stuff, dao.queryForId(foo2.id).stuff);
+		assertEquals(2, dao.queryForAll().size());
+	}
+
+	@Test
+	public void testNull() throws Exception {
+		Dao<LocalBinaryUuid, Object> dao = createDao(LocalBinaryUuid.class, true);
+		LocalBinaryUuid foo = new LocalBinaryUuid();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForAll().get(0).uuid);
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		BinaryUuidType type = BinaryUuidType.getSingleton();
+		for (int i = 0; i < 100; i++) {
+			UUID uuid = UUID.randomUUID();
+			byte[] bytes = (byte[]) type.javaToSqlArg(null, uuid);
+			assertEquals(uuid, type.sqlArgToJava(null, bytes, 0));
+			assertEquals(uuid, type.resultStringToJava(null, uuid.toString().replace("-", ""), 0));
+		}
+		assertArrayEquals(new byte[16], (byte[]) type.javaToSqlArg(null, new UUID(0, 0)));
+	}
+
+	@Test(expected = SQLException.class)
+	public void testWrongLength() throws Exception {
+		BinaryUuidType.getSingleton().sqlArgToJava(null, new byte[15], 0);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBadString() throws Exception {
+		BinaryUuidType.getSingleton().resultStringToJava(null, "0123456789abcdef0123456789abcdeg", 0);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testDefault() throws Exception {
+		BinaryUuidType.getSingleton().parseDefaultString(null, "01234567-89ab-cdef-0011-2233445566ff");
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalBinaryUuid {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = UUID_COLUMN, dataType = DataType.UUID_BINARY)
+		UUID uuid;
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class GeneratedBinaryUuid {
+		@DatabaseField(generatedId = true, dataType = DataType.UUID_BINARY)
+		UUID id;
+		@DatabaseField
+		String stuff;
+	}
+}
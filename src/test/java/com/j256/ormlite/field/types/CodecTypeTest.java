@@ -0,0 +1,217 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class CodecTypeTest extends BaseTypeTest {
+
+	private static final String VALUE_COLUMN = "value";
+
+	@Test
+	public void testCompact() throws Exception {
+		Dao<LocalCompact, Integer> dao = createDao(LocalCompact.class, true);
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("name", "bob");
+		map.put("age", 42);
+		LocalCompact foo = new LocalCompact();
+		foo.value = (Serializable) map;
+		assertEquals(1, dao.create(foo));
+
+		assertEquals(map, dao.queryForId(foo.id).value);
+		byte[] bytes = rawBytes(dao);
+		assertEquals((byte) 0xC0, bytes[0]);
+		assertEquals((byte) 0xDE, bytes[1]);
+		assertEquals(CodecType.FORMAT_VERSION, bytes[2]);
+		// not compressed
+		assertEquals(0, bytes[3]);
+	}
+
+	@Test
+	public void testCompressed() throws Exception {
+		Dao<LocalCompact, Integer> dao = createDao(LocalCompact.class, true);
+		ArrayList<String> list = new ArrayList<String>();
+		for (int i = 0; i < 1000; i++) {
+			list.add("repeated string value");
+		}
+		LocalCompact foo = new LocalCompact();
+		foo.value = list;
+		assertEquals(1, dao.create(foo));
+
+		assertEquals(list, dao.queryForId(foo.id).value);
+		byte[] bytes = rawBytes(dao);
+		assertEquals(1, bytes[3]);
+		assertTrue(bytes.length < 1000);
+	}
+
+	@Test
+	public void testTreeMapField() throws Exception {
+		Dao<LocalTreeMap, Integer> dao = createDao(LocalTreeMap.class, true);
+		LocalTreeMap foo = new LocalTreeMap();
+		foo.value = new TreeMap<String, Integer>();
+		foo.value.put("b", 2);
+		foo.value.put("a", 1);
+		assertEquals(1, dao.create(foo));
+
+		LocalTreeMap result = dao.queryForId(foo.id);
+		assertEquals(foo.value, result.value);
+		assertEquals("a", result.value.firstKey());
+	}
+
+	@Test
+	public void testNull() throws Exception {
+		Dao<LocalCompact, Integer> dao = createDao(LocalCompact.class, true);
+		LocalCompact foo = new LocalCompact();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForId(foo.id).value);
+	}
+
+	@Test
+	public void testMigrateSerializable() throws Exception {
+		Dao<LocalSerializable, Integer> serialDao = createDao(LocalSerializable.class, true);
+		LocalSerializable old = new LocalSerializable();
+		old.value = "old value";
+		assertEquals(1, serialDao.create(old));
+
+		Dao<LocalCompact, Integer> dao = createDao(LocalCompact.class, false);
+		// we can read the java serialized value
+		LocalCompact foo = dao.queryForId(old.id);
+		assertEquals("old value", foo.value);
+		assertEquals((byte) 0xAC, rawBytes(dao)[0]);
+
+		// and it is written in the new format
+		assertEquals(1, dao.update(foo));
+		assertEquals((byte) 0xC0, rawBytes(dao)[0]);
+		assertEquals("old value", dao.queryForId(old.id).value);
+	}
+
+	@Test
+	public void testRegisteredCodec() throws Exception {
+		CodecType pointType = new CodecType(new PointCodec(), -1, Point.class);
+		DataPersisterManager.registerDataPersisters(pointType);
+		try {
+			Field field = LocalPoint.class.getDeclaredField(VALUE_COLUMN);
+			assertSame(pointType, DataPersisterManager.lookupForField(field));
+			Dao<LocalPoint, Integer> dao = createDao(LocalPoint.class, true);
+			LocalPoint foo = new LocalPoint();
+			foo.value = new Point(3, -4);
+			assertEquals(1, dao.create(foo));
+			Point point = dao.queryForId(foo.id).value;
+			assertEquals(3, point.x);
+			assertEquals(-4, point.y);
+			// header plus two ints
+			assertEquals(12, rawBytes(dao).length);
+		} finally {
+			DataPersisterManager.clear();
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBadHeader() throws Exception {
+		CodecType.getSingleton().sqlArgToJava(null, new byte[] { 1, 2, 3, 4, 5 }, 0);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testNewerVersion() throws Exception {
+		CodecType.getSingleton().sqlArgToJava(null,
+				new byte[] { (byte) 0xC0, (byte) 0xDE, CodecType.FORMAT_VERSION + 1, 0, 0 }, 0);
+	}
+
+	@Test
+	public void testProperties() throws Exception {
+		CodecType type = CodecType.getSingleton();
+		assertSame(type, DataType.SERIALIZABLE_COMPACT.getDataPersister());
+		assertEquals(SqlType.SERIALIZABLE, type.getSqlType());
+		assertTrue(type.isStreamType());
+		assertFalse(type.isComparable());
+		assertFalse(type.isAppropriateId());
+		assertTrue(type.isArgumentHolderRequired());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testDefault() throws Exception {
+		CodecType.getSingleton().parseDefaultString(null, "default");
+	}
+
+	private byte[] rawBytes(Dao<?, ?> dao) throws SQLException {
+		return (byte[]) dao.queryRaw("select " + VALUE_COLUMN + " from " + TABLE_NAME,
+				new DataType[] { DataType.BYTE_ARRAY }).getFirstResult()[0];
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalCompact {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = VALUE_COLUMN, dataType = DataType.SERIALIZABLE_COMPACT)
+		Serializable value;
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalTreeMap {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = VALUE_COLUMN, dataType = DataType.SERIALIZABLE_COMPACT)
+		TreeMap<String, Integer> value;
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalSerializable {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = VALUE_COLUMN, dataType = DataType.SERIALIZABLE)
+		Serializable value;
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalPoint {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = VALUE_COLUMN)
+		Point value;
+	}
+
+	protected static class Point {
+		final int x;
+		final int y;
+		public Point(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	private static class PointCodec implements BinaryCodec {
+		@Override
+		public void encode(Object obj, DataOutput output) throws IOException {
+			Point point = (Point) obj;
+			output.writeInt(point.x);
+			output.writeInt(point.y);
+		}
+		@Override
+		public Object decode(DataInput input) throws IOException {
+			return new Point(input.readInt(), input.readInt());
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class CompactCodecTest {
+
+	private final CompactCodec codec = CompactCodec.getSingleton();
+
+	@Test
+	public void testPrimitives() throws Exception {
+		Object[] values =
+				new Object[] { true, false, (byte) -3, (short) -300, 0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE,
+						Long.MAX_VALUE, Long.MIN_VALUE, 1.5F, -2.25D, 'x', "", "hello \u0185\u20ac",
+						new Date(123456789L), new BigDecimal("1.23") };
+		for (Object value : values) {
+			assertEquals(value, roundTrip(value));
+		}
+		assertNull(roundTrip(null));
+		assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) roundTrip(new byte[] { 1, 2, 3 }));
+	}
+
+	@Test
+	public void testSmallIntsAreCompact() throws Exception {
+		// tag plus one byte
+		assertEquals(2, encode(5).length);
+		assertEquals(2, encode(-5).length);
+		assertEquals(2, encode(60L).length);
+	}
+
+	@Test
+	public void testCollections() throws Exception {
+		List<Object> list = new ArrayList<Object>();
+		list.add(1);
+		list.add("two");
+		list.add(null);
+		list.add(Arrays.asList(3L, 4L));
+		assertEquals(list, roundTrip(list));
+
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("a", 1);
+		map.put("b", new HashSet<String>(Arrays.asList("x", "y")));
+		map.put("c", list);
+		assertEquals(map, roundTrip(map));
+	}
+
+	@Test
+	public void testCollectionClassesKept() throws Exception {
+		Object[] values =
+				new Object[] { new ArrayList<Object>(Arrays.asList(1, 2)), new HashSet<Object>(Arrays.asList(1, 2)),
+						new LinkedHashSet<Object>(Arrays.asList(2, 1)), new HashMap<Object, Object>(),
+						new LinkedHashMap<Object, Object>(), new LinkedList<Object>(Arrays.asList(1, 2)),
+						new TreeSet<Object>(Arrays.asList(2, 1)) };
+		for (Object value : values) {
+			Object result = roundTrip(value);
+			assertEquals(value, result);
+			assertEquals(value.getClass(), result.getClass());
+		}
+
+		TreeMap<String, Object> map = new TreeMap<String, Object>(Collections.reverseOrder());
+		map.put("a", 1);
+		map.put("b", new HashMap<String, Object>());
+		@SuppressWarnings("unchecked")
+		TreeMap<String, Object> result = (TreeMap<String, Object>) roundTrip(map);
+		assertEquals(map, result);
+		// the comparator came along
+		assertEquals("b", result.firstKey());
+		assertEquals(HashMap.class, result.get("b").getClass());
+	}
+
+	@Test
+	public void testTimestampKeepsNanos() throws Exception {
+		Timestamp timestamp = new Timestamp(1000L);
+		timestamp.setNanos(123456789);
+		assertEquals(timestamp, roundTrip(timestamp));
+	}
+
+	@Test
+	public void testSmallerThanSerialization() throws Exception {
+		List<Integer> list = new ArrayList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		ObjectOutputStream objOutStream = new ObjectOutputStream(outStream);
+		objOutStream.writeObject(list);
+		objOutStream.close();
+		assertTrue(encode(list).length * 4 < outStream.size());
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotSerializable() throws Exception {
+		encode(new Object());
+	}
+
+	@Test(expected = IOException.class)
+	public void testUnknownTag() throws Exception {
+		codec.decode(new DataInputStream(new ByteArrayInputStream(new byte[] { 100 })));
+	}
+
+	private byte[] encode(Object value) throws IOException {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		codec.encode(value, new DataOutputStream(outStream));
+		return outStream.toByteArray();
+	}
+
+	private Object roundTrip(Object value) throws IOException {
+		return codec.decode(new DataInputStream(new ByteArrayInputStream(encode(value))));
+	}
+}
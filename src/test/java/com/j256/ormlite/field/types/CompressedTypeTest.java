@@ -0,0 +1,194 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class CompressedTypeTest extends BaseTypeTest {
+
+	private static final String STRING_COLUMN = "string";
+	private static final String BYTES_COLUMN = "bytes";
+
+	@Test
+	public void testCompressed() throws Exception {
+		Dao<LocalCompressed, Integer> dao = createDao(LocalCompressed.class, true);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append("{\"id\":").append(i).append(",\"name\":\"some name\",\"active\":true},");
+		}
+		String json = sb.toString();
+		byte[] bytes = json.getBytes("UTF-8");
+		LocalCompressed foo = new LocalCompressed();
+		foo.string = json;
+		foo.bytes = bytes;
+		assertEquals(1, dao.create(foo));
+
+		LocalCompressed result = dao.queryForId(foo.id);
+		assertEquals(json, result.string);
+		assertArrayEquals(bytes, result.bytes);
+
+		byte[] stored = rawBytes(dao, STRING_COLUMN);
+		assertEquals(CompressedType.CODEC_DEFLATE, stored[0]);
+		assertTrue(stored.length < bytes.length / 5);
+		assertEquals(CompressedType.CODEC_DEFLATE, rawBytes(dao, BYTES_COLUMN)[0]);
+	}
+
+	@Test
+	public void testBelowThreshold() throws Exception {
+		Dao<LocalCompressed, Integer> dao = createDao(LocalCompressed.class, true);
+		LocalCompressed foo = new LocalCompressed();
+		foo.string = "short \u00e9";
+		foo.bytes = new byte[] { 1, 2, 3 };
+		assertEquals(1, dao.create(foo));
+
+		LocalCompressed result = dao.queryForId(foo.id);
+		assertEquals(foo.string, result.string);
+		assertArrayEquals(foo.bytes, result.bytes);
+		assertArrayEquals(new byte[] { CompressedType.CODEC_RAW, 1, 2, 3 }, rawBytes(dao, BYTES_COLUMN));
+	}
+
+	@Test
+	public void testIncompressible() throws Exception {
+		Dao<LocalCompressed, Integer> dao = createDao(LocalCompressed.class, true);
+		byte[] bytes = new byte[1000];
+		long seed = 12345;
+		for (int i = 0; i < bytes.length; i++) {
+			seed = seed * 6364136223846793005L + 1442695040888963407L;
+			bytes[i] = (byte) (seed >>> 56);
+		}
+		LocalCompressed foo = new LocalCompressed();
+		foo.bytes = bytes;
+		assertEquals(1, dao.create(foo));
+
+		assertArrayEquals(bytes, dao.queryForId(foo.id).bytes);
+		byte[] stored = rawBytes(dao, BYTES_COLUMN);
+		// deflate didn't help so it was stored as is
+		assertEquals(CompressedType.CODEC_RAW, stored[0]);
+		assertEquals(bytes.length + 1, stored.length);
+	}
+
+	@Test
+	public void testNull() throws Exception {
+		Dao<LocalCompressed, Integer> dao = createDao(LocalCompressed.class, true);
+		LocalCompressed foo = new LocalCompressed();
+		assertEquals(1, dao.create(foo));
+		LocalCompressed result = dao.queryForId(foo.id);
+		assertNull(result.string);
+		assertNull(result.bytes);
+	}
+
+	@Test
+	public void testPersister() throws Exception {
+		FieldType fieldType = FieldType.createFieldType(connectionSource, TABLE_NAME,
+				LocalCompressed.class.getDeclaredField(STRING_COLUMN), LocalCompressed.class);
+		assertEquals(CompressedType.getSingleton(), fieldType.getDataPersister());
+		assertEquals(16, fieldType.getCompressThreshold());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidField() throws Exception {
+		FieldType.createFieldType(connectionSource, TABLE_NAME, InvalidCompressed.class.getDeclaredField("value"),
+				InvalidCompressed.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDataTypeAndThreshold() throws Exception {
+		FieldType.createFieldType(connectionSource, TABLE_NAME,
+				ConflictingCompressed.class.getDeclaredField("withDataType"), ConflictingCompressed.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPersisterClassAndThreshold() throws Exception {
+		FieldType.createFieldType(connectionSource, TABLE_NAME,
+				ConflictingCompressed.class.getDeclaredField("withPersisterClass"), ConflictingCompressed.class);
+	}
+
+	@Test
+	public void testReleaseThreadCodec() throws Exception {
+		FieldType fieldType = FieldType.createFieldType(connectionSource, TABLE_NAME,
+				LocalCompressed.class.getDeclaredField(BYTES_COLUMN), LocalCompressed.class);
+		CompressedType type = CompressedType.getSingleton();
+		byte[] bytes = new byte[1000];
+		byte[] stored = (byte[]) type.javaToSqlArg(fieldType, bytes);
+		assertEquals(CompressedType.CODEC_DEFLATE, stored[0]);
+		CompressedType.releaseThreadCodec();
+		// releasing twice is fine
+		CompressedType.releaseThreadCodec();
+		// a new codec is created for the thread
+		assertArrayEquals(bytes, (byte[]) type.sqlArgToJava(fieldType, stored, 0));
+		assertArrayEquals(stored, (byte[]) type.javaToSqlArg(fieldType, bytes));
+	}
+
+	@Test(expected = SQLException.class)
+	public void testUnknownCodec() throws Exception {
+		CompressedType.getSingleton().sqlArgToJava(null, new byte[] { 9, 1, 2 }, 0);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testTruncated() throws Exception {
+		FieldType fieldType = FieldType.createFieldType(connectionSource, TABLE_NAME,
+				LocalCompressed.class.getDeclaredField(BYTES_COLUMN), LocalCompressed.class);
+		byte[] stored = (byte[]) CompressedType.getSingleton().javaToSqlArg(fieldType, new byte[1000]);
+		byte[] truncated = new byte[stored.length / 2];
+		System.arraycopy(stored, 0, truncated, 0, truncated.length);
+		CompressedType.getSingleton().sqlArgToJava(fieldType, truncated, 0);
+	}
+
+	@Test
+	public void testProperties() throws Exception {
+		CompressedType type = CompressedType.getSingleton();
+		assertEquals(SqlType.BYTE_ARRAY, type.getSqlType());
+		assertFalse(type.isComparable());
+		assertFalse(type.isAppropriateId());
+		assertTrue(type.isArgumentHolderRequired());
+		assertTrue(type.dataIsEqual(new byte[] { 1, 2 }, new byte[] { 1, 2 }));
+		assertTrue(type.dataIsEqual("a", "a"));
+		assertFalse(type.dataIsEqual("a", null));
+	}
+
+	private byte[] rawBytes(Dao<?, ?> dao, String columnName) throws SQLException {
+		return (byte[]) dao.queryRaw("select " + columnName + " from " + TABLE_NAME,
+				new DataType[] { DataType.BYTE_ARRAY }).getFirstResult()[0];
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalCompressed {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = STRING_COLUMN, compressThreshold = 16)
+		String string;
+		@DatabaseField(columnName = BYTES_COLUMN, compressThreshold = 16)
+		byte[] bytes;
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class InvalidCompressed {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(compressThreshold = 16)
+		int value;
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class ConflictingCompressed {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(dataType = DataType.LONG_STRING, compressThreshold = 16)
+		String withDataType;
+		@DatabaseField(persisterClass = ByteArrayType.class, compressThreshold = 16)
+		byte[] withPersisterClass;
+	}
+}
@@ -0,0 +1,120 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class FileTypeTest extends BaseTypeTest {
+
+	private static final String FILE_COLUMN = "file";
+
+	@Test
+	public void testFile() throws Exception {
+		Dao<LocalFile, Integer> dao = createDao(LocalFile.class, true);
+		byte[] bytes = new byte[20000];
+		new Random(2).nextBytes(bytes);
+		File file = File.createTempFile(getClass().getSimpleName(), ".tmp");
+		File result = null;
+		try {
+			FileOutputStream outStream = new FileOutputStream(file);
+			try {
+				outStream.write(bytes);
+			} finally {
+				outStream.close();
+			}
+			LocalFile foo = new LocalFile();
+			foo.file = file;
+			assertEquals(1, dao.create(foo));
+
+			result = dao.queryForId(foo.id).file;
+			assertFalse(file.equals(result));
+			assertTrue(result.exists());
+			InputStream inStream = new FileInputStream(result);
+			try {
+				assertArrayEquals(bytes, InputStreamTypeTest.readFully(inStream));
+			} finally {
+				inStream.close();
+			}
+		} finally {
+			file.delete();
+			if (result != null) {
+				result.delete();
+			}
+		}
+	}
+
+	@Test
+	public void testFileNull() throws Exception {
+		Dao<LocalFile, Integer> dao = createDao(LocalFile.class, true);
+		LocalFile foo = new LocalFile();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForId(foo.id).file);
+	}
+
+	@Test
+	public void testForeignAutoRefreshDeleted() throws Exception {
+		Dao<LocalFile, Integer> fileDao = createDao(LocalFile.class, true);
+		Dao<FileHolder, Integer> holderDao = createDao(FileHolder.class, true);
+		File file = File.createTempFile(getClass().getSimpleName(), ".tmp");
+		try {
+			LocalFile localFile = new LocalFile();
+			localFile.file = file;
+			assertEquals(1, fileDao.create(localFile));
+			FileHolder holder = new FileHolder();
+			holder.localFile = localFile;
+			assertEquals(1, holderDao.create(holder));
+
+			// the temporary file is kept while the File object is held
+			File kept = holderDao.queryForId(holder.id).localFile.file;
+			// nobody looks at this one
+			String droppedPath = holderDao.queryForId(holder.id).localFile.file.getPath();
+			File dropped = new File(droppedPath);
+			assertTrue(dropped.exists());
+			for (int i = 0; i < 100 && dropped.exists(); i++) {
+				System.gc();
+				Thread.sleep(10);
+				BaseBlobStreamType.deleteUnreachableFiles();
+			}
+			assertFalse(dropped.exists());
+			assertTrue(kept.exists());
+			assertTrue(kept.delete());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testCoverage() {
+		new FileType(new Class[0]);
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalFile {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = FILE_COLUMN)
+		File file;
+	}
+
+	@DatabaseTable(tableName = "fileholder")
+	protected static class FileHolder {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true)
+		LocalFile localFile;
+	}
+}
@@ -0,0 +1,181 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class InputStreamTypeTest extends BaseTypeTest {
+
+	private static final String STREAM_COLUMN = "stream";
+
+	@Test
+	public void testInputStream() throws Exception {
+		Dao<LocalInputStream, Integer> dao = createDao(LocalInputStream.class, true);
+		// bigger than the copy buffer
+		byte[] bytes = new byte[100000];
+		new Random(1).nextBytes(bytes);
+		LocalInputStream foo = new LocalInputStream();
+		foo.stream = new ByteArrayInputStream(bytes);
+		assertEquals(1, dao.create(foo));
+
+		List<LocalInputStream> results = dao.queryForAll();
+		assertEquals(1, results.size());
+		InputStream stream = results.get(0).stream;
+		try {
+			assertArrayEquals(bytes, readFully(stream));
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Test
+	public void testWrittenTwice() throws Exception {
+		Dao<LocalInputStream, Integer> dao = createDao(LocalInputStream.class, true);
+		LocalInputStream foo = new LocalInputStream();
+		foo.stream = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+		assertEquals(1, dao.create(foo));
+		try {
+			// the stream has already been read by the insert
+			dao.update(foo);
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		foo.stream = new ByteArrayInputStream(new byte[] { 4, 5 });
+		assertEquals(1, dao.update(foo));
+		InputStream stream = dao.queryForId(foo.id).stream;
+		try {
+			assertArrayEquals(new byte[] { 4, 5 }, readFully(stream));
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Test
+	public void testTempFileDeleted() throws Exception {
+		Dao<LocalInputStream, Integer> dao = createDao(LocalInputStream.class, true);
+		LocalInputStream foo = new LocalInputStream();
+		foo.stream = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+		assertEquals(1, dao.create(foo));
+		int before = countTempFiles();
+		InputStream stream = dao.queryForId(foo.id).stream;
+		assertEquals(before + 1, countTempFiles());
+		// reading to the end deletes it without a close
+		assertArrayEquals(new byte[] { 1, 2, 3 }, readFully(stream));
+		assertEquals(before, countTempFiles());
+		assertEquals(-1, stream.read());
+		stream.close();
+
+		stream = dao.queryForId(foo.id).stream;
+		assertEquals(before + 1, countTempFiles());
+		stream.close();
+		assertEquals(before, countTempFiles());
+	}
+
+	@Test
+	public void testDroppedStreamDeleted() throws Exception {
+		Dao<LocalInputStream, Integer> dao = createDao(LocalInputStream.class, true);
+		LocalInputStream foo = new LocalInputStream();
+		foo.stream = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+		assertEquals(1, dao.create(foo));
+		int before = countTempFiles();
+		// never read or closed
+		assertNotNull(dao.queryForId(foo.id));
+		assertEquals(before + 1, countTempFiles());
+		for (int i = 0; i < 100 && countTempFiles() > before; i++) {
+			System.gc();
+			Thread.sleep(10);
+			BaseBlobStreamType.deleteUnreachableFiles();
+		}
+		assertEquals(before, countTempFiles());
+	}
+
+	@Test
+	public void testInputStreamNull() throws Exception {
+		Dao<LocalInputStream, Integer> dao = createDao(LocalInputStream.class, true);
+		LocalInputStream foo = new LocalInputStream();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForId(foo.id).stream);
+	}
+
+	@Test
+	public void testLookup() throws Exception {
+		Field field = LocalInputStream.class.getDeclaredField(STREAM_COLUMN);
+		assertSame(InputStreamType.getSingleton(), DataPersisterManager.lookupForField(field));
+		InputStreamType type = InputStreamType.getSingleton();
+		assertEquals(SqlType.BLOB, type.getSqlType());
+		assertTrue(type.isStreamType());
+		assertFalse(type.isComparable());
+		assertFalse(type.isAppropriateId());
+		assertTrue(type.isArgumentHolderRequired());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testDefault() throws Exception {
+		DataType.INPUT_STREAM.getDataPersister().parseDefaultString(null, "default");
+	}
+
+	@Test(expected = SQLException.class)
+	public void testResultString() throws Exception {
+		DataType.INPUT_STREAM.getDataPersister().resultStringToJava(null, "string", 0);
+	}
+
+	@Test
+	public void testCoverage() {
+		new InputStreamType(new Class[0]);
+	}
+
+	private static int countTempFiles() {
+		String[] names = new File(System.getProperty("java.io.tmpdir")).list(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.startsWith("ormlite-blob-");
+			}
+		});
+		return (names == null ? 0 : names.length);
+	}
+
+	static byte[] readFully(InputStream stream) throws Exception {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		while (true) {
+			int num = stream.read(buffer);
+			if (num < 0) {
+				return outStream.toByteArray();
+			}
+			outStream.write(buffer, 0, num);
+		}
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalInputStream {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = STREAM_COLUMN)
+		InputStream stream;
+	}
+}
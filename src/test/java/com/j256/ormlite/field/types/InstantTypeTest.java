@@ -0,0 +1,88 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.time.Instant;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class InstantTypeTest extends BaseTypeTest {
+
+	private static final String INSTANT_COLUMN = "instant";
+
+	@Test
+	public void testInstant() throws Exception {
+		Class<LocalInstant> clazz = LocalInstant.class;
+		Dao<LocalInstant, Object> dao = createDao(clazz, true);
+		Instant val = Instant.ofEpochSecond(1485870310L, 123456789);
+		String valStr = "2017-01-31T13:45:10.123456789Z";
+		LocalInstant foo = new LocalInstant();
+		foo.instant = val;
+		assertEquals(1, dao.create(foo));
+		testType(dao, foo, clazz, val, valStr, valStr, "2017-01-31T13:45:10.123456789Z", DataType.INSTANT,
+				INSTANT_COLUMN, false, false, true, false, false, false, true, false);
+	}
+
+	@Test
+	public void testInstantNull() throws Exception {
+		Dao<LocalInstant, Object> dao = createDao(LocalInstant.class, true);
+		LocalInstant foo = new LocalInstant();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForAll().get(0).instant);
+	}
+
+	@Test
+	public void testInstantOrdering() throws Exception {
+		Dao<LocalInstant, Object> dao = createDao(LocalInstant.class, true);
+		Instant[] instants = new Instant[] { Instant.ofEpochSecond(-1L, 999999999), Instant.ofEpochSecond(0),
+				Instant.ofEpochSecond(0, 500), Instant.ofEpochSecond(1), Instant.ofEpochSecond(253402300799L) };
+		for (int i = instants.length - 1; i >= 0; i--) {
+			LocalInstant foo = new LocalInstant();
+			foo.instant = instants[i];
+			assertEquals(1, dao.create(foo));
+		}
+		int i = 0;
+		for (LocalInstant foo : dao.queryBuilder().orderBy(INSTANT_COLUMN, true).query()) {
+			assertEquals(instants[i++], foo.instant);
+		}
+		assertEquals(instants.length, i);
+	}
+
+	@Test
+	public void testOffsetParsed() throws Exception {
+		assertEquals(Instant.ofEpochSecond(1485870310L),
+				InstantType.getSingleton().sqlArgToJava(null, "2017-01-31T15:45:10+02:00", 0));
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBadString() throws Exception {
+		InstantType.getSingleton().sqlArgToJava(null, "2017-01-31T13:45:10", 0);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testYearOutOfRange() throws Exception {
+		InstantType.getSingleton().javaToSqlArg(null, Instant.ofEpochSecond(253402300800L));
+	}
+
+	@Test
+	public void testAutoDetected() throws Exception {
+		assertEquals(InstantType.getSingleton(),
+				DataPersisterManager.lookupForField(LocalInstant.class.getDeclaredField(INSTANT_COLUMN)));
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalInstant {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = INSTANT_COLUMN)
+		Instant instant;
+	}
+}
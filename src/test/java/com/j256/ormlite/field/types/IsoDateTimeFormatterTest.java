@@ -0,0 +1,104 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class IsoDateTimeFormatterTest {
+
+	private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+	@Test
+	public void testEpochDay() throws Exception {
+		assertEquals(0, IsoDateTimeFormatter.parseEpochDay("1970-01-01"));
+		assertEquals(17197, IsoDateTimeFormatter.parseEpochDay("2017-01-31"));
+		assertEquals(-719162, IsoDateTimeFormatter.parseEpochDay("0001-01-01"));
+		assertEquals("0000-01-01", IsoDateTimeFormatter.formatEpochDay(-719528));
+		assertEquals("9999-12-31", IsoDateTimeFormatter.formatEpochDay(2932896));
+		assertEquals("2000-02-29", IsoDateTimeFormatter.formatEpochDay(11016));
+	}
+
+	@Test
+	public void testEpochDayRoundTrip() throws Exception {
+		for (long day = -719528; day <= 2932896; day += 7) {
+			String str = IsoDateTimeFormatter.formatEpochDay(day);
+			assertEquals(day, IsoDateTimeFormatter.parseEpochDay(str));
+		}
+	}
+
+	@Test
+	public void testMatchesSimpleDateFormat() throws Exception {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		Random random = new Random(1234);
+		for (int i = 0; i < 1000; i++) {
+			// between 1900 and 2100
+			long millis = (long) ((random.nextDouble() - 0.35) * 200 * 365 * MILLIS_PER_DAY);
+			long seconds = Math.round(Math.floor(millis / 1000.0));
+			int nanos = (int) (millis - seconds * 1000) * 1000000;
+			String str = IsoDateTimeFormatter.formatEpochSecond(seconds, nanos, false);
+			assertEquals(dateFormat.format(millis) + "000000", str);
+			assertEquals(seconds, IsoDateTimeFormatter.parseEpochSecond(str, false));
+			assertEquals(nanos, IsoDateTimeFormatter.parseNanoOfSecond(str));
+		}
+	}
+
+	@Test
+	public void testParseVariations() throws Exception {
+		long seconds = 1485870310L;
+		assertEquals(seconds, IsoDateTimeFormatter.parseEpochSecond("2017-01-31T13:45:10", false));
+		assertEquals(seconds, IsoDateTimeFormatter.parseEpochSecond("2017-01-31 13:45:10.5", false));
+		assertEquals(seconds - 10, IsoDateTimeFormatter.parseEpochSecond("2017-01-31T13:45", false));
+		assertEquals(seconds, IsoDateTimeFormatter.parseEpochSecond("2017-01-31T13:45:10Z", true));
+		assertEquals(seconds, IsoDateTimeFormatter.parseEpochSecond("2017-01-31T08:15:10-05:30", true));
+		assertEquals(500000000, IsoDateTimeFormatter.parseNanoOfSecond("2017-01-31 13:45:10.5"));
+		assertEquals(123000, IsoDateTimeFormatter.parseNanoOfSecond("2017-01-31T13:45:10.000123Z"));
+		assertEquals(0, IsoDateTimeFormatter.parseNanoOfSecond("2017-01-31T13:45"));
+		assertEquals("2017-01-31T13:45:10.000000001Z", IsoDateTimeFormatter.formatEpochSecond(seconds, 1, true));
+		assertEquals("1969-12-31T23:59:59.000000000", IsoDateTimeFormatter.formatEpochSecond(-1, 0, false));
+	}
+
+	@Test
+	public void testInvalid() {
+		String[] dates = new String[] { "2017-1-31", "2017-13-01", "2017-02-29", "2017-04-31", "2017/01/31",
+				"2017-01-31x" };
+		for (String date : dates) {
+			try {
+				IsoDateTimeFormatter.parseEpochDay(date);
+				fail("Should have thrown for " + date);
+			} catch (ParseException e) {
+				// expected
+			}
+		}
+		String[] dateTimes = new String[] { "2017-01-31", "2017-01-31T24:00", "2017-01-31T13:60", "2017-01-31T13:45:",
+				"2017-01-31T13:45:10.", "2017-01-31T13:45:10.1234567890", "2017-01-31T13:45:10Z", "2017-01-31X13:45" };
+		for (String dateTime : dateTimes) {
+			try {
+				IsoDateTimeFormatter.parseEpochSecond(dateTime, false);
+				fail("Should have thrown for " + dateTime);
+			} catch (ParseException e) {
+				// expected
+			}
+		}
+		String[] zoned = new String[] { "2017-01-31T13:45:10", "2017-01-31T13:45:10+0200", "2017-01-31T13:45:10ZZ" };
+		for (String dateTime : zoned) {
+			try {
+				IsoDateTimeFormatter.parseEpochSecond(dateTime, true);
+				fail("Should have thrown for " + dateTime);
+			} catch (ParseException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFormatOutOfRange() {
+		IsoDateTimeFormatter.formatEpochDay(2932897);
+	}
+}
@@ -0,0 +1,60 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class LocalDateTimeTypeTest extends BaseTypeTest {
+
+	private static final String DATE_TIME_COLUMN = "dateTime";
+
+	@Test
+	public void testLocalDateTime() throws Exception {
+		Class<LocalDateTimeClass> clazz = LocalDateTimeClass.class;
+		Dao<LocalDateTimeClass, Object> dao = createDao(clazz, true);
+		LocalDateTime val = LocalDateTime.of(2017, 1, 31, 13, 45, 10, 120000000);
+		String valStr = "2017-01-31T13:45:10.120000000";
+		LocalDateTimeClass foo = new LocalDateTimeClass();
+		foo.dateTime = val;
+		assertEquals(1, dao.create(foo));
+		// the default string is normalized
+		testType(dao, foo, clazz, val, valStr, valStr, "2017-01-31 13:45:10.12", DataType.LOCAL_DATE_TIME,
+				DATE_TIME_COLUMN, false, false, true, false, false, false, true, false);
+	}
+
+	@Test
+	public void testLocalDateTimeNull() throws Exception {
+		Dao<LocalDateTimeClass, Object> dao = createDao(LocalDateTimeClass.class, true);
+		LocalDateTimeClass foo = new LocalDateTimeClass();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForAll().get(0).dateTime);
+	}
+
+	@Test
+	public void testNoSeconds() throws Exception {
+		assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59),
+				LocalDateTimeType.getSingleton().sqlArgToJava(null, "1969-12-31T23:59", 0));
+	}
+
+	@Test(expected = SQLException.class)
+	public void testZoneNotAllowed() throws Exception {
+		LocalDateTimeType.getSingleton().sqlArgToJava(null, "2017-01-31T13:45:10Z", 0);
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalDateTimeClass {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = DATE_TIME_COLUMN)
+		LocalDateTime dateTime;
+	}
+}
@@ -0,0 +1,55 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class LocalDateTypeTest extends BaseTypeTest {
+
+	private static final String DATE_COLUMN = "date";
+
+	@Test
+	public void testLocalDate() throws Exception {
+		Class<LocalDateClass> clazz = LocalDateClass.class;
+		Dao<LocalDateClass, Object> dao = createDao(clazz, true);
+		LocalDate val = LocalDate.of(2016, 2, 29);
+		String valStr = "2016-02-29";
+		LocalDateClass foo = new LocalDateClass();
+		foo.date = val;
+		assertEquals(1, dao.create(foo));
+		testType(dao, foo, clazz, val, valStr, valStr, valStr, DataType.LOCAL_DATE, DATE_COLUMN, false, false, true,
+				false, false, false, true, false);
+	}
+
+	@Test
+	public void testQueryByDate() throws Exception {
+		Dao<LocalDateClass, Object> dao = createDao(LocalDateClass.class, true);
+		LocalDateClass foo = new LocalDateClass();
+		foo.date = LocalDate.of(1999, 12, 31);
+		assertEquals(1, dao.create(foo));
+		assertEquals(1, dao.queryForEq(DATE_COLUMN, foo.date).size());
+		assertFalse(dao.queryBuilder().where().lt(DATE_COLUMN, LocalDate.of(2000, 1, 1)).query().isEmpty());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBadDate() throws Exception {
+		LocalDateType.getSingleton().sqlArgToJava(null, "2017-02-29", 0);
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalDateClass {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = DATE_COLUMN)
+		LocalDate date;
+	}
+}
@@ -0,0 +1,112 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class ReaderTypeTest extends BaseTypeTest {
+
+	private static final String READER_COLUMN = "reader";
+
+	@Test
+	public void testReader() throws Exception {
+		Dao<LocalReader, Integer> dao = createDao(LocalReader.class, true);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			// multi-byte and surrogate pair characters that cross the buffer boundaries
+			sb.append("line ").append(i).append(" \u0185\u20ac\ud83d\ude00\n");
+		}
+		String val = sb.toString();
+		LocalReader foo = new LocalReader();
+		foo.reader = new StringReader(val);
+		assertEquals(1, dao.create(foo));
+
+		List<LocalReader> results = dao.queryForAll();
+		assertEquals(1, results.size());
+		Reader reader = results.get(0).reader;
+		try {
+			assertEquals(val, readFully(reader));
+		} finally {
+			reader.close();
+		}
+
+		// stored as utf-8
+		Object[] row = dao.queryRaw("select " + READER_COLUMN + " from " + TABLE_NAME,
+				new DataType[] { DataType.BYTE_ARRAY }).getFirstResult();
+		assertArrayEquals(val.getBytes("UTF-8"), (byte[]) row[0]);
+	}
+
+	@Test
+	public void testWrittenTwice() throws Exception {
+		Dao<LocalReader, Integer> dao = createDao(LocalReader.class, true);
+		LocalReader foo = new LocalReader();
+		foo.reader = new StringReader("first");
+		assertEquals(1, dao.create(foo));
+		try {
+			dao.update(foo);
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testReaderEmpty() throws Exception {
+		Dao<LocalReader, Integer> dao = createDao(LocalReader.class, true);
+		LocalReader foo = new LocalReader();
+		foo.reader = new StringReader("");
+		assertEquals(1, dao.create(foo));
+		Reader reader = dao.queryForId(foo.id).reader;
+		try {
+			assertEquals("", readFully(reader));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReaderNull() throws Exception {
+		Dao<LocalReader, Integer> dao = createDao(LocalReader.class, true);
+		LocalReader foo = new LocalReader();
+		assertEquals(1, dao.create(foo));
+		assertNull(dao.queryForId(foo.id).reader);
+	}
+
+	@Test
+	public void testCoverage() {
+		new ReaderType(new Class[0]);
+	}
+
+	private String readFully(Reader reader) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		char[] buffer = new char[1000];
+		while (true) {
+			int num = reader.read(buffer);
+			if (num < 0) {
+				return sb.toString();
+			}
+			sb.append(buffer, 0, num);
+		}
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class LocalReader {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = READER_COLUMN)
+		Reader reader;
+	}
+}
@@ -0,0 +1,77 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class TimeOrderedUuidGeneratorTest {
+
+	@Test
+	public void testLayout() {
+		long before = System.currentTimeMillis();
+		UUID uuid = TimeOrderedUuidGenerator.getSingleton().generate();
+		long after = System.currentTimeMillis();
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+		long millis = TimeOrderedUuidGenerator.extractMillis(uuid);
+		// the counter may have pushed the time ahead a bit if other tests generated a lot of ids
+		assertTrue(millis >= before);
+		assertTrue(millis <= after + 1000);
+	}
+
+	@Test
+	public void testOrdered() {
+		TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+		UUID last = generator.generate();
+		// more than the counter can hold in one millisecond
+		for (int i = 0; i < 100000; i++) {
+			UUID uuid = generator.generate();
+			assertTrue(compareUnsigned(last.getMostSignificantBits(), uuid.getMostSignificantBits()) < 0);
+			assertTrue(last.toString().compareTo(uuid.toString()) < 0);
+			last = uuid;
+		}
+	}
+
+	@Test
+	public void testThreads() throws Exception {
+		final TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+		final int numThreads = 4;
+		final int numPerThread = 10000;
+		final List<List<UUID>> results = new ArrayList<List<UUID>>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < numThreads; i++) {
+			final List<UUID> uuids = new ArrayList<UUID>(numPerThread);
+			results.add(uuids);
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < numPerThread; j++) {
+						uuids.add(generator.generate());
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		Set<Long> mostSigBits = new HashSet<Long>();
+		for (int i = 0; i < numThreads; i++) {
+			threads.get(i).join();
+			for (UUID uuid : results.get(i)) {
+				// the time and counter part is unique across threads
+				assertTrue(mostSigBits.add(uuid.getMostSignificantBits()));
+			}
+		}
+		assertEquals(numThreads * numPerThread, mostSigBits.size());
+	}
+
+	private static int compareUnsigned(long value1, long value2) {
+		return Long.valueOf(value1 + Long.MIN_VALUE).compareTo(value2 + Long.MIN_VALUE);
+	}
+}
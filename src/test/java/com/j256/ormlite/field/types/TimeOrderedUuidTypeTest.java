@@ -0,0 +1,43 @@
+package com.j256.ormlite.field.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class TimeOrderedUuidTypeTest extends BaseTypeTest {
+
+	@Test
+	public void testGeneratedIdsSorted() throws Exception {
+		Dao<TimeOrderedId, UUID> dao = createDao(TimeOrderedId.class, true);
+		int num = 20;
+		for (int i = 0; i < num; i++) {
+			TimeOrderedId foo = new TimeOrderedId();
+			foo.order = i;
+			assertEquals(1, dao.create(foo));
+			assertEquals(7, foo.id.version());
+		}
+		List<TimeOrderedId> results = dao.queryBuilder().orderBy("id", true).query();
+		assertEquals(num, results.size());
+		for (int i = 0; i < num; i++) {
+			assertEquals(i, results.get(i).order);
+		}
+		assertTrue(TimeOrderedUuidType.getSingleton().isSelfGeneratedId());
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class TimeOrderedId {
+		@DatabaseField(generatedId = true, dataType = DataType.UUID_TIME_ORDERED)
+		UUID id;
+		@DatabaseField
+		int order;
+	}
+}
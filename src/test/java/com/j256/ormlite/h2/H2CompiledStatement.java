@@ -8,7 +8,7 @@ import java.sql.Types;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.misc.IOUtils;
-import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.FetchSizeCapableStatement;
 import com.j256.ormlite.support.DatabaseResults;
 
 /**
@@ -16,7 +16,7 @@ import com.j256.ormlite.support.DatabaseResults;
  * 
  * @author graywatson
  */
-public class H2CompiledStatement implements CompiledStatement {
+public class H2CompiledStatement implements FetchSizeCapableStatement {
 
 	private final PreparedStatement preparedStatement;
 	private final boolean cacheStore;
@@ -85,6 +85,11 @@ public class H2CompiledStatement implements CompiledStatement {
 		preparedStatement.setMaxRows(max);
 	}
 
+	@Override
+	public void setFetchSize(int fetchSize) throws SQLException {
+		preparedStatement.setFetchSize(fetchSize);
+	}
+
 	@Override
 	public void setQueryTimeout(long millis) throws SQLException {
 		preparedStatement.setQueryTimeout(Long.valueOf(millis).intValue() / 1000);
@@ -20,13 +20,14 @@ import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.support.GeneratedKeyHolder;
+import com.j256.ormlite.support.ReadOnlyCapableConnection;
 
 /**
  * H2 connection. Unfortunately, a good bit of this is copied from the JdbcDatabaseConnection.
  * 
  * @author graywatson
  */
-public class H2DatabaseConnection implements DatabaseConnection {
+public class H2DatabaseConnection implements ReadOnlyCapableConnection {
 
 	private static final String JDBC_META_TABLE_NAME_COLUMN = "TABLE_NAME";
 
@@ -52,6 +53,21 @@ public class H2DatabaseConnection implements DatabaseConnection {
 		connection.setAutoCommit(autoCommit);
 	}
 
+	@Override
+	public boolean isReadOnlySupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isReadOnly() throws SQLException {
+		return connection.isReadOnly();
+	}
+
+	@Override
+	public void setReadOnly(boolean readOnly) throws SQLException {
+		connection.setReadOnly(readOnly);
+	}
+
 	@Override
 	public Savepoint setSavePoint(String name) throws SQLException {
 		return connection.setSavepoint(name);
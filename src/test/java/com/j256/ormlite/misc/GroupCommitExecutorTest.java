@@ -0,0 +1,286 @@
+package com.j256.ormlite.misc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.BaseConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+public class GroupCommitExecutorTest extends BaseCoreTest {
+
+	@Test
+	public void testSingleUnit() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		GroupCommitExecutor executor = new GroupCommitExecutor(connectionSource, 0, 10);
+		Foo result = executor.callInTransaction(new Callable<Foo>() {
+			@Override
+			public Foo call() throws Exception {
+				Foo foo = new Foo();
+				foo.val = 123;
+				dao.create(foo);
+				return foo;
+			}
+		});
+		assertEquals(123, dao.queryForId(result.id).val);
+		assertEquals(1, executor.getCommitCount());
+		assertEquals(1, executor.getUnitCount());
+	}
+
+	@Test
+	public void testManyThreads() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final GroupCommitExecutor executor = new GroupCommitExecutor(connectionSource, 100, 10);
+		int numThreads = 20;
+		ExecutorService threadPool = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+			for (int i = 0; i < numThreads; i++) {
+				final int val = i;
+				futures.add(threadPool.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						return executor.callInTransaction(new Callable<Integer>() {
+							@Override
+							public Integer call() throws Exception {
+								Foo foo = new Foo();
+								foo.val = val;
+								dao.create(foo);
+								return val;
+							}
+						});
+					}
+				}));
+			}
+			for (int i = 0; i < numThreads; i++) {
+				// each caller gets its own result
+				assertEquals(i, (int) futures.get(i).get());
+			}
+		} finally {
+			threadPool.shutdown();
+		}
+		assertEquals(numThreads, dao.countOf());
+		assertEquals(numThreads, executor.getUnitCount());
+		assertTrue(executor.getCommitCount() < numThreads);
+	}
+
+	@Test
+	public void testFailedUnitIsolated() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		// a long delay so the full group of 3 is what triggers the commit
+		final GroupCommitExecutor executor = new GroupCommitExecutor(connectionSource, 10000, 3);
+		ExecutorService threadPool = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<Foo>> futures = new ArrayList<Future<Foo>>();
+			for (int i = 0; i < 3; i++) {
+				final int val = i;
+				futures.add(threadPool.submit(new Callable<Foo>() {
+					@Override
+					public Foo call() throws Exception {
+						return executor.callInTransaction(new Callable<Foo>() {
+							@Override
+							public Foo call() throws Exception {
+								Foo foo = new Foo();
+								foo.val = val;
+								dao.create(foo);
+								if (val == 1) {
+									throw new SQLException("unit failed after writing");
+								}
+								return foo;
+							}
+						});
+					}
+				}));
+			}
+			for (int i = 0; i < 3; i++) {
+				try {
+					Foo foo = futures.get(i).get();
+					assertTrue(i != 1);
+					assertEquals(i, dao.queryForId(foo.id).val);
+				} catch (Exception e) {
+					assertEquals(1, i);
+					assertTrue(e.getCause() instanceof SQLException);
+				}
+			}
+		} finally {
+			threadPool.shutdown();
+		}
+		assertEquals(1, executor.getCommitCount());
+		// the failed unit's row was rolled back to its save-point
+		assertEquals(2, dao.countOf());
+		assertEquals(0, dao.queryForEq(Foo.VAL_COLUMN_NAME, 1).size());
+	}
+
+	@Test
+	public void testNonSqlException() throws Exception {
+		GroupCommitExecutor executor = new GroupCommitExecutor(connectionSource, 0, 10);
+		try {
+			executor.callInTransaction(new Callable<Void>() {
+				@Override
+				public Void call() {
+					throw new IllegalStateException("bad");
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		// the next unit still works
+		assertNull(executor.callInTransaction(new Callable<Void>() {
+			@Override
+			public Void call() {
+				return null;
+			}
+		}));
+		assertEquals(2, executor.getCommitCount());
+	}
+
+	@Test
+	public void testErrorRollsBack() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		GroupCommitExecutor executor = new GroupCommitExecutor(connectionSource, 0, 10);
+		try {
+			executor.callInTransaction(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					dao.create(new Foo());
+					throw new Error("bad");
+				}
+			});
+			fail("Should have thrown");
+		} catch (Error e) {
+			// expected
+		}
+		// restoring auto-commit must not have committed the row
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testInsideTransaction() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		// only the outer transaction changes the auto-commit and commits
+		expect(conn.isAutoCommitSupported()).andReturn(true);
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		conn.commit(null);
+		conn.setAutoCommit(true);
+		replay(conn);
+		final SingleConnectionSource cs = new SingleConnectionSource(conn);
+		final GroupCommitExecutor executor = new GroupCommitExecutor(cs, 0, 10);
+		int result = TransactionManager.callInTransaction(cs, new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				// runs inline in the outer transaction instead of committing it in a group
+				return executor.callInTransaction(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						return 42;
+					}
+				});
+			}
+		});
+		assertEquals(42, result);
+		verify(conn);
+		assertEquals(0, executor.getCommitCount());
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		try {
+			new GroupCommitExecutor(connectionSource, -1, 10);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			new GroupCommitExecutor(connectionSource, 1, 0);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		assertEquals(0, new GroupCommitExecutor(connectionSource).getCommitCount());
+	}
+
+	/**
+	 * Connection-source which always returns the same connection and tracks it like the JDBC connection-sources.
+	 */
+	private class SingleConnectionSource extends BaseConnectionSource {
+
+		private final Logger logger = LoggerFactory.getLogger(getClass());
+		private final DatabaseConnection connection;
+
+		public SingleConnectionSource(DatabaseConnection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public DatabaseConnection getReadOnlyConnection(String tableName) {
+			return connection;
+		}
+
+		@Override
+		public DatabaseConnection getReadWriteConnection(String tableName) {
+			return connection;
+		}
+
+		@Override
+		public void releaseConnection(DatabaseConnection connection) {
+			// noop
+		}
+
+		@Override
+		public boolean saveSpecialConnection(DatabaseConnection connection) throws SQLException {
+			return saveSpecial(connection);
+		}
+
+		@Override
+		public void clearSpecialConnection(DatabaseConnection connection) {
+			clearSpecial(connection, logger);
+		}
+
+		@Override
+		public void close() {
+			// noop
+		}
+
+		@Override
+		public void closeQuietly() {
+			// noop
+		}
+
+		@Override
+		public DatabaseType getDatabaseType() {
+			return databaseType;
+		}
+
+		@Override
+		public boolean isOpen(String tableName) {
+			return true;
+		}
+
+		@Override
+		public boolean isSingleConnection(String tableName) {
+			return true;
+		}
+	}
+}
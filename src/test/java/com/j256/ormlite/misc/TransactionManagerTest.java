@@ -2,25 +2,34 @@ package com.j256.ormlite.misc;
 
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.isA;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import com.j256.ormlite.BaseCoreTest;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.BaseConnectionSource;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.ReadOnlyCapableConnection;
 
 public class TransactionManagerTest extends BaseCoreTest {
 
@@ -343,6 +352,306 @@ public class TransactionManagerTest extends BaseCoreTest {
 		assertEquals(0, results.size());
 	}
 
+	@Test
+	public void testRetryTransient() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(3, 0, 0);
+		TransactionManager mgr = new TransactionManager(connectionSource);
+		mgr.setRetryPolicy(retryPolicy);
+		final AtomicInteger callCount = new AtomicInteger();
+		int result = mgr.callInTransaction(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				dao.create(new Foo());
+				if (callCount.incrementAndGet() < 3) {
+					throw new SQLException("deadlock detected", "40001");
+				}
+				return callCount.get();
+			}
+		});
+		assertEquals(3, result);
+		// the failed attempts were rolled back
+		assertEquals(1, dao.countOf());
+		assertEquals(2, retryPolicy.getRetryCount());
+		assertEquals(1, retryPolicy.getRecoveredCount());
+		assertEquals(0, retryPolicy.getExhaustedCount());
+	}
+
+	@Test
+	public void testRetryExhausted() throws Exception {
+		TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(2, 0, 0);
+		final AtomicInteger callCount = new AtomicInteger();
+		try {
+			TransactionManager.callInTransaction(null, connectionSource, retryPolicy, new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					callCount.incrementAndGet();
+					throw new SQLException("deadlock detected", "40001");
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		assertEquals(2, callCount.get());
+		assertEquals(1, retryPolicy.getRetryCount());
+		assertEquals(0, retryPolicy.getRecoveredCount());
+		assertEquals(1, retryPolicy.getExhaustedCount());
+	}
+
+	@Test
+	public void testRetryNotRetryable() throws Exception {
+		TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(3, 0, 0);
+		final AtomicInteger callCount = new AtomicInteger();
+		try {
+			TransactionManager.callInTransaction(null, connectionSource, retryPolicy, new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					callCount.incrementAndGet();
+					throw new SQLException("unique constraint violated", "23505");
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		assertEquals(1, callCount.get());
+		assertEquals(0, retryPolicy.getRetryCount());
+		assertEquals(0, retryPolicy.getExhaustedCount());
+	}
+
+	@Test
+	public void testInnerJoinsOuter() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		// no save-points and the auto-commit is only changed by the outer transaction
+		expect(conn.isAutoCommitSupported()).andReturn(true);
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		conn.commit(null);
+		conn.setAutoCommit(true);
+		replay(conn);
+		final SingleConnectionSource cs = new SingleConnectionSource(conn);
+		int result = TransactionManager.callInTransaction(cs, new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				return TransactionManager.callInTransaction(cs, new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						return TransactionManager.callInTransaction(cs, new Callable<Integer>() {
+							@Override
+							public Integer call() {
+								return 42;
+							}
+						});
+					}
+				});
+			}
+		});
+		assertEquals(42, result);
+		verify(conn);
+	}
+
+	@Test
+	public void testInnerJoinedFailureRollsBackOuter() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		expect(conn.isAutoCommitSupported()).andReturn(true);
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		conn.rollback(null);
+		conn.setAutoCommit(true);
+		replay(conn);
+		final SingleConnectionSource cs = new SingleConnectionSource(conn);
+		try {
+			TransactionManager.callInTransaction(cs, new Callable<Void>() {
+				@Override
+				public Void call() {
+					try {
+						TransactionManager.callInTransaction(cs, new Callable<Void>() {
+							@Override
+							public Void call() throws Exception {
+								throw new SQLException("inner failed");
+							}
+						});
+						fail("Should have thrown");
+					} catch (SQLException e) {
+						// the outer ignores it but can't commit
+					}
+					return null;
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		verify(conn);
+	}
+
+	@Test
+	public void testInnerNestedSavePoint() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		expect(conn.isAutoCommitSupported()).andReturn(true).times(2);
+		// asked once and then remembered for the nested transaction
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		Savepoint savePoint = createMock(Savepoint.class);
+		expect(savePoint.getSavepointName()).andReturn("name").anyTimes();
+		expect(conn.setSavePoint(isA(String.class))).andReturn(savePoint);
+		conn.rollback(savePoint);
+		conn.commit(null);
+		conn.setAutoCommit(true);
+		replay(conn, savePoint);
+		final SingleConnectionSource cs = new SingleConnectionSource(conn);
+		TransactionManager.callInTransaction(cs, new Callable<Void>() {
+			@Override
+			public Void call() {
+				try {
+					TransactionManager.callInNestedTransaction(cs, new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							throw new SQLException("inner failed");
+						}
+					});
+					fail("Should have thrown");
+				} catch (SQLException e) {
+					// only the inner was rolled back so the outer still commits
+				}
+				return null;
+			}
+		});
+		verify(conn, savePoint);
+	}
+
+	@Test
+	public void testReadOnlyTransaction() throws Exception {
+		ConnectionSource cs = createMock(ConnectionSource.class);
+		ReadOnlyCapableConnection conn = createMock(ReadOnlyCapableConnection.class);
+		expect(cs.getSpecialConnection(null)).andReturn(null);
+		expect(cs.getReadOnlyConnection(null)).andReturn(conn);
+		expect(cs.saveSpecialConnection(conn)).andReturn(true);
+		expect(conn.isReadOnlySupported()).andReturn(true);
+		expect(conn.isReadOnly()).andReturn(false);
+		conn.setReadOnly(true);
+		expect(conn.isAutoCommitSupported()).andReturn(true);
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		// rolled back instead of committed
+		conn.rollback(null);
+		conn.setAutoCommit(true);
+		conn.setReadOnly(false);
+		cs.clearSpecialConnection(conn);
+		cs.releaseConnection(conn);
+		replay(cs, conn);
+		final ConnectionSource fcs = cs;
+		assertEquals(Boolean.TRUE, TransactionManager.callInReadOnlyTransaction(cs, new Callable<Boolean>() {
+			@Override
+			public Boolean call() {
+				return TransactionManager.isInReadOnlyTransaction(fcs);
+			}
+		}));
+		verify(cs, conn);
+		assertFalse(TransactionManager.isInReadOnlyTransaction(cs));
+	}
+
+	@Test
+	public void testReadOnlyTransactionRestoreThrows() throws Exception {
+		ConnectionSource cs = createMock(ConnectionSource.class);
+		ReadOnlyCapableConnection conn = createMock(ReadOnlyCapableConnection.class);
+		expect(cs.getSpecialConnection(null)).andReturn(null);
+		expect(cs.getReadOnlyConnection(null)).andReturn(conn);
+		expect(cs.saveSpecialConnection(conn)).andReturn(true);
+		expect(conn.isReadOnlySupported()).andReturn(true);
+		expect(conn.isReadOnly()).andReturn(false);
+		conn.setReadOnly(true);
+		expect(conn.isAutoCommitSupported()).andReturn(true);
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		conn.rollback(null);
+		expectLastCall().andThrow(new SQLException("rollback failed"));
+		conn.setAutoCommit(true);
+		expectLastCall().andThrow(new SQLException("auto-commit failed"));
+		// still restored after the other steps failed
+		conn.setReadOnly(false);
+		cs.clearSpecialConnection(conn);
+		cs.releaseConnection(conn);
+		replay(cs, conn);
+		final SQLException callableException = new SQLException("callable failed");
+		try {
+			TransactionManager.callInReadOnlyTransaction(cs, new Callable<Void>() {
+				@Override
+				public Void call() throws SQLException {
+					throw callableException;
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// not masked by the restore exceptions
+			assertSame(callableException, e);
+		}
+		verify(cs, conn);
+	}
+
+	@Test
+	public void testReadOnlyTransactionNotCapable() throws Exception {
+		ConnectionSource cs = createMock(ConnectionSource.class);
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		expect(cs.getSpecialConnection(null)).andReturn(null);
+		expect(cs.getReadOnlyConnection(null)).andReturn(conn);
+		expect(cs.saveSpecialConnection(conn)).andReturn(true);
+		expect(conn.isAutoCommitSupported()).andReturn(false);
+		cs.clearSpecialConnection(conn);
+		cs.releaseConnection(conn);
+		replay(cs, conn);
+		assertEquals(Integer.valueOf(1), TransactionManager.callInReadOnlyTransaction(cs, new Callable<Integer>() {
+			@Override
+			public Integer call() {
+				return 1;
+			}
+		}));
+		verify(cs, conn);
+	}
+
+	@Test
+	public void testReadOnlyTransactionQueries() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = new Foo();
+		foo.val = 10;
+		assertEquals(1, dao.create(foo));
+		int val = new TransactionManager(connectionSource).callInReadOnlyTransaction(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				try {
+					dao.create(new Foo());
+					fail("Should have thrown");
+				} catch (SQLException e) {
+					// expected
+				}
+				try {
+					dao.delete(foo);
+					fail("Should have thrown");
+				} catch (SQLException e) {
+					// expected
+				}
+				try {
+					dao.executeRawNoArgs("DELETE FROM foo");
+					fail("Should have thrown");
+				} catch (SQLException e) {
+					// expected
+				}
+				try {
+					dao.executeRaw("DELETE FROM foo WHERE id = ?", Integer.toString(foo.id));
+					fail("Should have thrown");
+				} catch (SQLException e) {
+					// expected
+				}
+				return dao.queryForId(foo.id).val;
+			}
+		});
+		assertEquals(foo.val, val);
+		assertEquals(1, dao.countOf());
+		// writes work again afterwards
+		assertEquals(1, dao.create(new Foo()));
+	}
+
 	private void testTransactionManager(TransactionManager mgr, final Exception exception,
 			final Dao<Foo, Integer> fooDao) throws Exception {
 		final Foo foo1 = new Foo();
@@ -389,4 +698,67 @@ public class TransactionManagerTest extends BaseCoreTest {
 			assertEquals(val, foo2.val);
 		}
 	}
+
+	/**
+	 * Connection-source which always returns the same connection and tracks it like the JDBC connection-sources.
+	 */
+	private class SingleConnectionSource extends BaseConnectionSource {
+
+		private final Logger logger = LoggerFactory.getLogger(getClass());
+		private final DatabaseConnection connection;
+
+		public SingleConnectionSource(DatabaseConnection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public DatabaseConnection getReadOnlyConnection(String tableName) {
+			return connection;
+		}
+
+		@Override
+		public DatabaseConnection getReadWriteConnection(String tableName) {
+			return connection;
+		}
+
+		@Override
+		public void releaseConnection(DatabaseConnection connection) {
+			// noop
+		}
+
+		@Override
+		public boolean saveSpecialConnection(DatabaseConnection connection) throws SQLException {
+			return saveSpecial(connection);
+		}
+
+		@Override
+		public void clearSpecialConnection(DatabaseConnection connection) {
+			clearSpecial(connection, logger);
+		}
+
+		@Override
+		public void close() {
+			// noop
+		}
+
+		@Override
+		public void closeQuietly() {
+			// noop
+		}
+
+		@Override
+		public DatabaseType getDatabaseType() {
+			return databaseType;
+		}
+
+		@Override
+		public boolean isOpen(String tableName) {
+			return true;
+		}
+
+		@Override
+		public boolean isSingleConnection(String tableName) {
+			return true;
+		}
+	}
 }
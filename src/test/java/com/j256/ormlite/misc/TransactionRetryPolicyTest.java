@@ -0,0 +1,60 @@
+package com.j256.ormlite.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class TransactionRetryPolicyTest {
+
+	@Test
+	public void testBackoff() {
+		TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy(10, 10, 50);
+		for (int i = 0; i < 100; i++) {
+			long backoff = retryPolicy.getBackoffMillis(1);
+			assertTrue(backoff >= 5 && backoff <= 10);
+			backoff = retryPolicy.getBackoffMillis(2);
+			assertTrue(backoff >= 10 && backoff <= 20);
+			// capped at the max
+			backoff = retryPolicy.getBackoffMillis(9);
+			assertTrue(backoff >= 25 && backoff <= 50);
+		}
+	}
+
+	@Test
+	public void testNoBackoff() {
+		assertEquals(0, new TransactionRetryPolicy(3, 0, 0).getBackoffMillis(2));
+	}
+
+	@Test
+	public void testDefaults() {
+		TransactionRetryPolicy retryPolicy = new TransactionRetryPolicy();
+		assertEquals(TransactionRetryPolicy.DEFAULT_MAX_ATTEMPTS, retryPolicy.getMaxAttempts());
+		assertEquals(0, retryPolicy.getRetryCount());
+		assertEquals(0, retryPolicy.getRecoveredCount());
+		assertEquals(0, retryPolicy.getExhaustedCount());
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		try {
+			new TransactionRetryPolicy(0, 10, 100);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			new TransactionRetryPolicy(3, -1, 100);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			new TransactionRetryPolicy(3, 100, 10);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
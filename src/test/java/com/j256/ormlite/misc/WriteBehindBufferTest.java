@@ -0,0 +1,357 @@
+package com.j256.ormlite.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.Dao.DaoObserver;
+import com.j256.ormlite.field.DatabaseField;
+
+public class WriteBehindBufferTest extends BaseCoreTest {
+
+	@Test
+	public void testUpdatesCoalesced() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+		CountingObserver observer = new CountingObserver();
+		dao.registerObserver(observer);
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				for (int i = 2; i <= 5; i++) {
+					foo.val = i;
+					assertEquals(1, dao.update(foo));
+				}
+				return null;
+			}
+		});
+		// only one update made it to the database
+		assertEquals(1, observer.changeCount.get());
+		assertEquals(5, dao.queryForId(foo.id).val);
+		assertNull(WriteBehindBuffer.getThreadBuffer(connectionSource));
+	}
+
+	@Test
+	public void testQueryFlushes() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				foo.val = 2;
+				dao.update(foo);
+				// a query has to see the queued update
+				assertEquals(2, dao.queryForId(foo.id).val);
+				assertEquals(1, dao.queryForEq(Foo.VAL_COLUMN_NAME, 2).size());
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testRollbackDiscards() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+
+		try {
+			TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					foo.val = 2;
+					dao.update(foo);
+					throw new SQLException("roll it back");
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		assertEquals(1, dao.queryForId(foo.id).val);
+		assertNull(WriteBehindBuffer.getThreadBuffer(connectionSource));
+	}
+
+	@Test
+	public void testCreateThenDelete() throws Exception {
+		final Dao<Parent, Integer> dao = createDao(Parent.class, true);
+		CountingObserver observer = new CountingObserver();
+		dao.registerObserver(observer);
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				Parent parent = new Parent(1, "first");
+				assertEquals(1, dao.create(parent));
+				parent.name = "renamed";
+				dao.update(parent);
+				dao.delete(parent);
+				return null;
+			}
+		});
+		// the create was cancelled by the delete so nothing was written
+		assertEquals(0, observer.changeCount.get());
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testUpdateThenDelete() throws Exception {
+		final Dao<Parent, Integer> dao = createDao(Parent.class, true);
+		final Parent parent = new Parent(1, "first");
+		assertEquals(1, dao.create(parent));
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				parent.name = "renamed";
+				dao.update(parent);
+				dao.delete(parent);
+				// re-creating the deleted row can't be coalesced so the delete is flushed first
+				assertEquals(1, dao.create(parent));
+				return null;
+			}
+		});
+		assertEquals("renamed", dao.queryForId(parent.id).name);
+	}
+
+	@Test
+	public void testForeignOrder() throws Exception {
+		final Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		final Dao<Child, Integer> childDao = createDao(Child.class, true);
+		final List<String> writes = new ArrayList<String>();
+		parentDao.registerObserver(new DaoObserver() {
+			@Override
+			public void onChange() {
+				writes.add("parent");
+			}
+		});
+		childDao.registerObserver(new DaoObserver() {
+			@Override
+			public void onChange() {
+				writes.add("child");
+			}
+		});
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				// the child is written first but the parent has to be created before it
+				Parent parent = new Parent(10, "parent");
+				Child child = new Child(20, parent);
+				childDao.create(child);
+				parentDao.create(parent);
+				return null;
+			}
+		});
+		assertEquals(Arrays.asList("parent", "child"), writes);
+
+		final Parent parent = parentDao.queryForId(10);
+		final Child child = childDao.queryForId(20);
+		writes.clear();
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				// deletes go the other way
+				parentDao.delete(parent);
+				childDao.delete(child);
+				return null;
+			}
+		});
+		assertEquals(Arrays.asList("child", "parent"), writes);
+	}
+
+	@Test
+	public void testGeneratedIdNotQueued() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				Foo foo = new Foo();
+				assertEquals(1, dao.create(foo));
+				// the id had to be generated right away
+				assertTrue(foo.id != 0);
+				return null;
+			}
+		});
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testNestedTransactionRollback() throws Exception {
+		final Dao<Parent, Integer> dao = createDao(Parent.class, true);
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				dao.create(new Parent(1, "outer"));
+				try {
+					TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							dao.create(new Parent(2, "inner"));
+							throw new SQLException("roll back the inner");
+						}
+					});
+					fail("Should have thrown");
+				} catch (SQLException e) {
+					// expected
+				}
+				return null;
+			}
+		});
+		assertEquals(1, dao.countOf());
+		assertFalse(dao.idExists(2));
+	}
+
+	@Test
+	public void testDeleteThenCreateSameUniqueValue() throws Exception {
+		final Dao<Unique, Integer> dao = createDao(Unique.class, true);
+		final Unique first = new Unique(1, "key");
+		assertEquals(1, dao.create(first));
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				dao.delete(first);
+				// the create has to run after the delete or the unique value collides
+				assertEquals(1, dao.create(new Unique(2, "key")));
+				return null;
+			}
+		});
+		assertNull(dao.queryForId(1));
+		assertEquals("key", dao.queryForId(2).value);
+	}
+
+	@Test
+	public void testVersionFieldNotQueued() throws Exception {
+		final Dao<Versioned, Integer> dao = createDao(Versioned.class, true);
+		Versioned versioned = new Versioned(1);
+		assertEquals(1, dao.create(versioned));
+		final Versioned stale = dao.queryForId(1);
+		assertEquals(1, dao.update(versioned));
+
+		TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				// the optimistic locking tells the caller right away
+				assertEquals(0, dao.update(stale));
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testUpdateMissingRowThrows() throws Exception {
+		final Dao<Parent, Integer> dao = createDao(Parent.class, true);
+		try {
+			TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					assertEquals(1, dao.update(new Parent(1, "never created")));
+					return null;
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testDeleteMissingRowThrows() throws Exception {
+		final Dao<Parent, Integer> dao = createDao(Parent.class, true);
+		assertEquals(1, dao.create(new Parent(1, "first")));
+		try {
+			TransactionManager.callInUnitOfWork(connectionSource, new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					dao.delete(new Parent(1, "first"));
+					dao.delete(new Parent(2, "never created"));
+					return null;
+				}
+			});
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		// rolled back
+		assertTrue(dao.idExists(1));
+	}
+
+	private static class CountingObserver implements DaoObserver {
+		final AtomicInteger changeCount = new AtomicInteger();
+		@Override
+		public void onChange() {
+			changeCount.incrementAndGet();
+		}
+	}
+
+	protected static class Parent {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String name;
+		Parent() {
+		}
+		Parent(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	protected static class Child {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(foreign = true)
+		Parent parent;
+		Child() {
+		}
+		Child(int id, Parent parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+
+	protected static class Unique {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(unique = true)
+		String value;
+		Unique() {
+		}
+		Unique(int id, String value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+	protected static class Versioned {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(version = true)
+		int version;
+		Versioned() {
+		}
+		Versioned(int id) {
+			this.id = id;
+		}
+	}
+}
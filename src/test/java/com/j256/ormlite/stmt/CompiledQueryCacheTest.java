@@ -0,0 +1,155 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+
+public class CompiledQueryCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testSameShapeHits() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = createFoo(dao, 1, "one");
+		Foo foo2 = createFoo(dao, 2, "two");
+		CompiledQueryCache cache = new CompiledQueryCache();
+		dao.setCompiledQueryCache(cache);
+
+		SelectArg arg = new SelectArg();
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, arg);
+		qb.orderBy(Foo.ID_COLUMN_NAME, false);
+		arg.setValue(1);
+		List<Foo> results = dao.query(qb.prepare());
+		assertEquals(Arrays.asList(foo1), results);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// a new builder with the same shape but a different argument value
+		qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, new SelectArg(2));
+		qb.orderBy(Foo.ID_COLUMN_NAME, false);
+		results = dao.query(qb.prepare());
+		assertEquals(Arrays.asList(foo2), results);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.size());
+
+		// strings are escaped into the SQL so each value is its own entry
+		assertEquals(Arrays.asList(foo1), dao.queryForEq(Foo.STRING_COLUMN_NAME, "one"));
+		assertEquals(Arrays.asList(foo2), dao.queryForEq(Foo.STRING_COLUMN_NAME, "two"));
+		assertEquals(Arrays.asList(foo1), dao.queryForEq(Foo.STRING_COLUMN_NAME, "one"));
+		assertEquals(3, cache.size());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	public void testDifferentShapeMisses() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = createFoo(dao, 1, "one");
+		Foo foo2 = createFoo(dao, 2, "two");
+		CompiledQueryCache cache = new CompiledQueryCache();
+		dao.setCompiledQueryCache(cache);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 1);
+		assertEquals(Arrays.asList(foo1), qb.query());
+		// numbers are written into the SQL so they are part of the key
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 2);
+		assertEquals(Arrays.asList(foo2), qb.query());
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 1).or().eq(Foo.VAL_COLUMN_NAME, 2);
+		assertEquals(2, qb.query().size());
+		qb.where().gt(Foo.VAL_COLUMN_NAME, 1);
+		assertEquals(Arrays.asList(foo2), qb.query());
+		qb.limit(1L);
+		assertEquals(Arrays.asList(foo2), qb.query());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(5, cache.getMissCount());
+
+		qb.where().gt(Foo.VAL_COLUMN_NAME, 1);
+		assertEquals(Arrays.asList(foo2), qb.query());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testInBucketedSharesEntry() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = createFoo(dao, 1, "one");
+		Foo foo2 = createFoo(dao, 2, "two");
+		CompiledQueryCache cache = new CompiledQueryCache();
+		dao.setCompiledQueryCache(cache);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().inBucketed(Foo.VAL_COLUMN_NAME, Arrays.asList(1, 5, 6));
+		assertEquals(Arrays.asList(foo1), qb.query());
+		// 3 and 4 values are both padded to 4 arguments
+		qb.where().inBucketed(Foo.VAL_COLUMN_NAME, Arrays.asList(2, 5, 6, 7));
+		assertEquals(Arrays.asList(foo2), qb.query());
+		assertEquals(1, cache.getHitCount());
+		qb.where().inBucketed(Foo.VAL_COLUMN_NAME, Arrays.asList(1, 2, 5, 6, 7));
+		assertEquals(2, qb.query().size());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testSelectColumns() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoo(dao, 1, "one");
+		CompiledQueryCache cache = new CompiledQueryCache();
+		dao.setCompiledQueryCache(cache);
+
+		for (int i = 0; i < 2; i++) {
+			QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+			qb.selectColumns(Foo.VAL_COLUMN_NAME);
+			Foo result = qb.queryForFirst();
+			assertEquals(1, result.val);
+			assertNull(result.stringField);
+		}
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		CompiledQueryCache cache = new CompiledQueryCache(2);
+		dao.setCompiledQueryCache(cache);
+		for (int i = 0; i < 5; i++) {
+			QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+			qb.where().eq(Foo.VAL_COLUMN_NAME, i);
+			qb.prepare();
+		}
+		assertEquals(2, cache.size());
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testDisabledByDefault() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertNull(dao.getCompiledQueryCache());
+	}
+
+	@Test
+	public void testInvalidCapacity() {
+		try {
+			new CompiledQueryCache(0);
+			fail("Should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private Foo createFoo(Dao<Foo, Integer> dao, int val, String stringField) throws Exception {
+		Foo foo = new Foo();
+		foo.val = val;
+		foo.stringField = stringField;
+		assertEquals(1, dao.create(foo));
+		return foo;
+	}
+}
@@ -0,0 +1,192 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+
+public class KeysetPagerTest extends BaseCoreTest {
+
+	@Test
+	public void testPages() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 10);
+
+		KeysetPager<Foo, Integer> pager = dao.queryBuilder().keysetPager(4);
+		assertNull(pager.getCursor());
+		List<Foo> page = pager.nextPage();
+		assertEquals(foos.subList(0, 4), page);
+		String cursor = pager.getCursor();
+		assertEquals(foos.subList(4, 8), pager.nextPage());
+		assertTrue(pager.hasMorePages());
+		assertEquals(foos.subList(8, 10), pager.nextPage());
+		assertFalse(pager.hasMorePages());
+		assertEquals(0, pager.nextPage().size());
+
+		// go back to the earlier cursor
+		assertEquals(foos.subList(4, 8), pager.pageAfter(cursor));
+		// start over
+		assertEquals(foos.subList(0, 4), pager.pageAfter(null));
+	}
+
+	@Test
+	public void testWhere() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 10);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 1).or().eq(Foo.EQUAL_COLUMN_NAME, 1);
+		qb.orderBy(Foo.STRING_COLUMN_NAME, false);
+		qb.limit(1L);
+		KeysetPager<Foo, Integer> pager = qb.keysetPager(3);
+		List<Foo> odds = new ArrayList<Foo>();
+		for (Foo foo : foos) {
+			if (foo.val == 1 || foo.equal == 1) {
+				odds.add(foo);
+			}
+		}
+		assertEquals(6, odds.size());
+		assertEquals(odds.subList(0, 3), pager.nextPage());
+		assertEquals(odds.subList(3, 6), pager.nextPage());
+		assertTrue(pager.hasMorePages());
+		assertEquals(0, pager.nextPage().size());
+		assertFalse(pager.hasMorePages());
+
+		// the builder settings were restored
+		assertEquals(1, qb.query().size());
+	}
+
+	@Test
+	public void testMultipleColumns() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 10);
+
+		KeysetPager<Foo, Integer> pager =
+				dao.queryBuilder().keysetPager(3, Foo.VAL_COLUMN_NAME, Foo.ID_COLUMN_NAME);
+		List<Foo> results = new ArrayList<Foo>();
+		while (pager.hasMorePages()) {
+			results.addAll(pager.nextPage());
+		}
+		assertEquals(10, results.size());
+		Foo prev = null;
+		for (Foo foo : results) {
+			if (prev != null) {
+				assertTrue(prev.val < foo.val || (prev.val == foo.val && prev.id < foo.id));
+			}
+			prev = foo;
+		}
+
+		// cursor with multiple values
+		pager.setCursor(null);
+		pager.nextPage();
+		String cursor = pager.getCursor();
+		List<Foo> expected = pager.nextPage();
+		assertEquals(expected, pager.pageAfter(cursor));
+	}
+
+	@Test
+	public void testIterator() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 11);
+
+		KeysetPager<Foo, Integer> pager = dao.queryBuilder().keysetPager(5);
+		CloseableIterator<Foo> iterator = pager.iterator();
+		try {
+			List<Foo> results = new ArrayList<Foo>();
+			while (iterator.hasNext()) {
+				results.add(iterator.next());
+			}
+			assertEquals(foos, results);
+			assertNull(iterator.nextThrow());
+		} finally {
+			iterator.close();
+		}
+		assertFalse(pager.hasMorePages());
+
+		// stopping part way leaves the cursor after the last result returned
+		pager.setCursor(null);
+		iterator = pager.iterator();
+		try {
+			iterator.next();
+			iterator.next();
+		} finally {
+			iterator.close();
+		}
+		assertEquals(foos.subList(2, 7), pager.nextPage());
+	}
+
+	@Test
+	public void testIteratorExactPages() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 6);
+		CloseableIterator<Foo> iterator = dao.queryBuilder().keysetPager(3).iterator();
+		try {
+			List<Foo> results = new ArrayList<Foo>();
+			while (iterator.hasNext()) {
+				results.add(iterator.next());
+			}
+			assertEquals(foos, results);
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testBadCursor() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		KeysetPager<Foo, Integer> pager = dao.queryBuilder().keysetPager(3);
+		String[] badCursors = new String[] { "", "1", "x:1", "5:1", "1:11:2" };
+		for (String cursor : badCursors) {
+			try {
+				pager.setCursor(cursor);
+				fail("Should have thrown on: " + cursor);
+			} catch (SQLException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testNoIdField() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, true);
+		dao.queryBuilder().keysetPager(10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownColumn() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.queryBuilder().keysetPager(10, "unknown");
+	}
+
+	private List<Foo> createFoos(Dao<Foo, Integer> dao, int num) throws SQLException {
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.val = i % 2;
+			foo.equal = i % 3;
+			foo.stringField = "s" + i;
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		return foos;
+	}
+
+	protected static class NoId {
+		@DatabaseField
+		String stuff;
+		public NoId() {
+		}
+	}
+}
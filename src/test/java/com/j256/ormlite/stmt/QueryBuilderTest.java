@@ -3,6 +3,7 @@ package com.j256.ormlite.stmt;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1392,6 +1393,71 @@ public class QueryBuilderTest extends BaseCoreStmtTest {
 		assertEquals(foo.stringField, results.get(0).stringField);
 	}
 
+	@Test
+	public void testQueryProjection() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foo.stringField = "s" + i;
+			assertEquals(1, dao.create(foo));
+		}
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.selectColumns(Foo.VAL_COLUMN_NAME);
+		qb.where().ge(Foo.VAL_COLUMN_NAME, new SelectArg(2));
+		qb.orderBy(Foo.VAL_COLUMN_NAME, false);
+		List<FooSummary> summaries =
+				qb.queryProjection(FooSummary.class, Foo.STRING_COLUMN_NAME, Foo.VAL_COLUMN_NAME);
+		assertEquals(3, summaries.size());
+		assertEquals("s4", summaries.get(0).stringField);
+		assertEquals(4, summaries.get(0).val);
+		assertEquals("s2", summaries.get(2).stringField);
+		assertEquals(2, summaries.get(2).val);
+
+		// the select settings were left alone
+		List<Foo> results = qb.query();
+		assertEquals(3, results.size());
+		assertNull(results.get(0).stringField);
+		assertEquals(4, results.get(0).val);
+	}
+
+	@Test
+	public void testQueryProjectionForeign() throws Exception {
+		Dao<One, Integer> oneDao = createDao(One.class, true);
+		Dao<Two, Integer> twoDao = createDao(Two.class, true);
+		One one = new One();
+		assertEquals(1, oneDao.create(one));
+		Two two = new Two();
+		two.one = one;
+		two.val = 10;
+		assertEquals(1, twoDao.create(two));
+
+		List<TwoSummary> summaries =
+				twoDao.queryBuilder().queryProjection(TwoSummary.class, Two.VAL_FIELD, "one_id");
+		assertEquals(1, summaries.size());
+		assertEquals(10, summaries.get(0).val);
+		assertEquals((Integer) one.id, summaries.get(0).oneId);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testQueryProjectionNoConstructor() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.queryBuilder().queryProjection(FooSummary.class, Foo.VAL_COLUMN_NAME, Foo.STRING_COLUMN_NAME);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testQueryProjectionNoColumns() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.queryBuilder().queryProjection(FooSummary.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testQueryProjectionUnknownColumn() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.queryBuilder().queryProjection(FooSummary.class, "unknown");
+	}
+
 	/* ======================================================================================================== */
 
 	private static class LimitInline extends BaseDatabaseType {
@@ -1509,6 +1575,26 @@ public class QueryBuilderTest extends BaseCoreStmtTest {
 		}
 	}
 
+	protected static class FooSummary {
+		final String stringField;
+		final int val;
+
+		public FooSummary(String stringField, int val) {
+			this.stringField = stringField;
+			this.val = val;
+		}
+	}
+
+	protected static class TwoSummary {
+		final int val;
+		final Integer oneId;
+
+		TwoSummary(int val, Integer oneId) {
+			this.val = val;
+			this.oneId = oneId;
+		}
+	}
+
 	protected static class BaseModel {
 		@DatabaseField(generatedId = true)
 		int id;
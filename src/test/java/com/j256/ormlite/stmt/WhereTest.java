@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -18,6 +19,7 @@ import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.query.In;
 import com.j256.ormlite.stmt.query.SimpleComparison;
 import com.j256.ormlite.table.TableInfo;
 
@@ -233,6 +235,36 @@ public class WhereTest extends BaseCoreTest {
 		assertEquals(foo1.val, results.get(0).val);
 	}
 
+	@Test
+	public void testInBucketed() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		Foo foo3 = new Foo();
+		assertEquals(1, dao.create(foo3));
+
+		List<Integer> ids = Arrays.asList(foo1.id, foo3.id);
+		List<Foo> results = dao.queryBuilder().where().inBucketed(Foo.ID_COLUMN_NAME, ids).query();
+		assertEquals(Arrays.asList(foo1, foo3), results);
+		results = dao.queryBuilder().where().notInBucketed(Foo.ID_COLUMN_NAME, ids).query();
+		assertEquals(Arrays.asList(foo2), results);
+
+		// enough ids to be split into chunks
+		List<Integer> manyIds = new ArrayList<Integer>();
+		for (int i = 0; i < In.MAX_BUCKET_SIZE * 2; i++) {
+			manyIds.add(foo2.id + 1000 + i);
+		}
+		manyIds.add(foo2.id);
+		results = dao.queryBuilder().where().inBucketed(Foo.ID_COLUMN_NAME, manyIds).query();
+		assertEquals(Arrays.asList(foo2), results);
+		results = dao.queryBuilder().where().notInBucketed(Foo.ID_COLUMN_NAME, manyIds).query();
+		assertEquals(Arrays.asList(foo1, foo3), results);
+		results = dao.queryBuilder().where().not().inBucketed(Foo.ID_COLUMN_NAME, manyIds).query();
+		assertEquals(Arrays.asList(foo1, foo3), results);
+	}
+
 	@Test
 	public void testInMany() throws Exception {
 		Where<Foo, String> where = new Where<Foo, String>(createTableInfo(), null, databaseType);
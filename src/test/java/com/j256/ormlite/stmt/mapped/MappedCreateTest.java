@@ -99,6 +99,35 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		verify(databaseConnection);
 	}
 
+	@Test
+	public void testGeneratedIdSequenceBlock() throws Exception {
+		DatabaseType databaseType = new NeedsSequenceDatabaseType();
+		connectionSource.setDatabaseType(databaseType);
+		StatementExecutor<GeneratedIdSequenceBlock, Long> se = new StatementExecutor<GeneratedIdSequenceBlock, Long>(
+				databaseType, new TableInfo<GeneratedIdSequenceBlock, Long>(connectionSource, null,
+						GeneratedIdSequenceBlock.class),
+				null);
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		// one sequence query for every block of 3 ids
+		expect(databaseConnection.queryForLong(isA(String.class))).andReturn(1L);
+		expect(databaseConnection.queryForLong(isA(String.class))).andReturn(2L);
+		expect(databaseConnection.insert(isA(String.class), isA(Object[].class), isA(FieldType[].class),
+				(GeneratedKeyHolder) isNull())).andReturn(1).times(5);
+
+		replay(databaseConnection);
+		for (long id = 1; id <= 5; id++) {
+			GeneratedIdSequenceBlock data = new GeneratedIdSequenceBlock();
+			se.create(databaseConnection, data, null);
+			assertEquals(id, data.id);
+		}
+		verify(databaseConnection);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidSequenceBlockSize() throws Exception {
+		new TableInfo<InvalidSequenceBlock, Long>(connectionSource, null, InvalidSequenceBlock.class);
+	}
+
 	@Test
 	public void testNoCreateSequence() throws Exception {
 		MappedCreate.build(databaseType, new TableInfo<GeneratedId, Integer>(connectionSource, null, GeneratedId.class));
@@ -424,6 +453,18 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		public String stuff;
 	}
 
+	protected static class GeneratedIdSequenceBlock {
+		@DatabaseField(generatedIdSequence = "seq", sequenceBlockSize = 3)
+		long id;
+		@DatabaseField
+		public String stuff;
+	}
+
+	protected static class InvalidSequenceBlock {
+		@DatabaseField(generatedIdSequence = "seq", sequenceBlockSize = 0)
+		long id;
+	}
+
 	protected static class ForeignAutoCreate {
 		@DatabaseField(generatedId = true)
 		int id;
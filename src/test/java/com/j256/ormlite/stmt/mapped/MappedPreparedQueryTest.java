@@ -1,6 +1,13 @@
 package com.j256.ormlite.stmt.mapped;
 
+import static org.easymock.EasyMock.aryEq;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -80,6 +87,42 @@ public class MappedPreparedQueryTest extends BaseCoreTest {
 		checkResults(foos, preparedQuery, 2);
 	}
 
+	@Test
+	public void testFetchSize() throws Exception {
+		Dao<LocalFoo, Object> fooDao = createDao(LocalFoo.class, true);
+		List<LocalFoo> foos = new ArrayList<LocalFoo>();
+		for (int i = 0; i < 3; i++) {
+			LocalFoo foo = new LocalFoo();
+			fooDao.create(foo);
+			foos.add(foo);
+		}
+
+		TableInfo<LocalFoo, Integer> tableInfo =
+				new TableInfo<LocalFoo, Integer>(connectionSource, null, LocalFoo.class);
+		MappedPreparedStmt<LocalFoo, Integer> preparedQuery = new MappedPreparedStmt<LocalFoo, Integer>(tableInfo,
+				"select * from " + TABLE_NAME, new FieldType[0], tableInfo.getFieldTypes(), new ArgumentHolder[0], null,
+				1, StatementType.SELECT, false);
+		checkResults(foos, preparedQuery, 3);
+	}
+
+	@Test
+	public void testFetchSizeNotCapable() throws Exception {
+		TableInfo<LocalFoo, Integer> tableInfo =
+				new TableInfo<LocalFoo, Integer>(connectionSource, null, LocalFoo.class);
+		String statement = "select * from " + TABLE_NAME;
+		MappedPreparedStmt<LocalFoo, Integer> preparedQuery = new MappedPreparedStmt<LocalFoo, Integer>(tableInfo,
+				statement, new FieldType[0], tableInfo.getFieldTypes(), new ArgumentHolder[0], null, 1,
+				StatementType.SELECT, false);
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		// a plain compiled statement so the fetch size is skipped
+		CompiledStatement stmt = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(eq(statement), eq(StatementType.SELECT), aryEq(new FieldType[0]),
+				eq(DatabaseConnection.DEFAULT_RESULT_FLAGS), eq(false))).andReturn(stmt);
+		replay(conn, stmt);
+		assertSame(stmt, preparedQuery.compile(conn, StatementType.SELECT));
+		verify(conn, stmt);
+	}
+
 	private void checkResults(List<LocalFoo> foos, MappedPreparedStmt<LocalFoo, Integer> preparedQuery, int expectedNum)
 			throws SQLException {
 		DatabaseConnection conn = connectionSource.getReadOnlyConnection(TABLE_NAME);
@@ -0,0 +1,100 @@
+package com.j256.ormlite.stmt.mapped;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.j256.ormlite.support.DatabaseConnection;
+
+public class SequenceIdBlockTest {
+
+	private static final String QUERY = "select nextval('seq')";
+
+	@Test
+	public void testBlocks() throws Exception {
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		expect(databaseConnection.queryForLong(QUERY)).andReturn(1L);
+		expect(databaseConnection.queryForLong(QUERY)).andReturn(7L);
+		replay(databaseConnection);
+		SequenceIdBlock idBlock = new SequenceIdBlock(QUERY, 10);
+		assertEquals(10, idBlock.getBlockSize());
+		for (long id = 1; id <= 10; id++) {
+			assertEquals(id, idBlock.nextId(databaseConnection));
+		}
+		// the next block comes from sequence value 7
+		assertEquals(61, idBlock.nextId(databaseConnection));
+		assertEquals(62, idBlock.nextId(databaseConnection));
+		verify(databaseConnection);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testSequenceZero() throws Exception {
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		expect(databaseConnection.queryForLong(QUERY)).andReturn(0L);
+		replay(databaseConnection);
+		new SequenceIdBlock(QUERY, 10).nextId(databaseConnection);
+	}
+
+	@Test
+	public void testThreads() throws Exception {
+		final AtomicLong sequence = new AtomicLong();
+		// easymock mocks aren't thread-safe so we proxy the only method that is called
+		final DatabaseConnection databaseConnection =
+				(DatabaseConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] { DatabaseConnection.class }, new InvocationHandler() {
+							@Override
+							public Object invoke(Object proxy, Method method, Object[] args) {
+								assertEquals("queryForLong", method.getName());
+								return sequence.incrementAndGet();
+							}
+						});
+
+		final int blockSize = 10;
+		final int numThreads = 4;
+		final int numPerThread = 1000;
+		final SequenceIdBlock idBlock = new SequenceIdBlock(QUERY, blockSize);
+		final Set<Long> ids = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < numThreads; i++) {
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < numPerThread; j++) {
+							assertTrue(ids.add(idBlock.nextId(databaseConnection)));
+						}
+					} catch (SQLException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		int total = numThreads * numPerThread;
+		assertEquals(total, ids.size());
+		for (long id = 1; id <= total; id++) {
+			assertTrue(ids.contains(id));
+		}
+		assertEquals(total / blockSize, sequence.get());
+	}
+}
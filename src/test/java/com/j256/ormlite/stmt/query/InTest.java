@@ -1,6 +1,7 @@
 package com.j256.ormlite.stmt.query;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,4 +40,44 @@ public class InTest extends BaseCoreStmtTest {
 		}
 		assertEquals(objList.get(numArgs - 1) + " ) ", args[numArgs - 1]);
 	}
+
+	@Test
+	public void testAppendValueBucketed() throws Exception {
+		List<Object> objList = new ArrayList<Object>();
+		for (int i = 0; i < 5; i++) {
+			objList.add(i);
+		}
+		In in = new In("foo", numberFieldType, objList, true, true);
+		StringBuilder sb = new StringBuilder();
+		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
+		in.appendValue(null, sb, argList);
+		// padded up to 8 by repeating the last value
+		assertEquals("(?,?,?,?,?,?,?,?) ", sb.toString());
+		assertEquals(8, argList.size());
+		for (int i = 0; i < argList.size(); i++) {
+			assertEquals(Math.min(i, 4), argList.get(i).getSqlArgValue());
+		}
+	}
+
+	@Test
+	public void testAppendSqlChunked() throws Exception {
+		List<Object> objList = new ArrayList<Object>();
+		for (int i = 0; i < In.MAX_BUCKET_SIZE + 3; i++) {
+			objList.add(i);
+		}
+		In in = new In("foo", numberFieldType, objList, false, true);
+		StringBuilder sb = new StringBuilder();
+		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
+		in.appendSql(databaseType, null, sb, argList);
+		String sql = sb.toString();
+		assertTrue(sql.startsWith("(" + escapedColumn("foo") + " NOT IN (?,"));
+		assertTrue(sql.endsWith(") AND " + escapedColumn("foo") + " NOT IN (?,?,?,?) ) "));
+		assertEquals(In.MAX_BUCKET_SIZE + 4, argList.size());
+	}
+
+	private String escapedColumn(String columnName) {
+		StringBuilder sb = new StringBuilder();
+		databaseType.appendEscapedEntityName(sb, columnName);
+		return sb.toString();
+	}
 }
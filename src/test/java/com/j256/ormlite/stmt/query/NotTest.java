@@ -1,5 +1,6 @@
 package com.j256.ormlite.stmt.query;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -39,6 +40,28 @@ public class NotTest extends BaseCoreStmtTest {
 		not.setMissingClause(clause);
 	}
 
+	@Test
+	public void testFingerprintOtherComparison() throws Exception {
+		Not not = new Not(new Comparison() {
+			@Override
+			public void appendOperation(StringBuilder sb) {
+			}
+			@Override
+			public void appendValue(DatabaseType databaseType, StringBuilder sb, List<ArgumentHolder> argList) {
+			}
+			@Override
+			public String getColumnName() {
+				return null;
+			}
+			@Override
+			public void appendSql(DatabaseType databaseType, String tableName, StringBuilder sb,
+					List<ArgumentHolder> argList) {
+			}
+		});
+		// a comparison that can't describe itself can't be cached
+		assertFalse(not.appendFingerprint(new ArrayList<Object>(), new ArrayList<ArgumentHolder>()));
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void testNoClause() throws Exception {
 		Not not = new Not();
@@ -1,6 +1,9 @@
 package com.j256.ormlite.support;
 
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -9,6 +12,11 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 
@@ -53,6 +61,38 @@ public class BaseConnectionSourceTest extends BaseCoreTest {
 		cs.close();
 	}
 
+	@Test
+	public void testTransactionTracking() throws Exception {
+		OurConnectionSource cs = new OurConnectionSource();
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		expect(conn.isAutoCommit()).andReturn(true);
+		conn.setAutoCommit(false);
+		replay(conn);
+		// not saved so not tracked
+		assertEquals(-1, cs.startTransaction(conn));
+
+		cs.saveSpecialConnection(conn);
+		assertEquals(0, cs.startTransaction(conn));
+		assertTrue(cs.isAutoCommit(conn));
+		// remembered so the connection is not asked again
+		assertTrue(cs.isAutoCommit(conn));
+		cs.setAutoCommit(conn, false);
+		cs.setAutoCommit(conn, false);
+		assertFalse(cs.isAutoCommit(conn));
+
+		assertEquals(1, cs.startTransaction(conn));
+		assertFalse(cs.isRollbackOnly(conn));
+		cs.setRollbackOnly(conn);
+		cs.endTransaction(conn);
+		assertTrue(cs.isRollbackOnly(conn));
+		cs.endTransaction(conn);
+		// cleared when the outer transaction ends
+		assertFalse(cs.isRollbackOnly(conn));
+		cs.clearSpecialConnection(conn);
+		verify(conn);
+		cs.close();
+	}
+
 	@Test(expected = SQLException.class)
 	public void testSaveDifferentConnection() throws Exception {
 		OurConnectionSource cs = new OurConnectionSource();
@@ -78,8 +118,124 @@ public class BaseConnectionSourceTest extends BaseCoreTest {
 		cs.close();
 	}
 
+	@Test
+	public void testThreadMapBinding() throws Exception {
+		final OurConnectionSource cs = new OurConnectionSource(true);
+		DatabaseConnection conn = cs.getReadOnlyConnection(null);
+		assertTrue(cs.saveSpecialConnection(conn));
+		assertFalse(cs.saveSpecialConnection(conn));
+		assertSame(conn, cs.getSpecialConnection(null));
+		assertTrue(cs.isSavedConnection(conn));
+
+		// other threads do not see our saved connection
+		final AtomicReference<DatabaseConnection> otherRef = new AtomicReference<DatabaseConnection>();
+		final DatabaseConnection otherConn = createMock(DatabaseConnection.class);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					otherRef.set(cs.getSpecialConnection(null));
+					cs.saveSpecialConnection(otherConn);
+					cs.clearSpecialConnection(otherConn);
+				} catch (SQLException e) {
+					otherRef.set(otherConn);
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+		assertNull(otherRef.get());
+
+		cs.clearSpecialConnection(conn);
+		assertSame(conn, cs.getSpecialConnection(null));
+		cs.clearSpecialConnection(conn);
+		assertNull(cs.getSpecialConnection(null));
+		assertFalse(cs.isSavedConnection(conn));
+		assertNull(cs.getSavedConnection());
+		cs.close();
+	}
+
+	@Test
+	public void testThreadMapDeadThreadRemoved() throws Exception {
+		final OurConnectionSource cs = new OurConnectionSource(true);
+		final DatabaseConnection otherConn = createMock(DatabaseConnection.class);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					// never cleared
+					cs.saveSpecialConnection(otherConn);
+				} catch (SQLException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+		assertEquals(1, cs.removeDeadThreadConnections());
+		assertEquals(0, cs.removeDeadThreadConnections());
+		// the orphaned connection is released
+		assertEquals(Arrays.asList(otherConn), cs.released);
+
+		// our live thread's connection is kept
+		DatabaseConnection conn = cs.getReadOnlyConnection(null);
+		assertTrue(cs.saveSpecialConnection(conn));
+		assertEquals(0, cs.removeDeadThreadConnections());
+		assertSame(conn, cs.getSpecialConnection(null));
+		cs.clearSpecialConnection(conn);
+		// nothing to do with a thread-local
+		assertEquals(0, new OurConnectionSource().removeDeadThreadConnections());
+		cs.close();
+	}
+
+	@Test
+	public void testThreadMapDeadThreadRolledBack() throws Exception {
+		final OurConnectionSource cs = new OurConnectionSource(true);
+		final DatabaseConnection otherConn = createMock(DatabaseConnection.class);
+		otherConn.setAutoCommit(false);
+		otherConn.rollback((Savepoint) null);
+		otherConn.setAutoCommit(true);
+		replay(otherConn);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					// dies in the middle of a transaction
+					cs.saveSpecialConnection(otherConn);
+					cs.startTransaction(otherConn);
+					cs.setAutoCommit(otherConn, false);
+				} catch (SQLException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+		assertEquals(1, cs.removeDeadThreadConnections());
+		verify(otherConn);
+		assertEquals(Arrays.asList(otherConn), cs.released);
+		cs.close();
+	}
+
+	@Test(expected = SQLException.class)
+	public void testThreadMapBindingSaveDifferent() throws Exception {
+		OurConnectionSource cs = new OurConnectionSource(true);
+		cs.saveSpecialConnection(cs.getReadOnlyConnection(null));
+		cs.saveSpecialConnection(createMock(DatabaseConnection.class));
+		cs.close();
+	}
+
 	private class OurConnectionSource extends BaseConnectionSource {
 
+		final List<DatabaseConnection> released = new ArrayList<DatabaseConnection>();
+
+		public OurConnectionSource() {
+		}
+
+		public OurConnectionSource(boolean threadMapBinding) {
+			super(threadMapBinding);
+		}
+
 		@Override
 		public DatabaseConnection getReadOnlyConnection(String tableName) {
 			return getReadWriteConnection(tableName);
@@ -97,7 +253,7 @@ public class BaseConnectionSourceTest extends BaseCoreTest {
 
 		@Override
 		public void releaseConnection(DatabaseConnection connection) {
-			// noop
+			released.add(connection);
 		}
 
 		@Override
@@ -75,6 +75,44 @@ public class DatabaseConnectionProxyTest {
 		proxy.close();
 	}
 
+	@Test
+	public void testReadOnly() throws Exception {
+		ReadOnlyCapableConnection conn = createMock(ReadOnlyCapableConnection.class);
+		expect(conn.isReadOnlySupported()).andReturn(true);
+		expect(conn.isReadOnly()).andReturn(true);
+		conn.setReadOnly(false);
+		conn.close();
+		DatabaseConnectionProxy proxy = new DatabaseConnectionProxy(conn);
+		replay(conn);
+		assertTrue(proxy.isReadOnlySupported());
+		assertTrue(proxy.isReadOnly());
+		proxy.setReadOnly(false);
+		proxy.close();
+		verify(conn);
+	}
+
+	@Test
+	public void testReadOnlyNotCapable() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		conn.close();
+		DatabaseConnectionProxy proxy = new DatabaseConnectionProxy(conn);
+		replay(conn);
+		assertFalse(proxy.isReadOnlySupported());
+		assertFalse(proxy.isReadOnly());
+		proxy.setReadOnly(true);
+		proxy.close();
+		verify(conn);
+	}
+
+	@Test
+	public void testReadOnlyNull() throws Exception {
+		DatabaseConnectionProxy proxy = new DatabaseConnectionProxy(null);
+		assertFalse(proxy.isReadOnlySupported());
+		assertFalse(proxy.isReadOnly());
+		proxy.setReadOnly(true);
+		proxy.close();
+	}
+
 	@Test
 	public void testSetSavePoint() throws Exception {
 		DatabaseConnection conn = createMock(DatabaseConnection.class);
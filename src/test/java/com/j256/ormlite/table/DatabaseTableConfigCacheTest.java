@@ -0,0 +1,249 @@
+package com.j256.ormlite.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.field.types.DateStringType;
+
+public class DatabaseTableConfigCacheTest extends BaseCoreTest {
+
+	private static final String CACHE_PATH = "target/table-config-cache.bin";
+
+	@Test
+	public void testReadWrite() throws Exception {
+		Collection<Class<?>> classes = classes(Cached.class);
+		byte[] fingerprint = DatabaseTableConfigCache.buildFingerprint(databaseType, classes);
+		List<DatabaseTableConfig<?>> configs = DatabaseTableConfigCache.buildConfigs(connectionSource, classes);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DatabaseTableConfigCache.write(new DataOutputStream(baos), fingerprint, configs);
+		List<DatabaseTableConfig<?>> read = DatabaseTableConfigCache
+				.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())), fingerprint, classes);
+		assertNotNull(read);
+		assertEquals(1, read.size());
+		DatabaseTableConfig<?> config = read.get(0);
+		assertEquals(Cached.class, config.getDataClass());
+		assertEquals(Cached.TABLE_NAME, config.getTableName());
+
+		List<DatabaseFieldConfig> fieldConfigs = config.getFieldConfigs();
+		assertEquals(4, fieldConfigs.size());
+		DatabaseFieldConfig idConfig = fieldConfigs.get(0);
+		assertEquals("id", idConfig.getFieldName());
+		assertTrue(idConfig.isGeneratedId());
+		// resolved persister
+		assertSame(DataType.INTEGER.getDataPersister(), idConfig.getDataPersister());
+		DatabaseFieldConfig nameConfig = fieldConfigs.get(1);
+		assertEquals(Cached.NAME_COLUMN, nameConfig.getColumnName());
+		assertTrue(nameConfig.isIndex());
+		assertFalse(nameConfig.isCanBeNull());
+		assertEquals(100, nameConfig.getWidth());
+		assertSame(DataType.STRING.getDataPersister(), nameConfig.getDataPersister());
+		DatabaseFieldConfig enumConfig = fieldConfigs.get(2);
+		assertEquals(OurEnum.SECOND, enumConfig.getUnknownEnumValue());
+		DatabaseFieldConfig dateConfig = fieldConfigs.get(3);
+		assertSame(DataType.DATE_LONG.getDataPersister(), dateConfig.getDataPersister());
+		assertEquals("default-value", nameConfig.getDefaultValue());
+	}
+
+	@Test
+	public void testFingerprintMismatch() throws Exception {
+		Collection<Class<?>> classes = classes(Cached.class);
+		byte[] fingerprint = DatabaseTableConfigCache.buildFingerprint(databaseType, classes);
+		List<DatabaseTableConfig<?>> configs = DatabaseTableConfigCache.buildConfigs(connectionSource, classes);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DatabaseTableConfigCache.write(new DataOutputStream(baos), fingerprint, configs);
+
+		byte[] otherFingerprint = DatabaseTableConfigCache.buildFingerprint(databaseType, classes(Other.class));
+		assertFalse(Arrays.equals(fingerprint, otherFingerprint));
+		assertNull(DatabaseTableConfigCache
+				.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())), otherFingerprint, classes));
+	}
+
+	@Test
+	public void testClassNotPassedIn() throws Exception {
+		Collection<Class<?>> classes = classes(Cached.class);
+		byte[] fingerprint = DatabaseTableConfigCache.buildFingerprint(databaseType, classes);
+		List<DatabaseTableConfig<?>> configs = DatabaseTableConfigCache.buildConfigs(connectionSource, classes);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DatabaseTableConfigCache.write(new DataOutputStream(baos), fingerprint, configs);
+		try {
+			// the class names are only mapped back to the classes that are passed in
+			DatabaseTableConfigCache.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())),
+					fingerprint, classes(Other.class));
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testFingerprintRegisteredPersister() {
+		// other tests may have left persisters registered
+		DataPersisterManager.clear();
+		Collection<Class<?>> classes = classes(Cached.class);
+		byte[] fingerprint = DatabaseTableConfigCache.buildFingerprint(databaseType, classes);
+		DataPersisterManager.registerDataPersisters(DateStringType.getSingleton());
+		try {
+			assertFalse(Arrays.equals(fingerprint, DatabaseTableConfigCache.buildFingerprint(databaseType, classes)));
+		} finally {
+			DataPersisterManager.clear();
+		}
+		assertTrue(Arrays.equals(fingerprint, DatabaseTableConfigCache.buildFingerprint(databaseType, classes)));
+	}
+
+	@Test
+	public void testFingerprintStable() {
+		Collection<Class<?>> classes = classes(Cached.class, Other.class);
+		assertTrue(Arrays.equals(DatabaseTableConfigCache.buildFingerprint(databaseType, classes),
+				DatabaseTableConfigCache.buildFingerprint(databaseType, classes)));
+	}
+
+	@Test
+	public void testInitialize() throws Exception {
+		File cacheFile = new File(CACHE_PATH);
+		cacheFile.delete();
+		try {
+			Collection<Class<?>> classes = classes(Cached.class);
+			DatabaseTableConfigCache.initialize(connectionSource, cacheFile, classes);
+			assertTrue(cacheFile.exists());
+			long length = cacheFile.length();
+
+			// second time reads from the file
+			DaoManager.clearCache();
+			List<DatabaseTableConfig<?>> configs =
+					DatabaseTableConfigCache.initialize(connectionSource, cacheFile, classes);
+			assertEquals(1, configs.size());
+			assertEquals(length, cacheFile.length());
+
+			Dao<Cached, Integer> dao = createDao(Cached.class, true);
+			assertSame(configs.get(0), ((BaseDaoImpl<?, ?>) dao).getTableConfig());
+			Cached cached = new Cached();
+			cached.name = "pwojfwpeojfewf";
+			cached.ourEnum = OurEnum.FIRST;
+			assertEquals(1, dao.create(cached));
+			Cached result = dao.queryForId(cached.id);
+			assertEquals(cached.name, result.name);
+			assertEquals(cached.ourEnum, result.ourEnum);
+		} finally {
+			cacheFile.delete();
+		}
+	}
+
+	@Test
+	public void testCompressedField() throws Exception {
+		File cacheFile = new File(CACHE_PATH);
+		cacheFile.delete();
+		try {
+			Collection<Class<?>> classes = classes(Compressed.class);
+			DatabaseTableConfigCache.initialize(connectionSource, cacheFile, classes);
+			// second time reads from the file
+			DaoManager.clearCache();
+			List<DatabaseTableConfig<?>> configs =
+					DatabaseTableConfigCache.initialize(connectionSource, cacheFile, classes);
+			DatabaseFieldConfig payloadConfig = configs.get(0).getFieldConfigs().get(1);
+			assertEquals(16, payloadConfig.getCompressThreshold());
+			assertNull(payloadConfig.getDataPersister());
+
+			Dao<Compressed, Integer> dao = createDao(Compressed.class, true);
+			Compressed compressed = new Compressed();
+			compressed.payload = "wfeopjwefpojwefpojwefpojwefpojwefpojwefpojwefpojwefpojwefopjwef";
+			assertEquals(1, dao.create(compressed));
+			assertEquals(compressed.payload, dao.queryForId(compressed.id).payload);
+		} finally {
+			cacheFile.delete();
+		}
+	}
+
+	@Test
+	public void testCorruptFile() throws Exception {
+		File cacheFile = new File(CACHE_PATH);
+		FileOutputStream fos = new FileOutputStream(cacheFile);
+		try {
+			fos.write(new byte[] { 1, 2, 3 });
+		} finally {
+			fos.close();
+		}
+		try {
+			List<DatabaseTableConfig<?>> configs =
+					DatabaseTableConfigCache.loadOrBuild(connectionSource, cacheFile, classes(Cached.class));
+			assertEquals(1, configs.size());
+			// should have been rewritten over the old file
+			assertTrue(cacheFile.length() > 3);
+			assertFalse(new File(CACHE_PATH + ".tmp").exists());
+		} finally {
+			cacheFile.delete();
+		}
+	}
+
+	private Collection<Class<?>> classes(Class<?>... classes) {
+		return new ArrayList<Class<?>>(Arrays.asList(classes));
+	}
+
+	protected enum OurEnum {
+		FIRST,
+		SECOND,
+		// end
+		;
+	}
+
+	@DatabaseTable(tableName = Cached.TABLE_NAME)
+	protected static class Cached {
+		public static final String TABLE_NAME = "cachedtable";
+		public static final String NAME_COLUMN = "namecol";
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(columnName = NAME_COLUMN, index = true, canBeNull = false, width = 100,
+				defaultValue = "default-value")
+		String name;
+		@DatabaseField(unknownEnumName = "SECOND")
+		OurEnum ourEnum;
+		@DatabaseField(dataType = DataType.DATE_LONG)
+		java.util.Date date;
+		String notPersisted;
+		public Cached() {
+		}
+	}
+
+	protected static class Compressed {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(compressThreshold = 16)
+		String payload;
+		public Compressed() {
+		}
+	}
+
+	protected static class Other {
+		@DatabaseField(id = true)
+		String id;
+		public Other() {
+		}
+	}
+}